@@ -4,14 +4,23 @@ import org.slf4j.Logger;
 import org.springframework.http.ProblemDetail;
 import org.springframework.stereotype.Component;
 
+import java.util.function.Supplier;
+
 /**
  * Custom logger class for handling logging operations with different log levels.
  * This class encapsulates the SLF4J logger and provides methods for logging
  * messages, errors, and standard problem details.
+ * Messages are handed to SLF4J as patterns with arguments, so formatting is left to the logging
+ * backend, and arguments that are costly to compute can be passed as suppliers to the
+ * {@code *Lazy} methods, which only call them when the level is enabled. The lazy methods have their
+ * own names so that a supplier is never bound to an {@code Object} overload and logged unevaluated.
  */
 @Component
 public class AuditionLogger {
 
+    private static final String HTTP_STATUS_CODE_ERROR_PATTERN = "{} - {}";
+    private static final String PROBLEM_DETAIL_PATTERN = "{}";
+
     /**
      * Logs an info message if the logger is enabled for info level.
      *
@@ -37,6 +46,19 @@ public class AuditionLogger {
         }
     }
 
+    /**
+     * Logs an info message with lazily computed arguments if the logger is enabled for info level.
+     *
+     * @param logger    The SLF4J logger instance
+     * @param message   The message pattern to log
+     * @param arguments The suppliers of the pattern arguments, only called if the message is logged
+     */
+    public void infoLazy(final Logger logger, final String message, final Supplier<?>... arguments) {
+        if (logger.isInfoEnabled()) {
+            logger.info(message, resolve(arguments));
+        }
+    }
+
     /**
      * Logs a debug message if the logger is enabled for debug level.
      *
@@ -49,6 +71,19 @@ public class AuditionLogger {
         }
     }
 
+    /**
+     * Logs a debug message with lazily computed arguments if the logger is enabled for debug level.
+     *
+     * @param logger    The SLF4J logger instance
+     * @param message   The message pattern to log
+     * @param arguments The suppliers of the pattern arguments, only called if the message is logged
+     */
+    public void debugLazy(final Logger logger, final String message, final Supplier<?>... arguments) {
+        if (logger.isDebugEnabled()) {
+            logger.debug(message, resolve(arguments));
+        }
+    }
+
     /**
      * Logs a warning message with associated parameters if the logger is enabled for warn level.
      *
@@ -96,8 +131,7 @@ public class AuditionLogger {
      */
     public void logStandardProblemDetail(final Logger logger, final ProblemDetail problemDetail, final Exception e) {
         if (logger.isErrorEnabled()) {
-            final var message = createStandardProblemDetailMessage(problemDetail);
-            logger.error(message, e);
+            logger.error(PROBLEM_DETAIL_PATTERN, problemDetail, e);
         }
     }
 
@@ -110,28 +144,21 @@ public class AuditionLogger {
      */
     public void logHttpStatusCodeError(final Logger logger, final String message, final Integer errorCode) {
         if (logger.isErrorEnabled()) {
-            logger.error(createBasicErrorResponseMessage(errorCode, message));
+            logger.error(HTTP_STATUS_CODE_ERROR_PATTERN, errorCode, message);
         }
     }
 
     /**
-     * Creates a standard problem detail message from the given ProblemDetail.
+     * Computes the arguments of a message about to be logged.
      *
-     * @param standardProblemDetail The ProblemDetail object to convert to a string
-     * @return The string representation of the ProblemDetail
+     * @param arguments the argument suppliers
+     * @return the argument values
      */
-    private String createStandardProblemDetailMessage(final ProblemDetail standardProblemDetail) {
-        return standardProblemDetail.toString();
-    }
-
-    /**
-     * Creates a basic error response message using the provided error code and message.
-     *
-     * @param errorCode The error code to include in the message
-     * @param message   The message to include in the error response
-     * @return A formatted string containing the error code and message
-     */
-    private String createBasicErrorResponseMessage(final Integer errorCode, final String message) {
-        return String.format("%d - %s", errorCode, message);
+    private static Object[] resolve(final Supplier<?>... arguments) {
+        final Object[] values = new Object[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            values[i] = arguments[i].get();
+        }
+        return values;
     }
 }
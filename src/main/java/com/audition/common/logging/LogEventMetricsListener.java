@@ -0,0 +1,61 @@
+package com.audition.common.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import net.logstash.logback.appender.listener.AppenderListener;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the events the asynchronous logging appender accepted into its ring buffer and the events
+ * it dropped because the buffer was full. Logback creates listeners itself while it configures,
+ * before the application context exists, so the counts are held statically and published to the
+ * meter registry later by {@link LoggingMetrics}.
+ */
+public class LogEventMetricsListener implements AppenderListener<ILoggingEvent> {
+
+    private static final LongAdder QUEUED = new LongAdder();
+    private static final LongAdder DROPPED = new LongAdder();
+
+    /**
+     * Counts an event accepted into the ring buffer.
+     *
+     * @param appender        the asynchronous appender
+     * @param event           the event
+     * @param durationInNanos the time the caller spent handing the event over
+     */
+    @Override
+    public void eventAppended(final Appender<ILoggingEvent> appender, final ILoggingEvent event, final long durationInNanos) {
+        QUEUED.increment();
+    }
+
+    /**
+     * Counts an event the appender could not accept.
+     *
+     * @param appender the asynchronous appender
+     * @param event    the event
+     * @param reason   why the event was dropped, usually a full ring buffer
+     */
+    @Override
+    public void eventAppendFailed(final Appender<ILoggingEvent> appender, final ILoggingEvent event, final Throwable reason) {
+        DROPPED.increment();
+    }
+
+    /**
+     * Returns the number of events accepted into the ring buffer since startup.
+     *
+     * @return the queued event count
+     */
+    public static long queuedCount() {
+        return QUEUED.sum();
+    }
+
+    /**
+     * Returns the number of events dropped since startup.
+     *
+     * @return the dropped event count
+     */
+    public static long droppedCount() {
+        return DROPPED.sum();
+    }
+}
@@ -0,0 +1,196 @@
+package com.audition.common.logging;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Response wrapper that captures the leading bytes of the body while the caller reads it.
+ * The body is never buffered as a whole: bytes pass straight through to the reader, and at most a
+ * bounded prefix is copied aside for logging. The captured prefix is handed out once, when the body
+ * is exhausted or the response is closed, whichever comes first, as raw bytes so that turning it into
+ * text is left to the listener.
+ */
+final class LoggedClientHttpResponse implements ClientHttpResponse {
+
+    private final ClientHttpResponse response;
+    private final int maxLoggedBytes;
+    private final BodyListener bodyListener;
+    private final ByteArrayOutputStream captured = new ByteArrayOutputStream();
+    private InputStream body;
+    private long length;
+    private boolean logged;
+
+    /**
+     * Wraps a response.
+     *
+     * @param response       the response to wrap
+     * @param maxLoggedBytes the maximum number of body bytes to capture
+     * @param bodyListener   receives the captured body once it has been read or discarded
+     */
+    LoggedClientHttpResponse(final ClientHttpResponse response, final int maxLoggedBytes, final BodyListener bodyListener) {
+        this.response = response;
+        this.maxLoggedBytes = Math.max(0, maxLoggedBytes);
+        this.bodyListener = bodyListener;
+    }
+
+    /**
+     * Returns the status code of the wrapped response.
+     *
+     * @return the status code
+     * @throws IOException if the status cannot be read
+     */
+    @Override
+    public HttpStatusCode getStatusCode() throws IOException {
+        return response.getStatusCode();
+    }
+
+    /**
+     * Returns the status text of the wrapped response.
+     *
+     * @return the status text
+     * @throws IOException if the status cannot be read
+     */
+    @Override
+    public String getStatusText() throws IOException {
+        return response.getStatusText();
+    }
+
+    /**
+     * Returns the headers of the wrapped response.
+     *
+     * @return the headers
+     */
+    @Override
+    public HttpHeaders getHeaders() {
+        return response.getHeaders();
+    }
+
+    /**
+     * Returns the body of the wrapped response, capturing its prefix as it is read.
+     *
+     * @return the body stream, the same instance on every call
+     * @throws IOException if the body cannot be opened
+     */
+    @Override
+    public InputStream getBody() throws IOException {
+        if (body == null) {
+            final InputStream source = response.getBody();
+            if (source == null) {
+                return null;
+            }
+            body = new CapturingInputStream(source);
+        }
+        return body;
+    }
+
+    /**
+     * Logs the captured body, if not done yet, and closes the wrapped response.
+     */
+    @Override
+    public void close() {
+        logBody();
+        response.close();
+    }
+
+    /**
+     * Hands the captured prefix to the listener, once.
+     */
+    private void logBody() {
+        if (logged) {
+            return;
+        }
+        logged = true;
+        bodyListener.completed(captured.toByteArray(), length);
+    }
+
+    /**
+     * Receives the captured prefix of a body.
+     */
+    @FunctionalInterface
+    interface BodyListener {
+
+        /**
+         * Called once the body has been read to its end or the response has been closed.
+         *
+         * @param captured the leading bytes of the body, at most the capture bound
+         * @param length   the number of body bytes the caller read
+         */
+        void completed(byte[] captured, long length);
+    }
+
+    /**
+     * Copies the bytes read through it into the capture buffer, up to its bound.
+     */
+    private final class CapturingInputStream extends FilterInputStream {
+
+        /**
+         * Wraps a body stream.
+         *
+         * @param source the body stream
+         */
+        CapturingInputStream(final InputStream source) {
+            super(source);
+        }
+
+        /**
+         * Reads one byte.
+         *
+         * @return the byte, or -1 at the end of the body
+         * @throws IOException if reading fails
+         */
+        @Override
+        public int read() throws IOException {
+            final int read = super.read();
+            if (read < 0) {
+                logBody();
+            } else {
+                if (captured.size() < maxLoggedBytes) {
+                    captured.write(read);
+                }
+                length++;
+            }
+            return read;
+        }
+
+        /**
+         * Reads up to {@code len} bytes into a buffer.
+         *
+         * @param buffer the buffer
+         * @param off    the offset to write at
+         * @param len    the maximum number of bytes to read
+         * @return the number of bytes read, or -1 at the end of the body
+         * @throws IOException if reading fails
+         */
+        @Override
+        public int read(final byte[] buffer, final int off, final int len) throws IOException {
+            final int read = super.read(buffer, off, len);
+            if (read < 0) {
+                logBody();
+            } else {
+                capture(buffer, off, read);
+            }
+            return read;
+        }
+
+        /**
+         * Records bytes that passed through.
+         *
+         * @param buffer the buffer holding the bytes
+         * @param off    the offset of the bytes
+         * @param count  the number of bytes
+         */
+        private void capture(final byte[] buffer, final int off, final int count) {
+            final int room = maxLoggedBytes - captured.size();
+            if (room > 0) {
+                captured.write(buffer, off, Math.min(room, count));
+            }
+            length += count;
+        }
+    }
+}
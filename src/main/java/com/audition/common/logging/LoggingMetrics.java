@@ -0,0 +1,34 @@
+package com.audition.common.logging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the counts of the asynchronous logging pipeline, so that events dropped under load
+ * are visible instead of silently missing from the logs.
+ */
+@Component
+public class LoggingMetrics implements MeterBinder {
+
+    private static final String EVENTS_METRIC = "audition.logging.events";
+    private static final String OUTCOME_TAG = "outcome";
+
+    /**
+     * Registers the queued and dropped event counters.
+     *
+     * @param registry the registry to bind to
+     */
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        FunctionCounter.builder(EVENTS_METRIC, LogEventMetricsListener.class, ignored -> LogEventMetricsListener.queuedCount())
+                .description("Log events accepted into the asynchronous appender's ring buffer")
+                .tag(OUTCOME_TAG, "queued")
+                .register(registry);
+        FunctionCounter.builder(EVENTS_METRIC, LogEventMetricsListener.class, ignored -> LogEventMetricsListener.droppedCount())
+                .description("Log events dropped because the asynchronous appender's ring buffer was full")
+                .tag(OUTCOME_TAG, "dropped")
+                .register(registry);
+    }
+}
@@ -0,0 +1,39 @@
+package com.audition.common.logging;
+
+import io.micrometer.context.ThreadLocalAccessor;
+import org.slf4j.MDC;
+
+import java.util.Map;
+
+/**
+ * Context-propagation accessor for the SLF4J MDC.
+ * Registering this accessor lets context snapshots carry MDC entries across thread hops,
+ * alongside the observation and trace context that Micrometer registers itself.
+ */
+public class MdcThreadLocalAccessor implements ThreadLocalAccessor<Map<String, String>> {
+
+    /**
+     * Key under which the MDC is captured in a context snapshot.
+     */
+    public static final String KEY = "audition.mdc";
+
+    @Override
+    public Object key() {
+        return KEY;
+    }
+
+    @Override
+    public Map<String, String> getValue() {
+        return MDC.getCopyOfContextMap();
+    }
+
+    @Override
+    public void setValue(final Map<String, String> value) {
+        MDC.setContextMap(value);
+    }
+
+    @Override
+    public void reset() {
+        MDC.clear();
+    }
+}
@@ -1,63 +1,101 @@
 package com.audition.common.logging;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.client.ClientHttpRequestExecution;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.stereotype.Component;
-import org.springframework.util.StreamUtils;
 
 import java.io.IOException;
+import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 
 /**
  * Interceptor for logging HTTP requests and responses made through RestTemplate.
  * This class implements ClientHttpRequestInterceptor to log details
  * such as URI, method, headers, request body, and response status.
+ *
+ * <p>Only a sample of the exchanges is logged, at a rate that can be set per route (the first path
+ * segment of the URI). Unsampled exchanges pass through untouched. For sampled ones the request
+ * thread only copies what it must keep: the headers and a bounded prefix of each body, which the
+ * response exposes as the caller reads it. Building the log message and writing it happen on the
+ * bounded logging executor, which drops messages rather than block when it falls behind.
  */
 @Component
 @Slf4j
 public class RestTemplateRequestResponseLoggingInterceptor implements ClientHttpRequestInterceptor {
 
+    private static final String ROUTE_SEPARATOR = ",";
+    private static final String RATE_SEPARATOR = "=";
+    private static final char PATH_SEPARATOR = '/';
+
     private final transient boolean logRequest;  // Flag to enable/disable request logging
     private final transient boolean logResponse; // Flag to enable/disable response logging
+    private final transient int maxLoggedBodyBytes; // Upper bound on logged body bytes
+    private final transient double sampleRate; // Fraction of exchanges logged on routes without their own rate
+    private final transient Map<String, Double> routeSampleRates; // Fractions of exchanges logged, by route
 
     private final transient AuditionLogger logger; // Custom logger for logging messages
+    private final transient Executor logExecutor; // Builds and writes messages off the request thread
 
     /**
      * Constructor for RestTemplateRequestResponseLoggingInterceptor.
      *
-     * @param logRequest  Flag to indicate whether to log requests
-     * @param logResponse Flag to indicate whether to log responses
-     * @param logger      Custom logger for logging purposes
+     * @param logRequest         Flag to indicate whether to log requests
+     * @param logResponse        Flag to indicate whether to log responses
+     * @param maxLoggedBodyBytes The maximum number of body bytes to log
+     * @param sampleRate         The fraction of exchanges to log, between 0 and 1
+     * @param routeSampleRates   Rates overriding the sample rate by route, as {@code route=rate} pairs separated by commas
+     * @param logger             Custom logger for logging purposes
+     * @param logExecutor        The bounded executor that builds and writes log messages
      */
     public RestTemplateRequestResponseLoggingInterceptor(
             @Value("${application.config.interceptor.logRequest}") final boolean logRequest,
             @Value("${application.config.interceptor.logResponse}") final boolean logResponse,
-            final AuditionLogger logger) {
+            @Value("${application.config.interceptor.maxLoggedBodyBytes:16384}") final int maxLoggedBodyBytes,
+            @Value("${application.config.interceptor.sampleRate:1.0}") final double sampleRate,
+            @Value("${application.config.interceptor.routeSampleRates:}") final String routeSampleRates,
+            final AuditionLogger logger,
+            @Qualifier("httpLogExecutor") final Executor logExecutor) {
         this.logRequest = logRequest;
         this.logResponse = logResponse;
+        this.maxLoggedBodyBytes = Math.max(0, maxLoggedBodyBytes);
+        this.sampleRate = sampleRate;
+        this.routeSampleRates = parseRates(routeSampleRates);
         this.logger = logger;
+        this.logExecutor = logExecutor;
     }
 
     /**
-     * Intercepts the HTTP request and logs details if enabled.
+     * Intercepts the HTTP request and logs details if enabled and sampled.
      *
      * @param request   The HTTP request to be executed
      * @param body      The body of the request
      * @param execution The execution context
-     * @return The HTTP response from the executed request
+     * @return The HTTP response from the executed request, wrapped to capture its body if logged
      * @throws IOException If an I/O error occurs during the logging or execution
      */
     @Override
     public ClientHttpResponse intercept(final HttpRequest request, final byte[] body,
                                         final ClientHttpRequestExecution execution) throws IOException {
+        if (!(logRequest || logResponse) || !isSampled(request.getURI())) {
+            return execution.execute(request, body); // Unsampled exchanges cost nothing beyond the sampling decision
+        }
         logRequestDetails(request, body); // Log request details
         final var response = execution.execute(request, body); // Execute the request
-        logResponseDetails(response); // Log response details
-        return response; // Return the response
+        return logResponseDetails(response); // Log response details once its body is consumed
     }
 
     /**
@@ -68,31 +106,120 @@ public class RestTemplateRequestResponseLoggingInterceptor implements ClientHttp
      */
     private void logRequestDetails(final HttpRequest request, final byte[] body) {
         if (logRequest) {
-            final var message = "\n***** HttpRequest start ***** "
-                   + "\nURI: " + request.getURI()
-                   + "\nMethod: " + request.getMethod()
-                   + "\nHeaders: " + request.getHeaders()
-                   + "\nRequest body: " + new String(body, StandardCharsets.UTF_8)
-                   + "\n***** HttpRequest end *****";
-            logger.info(log, message); // Log request message
+            final URI uri = request.getURI();
+            final HttpMethod method = request.getMethod();
+            final HttpHeaders headers = copyOf(request.getHeaders());
+            final byte[] captured = Arrays.copyOf(body, Math.min(body.length, maxLoggedBodyBytes));
+            publish(() -> "\n***** HttpRequest start ***** "
+                    + "\nURI: " + uri
+                    + "\nMethod: " + method
+                    + "\nHeaders: " + headers
+                    + "\nRequest body: " + bodyText(captured, body.length)
+                    + "\n***** HttpRequest end *****");
         }
     }
 
     /**
-     * Logs the details of the HTTP response.
+     * Arranges for the details of the HTTP response to be logged once its body has been consumed.
      *
      * @param response The HTTP response
-     * @throws IOException If an I/O error occurs while reading the response body
+     * @return The response to hand to the caller
+     * @throws IOException If an I/O error occurs while reading the response status
      */
-    private void logResponseDetails(final ClientHttpResponse response) throws IOException {
-        if (logResponse) {
-            final var message = "\n***** ClientHttpResponse start ***** "
-                    + "\nStatus code: " + response.getStatusCode()
-                    + "\nStatus text: " + response.getStatusText()
-                    + "\nHeaders: " + response.getHeaders()
-                    + "\nResponse body: " + StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8)
-                    + "\n***** ClientHttpResponse end *****";
-            logger.info(log, message); // Log response message
+    private ClientHttpResponse logResponseDetails(final ClientHttpResponse response) throws IOException {
+        if (!logResponse) {
+            return response;
         }
+        final HttpStatusCode statusCode = response.getStatusCode();
+        final String statusText = response.getStatusText();
+        final HttpHeaders headers = copyOf(response.getHeaders());
+        return new LoggedClientHttpResponse(response, maxLoggedBodyBytes, (captured, length) -> publish(() ->
+                "\n***** ClientHttpResponse start ***** "
+                        + "\nStatus code: " + statusCode
+                        + "\nStatus text: " + statusText
+                        + "\nHeaders: " + headers
+                        + "\nResponse body: " + bodyText(captured, length)
+                        + "\n***** ClientHttpResponse end *****"));
+    }
+
+    /**
+     * Hands a message to the logging executor, which builds and writes it.
+     *
+     * @param message builds the message to log
+     */
+    private void publish(final Supplier<String> message) {
+        logExecutor.execute(() -> logger.info(log, message.get()));
+    }
+
+    /**
+     * Decides whether to log an exchange, at the sample rate of its route.
+     *
+     * @param uri the request URI (nullable)
+     * @return true if the exchange is logged
+     */
+    private boolean isSampled(final URI uri) {
+        final double rate = routeSampleRates.getOrDefault(route(uri), sampleRate);
+        return rate >= 1.0 || rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    /**
+     * Returns the route of a URI: the first segment of its path.
+     *
+     * @param uri the request URI (nullable)
+     * @return the route, empty for the root path or a missing URI
+     */
+    private static String route(final URI uri) {
+        final String path = uri == null || uri.getPath() == null ? "" : uri.getPath();
+        final int start = !path.isEmpty() && path.charAt(0) == PATH_SEPARATOR ? 1 : 0;
+        final int end = path.indexOf(PATH_SEPARATOR, start);
+        return path.substring(start, end < 0 ? path.length() : end);
+    }
+
+    /**
+     * Parses per-route sample rates.
+     *
+     * @param rates {@code route=rate} pairs separated by commas (nullable or blank for none)
+     * @return the rates, by route
+     * @throws IllegalArgumentException if a pair is malformed
+     */
+    private static Map<String, Double> parseRates(final String rates) {
+        final Map<String, Double> parsed = new HashMap<>();
+        if (rates == null || rates.isBlank()) {
+            return parsed;
+        }
+        for (final String pair : rates.split(ROUTE_SEPARATOR)) {
+            final String[] routeAndRate = pair.split(RATE_SEPARATOR);
+            if (routeAndRate.length != 2) {
+                throw new IllegalArgumentException("Malformed route sample rate: " + pair.trim());
+            }
+            parsed.put(routeAndRate[0].trim(), Double.valueOf(routeAndRate[1].trim()));
+        }
+        return parsed;
+    }
+
+    /**
+     * Copies headers, so they can be formatted later on another thread.
+     *
+     * @param headers the headers (nullable)
+     * @return a detached copy
+     */
+    private static HttpHeaders copyOf(final HttpHeaders headers) {
+        final HttpHeaders copy = new HttpHeaders();
+        if (headers != null) {
+            copy.putAll(headers);
+        }
+        return copy;
+    }
+
+    /**
+     * Formats a captured body, noting when it was truncated.
+     *
+     * @param captured the leading bytes of the body
+     * @param length   the full length of the body
+     * @return the body text
+     */
+    private static String bodyText(final byte[] captured, final long length) {
+        final String text = new String(captured, StandardCharsets.UTF_8);
+        return length > captured.length ? text + "... (" + captured.length + " of " + length + " bytes logged)" : text;
     }
 }
@@ -0,0 +1,360 @@
+package com.audition.configuration;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A filter gzip-compressing response bodies as they are written, for clients that accept gzip.
+ *
+ * <p>The first {@link ResponseCompression#getMinBytes()} bytes are held back until the body is known
+ * to reach the threshold, unless its length was declared up front; smaller bodies, bodies of other
+ * content types and excluded routes are written as they are. Responses served precompressed by the
+ * {@link ResponseCacheFilter}, which runs inside this filter, already carry a content coding and pass
+ * through untouched. Asynchronous streams, such as exports, are compressed too: the filter also runs
+ * on the async dispatch that follows the end of the stream, and ends the compressed body there.
+ *
+ * <p>The compressed body carries the {@code -gzip} variant of the strong tag set inside this filter.
+ * Conditional requests are unwrapped to the tag of the uncompressed body, so the filters inside
+ * revalidate either variant, and a 304 echoes the variant the client revalidated.
+ */
+@Component
+@Order(CompressionFilter.ORDER)
+@ConditionalOnProperty(name = "application.compression.enabled", havingValue = "true", matchIfMissing = true)
+public class CompressionFilter extends OncePerRequestFilter {
+
+    /**
+     * The order of this filter: after Spring Security and around the {@link ResponseCacheFilter}.
+     */
+    public static final int ORDER = ResponseCacheFilter.ORDER - 1;
+
+    private static final long UNKNOWN_LENGTH = -1;
+
+    private final transient ResponseCompression compression;
+
+    /**
+     * Constructs a CompressionFilter.
+     *
+     * @param compression the compression policy
+     */
+    public CompressionFilter(final ResponseCompression compression) {
+        super();
+        this.compression = compression;
+    }
+
+    /**
+     * Requests on excluded routes are not filtered.
+     *
+     * @param request the current HTTP request
+     * @return true if compression does not apply to the request
+     */
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request) {
+        return !compression.appliesTo(request);
+    }
+
+    /**
+     * Asynchronous streams are finished on the async dispatch following the end of the stream.
+     *
+     * @return false, so the async dispatch is filtered too
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    /**
+     * Runs the chain with a compressing response, then finishes the compressed body, or leaves it to
+     * the async dispatch if the handler started an asynchronous stream.
+     *
+     * @param request  the current HTTP request
+     * @param response the current HTTP response
+     * @param chain    the filter chain to execute
+     * @throws IOException      if an input or output exception occurs
+     * @throws ServletException if the request processing fails
+     */
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain chain) throws IOException, ServletException {
+        if (isAsyncDispatch(request)) {
+            // The async context was started with the wrapped response, which the dispatch carries back
+            final CompressingResponse compressing = WebUtils.getNativeResponse(response, CompressingResponse.class);
+            chain.doFilter(request, response);
+            if (compressing != null) {
+                compressing.finish();
+            }
+            return;
+        }
+
+        final boolean acceptsGzip = ResponseCompression.acceptsGzip(request);
+        final CompressingResponse compressing = new CompressingResponse(response, acceptsGzip);
+        chain.doFilter(acceptsGzip ? new IdentityTagRequest(request) : request, compressing);
+        if (request.isAsyncStarted()) {
+            return;
+        }
+        compressing.finish();
+
+        if (acceptsGzip && response.getStatus() == HttpServletResponse.SC_NOT_MODIFIED) {
+            final String etag = ResponseCompression.identityTag(response.getHeader(HttpHeaders.ETAG));
+            final String gzipTag = ResponseCompression.gzipTag(etag);
+            final String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+            if (etag != null && ifNoneMatch != null) {
+                response.setHeader(HttpHeaders.ETAG, ifNoneMatch.contains(gzipTag) ? gzipTag : etag);
+            }
+        }
+    }
+
+    /**
+     * A request wrapper presenting the tags in {@code If-None-Match} as tags of the uncompressed body.
+     */
+    private static final class IdentityTagRequest extends HttpServletRequestWrapper {
+
+        private IdentityTagRequest(final HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public String getHeader(final String name) {
+            final String value = super.getHeader(name);
+            return HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name) && value != null ? identityTags(value) : value;
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(final String name) {
+            if (!HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name)) {
+                return super.getHeaders(name);
+            }
+            return Collections.enumeration(Collections.list(super.getHeaders(name)).stream()
+                    .map(IdentityTagRequest::identityTags)
+                    .toList());
+        }
+
+        private static String identityTags(final String tags) {
+            return tags.replace("-gzip\"", "\"");
+        }
+    }
+
+    /**
+     * A response wrapper deciding whether to compress once the body is known to reach the threshold,
+     * or is complete. Writes are synchronised, since asynchronous handlers write from another thread.
+     */
+    private final class CompressingResponse extends HttpServletResponseWrapper {
+
+        private final boolean acceptsGzip;
+        private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+        private long declaredLength = -1;
+        private boolean decided;
+        private GZIPOutputStream gzip;
+        private ServletOutputStream outputStream;
+
+        private CompressingResponse(final HttpServletResponse response, final boolean acceptsGzip) {
+            super(response);
+            this.acceptsGzip = acceptsGzip;
+        }
+
+        @Override
+        public synchronized ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new CompressingOutputStream(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        @Override
+        public synchronized PrintWriter getWriter() throws IOException {
+            decide(UNKNOWN_LENGTH);
+            return super.getWriter();
+        }
+
+        @Override
+        public synchronized void flushBuffer() throws IOException {
+            if (decided) {
+                if (gzip != null) {
+                    gzip.flush();
+                }
+                super.flushBuffer(); // Handlers returning entities flush once written; the body is still held back then
+            }
+        }
+
+        @Override
+        public synchronized void resetBuffer() {
+            super.resetBuffer();
+            pending.reset();
+        }
+
+        @Override
+        public synchronized void reset() {
+            super.reset();
+            pending.reset();
+        }
+
+        @Override
+        public synchronized void setContentLength(final int length) {
+            setContentLengthLong(length);
+        }
+
+        @Override
+        public synchronized void setContentLengthLong(final long length) {
+            if (decided && gzip == null) {
+                super.setContentLengthLong(length);
+            } else if (!decided) {
+                declaredLength = length;
+            }
+        }
+
+        /**
+         * Writes out the held back bytes, or ends the compressed body, once the body is complete: when
+         * the handler has returned, or on the async dispatch once an asynchronous stream has ended.
+         *
+         * @throws IOException if writing fails
+         */
+        private synchronized void finish() throws IOException {
+            if (!decided) {
+                decide(pending.size());
+            } else if (gzip != null) {
+                gzip.finish();
+            }
+        }
+
+        /**
+         * Chooses between writing the body as it is and compressing it, and writes the held back bytes.
+         *
+         * @param length the length of the body, at least the threshold if not known exactly, or
+         *               {@link #UNKNOWN_LENGTH} to write the body as it is
+         * @throws IOException if writing fails
+         */
+        private void decide(final long length) throws IOException {
+            if (decided) {
+                return;
+            }
+            decided = true;
+            final boolean compressible = length > 0
+                    && isCompressibleStatus(getStatus()) && !containsHeader(HttpHeaders.CONTENT_ENCODING)
+                    && compression.isCompressible(getContentType(), length);
+            if (compressible && getHeaders(HttpHeaders.VARY).stream().noneMatch(HttpHeaders.ACCEPT_ENCODING::equalsIgnoreCase)) {
+                addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING); // Unless the cached variant already did
+            }
+            if (compressible && acceptsGzip) {
+                setHeader(HttpHeaders.CONTENT_ENCODING, ResponseCompression.GZIP);
+                if (containsHeader(HttpHeaders.ETAG)) {
+                    setHeader(HttpHeaders.ETAG, ResponseCompression.gzipTag(getHeader(HttpHeaders.ETAG)));
+                }
+                gzip = new GZIPOutputStream(super.getOutputStream(), true);
+            } else if (declaredLength >= 0) {
+                super.setContentLengthLong(declaredLength);
+            }
+            if (pending.size() > 0) {
+                pending.writeTo(target());
+                pending.reset();
+            }
+        }
+
+        /**
+         * Returns where the body goes once decided: the client stream, or gzip around it.
+         * The client stream is only looked up when written, since the body may go through the writer.
+         *
+         * @return the stream the body is written to
+         * @throws IOException if the client stream cannot be obtained
+         */
+        private OutputStream target() throws IOException {
+            return gzip != null ? gzip : super.getOutputStream();
+        }
+
+        /**
+         * Checks whether responses with a status carry a body worth compressing.
+         *
+         * @param status the response status
+         * @return true for successful and error responses other than those without a body
+         */
+        private boolean isCompressibleStatus(final int status) {
+            return status >= HttpServletResponse.SC_OK && status != HttpServletResponse.SC_NO_CONTENT
+                    && status != HttpServletResponse.SC_NOT_MODIFIED;
+        }
+
+        /**
+         * Holds bytes back until the threshold is reached, and writes through afterwards.
+         */
+        private final class CompressingOutputStream extends ServletOutputStream {
+
+            private final ServletOutputStream delegate;
+
+            private CompressingOutputStream(final ServletOutputStream delegate) {
+                super();
+                this.delegate = delegate;
+            }
+
+            @Override
+            public void write(final int value) throws IOException {
+                write(new byte[]{(byte) value}, 0, 1);
+            }
+
+            @Override
+            public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+                synchronized (CompressingResponse.this) {
+                    if (!decided) {
+                        if (declaredLength >= 0) {
+                            decide(declaredLength);
+                        } else if (pending.size() + length >= compression.getMinBytes()) {
+                            decide(Math.max(pending.size() + length, 1));
+                        } else {
+                            pending.write(bytes, offset, length);
+                            return;
+                        }
+                    }
+                    target().write(bytes, offset, length);
+                }
+            }
+
+            @Override
+            public void flush() throws IOException {
+                synchronized (CompressingResponse.this) {
+                    if (decided) {
+                        target().flush(); // Bytes held back below the threshold wait for it, or for the end of the body
+                    }
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                synchronized (CompressingResponse.this) {
+                    if (!decided) {
+                        decide(pending.size());
+                    }
+                    if (gzip != null) {
+                        gzip.finish();
+                    }
+                    delegate.close();
+                }
+            }
+
+            @Override
+            public boolean isReady() {
+                return delegate.isReady();
+            }
+
+            @Override
+            public void setWriteListener(final WriteListener writeListener) {
+                delegate.setWriteListener(writeListener);
+            }
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package com.audition.configuration;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A filter giving successful GET responses a strong {@code ETag} and a per-route {@code Cache-Control},
+ * and answering requests whose {@code If-None-Match} still matches with {@code 304 Not Modified}.
+ *
+ * <p>The tag is a hash of the serialised body, which is held back in a bounded buffer until the
+ * handler completes; bodies larger than the buffer, flushed from an asynchronous stream or written
+ * through the writer are passed through without a tag. Placed inside the {@link ResponseCacheFilter},
+ * the tag is computed once when a response is cached and stored with it, so cache hits are tagged and
+ * revalidated without hashing or serialising again.
+ */
+@Component
+@Order(EntityTagFilter.ORDER)
+@ConditionalOnProperty(name = "application.http-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class EntityTagFilter extends OncePerRequestFilter {
+
+    /**
+     * The order of this filter: after Spring Security and inside the {@link ResponseCacheFilter}.
+     */
+    public static final int ORDER = Ordered.LOWEST_PRECEDENCE;
+
+    private static final String ROUTE_SEPARATOR = ";";
+    private static final String DIRECTIVE_SEPARATOR = "=";
+
+    private final transient Map<String, String> routeCacheControl; // Cache-Control directives by path pattern, first match wins
+    private final transient int maxBufferedBytes;
+    private final transient AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    /**
+     * Constructs an EntityTagFilter.
+     *
+     * @param routeCacheControl the {@code Cache-Control} of each route, as {@code pattern=directives} pairs
+     *                          separated by semicolons; the first matching Ant-style pattern wins
+     * @param maxBufferedBytes  the largest body held back to be tagged, in bytes
+     */
+    public EntityTagFilter(@Value("${application.http-cache.cache-control:}") final String routeCacheControl,
+                           @Value("${application.http-cache.max-buffered-bytes:262144}") final int maxBufferedBytes) {
+        super();
+        this.routeCacheControl = parseRoutes(routeCacheControl);
+        this.maxBufferedBytes = maxBufferedBytes;
+    }
+
+    /**
+     * Only GET requests are tagged.
+     *
+     * @param request the current HTTP request
+     * @return true for other methods
+     */
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod());
+    }
+
+    /**
+     * Runs the chain with the body held back, then tags the response and answers a matching
+     * {@code If-None-Match} with a 304, or writes the body.
+     *
+     * @param request  the current HTTP request
+     * @param response the current HTTP response
+     * @param chain    the filter chain to execute
+     * @throws IOException      if an input or output exception occurs
+     * @throws ServletException if the request processing fails
+     */
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain chain) throws IOException, ServletException {
+        final BufferingResponse buffering = new BufferingResponse(request, response, maxBufferedBytes);
+        chain.doFilter(request, buffering);
+
+        final byte[] body = buffering.detach();
+        if (body == null) {
+            return; // Already streamed to the client
+        }
+        if (response.getStatus() == HttpServletResponse.SC_OK) {
+            final String cacheControl = cacheControl(request);
+            if (cacheControl != null && !response.containsHeader(HttpHeaders.CACHE_CONTROL)) {
+                response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+            }
+            final String etag = response.containsHeader(HttpHeaders.ETAG) ? response.getHeader(HttpHeaders.ETAG) : entityTag(body);
+            response.setHeader(HttpHeaders.ETAG, etag);
+            if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+                return;
+            }
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Computes the strong entity tag of a body.
+     *
+     * @param body the serialised body
+     * @return the quoted tag
+     */
+    static String entityTag(final byte[] body) {
+        return "\"" + DigestUtils.md5DigestAsHex(body) + "\"";
+    }
+
+    /**
+     * Looks up the {@code Cache-Control} configured for the route of a request.
+     *
+     * @param request the current HTTP request
+     * @return the directives, or null if no route matches
+     */
+    private String cacheControl(final HttpServletRequest request) {
+        final String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (final Map.Entry<String, String> route : routeCacheControl.entrySet()) {
+            if (pathMatcher.match(route.getKey(), path)) {
+                return route.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parses {@code pattern=directives} pairs separated by semicolons.
+     *
+     * @param routes the configured routes
+     * @return the directives by pattern, in configuration order
+     * @throws IllegalArgumentException if a pair is malformed
+     */
+    private static Map<String, String> parseRoutes(final String routes) {
+        final Map<String, String> parsed = new LinkedHashMap<>();
+        if (routes == null || routes.isBlank()) {
+            return Collections.unmodifiableMap(parsed);
+        }
+        for (final String pair : routes.split(ROUTE_SEPARATOR)) {
+            final int separator = pair.indexOf(DIRECTIVE_SEPARATOR);
+            if (separator <= 0 || separator == pair.length() - 1) {
+                throw new IllegalArgumentException("Malformed route cache control: " + pair.trim());
+            }
+            parsed.put(pair.substring(0, separator).trim(), pair.substring(separator + 1).trim());
+        }
+        return Collections.unmodifiableMap(parsed);
+    }
+
+    /**
+     * A response wrapper holding the body back in a bounded buffer.
+     * Once the buffer would overflow, the body is written through the writer, or the handler
+     * flushes an asynchronous stream, the buffered bytes are released and the rest passes through.
+     * Writes and releases are synchronised, since asynchronous handlers write from another thread.
+     */
+    private static final class BufferingResponse extends HttpServletResponseWrapper {
+
+        private final HttpServletRequest request;
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private final int limit;
+        private boolean buffering = true;
+        private ServletOutputStream outputStream;
+
+        private BufferingResponse(final HttpServletRequest request, final HttpServletResponse response, final int limit) {
+            super(response);
+            this.request = request;
+            this.limit = limit;
+        }
+
+        @Override
+        public synchronized ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new BufferingOutputStream(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        @Override
+        public synchronized PrintWriter getWriter() throws IOException {
+            release();
+            return super.getWriter();
+        }
+
+        @Override
+        public synchronized void flushBuffer() throws IOException {
+            if (request.isAsyncStarted()) {
+                release();
+            }
+            if (!buffering) {
+                super.flushBuffer(); // Handlers returning entities flush once written; the body is still held back then
+            }
+        }
+
+        @Override
+        public synchronized void resetBuffer() {
+            super.resetBuffer();
+            buffer.reset();
+        }
+
+        @Override
+        public synchronized void reset() {
+            super.reset();
+            buffer.reset();
+        }
+
+        @Override
+        public void setContentLength(final int length) {
+            // The length is set once the body is complete
+        }
+
+        @Override
+        public void setContentLengthLong(final long length) {
+            // The length is set once the body is complete
+        }
+
+        /**
+         * Stops buffering once the handler has returned.
+         *
+         * @return the complete body held back, or null if it was passed through or is still being streamed
+         * @throws IOException if releasing the buffered bytes of an asynchronous stream fails
+         */
+        private synchronized byte[] detach() throws IOException {
+            if (!buffering) {
+                return null;
+            }
+            if (request.isAsyncStarted()) {
+                release();
+                return null;
+            }
+            buffering = false;
+            return buffer.toByteArray();
+        }
+
+        /**
+         * Writes the buffered bytes through and passes the rest of the body through.
+         *
+         * @throws IOException if writing fails
+         */
+        private synchronized void release() throws IOException {
+            if (buffering) {
+                buffering = false;
+                if (buffer.size() > 0) {
+                    super.getOutputStream().write(buffer.toByteArray());
+                    buffer.reset();
+                }
+            }
+        }
+
+        /**
+         * Buffers writes while the response is buffering, and writes through afterwards.
+         */
+        private final class BufferingOutputStream extends ServletOutputStream {
+
+            private final ServletOutputStream delegate;
+
+            private BufferingOutputStream(final ServletOutputStream delegate) {
+                super();
+                this.delegate = delegate;
+            }
+
+            @Override
+            public void write(final int value) throws IOException {
+                synchronized (BufferingResponse.this) {
+                    if (buffering && buffer.size() < limit) {
+                        buffer.write(value);
+                    } else {
+                        release();
+                        delegate.write(value);
+                    }
+                }
+            }
+
+            @Override
+            public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+                synchronized (BufferingResponse.this) {
+                    if (buffering && buffer.size() + length <= limit) {
+                        buffer.write(bytes, offset, length);
+                    } else {
+                        release();
+                        delegate.write(bytes, offset, length);
+                    }
+                }
+            }
+
+            @Override
+            public void flush() throws IOException {
+                synchronized (BufferingResponse.this) {
+                    if (request.isAsyncStarted()) {
+                        release(); // Streams flush to get early bytes to the client; synchronous handlers only flush at the end
+                    }
+                    if (!buffering) {
+                        delegate.flush();
+                    }
+                }
+            }
+
+            @Override
+            public boolean isReady() {
+                return delegate.isReady();
+            }
+
+            @Override
+            public void setWriteListener(final WriteListener writeListener) {
+                delegate.setWriteListener(writeListener);
+            }
+        }
+    }
+}
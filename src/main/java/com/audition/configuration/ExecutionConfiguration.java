@@ -0,0 +1,202 @@
+package com.audition.configuration;
+
+import com.audition.common.logging.MdcThreadLocalAccessor;
+import com.audition.integration.ResponseDependencies;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextRegistry;
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Configuration for the executors that run request handling and upstream fan-out.
+ * When {@code application.threads.virtual.enabled} is set and the JVM is JDK 21 or newer,
+ * Tomcat request handling and upstream calls run on virtual threads; otherwise a bounded
+ * platform thread pool is used. Tasks submitted to the upstream and application task executors carry
+ * the caller's MDC, observation and trace context, and its response dependency recording, across the
+ * thread hop. All virtual thread users share one executor, shut down with this configuration. HTTP
+ * exchange log messages are built and written on a single thread fed by a bounded queue, so logging
+ * never blocks a request.
+ */
+@Configuration
+@Slf4j
+public class ExecutionConfiguration implements DisposableBean {
+
+    /**
+     * The name prefix of the platform threads running upstream calls.
+     */
+    static final String UPSTREAM_THREAD_PREFIX = "upstream-";
+
+    private static final int VIRTUAL_THREADS_MIN_VERSION = 21;
+    private static final String HTTP_LOG_THREAD_PREFIX = "http-log-";
+
+    private final transient boolean virtualThreadsEnabled;
+    private final transient int upstreamPoolSize;
+    private final transient Supplier<Optional<ExecutorService>> virtualThreadFactory;
+    private transient Optional<ExecutorService> virtualThreads;
+
+    /**
+     * Constructor for ExecutionConfiguration.
+     *
+     * @param virtualThreadsEnabled whether to run request handling and upstream calls on virtual threads
+     * @param upstreamPoolSize      number of platform threads used for upstream fan-out when virtual threads are off
+     */
+    public ExecutionConfiguration(
+            @Value("${application.threads.virtual.enabled:false}") final boolean virtualThreadsEnabled,
+            @Value("${application.threads.upstream-pool-size:64}") final int upstreamPoolSize) {
+        this(virtualThreadsEnabled, upstreamPoolSize, ExecutionConfiguration::newVirtualThreadExecutor);
+    }
+
+    /**
+     * Constructor for ExecutionConfiguration with the factory of the virtual thread executor.
+     *
+     * @param virtualThreadsEnabled whether to run request handling and upstream calls on virtual threads
+     * @param upstreamPoolSize      number of platform threads used for upstream fan-out when virtual threads are off
+     * @param virtualThreadFactory  creates the virtual thread executor, or returns empty if unsupported
+     */
+    ExecutionConfiguration(final boolean virtualThreadsEnabled, final int upstreamPoolSize,
+                           final Supplier<Optional<ExecutorService>> virtualThreadFactory) {
+        this.virtualThreadsEnabled = virtualThreadsEnabled;
+        this.upstreamPoolSize = upstreamPoolSize;
+        this.virtualThreadFactory = virtualThreadFactory;
+        ContextRegistry.getInstance().registerThreadLocalAccessor(new MdcThreadLocalAccessor());
+        ContextRegistry.getInstance().registerThreadLocalAccessor(new ResponseDependencies.RecordingAccessor());
+    }
+
+    /**
+     * Creates the context-propagating executor used for upstream fan-out.
+     *
+     * @return an ExecutorService running tasks on virtual threads when enabled, or on a bounded platform pool
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService upstreamExecutor() {
+        final ExecutorService delegate = virtualThreadExecutor()
+                .orElseGet(() -> Executors.newFixedThreadPool(upstreamPoolSize, new CustomizableThreadFactory(UPSTREAM_THREAD_PREFIX)));
+        return contextPropagating(delegate);
+    }
+
+    /**
+     * Creates the executor that builds and writes HTTP exchange log messages.
+     * A single thread drains a bounded queue; when the queue is full, new messages are dropped and
+     * counted instead of blocking or slowing the calling request.
+     *
+     * @param queueCapacity the maximum number of messages waiting to be written
+     * @param meterRegistry the registry for the dropped message counter
+     * @return a context-propagating single-thread executor that discards work when saturated
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService httpLogExecutor(@Value("${application.config.interceptor.queueCapacity:1024}") final int queueCapacity,
+                                           final MeterRegistry meterRegistry) {
+        final Counter dropped = Counter.builder("audition.http.log.dropped")
+                .description("HTTP exchange log messages dropped because the logging queue was full")
+                .register(meterRegistry);
+        final ThreadPoolExecutor delegate = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), new CustomizableThreadFactory(HTTP_LOG_THREAD_PREFIX),
+                (task, executor) -> dropped.increment());
+        return contextPropagating(delegate);
+    }
+
+    /**
+     * Creates the executor used by Spring MVC for asynchronous request processing.
+     * Declaring the upstream executor makes Spring Boot back off from its own, so it is recreated here.
+     *
+     * @param taskExecutorBuilder the Spring Boot configured task executor builder
+     * @return a context-propagating virtual thread backed executor when enabled, otherwise the Spring Boot default pool
+     */
+    @Lazy
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public AsyncTaskExecutor applicationTaskExecutor(final TaskExecutorBuilder taskExecutorBuilder) {
+        return virtualThreadExecutor()
+                .<AsyncTaskExecutor>map(executor -> new TaskExecutorAdapter(contextPropagating(executor)))
+                .orElseGet(taskExecutorBuilder::build);
+    }
+
+    /**
+     * Runs Tomcat request handling on virtual threads.
+     *
+     * @return a customizer replacing the Tomcat worker pool with a virtual-thread-per-task executor
+     */
+    @Bean
+    @ConditionalOnProperty(name = "application.threads.virtual.enabled", havingValue = "true")
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+        final Optional<ExecutorService> executor = virtualThreadExecutor();
+        return protocolHandler -> executor.ifPresent(protocolHandler::setExecutor);
+    }
+
+    /**
+     * Shuts down the shared virtual thread executor, which the beans using it cannot shut down themselves.
+     */
+    @Override
+    public synchronized void destroy() {
+        if (virtualThreads != null) {
+            virtualThreads.ifPresent(ExecutorService::shutdown);
+        }
+    }
+
+    /**
+     * Returns the virtual thread executor shared by Tomcat, upstream calls and asynchronous request
+     * processing, creating it on first use.
+     *
+     * @return the virtual thread executor, or empty if disabled or unsupported
+     */
+    private synchronized Optional<ExecutorService> virtualThreadExecutor() {
+        if (virtualThreads == null) {
+            virtualThreads = virtualThreadsEnabled ? virtualThreadFactory.get() : Optional.empty();
+        }
+        return virtualThreads;
+    }
+
+    /**
+     * Wraps an executor so submitted tasks run with the context of the submitting thread.
+     *
+     * @param executor the executor running the tasks
+     * @return the context-propagating executor
+     */
+    private static ExecutorService contextPropagating(final ExecutorService executor) {
+        return ContextExecutorService.wrap(executor, () -> ContextSnapshot.captureAll());
+    }
+
+    /**
+     * Creates a virtual-thread-per-task executor if supported by the running JVM.
+     * The factory method is resolved reflectively so the application still compiles for Java 17.
+     *
+     * @return the virtual thread executor, or empty if unsupported
+     */
+    private static Optional<ExecutorService> newVirtualThreadExecutor() {
+        if (Runtime.version().feature() < VIRTUAL_THREADS_MIN_VERSION) {
+            log.warn("Virtual threads requested but JDK {} does not support them, using platform threads",
+                    Runtime.version().feature());
+            return Optional.empty();
+        }
+        try {
+            return Optional.of((ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null));
+        } catch (final ReflectiveOperationException exception) {
+            log.warn("Virtual thread executor could not be created, using platform threads", exception);
+            return Optional.empty();
+        }
+    }
+}
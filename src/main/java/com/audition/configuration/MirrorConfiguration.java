@@ -0,0 +1,16 @@
+package com.audition.configuration;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration for mirror mode, in which the upstream dataset is crawled into a local snapshot
+ * and every read is served from it. Enables the scheduler driving the periodic synchronisation;
+ * only active when {@code application.upstream.client} is set to {@code mirror}.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "application.upstream.client", havingValue = "mirror")
+public class MirrorConfiguration {
+}
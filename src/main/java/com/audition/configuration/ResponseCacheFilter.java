@@ -0,0 +1,443 @@
+package com.audition.configuration;
+
+import com.audition.integration.ResponseDependencies;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A filter that serves repeated GET requests from fully serialised response bytes, without
+ * running the {@code DispatcherServlet}, the controllers, the services or Jackson.
+ *
+ * <p>Responses are keyed by path, sorted query parameters and the configured variant request
+ * headers. A successful response is captured while it is written through to the client and cached
+ * only if {@link ResponseDependencies} recorded every piece of data it was built from; the entry is
+ * dropped as soon as any of those entries of the upstream response cache, or the mirror snapshot,
+ * changes or is dropped. Bodies the {@link ResponseCompression} policy applies to are also
+ * gzip-compressed once when cached, so clients accepting gzip are served the compressed bytes as
+ * they are and the {@link CompressionFilter} does not compress them again on every hit.
+ *
+ * <p>The {@link EntityTagFilter} runs inside this filter, so the {@code ETag} and {@code Cache-Control}
+ * of a response are cached with it; hits answer a matching {@code If-None-Match} with a 304 without
+ * hashing the body again. The gzip variant is tagged separately, as a strong tag names exact bytes;
+ * the {@link CompressionFilter} around this filter presents either tag as the uncompressed one.
+ *
+ * <p>The filter runs after Spring Security, so cached responses are only served to authenticated
+ * callers; responses must not differ between callers beyond the variant headers.
+ */
+@Component
+@Order(ResponseCacheFilter.ORDER)
+@ConditionalOnProperty(name = "application.response-cache.enabled", havingValue = "true")
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    /**
+     * The order of this filter: after Spring Security and around the {@link EntityTagFilter}.
+     */
+    public static final int ORDER = EntityTagFilter.ORDER - 1;
+
+    private static final String CACHE_NAME = "responses";
+    private static final String NO_CACHE = "no-cache";
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+    private static final List<String> UNCACHED_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LENGTH,
+            HttpHeaders.CONTENT_ENCODING, HttpHeaders.TRANSFER_ENCODING, HttpHeaders.DATE, HttpHeaders.CONNECTION, "Keep-Alive");
+
+    private final transient ResponseDependencies dependencies;
+    private final transient ResponseCompression compression;
+    private final transient Cache<String, CachedResponse> cache;
+    private final transient Map<String, Set<String>> dependents = new ConcurrentHashMap<>();
+    private final transient List<String> paths;
+    private final transient List<String> varyHeaders;
+    private final transient int maxEntryBytes;
+    private final transient AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    /**
+     * Constructs a ResponseCacheFilter.
+     *
+     * @param dependencies     the tracker of the data every response is built from
+     * @param meterRegistry    the registry for the cache metrics
+     * @param compression      the compression policy deciding which responses are also cached compressed
+     * @param maximumBytes     the maximum total size of cached responses, in bytes
+     * @param maxEntryBytes    the largest response body cached, in bytes
+     * @param timeToLive       the longest a response stays cached, in milliseconds, even if nothing invalidates it
+     * @param paths            Ant-style patterns of the request paths to cache
+     * @param varyHeaders      the request headers whose values select different cached variants
+     */
+    public ResponseCacheFilter(final ResponseDependencies dependencies,
+                               final MeterRegistry meterRegistry,
+                               final ResponseCompression compression,
+                               @Value("${application.response-cache.maximum-bytes:33554432}") final long maximumBytes,
+                               @Value("${application.response-cache.max-entry-bytes:262144}") final int maxEntryBytes,
+                               @Value("${application.response-cache.ttl:60000}") final long timeToLive,
+                               @Value("${application.response-cache.paths:/posts/**,/comments/**}") final String[] paths,
+                               @Value("${application.response-cache.vary:Accept}") final String[] varyHeaders) {
+        super();
+        this.dependencies = dependencies;
+        this.compression = compression;
+        this.maxEntryBytes = maxEntryBytes;
+        this.paths = List.of(paths);
+        this.varyHeaders = List.of(varyHeaders);
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((String key, CachedResponse response) -> response.weight())
+                .expireAfterWrite(Duration.ofMillis(timeToLive))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        dependencies.onInvalidation(this::invalidate);
+    }
+
+    /**
+     * Only GET requests on the cached paths are filtered.
+     *
+     * @param request the current HTTP request
+     * @return true if the request bypasses the cache
+     */
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request) {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        final String path = pathWithinApplication(request);
+        return paths.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    /**
+     * Serves the request from the cache on a hit; otherwise runs the chain and caches the response if it can.
+     *
+     * @param request  the current HTTP request
+     * @param response the current HTTP response
+     * @param chain    the filter chain to execute
+     * @throws IOException      if an input or output exception occurs
+     * @throws ServletException if the request processing fails
+     */
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain chain) throws IOException, ServletException {
+        final String key = key(request);
+        final String cacheControl = request.getHeader(HttpHeaders.CACHE_CONTROL);
+        final CachedResponse cached = cacheControl != null && cacheControl.contains(NO_CACHE) ? null : cache.getIfPresent(key);
+        if (cached != null) {
+            write(cached, request, response);
+            return;
+        }
+
+        final Set<String> skippedHeaders = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        skippedHeaders.addAll(response.getHeaderNames());
+        skippedHeaders.addAll(UNCACHED_HEADERS);
+        final long generation = dependencies.generation();
+        final CapturingResponse capturing = new CapturingResponse(response, maxEntryBytes);
+        final ResponseDependencies.Recording recording = dependencies.begin();
+        try {
+            chain.doFilter(request, capturing);
+        } finally {
+            dependencies.end();
+        }
+
+        if (recording.isCacheable() && capturing.isComplete() && !request.isAsyncStarted()
+                && capturing.getStatus() == HttpServletResponse.SC_OK && !capturing.containsHeader(HttpHeaders.SET_COOKIE)) {
+            store(key, capture(capturing, skippedHeaders, recording.keys(), compression.appliesTo(request)), generation);
+        }
+    }
+
+    /**
+     * Caches a response and indexes it by the data it was built from. If any data was invalidated
+     * while the response was built, the entry is dropped again, since the invalidation may have
+     * missed it.
+     *
+     * @param key        the cache key of the request
+     * @param response   the captured response
+     * @param generation the invalidation generation when the request started
+     */
+    private void store(final String key, final CachedResponse response, final long generation) {
+        response.dependencies().forEach(dependency -> dependents.computeIfAbsent(dependency, name -> ConcurrentHashMap.newKeySet()).add(key));
+        cache.put(key, response);
+        if (dependencies.generation() != generation) {
+            cache.invalidate(key);
+        }
+    }
+
+    /**
+     * Drops every cached response built from invalidated data.
+     * The index is only cleaned up here: every dependency is eventually invalidated, when its entity
+     * cache entry expires or the next snapshot is published, and dropping a key that has since been
+     * cached again from other data costs one miss.
+     *
+     * @param dependency the invalidated key
+     */
+    private void invalidate(final String dependency) {
+        final Set<String> keys = dependents.remove(dependency);
+        if (keys != null) {
+            cache.invalidateAll(keys);
+        }
+    }
+
+    /**
+     * Builds the cached form of a captured response.
+     *
+     * @param response      the captured response
+     * @param skippedHeaders the headers not to cache: those set before the chain ran, by filters that set
+     *                      them again on every request, and those describing the transfer
+     * @param dependencies  the data the response was built from
+     * @param compress      whether compression applies to the route, so a compressed variant is kept
+     * @return the cached response
+     * @throws IOException if the body cannot be compressed
+     */
+    private CachedResponse capture(final CapturingResponse response, final Set<String> skippedHeaders,
+                                   final Set<String> dependencies, final boolean compress) throws IOException {
+        final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (final String name : response.getHeaderNames()) {
+            if (!skippedHeaders.contains(name)) {
+                final List<String> values = identityHeaderValues(name, response.getHeaders(name));
+                if (!values.isEmpty()) {
+                    headers.put(name, values);
+                }
+            }
+        }
+        final byte[] body = response.captured();
+        final byte[] gzipped = compress && compression.isCompressible(response.getContentType(), body.length)
+                ? ResponseCompression.gzip(body) : null;
+        return new CachedResponse(response.getContentType(), headers, body, gzipped, dependencies);
+    }
+
+    /**
+     * Undoes what the {@link CompressionFilter} may have done to the headers of the captured
+     * body, which is always the uncompressed one.
+     *
+     * @param name   the header name
+     * @param values the header values on the response
+     * @return the header values describing the uncompressed body
+     */
+    private static List<String> identityHeaderValues(final String name, final Collection<String> values) {
+        if (HttpHeaders.ETAG.equalsIgnoreCase(name)) {
+            return values.stream().map(ResponseCompression::identityTag).toList();
+        }
+        if (HttpHeaders.VARY.equalsIgnoreCase(name)) {
+            return values.stream().filter(value -> !HttpHeaders.ACCEPT_ENCODING.equalsIgnoreCase(value)).toList();
+        }
+        return List.copyOf(values);
+    }
+
+    /**
+     * Writes a cached response straight to the output stream.
+     *
+     * @param cached   the cached response
+     * @param request  the current HTTP request
+     * @param response the current HTTP response
+     * @throws IOException if writing fails
+     */
+    private static void write(final CachedResponse cached, final HttpServletRequest request,
+                              final HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        cached.headers().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        if (cached.contentType() != null) {
+            response.setContentType(cached.contentType());
+        }
+        byte[] body = cached.body();
+        final String etag = response.getHeader(HttpHeaders.ETAG);
+        if (cached.gzipped() != null) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (ResponseCompression.acceptsGzip(request)) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, ResponseCompression.GZIP);
+                body = cached.gzipped();
+                if (etag != null) {
+                    response.setHeader(HttpHeaders.ETAG, ResponseCompression.gzipTag(etag));
+                }
+            }
+        }
+        if (etag != null && new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return; // Revalidated against the uncompressed tag: the compression filter presents either tag as it
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Builds the cache key of a request from its path, sorted query parameters and variant headers.
+     *
+     * @param request the current HTTP request
+     * @return the cache key
+     */
+    private String key(final HttpServletRequest request) {
+        final StringBuilder key = new StringBuilder(pathWithinApplication(request));
+        final Map<String, String[]> parameters = new TreeMap<>(request.getParameterMap());
+        char separator = '?';
+        for (final Map.Entry<String, String[]> parameter : parameters.entrySet()) {
+            for (final String value : parameter.getValue()) {
+                key.append(separator).append(parameter.getKey()).append('=').append(value);
+                separator = '&';
+            }
+        }
+        for (final String header : varyHeaders) {
+            key.append('\n').append(header.toLowerCase(Locale.ENGLISH)).append(':').append(StringUtils.collectionToCommaDelimitedString(
+                    Collections.list(request.getHeaders(header))));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Returns the request path without the context path.
+     *
+     * @param request the current HTTP request
+     * @return the path within the application
+     */
+    private static String pathWithinApplication(final HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    /**
+     * A cached response.
+     *
+     * @param contentType  the content type of the body
+     * @param headers      the response headers set by the application
+     * @param body         the serialised body
+     * @param gzipped      the body compressed with gzip, or null if not compressed
+     * @param dependencies the data the response was built from
+     */
+    private record CachedResponse(String contentType, Map<String, List<String>> headers, byte[] body, byte[] gzipped,
+                                  Collection<String> dependencies) {
+
+        int weight() {
+            return ENTRY_OVERHEAD_BYTES + body.length + (gzipped == null ? 0 : gzipped.length);
+        }
+    }
+
+    /**
+     * A response wrapper copying the body into a bounded buffer as it is written through to the client.
+     * A body written through the writer, or larger than the buffer, is not captured.
+     */
+    private static final class CapturingResponse extends HttpServletResponseWrapper {
+
+        private final ByteArrayOutputStream copy = new ByteArrayOutputStream();
+        private final int limit;
+        private boolean complete = true;
+        private ServletOutputStream outputStream;
+
+        private CapturingResponse(final HttpServletResponse response, final int limit) {
+            super(response);
+            this.limit = limit;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new TeeOutputStream(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            complete = false;
+            return super.getWriter();
+        }
+
+        @Override
+        public void resetBuffer() {
+            super.resetBuffer();
+            copy.reset();
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            copy.reset();
+        }
+
+        private boolean isComplete() {
+            return complete;
+        }
+
+        private byte[] captured() {
+            return copy.toByteArray();
+        }
+
+        private void capture(final byte[] bytes, final int offset, final int length) {
+            if (complete && copy.size() + length > limit) {
+                complete = false;
+                copy.reset();
+            }
+            if (complete) {
+                copy.write(bytes, offset, length);
+            }
+        }
+
+        /**
+         * Writes through to the client and into the capture buffer.
+         */
+        private final class TeeOutputStream extends ServletOutputStream {
+
+            private final ServletOutputStream delegate;
+            private final byte[] single = new byte[1];
+
+            private TeeOutputStream(final ServletOutputStream delegate) {
+                super();
+                this.delegate = delegate;
+            }
+
+            @Override
+            public void write(final int value) throws IOException {
+                delegate.write(value);
+                single[0] = (byte) value;
+                capture(single, 0, 1);
+            }
+
+            @Override
+            public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+                delegate.write(bytes, offset, length);
+                capture(bytes, offset, length);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                delegate.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                delegate.close();
+            }
+
+            @Override
+            public boolean isReady() {
+                return delegate.isReady();
+            }
+
+            @Override
+            public void setWriteListener(final WriteListener writeListener) {
+                delegate.setWriteListener(writeListener);
+            }
+        }
+    }
+}
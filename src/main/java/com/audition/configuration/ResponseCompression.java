@@ -0,0 +1,198 @@
+package com.audition.configuration;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The response compression policy, shared by the {@link CompressionFilter}, which compresses
+ * responses as they are written, and the {@link ResponseCacheFilter}, which keeps a precompressed
+ * variant of every cached response it applies to.
+ *
+ * <p>Only gzip is negotiated. A compressed body is a different representation, so its strong
+ * {@code ETag} is the tag of the uncompressed body with a {@code -gzip} suffix.
+ */
+@Component
+public class ResponseCompression {
+
+    /**
+     * The gzip content coding.
+     */
+    public static final String GZIP = "gzip";
+
+    private static final String LEGACY_GZIP = "x-gzip";
+    private static final String ANY_CODING = "*";
+    private static final String QUALITY_PARAMETER = "q=";
+    private static final String GZIP_TAG_SUFFIX = "-gzip\"";
+
+    private final transient boolean enabled;
+    private final transient int minBytes;
+    private final transient List<MediaType> mimeTypes;
+    private final transient List<String> excludedPaths;
+    private final transient AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    /**
+     * Constructs a ResponseCompression.
+     *
+     * @param enabled       whether responses are compressed at all
+     * @param minBytes      the smallest body compressed, in bytes; smaller bodies gain too little to pay for the work
+     * @param mimeTypes     the content types compressed, which may use wildcards
+     * @param excludedPaths Ant-style patterns of the request paths never compressed
+     */
+    public ResponseCompression(@Value("${application.compression.enabled:true}") final boolean enabled,
+                               @Value("${application.compression.min-bytes:1024}") final int minBytes,
+                               @Value("${application.compression.mime-types:application/json,application/*+json,application/x-ndjson}") final String[] mimeTypes,
+                               @Value("${application.compression.excluded-paths:}") final String[] excludedPaths) {
+        this.enabled = enabled;
+        this.minBytes = minBytes;
+        this.mimeTypes = Arrays.stream(mimeTypes).map(String::trim).map(MediaType::parseMediaType).toList();
+        this.excludedPaths = Arrays.stream(excludedPaths).map(String::trim).filter(path -> !path.isEmpty()).toList();
+    }
+
+    /**
+     * Checks whether compression applies to the route of a request.
+     *
+     * @param request the current HTTP request
+     * @return true if compression is enabled and the path is not excluded
+     */
+    public boolean appliesTo(final HttpServletRequest request) {
+        final String path = request.getRequestURI().substring(request.getContextPath().length());
+        return enabled && excludedPaths.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    /**
+     * Checks whether a body of some content type and length is worth compressing.
+     *
+     * @param contentType the content type of the body, or null if not set
+     * @param length      the length of the body, in bytes
+     * @return true if the content type is compressed and the body reaches the size threshold
+     */
+    public boolean isCompressible(final String contentType, final long length) {
+        if (contentType == null || length < minBytes) {
+            return false;
+        }
+        try {
+            final MediaType mediaType = MediaType.parseMediaType(contentType);
+            return mimeTypes.stream().anyMatch(type -> type.includes(mediaType));
+        } catch (final InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the smallest body compressed.
+     *
+     * @return the size threshold, in bytes
+     */
+    public int getMinBytes() {
+        return minBytes;
+    }
+
+    /**
+     * Checks whether the client accepts gzip-encoded responses, honouring quality values.
+     *
+     * @param request the current HTTP request
+     * @return true if gzip, or any coding, is accepted with a non-zero quality
+     */
+    public static boolean acceptsGzip(final HttpServletRequest request) {
+        final String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzip = -1;
+        double any = -1;
+        for (final String coding : acceptEncoding.split(",")) {
+            final String[] parameters = coding.split(";");
+            final String name = parameters[0].trim().toLowerCase(Locale.ENGLISH);
+            if (GZIP.equals(name) || LEGACY_GZIP.equals(name)) {
+                gzip = Math.max(gzip, quality(parameters));
+            } else if (ANY_CODING.equals(name)) {
+                any = quality(parameters);
+            }
+        }
+        return gzip < 0 ? any > 0 : gzip > 0;
+    }
+
+    /**
+     * Compresses a body with gzip.
+     *
+     * @param body the body
+     * @return the compressed body
+     * @throws IOException if compression fails
+     */
+    public static byte[] gzip(final byte[] body) throws IOException {
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * Derives the tag of the gzip-encoded body from the tag of the uncompressed body.
+     * Weak tags do not name exact bytes, so they are kept as they are.
+     *
+     * @param etag the tag of the uncompressed body, or null if it has none
+     * @return the tag of the compressed body, or null if it has none
+     */
+    public static String gzipTag(final String etag) {
+        if (!isStrong(etag) || etag.endsWith(GZIP_TAG_SUFFIX)) {
+            return etag;
+        }
+        return etag.substring(0, etag.length() - 1) + GZIP_TAG_SUFFIX;
+    }
+
+    /**
+     * Derives the tag of the uncompressed body from the tag of either variant.
+     *
+     * @param etag the tag of either body, or null if it has none
+     * @return the tag of the uncompressed body, or null if it has none
+     */
+    public static String identityTag(final String etag) {
+        if (!isStrong(etag) || !etag.endsWith(GZIP_TAG_SUFFIX)) {
+            return etag;
+        }
+        return etag.substring(0, etag.length() - GZIP_TAG_SUFFIX.length()) + "\"";
+    }
+
+    /**
+     * Checks whether a tag is a strong, quoted tag.
+     *
+     * @param etag the tag
+     * @return true if the tag is strong
+     */
+    private static boolean isStrong(final String etag) {
+        return etag != null && etag.length() >= 2 && etag.startsWith("\"") && etag.endsWith("\"");
+    }
+
+    /**
+     * Reads the quality value of a content coding.
+     *
+     * @param parameters the coding followed by its parameters
+     * @return the quality, 1 if not given and 0 if malformed
+     */
+    private static double quality(final String... parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            final String parameter = parameters[i].trim();
+            if (parameter.startsWith(QUALITY_PARAMETER)) {
+                try {
+                    return Double.parseDouble(parameter.substring(QUALITY_PARAMETER.length()).trim());
+                } catch (final NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
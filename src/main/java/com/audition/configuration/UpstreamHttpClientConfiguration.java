@@ -0,0 +1,160 @@
+package com.audition.configuration;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+/**
+ * Configuration for the shared upstream HTTP transport.
+ * This class builds a single pooled, keep-alive Apache HttpClient that every
+ * RestTemplate call to the upstream API goes through, and exposes its pool statistics as metrics.
+ */
+@Configuration
+public class UpstreamHttpClientConfiguration {
+
+    private static final String POOL_METRIC_PREFIX = "httpcomponents.httpclient.pool.";
+    private static final String CLIENT_TAG = "httpclient";
+    private static final String CLIENT_NAME = "upstream";
+
+    private final transient int connectTimeout;
+    private final transient int readTimeout;
+    private final transient int responseTimeout;
+    private final transient int maxTotal;
+    private final transient int maxPerRoute;
+    private final transient int acquireTimeout;
+    private final transient long idleEviction;
+    private final transient long timeToLive;
+
+    /**
+     * Constructor for UpstreamHttpClientConfiguration.
+     *
+     * @param connectTimeout  connection establishment timeout in milliseconds
+     * @param readTimeout     socket read timeout in milliseconds
+     * @param responseTimeout time to wait for the upstream response in milliseconds
+     * @param maxTotal        maximum number of pooled connections
+     * @param maxPerRoute     maximum number of pooled connections per upstream host
+     * @param acquireTimeout  time to wait for a free pooled connection in milliseconds
+     * @param idleEviction    idle time after which pooled connections are closed, in milliseconds
+     * @param timeToLive      maximum lifetime of a pooled connection in milliseconds
+     */
+    public UpstreamHttpClientConfiguration(
+            @Value("${application.connection.connect-timeout:5000}") final int connectTimeout,
+            @Value("${application.connection.read-timeout:5000}") final int readTimeout,
+            @Value("${application.connection.response-timeout:5000}") final int responseTimeout,
+            @Value("${application.connection.pool.max-total:200}") final int maxTotal,
+            @Value("${application.connection.pool.max-per-route:100}") final int maxPerRoute,
+            @Value("${application.connection.pool.acquire-timeout:2000}") final int acquireTimeout,
+            @Value("${application.connection.pool.idle-eviction:30000}") final long idleEviction,
+            @Value("${application.connection.pool.time-to-live:300000}") final long timeToLive) {
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+        this.responseTimeout = responseTimeout;
+        this.maxTotal = maxTotal;
+        this.maxPerRoute = maxPerRoute;
+        this.acquireTimeout = acquireTimeout;
+        this.idleEviction = idleEviction;
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Creates the bounded connection pool shared by all upstream calls.
+     *
+     * @return a configured PoolingHttpClientConnectionManager instance
+     */
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager upstreamConnectionManager() {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setConnPoolPolicy(PoolReusePolicy.LIFO) // Reuse the warmest connection first
+                .setConnectionTimeToLive(TimeValue.ofMilliseconds(timeToLive))
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .setDefaultSocketConfig(SocketConfig.custom()
+                        .setSoTimeout(Timeout.ofMilliseconds(readTimeout))
+                        .setSoKeepAlive(true)
+                        .setTcpNoDelay(true)
+                        .build())
+                .build();
+    }
+
+    /**
+     * Creates the keep-alive HttpClient on top of the shared pool.
+     * A background evictor closes expired and idle connections.
+     *
+     * @param upstreamConnectionManager the shared connection pool
+     * @return a configured CloseableHttpClient instance
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient upstreamHttpClient(final PoolingHttpClientConnectionManager upstreamConnectionManager) {
+        final RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout))
+                .setResponseTimeout(Timeout.ofMilliseconds(responseTimeout))
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(acquireTimeout))
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(upstreamConnectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE)
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleEviction))
+                .build();
+    }
+
+    /**
+     * Creates the request factory used by the upstream RestTemplate.
+     *
+     * @param upstreamHttpClient the shared HttpClient
+     * @return a ClientHttpRequestFactory backed by the pooled client
+     */
+    @Bean
+    public ClientHttpRequestFactory upstreamRequestFactory(final CloseableHttpClient upstreamHttpClient) {
+        return new HttpComponentsClientHttpRequestFactory(upstreamHttpClient);
+    }
+
+    /**
+     * Registers gauges for the state of the upstream connection pool.
+     *
+     * @param upstreamConnectionManager the shared connection pool
+     * @return a MeterBinder publishing leased, available, pending and max connection counts
+     */
+    @Bean
+    public MeterBinder upstreamConnectionPoolMetrics(final PoolingHttpClientConnectionManager upstreamConnectionManager) {
+        return registry -> {
+            Gauge.builder(POOL_METRIC_PREFIX + "total.max", upstreamConnectionManager,
+                            manager -> manager.getTotalStats().getMax())
+                    .description("The configured maximum number of allowed persistent connections for all routes.")
+                    .tag(CLIENT_TAG, CLIENT_NAME)
+                    .register(registry);
+            Gauge.builder(POOL_METRIC_PREFIX + "total.connections", upstreamConnectionManager,
+                            manager -> manager.getTotalStats().getLeased())
+                    .description("The number of persistent and leased connections for all routes.")
+                    .tags(CLIENT_TAG, CLIENT_NAME, "state", "leased")
+                    .register(registry);
+            Gauge.builder(POOL_METRIC_PREFIX + "total.connections", upstreamConnectionManager,
+                            manager -> manager.getTotalStats().getAvailable())
+                    .description("The number of persistent and available connections for all routes.")
+                    .tags(CLIENT_TAG, CLIENT_NAME, "state", "available")
+                    .register(registry);
+            Gauge.builder(POOL_METRIC_PREFIX + "total.pending", upstreamConnectionManager,
+                            manager -> manager.getTotalStats().getPending())
+                    .description("The number of connection requests being blocked awaiting a free connection.")
+                    .tag(CLIENT_TAG, CLIENT_NAME)
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,140 @@
+package com.audition.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.WriteTimeoutHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Configuration for the non-blocking upstream transport.
+ * This class builds a Netty-backed WebClient with a bounded connection pool, keep-alive and,
+ * for HTTPS upstreams, HTTP/2 negotiated through ALPN. It is only active when
+ * {@code application.upstream.client} is set to {@code reactive}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "application.upstream.client", havingValue = "reactive")
+public class UpstreamWebClientConfiguration {
+
+    private static final String POOL_NAME = "upstream";
+    private static final String HTTPS_SCHEME = "https:";
+    private static final int MAX_IN_MEMORY_SIZE = 4 * 1024 * 1024;
+
+    private final transient String baseUrl;
+    private final transient int connectTimeout;
+    private final transient int writeTimeout;
+    private final transient int responseTimeout;
+    private final transient int maxTotal;
+    private final transient int acquireTimeout;
+    private final transient long idleEviction;
+    private final transient long timeToLive;
+
+    /**
+     * Constructor for UpstreamWebClientConfiguration.
+     *
+     * @param baseUrl         the base URL of the upstream API
+     * @param connectTimeout  connection establishment timeout in milliseconds
+     * @param writeTimeout    write timeout in milliseconds
+     * @param responseTimeout maximum time between network reads of a response in milliseconds
+     * @param maxTotal        maximum number of pooled connections
+     * @param acquireTimeout  time to wait for a free pooled connection in milliseconds
+     * @param idleEviction    idle time after which pooled connections are closed, in milliseconds
+     * @param timeToLive      maximum lifetime of a pooled connection in milliseconds
+     */
+    public UpstreamWebClientConfiguration(
+            @Value("${application.config.baseUrl}") final String baseUrl,
+            @Value("${application.connection.connect-timeout:5000}") final int connectTimeout,
+            @Value("${application.connection.write-timeout:5000}") final int writeTimeout,
+            @Value("${application.connection.response-timeout:5000}") final int responseTimeout,
+            @Value("${application.connection.pool.max-total:200}") final int maxTotal,
+            @Value("${application.connection.pool.acquire-timeout:2000}") final int acquireTimeout,
+            @Value("${application.connection.pool.idle-eviction:30000}") final long idleEviction,
+            @Value("${application.connection.pool.time-to-live:300000}") final long timeToLive) {
+        this.baseUrl = baseUrl;
+        this.connectTimeout = connectTimeout;
+        this.writeTimeout = writeTimeout;
+        this.responseTimeout = responseTimeout;
+        this.maxTotal = maxTotal;
+        this.acquireTimeout = acquireTimeout;
+        this.idleEviction = idleEviction;
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Creates the bounded Netty connection pool shared by all reactive upstream calls.
+     *
+     * @return a configured ConnectionProvider instance
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider upstreamConnectionProvider() {
+        return ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(maxTotal)
+                .pendingAcquireTimeout(Duration.ofMillis(acquireTimeout))
+                .maxIdleTime(Duration.ofMillis(idleEviction))
+                .maxLifeTime(Duration.ofMillis(timeToLive))
+                .evictInBackground(Duration.ofMillis(idleEviction))
+                .metrics(true)
+                .build();
+    }
+
+    /**
+     * Creates the WebClient used by the reactive service implementations.
+     *
+     * @param webClientBuilder           the Spring Boot configured WebClient builder
+     * @param upstreamConnectionProvider the shared Netty connection pool
+     * @param objectMapper               the application ObjectMapper
+     * @param responseErrorHandler       the filter mapping upstream error responses to exceptions
+     * @return a configured WebClient instance
+     */
+    @Bean
+    public WebClient upstreamWebClient(final WebClient.Builder webClientBuilder,
+                                       final ConnectionProvider upstreamConnectionProvider,
+                                       final ObjectMapper objectMapper,
+                                       final WebClientResponseErrorHandler responseErrorHandler) {
+        return webClientBuilder
+                .clientConnector(new ReactorClientHttpConnector(createHttpClient(upstreamConnectionProvider)))
+                .codecs(configurer -> {
+                    configurer.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                    configurer.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    configurer.defaultCodecs().maxInMemorySize(MAX_IN_MEMORY_SIZE);
+                })
+                .filter(responseErrorHandler)
+                .build();
+    }
+
+    /**
+     * Creates the Reactor Netty HttpClient with timeouts and protocol negotiation applied.
+     *
+     * @param connectionProvider the shared Netty connection pool
+     * @return a configured HttpClient instance
+     */
+    private HttpClient createHttpClient(final ConnectionProvider connectionProvider) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .keepAlive(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeout)
+                .responseTimeout(Duration.ofMillis(responseTimeout))
+                .doOnConnected(connection -> connection
+                        .addHandlerLast(new WriteTimeoutHandler(writeTimeout, TimeUnit.MILLISECONDS)))
+                .metrics(true, Function.identity());
+
+        // HTTP/2 requires TLS with ALPN; plain HTTP upstreams (e.g. local stubs) stay on HTTP/1.1
+        if (baseUrl.toLowerCase(Locale.ENGLISH).startsWith(HTTPS_SCHEME)) {
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11).secure();
+        }
+        return httpClient;
+    }
+}
@@ -0,0 +1,70 @@
+package com.audition.configuration;
+
+import com.audition.common.exception.ClientException;
+import com.audition.common.exception.IntegrationException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * A WebClient filter that maps upstream error responses to application exceptions.
+ * It is the reactive counterpart of {@link RestTemplateResponseErrorHandler} and raises
+ * the same exception types for the same status codes.
+ */
+@Component
+@ConditionalOnProperty(name = "application.upstream.client", havingValue = "reactive")
+public class WebClientResponseErrorHandler implements ExchangeFilterFunction {
+
+    /**
+     * Executes the exchange and converts 4xx and 5xx responses into error signals.
+     *
+     * @param request the outgoing request
+     * @param next    the next exchange function in the chain
+     * @return the upstream response, or an error signal for 4xx and 5xx responses
+     */
+    @Override
+    public Mono<ClientResponse> filter(final ClientRequest request, final ExchangeFunction next) {
+        return next.exchange(request).flatMap(this::handleResponse);
+    }
+
+    /**
+     * Handles the response by emitting the appropriate exception based on its status code.
+     *
+     * @param response the upstream response
+     * @return the response itself, or an error signal carrying an IntegrationException or ClientException
+     */
+    Mono<ClientResponse> handleResponse(final ClientResponse response) {
+        final HttpStatusCode statusCode = response.statusCode();
+
+        // Handle 5xx Server Errors
+        if (statusCode.is5xxServerError()) {
+            return response.releaseBody().then(Mono.error(new IntegrationException(statusText(statusCode), statusCode.value())));
+        }
+
+        // Handle 4xx Client Errors
+        if (statusCode.is4xxClientError()) {
+            return response.releaseBody().then(Mono.error(new ClientException(statusText(statusCode), statusCode.value())));
+        }
+        return Mono.just(response);
+    }
+
+    /**
+     * Resolves the reason phrase for a status code.
+     *
+     * @param statusCode the status code
+     * @return the standard reason phrase, or the numeric code if it is non-standard
+     */
+    private static String statusText(final HttpStatusCode statusCode) {
+        return Optional.ofNullable(HttpStatus.resolve(statusCode.value()))
+                .map(HttpStatus::getReasonPhrase)
+                .orElseGet(() -> String.valueOf(statusCode.value()));
+    }
+}
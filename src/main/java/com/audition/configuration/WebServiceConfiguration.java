@@ -1,6 +1,7 @@
 package com.audition.configuration;
 
 import com.audition.common.logging.RestTemplateRequestResponseLoggingInterceptor;
+import com.audition.web.FieldProjection;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -9,8 +10,7 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.MediaType;
-import org.springframework.http.client.BufferingClientHttpRequestFactory;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -30,27 +30,33 @@ public class WebServiceConfiguration implements WebMvcConfigurer {
 
     private final transient RestTemplateRequestResponseLoggingInterceptor loggingInterceptor;
     private final transient RestTemplateResponseErrorHandler responseErrorHandler;
+    private final transient ClientHttpRequestFactory upstreamRequestFactory;
 
     /**
      * Constructor for WebServiceConfiguration.
      *
-     * @param loggingInterceptor    the logging interceptor for RestTemplate
+     * @param loggingInterceptor     the logging interceptor for RestTemplate
      * @param responseErrorHandler   the error handler for RestTemplate responses
+     * @param upstreamRequestFactory the pooled request factory shared by all upstream calls
      */
     public WebServiceConfiguration(final RestTemplateRequestResponseLoggingInterceptor loggingInterceptor,
-                                   final RestTemplateResponseErrorHandler responseErrorHandler) {
+                                   final RestTemplateResponseErrorHandler responseErrorHandler,
+                                   final ClientHttpRequestFactory upstreamRequestFactory) {
         this.loggingInterceptor = loggingInterceptor;
         this.responseErrorHandler = responseErrorHandler;
+        this.upstreamRequestFactory = upstreamRequestFactory;
     }
 
     /**
      * Configures the ObjectMapper for JSON serialization and deserialization.
+     * Posts and comments are written through the field projection filter, which writes every field
+     * unless a request asks for a projection.
      *
      * @return a configured ObjectMapper instance
      */
     @Bean
     public ObjectMapper objectMapper() {
-        return new ObjectMapper()
+        return FieldProjection.configure(new ObjectMapper())
                 .setDateFormat(new SimpleDateFormat(YEAR_MONTH_DAY_PATTERN, Locale.getDefault()))
                 .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
                 .setPropertyNamingStrategy(PropertyNamingStrategies.LOWER_CAMEL_CASE)
@@ -60,13 +66,13 @@ public class WebServiceConfiguration implements WebMvcConfigurer {
 
     /**
      * Configures the RestTemplate with custom message converters, interceptors, and error handlers.
+     * Response bodies are not buffered: message converters parse them straight from the connection.
      *
      * @return a configured RestTemplate instance
      */
     @Bean
     public RestTemplate restTemplate() {
-        final RestTemplate restTemplate = new RestTemplate(
-                new BufferingClientHttpRequestFactory(createClientFactory()));
+        final RestTemplate restTemplate = new RestTemplate(upstreamRequestFactory);
 
         final MappingJackson2HttpMessageConverter messageConverter = new MappingJackson2HttpMessageConverter();
         messageConverter.setPrettyPrint(true);
@@ -83,15 +89,4 @@ public class WebServiceConfiguration implements WebMvcConfigurer {
 
         return restTemplate;
     }
-
-    /**
-     * Creates a SimpleClientHttpRequestFactory with streaming disabled.
-     *
-     * @return a configured SimpleClientHttpRequestFactory instance
-     */
-    private SimpleClientHttpRequestFactory createClientFactory() {
-        final SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
-        requestFactory.setOutputStreaming(false);
-        return requestFactory;
-    }
 }
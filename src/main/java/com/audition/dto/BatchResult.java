@@ -0,0 +1,28 @@
+package com.audition.dto;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The outcome of looking up many entities by ID in one request.
+ *
+ * @param found   the entities found, in the order their IDs were requested
+ * @param missing the requested IDs that do not exist, in the order they were requested
+ * @param <T>     the entity type
+ */
+public record BatchResult<T>(List<T> found, List<Integer> missing) {
+
+    /**
+     * Splits requested IDs into found entities and missing IDs.
+     *
+     * @param ids   the requested IDs, without duplicates
+     * @param found the entities found, by ID
+     * @param <T>   the entity type
+     * @return the batch result
+     */
+    public static <T> BatchResult<T> of(final Collection<Integer> ids, final Map<Integer, T> found) {
+        return new BatchResult<>(ids.stream().filter(found::containsKey).map(found::get).toList(),
+                ids.stream().filter(id -> !found.containsKey(id)).toList());
+    }
+}
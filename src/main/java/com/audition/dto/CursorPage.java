@@ -0,0 +1,13 @@
+package com.audition.dto;
+
+import java.util.List;
+
+/**
+ * One page of a result read by cursor, together with the cursor of the page that follows.
+ *
+ * @param items      the items on the page
+ * @param nextCursor the opaque cursor of the next page, or null if this is the last page
+ * @param <T>        the item type
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+}
@@ -0,0 +1,13 @@
+package com.audition.dto;
+
+import java.util.List;
+
+/**
+ * One page of a larger result, together with the size of the whole result.
+ *
+ * @param items the items on the page
+ * @param total the number of items in the whole result, across all pages
+ * @param <T>   the item type
+ */
+public record PagedResult<T>(List<T> items, int total) {
+}
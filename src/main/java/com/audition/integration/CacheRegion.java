@@ -0,0 +1,10 @@
+package com.audition.integration;
+
+/**
+ * The kinds of upstream resources held by the {@link UpstreamResponseCache}.
+ * Each region carries its own time-to-live, since posts and comments change at different rates.
+ */
+public enum CacheRegion {
+    POSTS,
+    COMMENTS
+}
@@ -1,5 +1,7 @@
 package com.audition.integration;
 
+import java.util.Collection;
+
 /**
  * Interface for building URLs for integration with the audition service.
  */
@@ -9,11 +11,11 @@ public interface IIntegrationUrlService {
      * Constructs the URL to retrieve posts with optional user ID and pagination parameters.
      *
      * @param userId the ID of the user (nullable)
-     * @param page   the page number for pagination (nullable, 0-based)
+     * @param offset the index of the first post to return, like the upstream {@code _start} (nullable)
      * @param size   the number of posts per page (nullable)
      * @return the constructed URL as a String
      */
-    String getPostsUrl(Integer userId, Integer page, Integer size);
+    String getPostsUrl(Integer userId, Integer offset, Integer size);
 
     /**
      * Constructs the URL to retrieve a specific post by its ID.
@@ -23,15 +25,40 @@ public interface IIntegrationUrlService {
      */
     String getPostByIdUrl(Integer id);
 
+    /**
+     * Constructs the URL to retrieve many posts by ID in one call.
+     *
+     * @param ids the IDs of the posts
+     * @return the constructed URL as a String
+     */
+    String getPostsByIdsUrl(Collection<Integer> ids);
+
     /**
      * Constructs the URL to retrieve comments for a specific post with pagination.
      *
      * @param postId the ID of the post for which comments are to be retrieved
-     * @param page   the page number for pagination (nullable, 0-based)
+     * @param offset the index of the first comment to return, like the upstream {@code _start} (nullable)
+     * @param size   the number of comments per page (nullable)
+     * @return the constructed URL as a String
+     */
+    String getCommentsUrl(int postId, Integer offset, Integer size);
+
+    /**
+     * Constructs the URL to retrieve all comments of many posts in one call.
+     *
+     * @param postIds the IDs of the posts whose comments are to be retrieved
+     * @return the constructed URL as a String
+     */
+    String getCommentsByPostIdsUrl(Collection<Integer> postIds);
+
+    /**
+     * Constructs the URL to retrieve comments across all posts with pagination.
+     *
+     * @param offset the index of the first comment to return, like the upstream {@code _start} (nullable)
      * @param size   the number of comments per page (nullable)
      * @return the constructed URL as a String
      */
-    String getCommentsUrl(int postId, Integer page, Integer size);
+    String getAllCommentsUrl(Integer offset, Integer size);
 
     /**
      * Constructs the URL to retrieve comments for a specific post without pagination.
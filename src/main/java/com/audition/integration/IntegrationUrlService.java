@@ -3,7 +3,9 @@ package com.audition.integration;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 /**
  * Service for constructing integration URLs for external API calls.
@@ -17,6 +19,7 @@ public class IntegrationUrlService implements IIntegrationUrlService {
     private static final String COMMENTS_ENDPOINT = "/comments";
     private static final String USER_ID = "&userId=";
     private static final String POST_ID = "&postId=";
+    private static final String ID = "&id=";
     private static final String START = "&_start=";
     private static final String LIMIT = "&_limit=";
 
@@ -35,13 +38,13 @@ public class IntegrationUrlService implements IIntegrationUrlService {
      * Gets the URL for retrieving posts, including pagination and user parameters.
      *
      * @param userId the ID of the user (optional)
-     * @param page   the page number for pagination (optional)
+     * @param offset the index of the first post to return, like the upstream {@code _start} (optional)
      * @param size   the size of the page (optional)
      * @return the constructed URL for retrieving posts
      */
     @Override
-    public String getPostsUrl(final Integer userId, final Integer page, final Integer size) {
-        return baseUrl + POSTS_ENDPOINT + paginationParameters(page, size) + userParameter(userId);
+    public String getPostsUrl(final Integer userId, final Integer offset, final Integer size) {
+        return baseUrl + POSTS_ENDPOINT + paginationParameters(offset, size) + userParameter(userId);
     }
 
     /**
@@ -55,17 +58,51 @@ public class IntegrationUrlService implements IIntegrationUrlService {
         return baseUrl + POSTS_ENDPOINT + "/" + id;
     }
 
+    /**
+     * Gets the URL for retrieving many posts by ID, with the ID parameter repeated once per post.
+     *
+     * @param ids the IDs of the posts
+     * @return the constructed URL for retrieving the posts
+     */
+    @Override
+    public String getPostsByIdsUrl(final Collection<Integer> ids) {
+        return baseUrl + POSTS_ENDPOINT + repeatedParameter(ID, ids);
+    }
+
     /**
      * Gets the URL for retrieving comments, including pagination and post parameters.
      *
      * @param postId the ID of the post to retrieve comments for
-     * @param page   the page number for pagination (optional)
+     * @param offset the index of the first comment to return, like the upstream {@code _start} (optional)
+     * @param size   the size of the page (optional)
+     * @return the constructed URL for retrieving comments
+     */
+    @Override
+    public String getCommentsUrl(final int postId, final Integer offset, final Integer size) {
+        return baseUrl + COMMENTS_ENDPOINT + paginationParameters(offset, size) + postParameter(postId);
+    }
+
+    /**
+     * Gets the URL for retrieving all comments of many posts, with the post parameter repeated once per post.
+     *
+     * @param postIds the IDs of the posts to retrieve comments for
+     * @return the constructed URL for retrieving the comments
+     */
+    @Override
+    public String getCommentsByPostIdsUrl(final Collection<Integer> postIds) {
+        return baseUrl + COMMENTS_ENDPOINT + repeatedParameter(POST_ID, postIds);
+    }
+
+    /**
+     * Gets the URL for retrieving comments across all posts, including pagination parameters.
+     *
+     * @param offset the index of the first comment to return, like the upstream {@code _start} (optional)
      * @param size   the size of the page (optional)
      * @return the constructed URL for retrieving comments
      */
     @Override
-    public String getCommentsUrl(final int postId, final Integer page, final Integer size) {
-        return baseUrl + COMMENTS_ENDPOINT + paginationParameters(page, size) + postParameter(postId);
+    public String getAllCommentsUrl(final Integer offset, final Integer size) {
+        return baseUrl + COMMENTS_ENDPOINT + paginationParameters(offset, size);
     }
 
     /**
@@ -82,14 +119,14 @@ public class IntegrationUrlService implements IIntegrationUrlService {
     /**
      * Constructs pagination parameters for the URL.
      *
-     * @param page the page number (optional)
-     * @param size the size of the page (optional)
+     * @param offset the index of the first entity to return, like the upstream {@code _start} (optional)
+     * @param size   the size of the page (optional)
      * @return the pagination parameters as a string
      */
-    private String paginationParameters(final Integer page, final Integer size) {
+    private String paginationParameters(final Integer offset, final Integer size) {
         final var sb = new StringBuilder("?");
-        if (Objects.nonNull(page)) {
-            sb.append(START).append(page);
+        if (Objects.nonNull(offset)) {
+            sb.append(START).append(offset);
         }
         if (Objects.nonNull(size)) {
             sb.append(LIMIT).append(size);
@@ -97,6 +134,17 @@ public class IntegrationUrlService implements IIntegrationUrlService {
         return sb.toString();
     }
 
+    /**
+     * Constructs a query string repeating one parameter for every value.
+     *
+     * @param parameter the parameter, with its leading separator
+     * @param values    the values of the parameter
+     * @return the query string
+     */
+    private String repeatedParameter(final String parameter, final Collection<Integer> values) {
+        return values.stream().map(value -> parameter + value).collect(Collectors.joining("", "?", ""));
+    }
+
     /**
      * Constructs the user ID parameter for the URL.
      *
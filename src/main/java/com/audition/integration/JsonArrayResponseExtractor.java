@@ -0,0 +1,138 @@
+package com.audition.integration;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.client.ResponseExtractor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Decodes an upstream JSON array response element by element, straight from the connection.
+ * The parser pulls tokens from the response stream as each element is bound, so neither the raw
+ * body nor an intermediate array of all elements is ever held: memory is bounded by the decoded
+ * entities themselves. Null elements are skipped.
+ *
+ * <p>A {@link JsonProjection} pushes field selection and filtering into the parser: values of fields
+ * that are not bound are skipped as tokens without being decoded into strings, and an element failing
+ * the filter is dropped before it is bound, so it never becomes a model object.
+ *
+ * @param <T> the element type
+ */
+public final class JsonArrayResponseExtractor<T> implements ResponseExtractor<ResponseEntity<List<T>>> {
+
+    private final ObjectReader reader;
+    private final JsonProjection projection;
+
+    /**
+     * Constructs an extractor binding every element in full.
+     *
+     * @param objectMapper the mapper configured for upstream payloads
+     * @param type         the element type
+     */
+    public JsonArrayResponseExtractor(final ObjectMapper objectMapper, final Class<T> type) {
+        this(objectMapper, type, JsonProjection.all());
+    }
+
+    /**
+     * Constructs an extractor binding only what a projection selects.
+     *
+     * @param objectMapper the mapper configured for upstream payloads
+     * @param type         the element type
+     * @param projection   the fields to bind and the filter elements must pass
+     */
+    public JsonArrayResponseExtractor(final ObjectMapper objectMapper, final Class<T> type, final JsonProjection projection) {
+        this.reader = objectMapper.readerFor(type);
+        this.projection = projection;
+    }
+
+    /**
+     * Decodes the response.
+     *
+     * @param response the upstream response
+     * @return the response status and headers, with the decoded elements as body; no body unless the
+     *         response is a 2xx carrying content
+     * @throws IOException if the body cannot be read or is not a JSON array of the element type
+     */
+    @Override
+    public ResponseEntity<List<T>> extractData(final ClientHttpResponse response) throws IOException {
+        final HttpStatusCode status = response.getStatusCode();
+        final ResponseEntity.BodyBuilder builder = ResponseEntity.status(status).headers(response.getHeaders());
+        if (!status.is2xxSuccessful() || status.value() == HttpStatus.NO_CONTENT.value()) {
+            return builder.build();
+        }
+
+        final List<T> items = new ArrayList<>();
+        try (InputStream body = response.getBody(); JsonParser parser = reader.createParser(body)) {
+            final JsonToken first = parser.nextToken();
+            if (first == null) {
+                return builder.body(List.of());
+            }
+            if (first != JsonToken.START_ARRAY) {
+                throw MismatchedInputException.from(parser, List.class, "Expected a JSON array but found " + first);
+            }
+            // Each element is bound as soon as its tokens have been read, then the parser moves on
+            for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+                final T element = token == JsonToken.VALUE_NULL ? null : bind(parser);
+                if (element != null) {
+                    items.add(element);
+                }
+            }
+        }
+        return builder.body(Collections.unmodifiableList(items));
+    }
+
+    /**
+     * Binds the element at the current token, applying the projection to object elements.
+     * Selected fields are copied into a token buffer while the others are skipped, and the buffer is
+     * only bound once the element has passed the filter.
+     *
+     * @param parser the parser, positioned at the start of the element
+     * @return the bound element, or null if it failed the filter
+     * @throws IOException if the element cannot be read or bound
+     */
+    private T bind(final JsonParser parser) throws IOException {
+        if (projection.isAll() || parser.currentToken() != JsonToken.START_OBJECT) {
+            return reader.readValue(parser);
+        }
+
+        final TokenBuffer selected = new TokenBuffer(parser);
+        selected.writeStartObject();
+        boolean tested = projection.filter() == null;
+        boolean matches = true;
+        for (String field = parser.nextFieldName(); field != null; field = parser.nextFieldName()) {
+            final JsonToken value = parser.nextToken();
+            if (!tested && field.equals(projection.filterField())) {
+                tested = true;
+                matches = projection.filter().test(value == JsonToken.VALUE_NULL ? null : parser.getValueAsString());
+            }
+            if (matches && projection.keeps(field)) {
+                selected.writeFieldName(field);
+                selected.copyCurrentStructure(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (!tested) {
+            matches = projection.filter().test(null);
+        }
+        if (!matches) {
+            return null;
+        }
+        selected.writeEndObject();
+        try (JsonParser projected = selected.asParser(parser.getCodec())) {
+            return reader.readValue(projected);
+        }
+    }
+}
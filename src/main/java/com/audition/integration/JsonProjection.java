@@ -0,0 +1,68 @@
+package com.audition.integration;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * What the upstream decoder should bind of each array element: the fields to keep, and an optional
+ * test on one field that an element must pass to be kept at all. Both are applied while parsing, so
+ * unneeded values are skipped as tokens and rejected elements are never bound to model objects.
+ *
+ * @param fields      the names of the fields to bind (null for all fields)
+ * @param filterField the name of the field the filter tests (null for no filter)
+ * @param filter      tests the text of the filter field, or null if the element lacks it or holds null
+ */
+public record JsonProjection(Set<String> fields, String filterField, Predicate<String> filter) {
+
+    private static final JsonProjection ALL = new JsonProjection(null, null, null);
+
+    /**
+     * Returns the projection keeping every field of every element.
+     *
+     * @return the identity projection
+     */
+    public static JsonProjection all() {
+        return ALL;
+    }
+
+    /**
+     * Returns a projection keeping only some fields of every element.
+     *
+     * @param fields the names of the fields to bind (null for all fields)
+     * @return the projection
+     */
+    public static JsonProjection of(final Collection<String> fields) {
+        return fields == null ? ALL : new JsonProjection(Set.copyOf(fields), null, null);
+    }
+
+    /**
+     * Returns this projection, additionally keeping only elements whose field passes a test.
+     *
+     * @param field     the name of the field to test; it need not be among the bound fields
+     * @param predicate tests the text of the field, or null if the element lacks it or holds null
+     * @return the filtered projection
+     */
+    public JsonProjection where(final String field, final Predicate<String> predicate) {
+        return new JsonProjection(fields, field, predicate);
+    }
+
+    /**
+     * Checks whether a field is bound.
+     *
+     * @param field the field name
+     * @return true if the field is bound
+     */
+    public boolean keeps(final String field) {
+        return fields == null || fields.contains(field);
+    }
+
+    /**
+     * Checks whether this projection binds every field of every element.
+     *
+     * @return true if nothing is skipped or filtered
+     */
+    public boolean isAll() {
+        return fields == null && filter == null;
+    }
+}
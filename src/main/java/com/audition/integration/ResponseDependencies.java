@@ -0,0 +1,167 @@
+package com.audition.integration;
+
+import io.micrometer.context.ThreadLocalAccessor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Tracks the cached data every response is built from, so caches of finished responses can be
+ * invalidated together with the entity caches underneath them.
+ * While a {@link Recording} is open on a thread, the entity caches report each key they serve to
+ * it; the recording travels with the context snapshot into the upstream executor, so lookups fanned
+ * out to other threads are recorded too. Data served from outside the tracked caches marks the
+ * recording as not cacheable. When a tracked entry changes or is dropped, its key is invalidated.
+ */
+@Component
+public class ResponseDependencies {
+
+    /**
+     * The key recorded for data served from the local mirror, invalidated by every new snapshot.
+     */
+    public static final String MIRROR_SNAPSHOT = "mirror:snapshot";
+
+    private static final ThreadLocal<Recording> RECORDING = new ThreadLocal<>();
+
+    private final transient AtomicLong generation = new AtomicLong();
+    private final transient List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Opens a recording on the calling thread, replacing any recording already open.
+     *
+     * @return the new recording
+     */
+    public Recording begin() {
+        final Recording recording = new Recording();
+        RECORDING.set(recording);
+        return recording;
+    }
+
+    /**
+     * Closes the recording open on the calling thread.
+     */
+    public void end() {
+        RECORDING.remove();
+    }
+
+    /**
+     * Reports a key served to the recording open on the calling thread, if any.
+     *
+     * @param key    the cache key
+     * @param cached whether the data served is held by the cache under that key; uncached data
+     *               cannot be invalidated, so it marks the recording as not cacheable
+     */
+    public void record(final String key, final boolean cached) {
+        final Recording recording = RECORDING.get();
+        if (recording != null) {
+            if (cached) {
+                recording.keys.add(key);
+            } else {
+                recording.cacheable = false;
+            }
+        }
+    }
+
+    /**
+     * Marks the recording open on the calling thread, if any, as not cacheable, for data whose
+     * dependencies cannot be tracked.
+     */
+    public void untracked() {
+        final Recording recording = RECORDING.get();
+        if (recording != null) {
+            recording.cacheable = false;
+        }
+    }
+
+    /**
+     * Returns the number of invalidations so far. A response built while this number changed may
+     * have been built from data invalidated before it could be cached, so it must not be cached.
+     *
+     * @return the invalidation generation
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Invalidates a key: every cached response built from it must be dropped.
+     *
+     * @param key the cache key whose data changed or was dropped
+     */
+    public void invalidate(final String key) {
+        generation.incrementAndGet();
+        listeners.forEach(listener -> listener.accept(key));
+    }
+
+    /**
+     * Registers a listener for invalidated keys.
+     *
+     * @param listener receives every invalidated key
+     */
+    public void onInvalidation(final Consumer<String> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * The keys served while building one response.
+     */
+    public static final class Recording {
+
+        private final Set<String> keys = ConcurrentHashMap.newKeySet();
+        private volatile boolean cacheable = true;
+
+        /**
+         * Returns the keys served so far.
+         *
+         * @return the recorded keys
+         */
+        public Set<String> keys() {
+            return Set.copyOf(keys);
+        }
+
+        /**
+         * Checks whether the response can be cached: it was built only from tracked data, and from some.
+         *
+         * @return true if the recorded keys cover all the data served
+         */
+        public boolean isCacheable() {
+            return cacheable && !keys.isEmpty();
+        }
+    }
+
+    /**
+     * Context-propagation accessor carrying the open recording across thread hops.
+     */
+    public static final class RecordingAccessor implements ThreadLocalAccessor<Recording> {
+
+        /**
+         * Key under which the recording is captured in a context snapshot.
+         */
+        public static final String KEY = "audition.response-dependencies";
+
+        @Override
+        public Object key() {
+            return KEY;
+        }
+
+        @Override
+        public Recording getValue() {
+            return RECORDING.get();
+        }
+
+        @Override
+        public void setValue(final Recording value) {
+            RECORDING.set(value);
+        }
+
+        @Override
+        public void reset() {
+            RECORDING.remove();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.audition.integration;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * DataLoader-style micro-batching of single-key upstream lookups.
+ * The first caller to load a key opens a batch and waits for the batching window; keys loaded by
+ * other callers meanwhile join that batch, which is then fetched with one multi-key upstream call
+ * on the opening caller's thread, and the results are handed back to every caller by key. A batch
+ * that reaches the maximum size is fetched right away.
+ *
+ * <p>The window adapts to the traffic: a batch that merged several keys doubles it, up to the
+ * maximum, and a batch holding a single key halves it, down to the minimum, so a lone caller soon
+ * stops paying for a wait that merges nothing.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public final class UpstreamBatchLoader<K, V> {
+
+    private static final String LOADER_TAG = "loader";
+
+    private final Function<Set<K>, Map<K, V>> batchFetch;
+    private final int maxBatchSize;
+    private final long minWindowNanos;
+    private final long maxWindowNanos;
+    private final AtomicLong windowNanos;
+    private final DistributionSummary batchSizes;
+    private final ReentrantLock lock = new ReentrantLock();
+    private Batch<K, V> open; // Guarded by lock
+
+    /**
+     * Constructs an UpstreamBatchLoader.
+     *
+     * @param name          the name of the loader, used to tag its metrics
+     * @param batchFetch    fetches many keys in one upstream call, returning the values found by key
+     * @param maxBatchSize  the maximum number of keys fetched in one call
+     * @param minWindow     the shortest batching window, in nanoseconds
+     * @param maxWindow     the longest batching window, in nanoseconds
+     * @param meterRegistry the registry for the batch size and window metrics
+     */
+    UpstreamBatchLoader(final String name, final Function<Set<K>, Map<K, V>> batchFetch, final int maxBatchSize,
+                        final long minWindow, final long maxWindow, final MeterRegistry meterRegistry) {
+        this.batchFetch = batchFetch;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.minWindowNanos = Math.max(1L, minWindow);
+        this.maxWindowNanos = Math.max(this.minWindowNanos, maxWindow);
+        this.windowNanos = new AtomicLong(this.minWindowNanos);
+        this.batchSizes = DistributionSummary.builder("audition.upstream.batch.size")
+                .description("Keys fetched per multi-key upstream call")
+                .tag(LOADER_TAG, name)
+                .register(meterRegistry);
+        TimeGauge.builder("audition.upstream.batch.window", windowNanos, TimeUnit.NANOSECONDS, AtomicLong::get)
+                .description("Current batching window")
+                .tag(LOADER_TAG, name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads one key, as part of a batch with the keys loaded concurrently.
+     *
+     * @param key the key to load
+     * @return the value of the key, or null if the upstream has none
+     * @throws RuntimeException the failure of the batch the key was fetched in
+     */
+    public V load(final K key) {
+        final Batch<K, V> batch;
+        final CompletableFuture<V> result;
+        final boolean opened;
+        lock.lock();
+        try {
+            opened = open == null;
+            if (opened) {
+                open = new Batch<>();
+            }
+            batch = open;
+            result = batch.pending.computeIfAbsent(key, pending -> new CompletableFuture<>());
+            if (batch.pending.size() >= maxBatchSize) {
+                open = null;
+                batch.full.countDown();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (opened) {
+            awaitWindow(batch);
+            dispatch(batch);
+        }
+        return join(result);
+    }
+
+    /**
+     * Waits for the batching window to elapse or the batch to fill up, then closes the batch.
+     *
+     * @param batch the batch opened by the calling thread
+     */
+    private void awaitWindow(final Batch<K, V> batch) {
+        try {
+            batch.full.await(windowNanos.get(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt(); // Fetch what was gathered so far rather than strand the other callers
+        }
+        lock.lock();
+        try {
+            if (open == batch) {
+                open = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Fetches a closed batch, hands every caller its result and adapts the window.
+     *
+     * @param batch the closed batch
+     */
+    private void dispatch(final Batch<K, V> batch) {
+        final int size = batch.pending.size();
+        batchSizes.record(size);
+        windowNanos.set(size > 1 ? Math.min(maxWindowNanos, windowNanos.get() * 2) : Math.max(minWindowNanos, windowNanos.get() / 2));
+        try {
+            final Map<K, V> found = batchFetch.apply(Collections.unmodifiableSet(batch.pending.keySet()));
+            batch.pending.forEach((key, result) -> result.complete(found.get(key)));
+        } catch (RuntimeException exception) {
+            batch.pending.values().forEach(result -> result.completeExceptionally(exception));
+        } finally {
+            batch.pending.values().forEach(result -> result.cancel(false)); // Never leave a caller waiting, even on an Error
+        }
+    }
+
+    /**
+     * Waits for the result of a key and rethrows the original exception of its batch on failure.
+     *
+     * @param result the pending result
+     * @param <T>    the result type
+     * @return the result
+     */
+    private static <T> T join(final CompletableFuture<T> result) {
+        try {
+            return result.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * The keys gathered for one upstream call.
+     *
+     * @param <K> the key type
+     * @param <V> the value type
+     */
+    private static final class Batch<K, V> {
+
+        private final Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+        private final CountDownLatch full = new CountDownLatch(1);
+    }
+}
@@ -0,0 +1,58 @@
+package com.audition.integration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Creates the {@link UpstreamBatchLoader}s that merge concurrent single-key upstream lookups into
+ * multi-key calls, all sharing the configured batch size and window bounds.
+ */
+@Component
+public class UpstreamBatcher {
+
+    private final transient boolean enabled;
+    private final transient int maxBatchSize;
+    private final transient long minWindowNanos;
+    private final transient long maxWindowNanos;
+    private final transient MeterRegistry meterRegistry;
+
+    /**
+     * Constructs an UpstreamBatcher.
+     *
+     * @param enabled         whether single-key lookups are batched at all
+     * @param maxBatchSize    the maximum number of keys fetched in one upstream call
+     * @param minWindowMicros the shortest batching window, in microseconds
+     * @param maxWindowMicros the longest batching window, in microseconds
+     * @param meterRegistry   the registry for the batch size and window metrics
+     */
+    public UpstreamBatcher(@Value("${application.batch.loader.enabled:false}") final boolean enabled,
+                           @Value("${application.batch.loader.max-size:50}") final int maxBatchSize,
+                           @Value("${application.batch.loader.min-window-micros:50}") final long minWindowMicros,
+                           @Value("${application.batch.loader.max-window-micros:2000}") final long maxWindowMicros,
+                           final MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.minWindowNanos = TimeUnit.MICROSECONDS.toNanos(minWindowMicros);
+        this.maxWindowNanos = TimeUnit.MICROSECONDS.toNanos(maxWindowMicros);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Creates a batch loader, if batching is enabled.
+     *
+     * @param name       the name of the loader, used to tag its metrics
+     * @param batchFetch fetches many keys in one upstream call, returning the values found by key
+     * @param <K>        the key type
+     * @param <V>        the value type
+     * @return the loader, or null if single-key lookups should be fetched one by one
+     */
+    public <K, V> UpstreamBatchLoader<K, V> loader(final String name, final Function<Set<K>, Map<K, V>> batchFetch) {
+        return enabled ? new UpstreamBatchLoader<>(name, batchFetch, maxBatchSize, minWindowNanos, maxWindowNanos, meterRegistry) : null;
+    }
+}
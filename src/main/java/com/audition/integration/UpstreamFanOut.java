@@ -0,0 +1,102 @@
+package com.audition.integration;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Bounded-parallel fan-out of independent blocking upstream lookups.
+ * A fixed number of workers pull keys from a shared cursor, so at most that many lookups of one
+ * batch are in flight at a time however large the batch is, and a slow lookup never holds up the
+ * keys behind it. The calling thread works as one of the workers.
+ */
+@Component
+public class UpstreamFanOut {
+
+    private final transient Executor upstreamExecutor;
+    private final transient int maxParallelism;
+
+    /**
+     * Constructs an UpstreamFanOut.
+     *
+     * @param upstreamExecutor the executor running the additional workers
+     * @param maxParallelism   the maximum number of lookups of one batch in flight at a time
+     */
+    public UpstreamFanOut(@Qualifier("upstreamExecutor") final Executor upstreamExecutor,
+                          @Value("${application.batch.max-parallelism:8}") final int maxParallelism) {
+        this.upstreamExecutor = upstreamExecutor;
+        this.maxParallelism = Math.max(1, maxParallelism);
+    }
+
+    /**
+     * Looks up every key and waits for all lookups to finish.
+     *
+     * @param keys   the keys to look up, duplicates looked up once
+     * @param lookup looks up one key, returning null if it does not exist
+     * @param <K>    the key type
+     * @param <V>    the value type
+     * @return the values found, by key, in the order of the keys; missing keys are absent
+     * @throws RuntimeException the first failure of a lookup, once all workers have stopped
+     */
+    public <K, V> Map<K, V> fetchAll(final Collection<K> keys, final Function<? super K, ? extends V> lookup) {
+        final List<K> distinct = new ArrayList<>(new LinkedHashSet<>(keys));
+        final AtomicReferenceArray<V> values = new AtomicReferenceArray<>(distinct.size());
+        final AtomicInteger cursor = new AtomicInteger();
+        final Runnable worker = () -> {
+            try {
+                for (int index = cursor.getAndIncrement(); index < distinct.size(); index = cursor.getAndIncrement()) {
+                    values.set(index, lookup.apply(distinct.get(index)));
+                }
+            } catch (RuntimeException exception) {
+                cursor.set(distinct.size()); // Stop the other workers after their current lookup
+                throw exception;
+            }
+        };
+
+        final int workers = Math.min(maxParallelism, distinct.size());
+        final List<CompletableFuture<Void>> helpers = new ArrayList<>(workers);
+        for (int i = 1; i < workers; i++) {
+            helpers.add(CompletableFuture.runAsync(worker, upstreamExecutor));
+        }
+        RuntimeException failure = null;
+        try {
+            worker.run();
+        } catch (RuntimeException exception) {
+            failure = exception;
+        }
+        for (final CompletableFuture<Void> helper : helpers) {
+            try {
+                helper.join();
+            } catch (CompletionException exception) {
+                if (failure == null) {
+                    failure = exception.getCause() instanceof RuntimeException cause ? cause : exception;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+
+        final Map<K, V> found = new LinkedHashMap<>();
+        for (int index = 0; index < distinct.size(); index++) {
+            final V value = values.get(index);
+            if (value != null) {
+                found.put(distinct.get(index), value);
+            }
+        }
+        return found;
+    }
+}
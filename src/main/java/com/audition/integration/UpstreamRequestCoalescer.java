@@ -0,0 +1,136 @@
+package com.audition.integration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight coalescing of identical upstream requests.
+ * Concurrent callers asking for the same upstream URL share one outstanding request and its
+ * result (or failure), instead of each producing an identical upstream call. Results are shared
+ * by reference, so callers must treat them as read-only.
+ */
+@Component
+public class UpstreamRequestCoalescer {
+
+    private static final String REQUESTS_METRIC = "audition.upstream.requests";
+    private static final String OUTCOME_TAG = "outcome";
+
+    private final transient Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final transient Map<String, Mono<Object>> reactiveInFlight = new ConcurrentHashMap<>();
+    private final transient Counter executedCounter;
+    private final transient Counter coalescedCounter;
+
+    /**
+     * Constructs an UpstreamRequestCoalescer.
+     *
+     * @param meterRegistry the registry for the executed/coalesced request counters
+     */
+    public UpstreamRequestCoalescer(final MeterRegistry meterRegistry) {
+        this.executedCounter = Counter.builder(REQUESTS_METRIC)
+                .description("Upstream requests actually sent")
+                .tag(OUTCOME_TAG, "executed")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder(REQUESTS_METRIC)
+                .description("Upstream requests collapsed onto an identical in-flight request")
+                .tag(OUTCOME_TAG, "coalesced")
+                .register(meterRegistry);
+        Gauge.builder("audition.upstream.requests.in-flight", this, coalescer -> coalescer.inFlight.size() + coalescer.reactiveInFlight.size())
+                .description("Distinct upstream requests currently in flight")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Executes a blocking upstream call, or joins an identical call already in flight.
+     *
+     * @param url  the upstream URL identifying the request
+     * @param call the upstream call to execute if no identical call is in flight
+     * @param <T>  the result type
+     * @return the result of the (possibly shared) upstream call
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(final String url, final Supplier<T> call) {
+        final CompletableFuture<Object> candidate = new CompletableFuture<>();
+        final CompletableFuture<Object> existing = inFlight.putIfAbsent(url, candidate);
+        if (existing != null) {
+            coalescedCounter.increment();
+            return (T) join(existing);
+        }
+
+        executedCounter.increment();
+        // The call is unregistered before its result is published, so a caller reacting to the
+        // result with another request for the same URL starts a fresh call instead of rejoining this one
+        try {
+            final T result = call.get();
+            inFlight.remove(url, candidate);
+            candidate.complete(result);
+            return result;
+        } catch (Throwable failure) {
+            // Errors are shared too, so callers already waiting on this call are never left blocked
+            inFlight.remove(url, candidate);
+            candidate.completeExceptionally(failure);
+            throw failure;
+        }
+    }
+
+    /**
+     * Executes a reactive upstream call, or joins an identical call already in flight.
+     *
+     * @param url  the upstream URL identifying the request
+     * @param call the upstream call to subscribe to if no identical call is in flight
+     * @param <T>  the result type
+     * @return a Mono emitting the result of the (possibly shared) upstream call
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> executeReactive(final String url, final Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            final AtomicReference<Mono<Object>> created = new AtomicReference<>();
+            final Mono<Object> shared = reactiveInFlight.computeIfAbsent(url, key -> {
+                final AtomicReference<Mono<Object>> self = new AtomicReference<>();
+                final Mono<Object> mono = call.get()
+                        .cast(Object.class)
+                        .doOnEach(signal -> reactiveInFlight.remove(key, self.get()))
+                        .doFinally(signal -> reactiveInFlight.remove(key, self.get()))
+                        .cache();
+                self.set(mono);
+                created.set(mono);
+                return mono;
+            });
+            if (created.get() == null) {
+                coalescedCounter.increment();
+            } else {
+                executedCounter.increment();
+            }
+            return (Mono<T>) shared;
+        });
+    }
+
+    /**
+     * Waits for an in-flight call and rethrows its original exception on failure.
+     *
+     * @param future the in-flight call
+     * @return the result of the call
+     */
+    private static Object join(final CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (exception.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw exception;
+        }
+    }
+}
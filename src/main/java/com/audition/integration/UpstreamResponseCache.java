@@ -0,0 +1,501 @@
+package com.audition.integration;
+
+import com.audition.common.exception.ClientException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process cache of successful upstream responses, keyed by upstream URL.
+ * Backed by Caffeine, whose W-TinyLFU policy admits new entries based on a frequency sketch so a
+ * burst of one-off URLs cannot flush the hot set, and whose reads do not take locks. The cache is
+ * bounded by weight (roughly the number of entities held) and each {@link CacheRegion} has its
+ * own time-to-live, shortened when the upstream {@code Cache-Control} asks for less.
+ *
+ * <p>Responses carrying an {@code ETag} are kept for a retention window after they go stale, so
+ * the next lookup revalidates them with a conditional GET; a {@code 304 Not Modified} renews the
+ * cached response without transferring or parsing the body again.
+ *
+ * <p>Stale responses keep being served for a short while after they expire, while a single
+ * background refresh runs, and for longer when the upstream fails with anything but a client
+ * error. Hot entries are refreshed ahead of expiry with a probability that grows as expiry nears
+ * (XFetch), so popular keys do not all miss at the same moment. Cached responses are shared
+ * between callers and must be treated as read-only.
+ *
+ * <p>Every lookup reports its URL to the {@link ResponseDependencies} of the request, and a URL is
+ * invalidated there whenever its cached response is replaced by a different one or dropped, so
+ * responses built from it can be dropped too.
+ */
+@Slf4j
+@Component
+public class UpstreamResponseCache {
+
+    private static final String CACHE_NAME = "upstream";
+    private static final String REVALIDATIONS_METRIC = "audition.upstream.revalidations";
+    private static final String STALE_SERVED_METRIC = "audition.upstream.stale-served";
+    private static final String REFRESHES_METRIC = "audition.upstream.refreshes";
+    private static final String OUTCOME_TAG = "outcome";
+    private static final String REASON_TAG = "reason";
+    private static final String TRIGGER_TAG = "trigger";
+    private static final String NO_STORE = "no-store";
+    private static final String NO_CACHE = "no-cache";
+    private static final String MAX_AGE = "max-age=";
+
+    private final transient Cache<String, Entry> cache;
+    private final transient Map<CacheRegion, Duration> timeToLive = new EnumMap<>(CacheRegion.class);
+    private final transient Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final transient Executor refreshExecutor;
+    private final transient ResponseDependencies dependencies;
+    private final transient long retentionNanos;
+    private final transient long staleWhileRevalidateNanos;
+    private final transient long staleIfErrorNanos;
+    private final transient double earlyRefreshBeta;
+    private final transient Counter notModifiedCounter;
+    private final transient Counter modifiedCounter;
+    private final transient Counter staleWhileRevalidateCounter;
+    private final transient Counter staleIfErrorCounter;
+    private final transient Counter staleRefreshCounter;
+    private final transient Counter earlyRefreshCounter;
+
+    /**
+     * Constructs an UpstreamResponseCache.
+     *
+     * @param meterRegistry        the registry for the cache, revalidation and stale-serving metrics
+     * @param refreshExecutor      the executor running background refreshes of blocking lookups
+     * @param dependencies         the tracker told which URLs each response is built from and when they change
+     * @param maximumWeight        the maximum total weight of cached responses, one unit per entity
+     * @param postsTtl             time-to-live of cached posts in milliseconds
+     * @param commentsTtl          time-to-live of cached comments in milliseconds
+     * @param retention            how long stale responses with a validator are kept for revalidation, in milliseconds
+     * @param staleWhileRevalidate how long a stale response is served while it is refreshed in the background, in milliseconds
+     * @param staleIfError         how long a stale response is served when the upstream fails, in milliseconds
+     * @param earlyRefreshBeta     aggressiveness of probabilistic refresh ahead of expiry, 0 to disable
+     */
+    public UpstreamResponseCache(final MeterRegistry meterRegistry,
+                                 @Qualifier("upstreamExecutor") final Executor refreshExecutor,
+                                 final ResponseDependencies dependencies,
+                                 @Value("${application.cache.maximum-weight:100000}") final long maximumWeight,
+                                 @Value("${application.cache.ttl.posts:60000}") final long postsTtl,
+                                 @Value("${application.cache.ttl.comments:30000}") final long commentsTtl,
+                                 @Value("${application.cache.revalidation-retention:600000}") final long retention,
+                                 @Value("${application.cache.stale-while-revalidate:30000}") final long staleWhileRevalidate,
+                                 @Value("${application.cache.stale-if-error:300000}") final long staleIfError,
+                                 @Value("${application.cache.early-refresh-beta:1.0}") final double earlyRefreshBeta) {
+        timeToLive.put(CacheRegion.POSTS, Duration.ofMillis(postsTtl));
+        timeToLive.put(CacheRegion.COMMENTS, Duration.ofMillis(commentsTtl));
+        this.refreshExecutor = refreshExecutor;
+        this.dependencies = dependencies;
+        this.retentionNanos = Duration.ofMillis(retention).toNanos();
+        this.staleWhileRevalidateNanos = Duration.ofMillis(staleWhileRevalidate).toNanos();
+        this.staleIfErrorNanos = Duration.ofMillis(staleIfError).toNanos();
+        this.earlyRefreshBeta = earlyRefreshBeta;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((String url, Entry entry) -> entry.weight())
+                .expireAfter(new RetentionExpiry())
+                .removalListener((String url, Entry entry, RemovalCause cause) -> {
+                    if (cause != RemovalCause.REPLACED) {
+                        dependencies.invalidate(url);
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        this.notModifiedCounter = Counter.builder(REVALIDATIONS_METRIC)
+                .description("Stale upstream responses renewed by a 304 Not Modified")
+                .tag(OUTCOME_TAG, "not-modified")
+                .register(meterRegistry);
+        this.modifiedCounter = Counter.builder(REVALIDATIONS_METRIC)
+                .description("Conditional revalidations answered with a full response")
+                .tag(OUTCOME_TAG, "modified")
+                .register(meterRegistry);
+        this.staleWhileRevalidateCounter = Counter.builder(STALE_SERVED_METRIC)
+                .description("Stale upstream responses served while a background refresh runs")
+                .tag(REASON_TAG, "revalidating")
+                .register(meterRegistry);
+        this.staleIfErrorCounter = Counter.builder(STALE_SERVED_METRIC)
+                .description("Stale upstream responses served because the upstream failed")
+                .tag(REASON_TAG, "upstream-error")
+                .register(meterRegistry);
+        this.staleRefreshCounter = Counter.builder(REFRESHES_METRIC)
+                .description("Background refreshes of stale upstream responses")
+                .tag(TRIGGER_TAG, "stale")
+                .register(meterRegistry);
+        this.earlyRefreshCounter = Counter.builder(REFRESHES_METRIC)
+                .description("Probabilistic background refreshes ahead of expiry")
+                .tag(TRIGGER_TAG, "early")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Builds the request headers for an upstream call, adding {@code If-None-Match} when revalidating.
+     *
+     * @param etag the validator of the stale cached response, or null for an unconditional request
+     * @return the request headers
+     */
+    public static HttpHeaders conditionalHeaders(final String etag) {
+        final HttpHeaders headers = new HttpHeaders();
+        if (etag != null) {
+            headers.setIfNoneMatch(etag);
+        }
+        return headers;
+    }
+
+    /**
+     * Returns the cached response for a URL, loading it on a miss or revalidating it once stale.
+     * The loader receives the {@code ETag} of the stale response, or null when it must fetch
+     * unconditionally. Failed loads are not cached.
+     *
+     * @param region the kind of resource the URL points to
+     * @param url    the upstream URL
+     * @param loader the upstream call to make on a miss or for revalidation
+     * @param <T>    the body type
+     * @return the cached or freshly loaded response
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> get(final CacheRegion region, final String url, final Function<String, ResponseEntity<T>> loader) {
+        final long now = System.nanoTime();
+        final Entry cached = cache.getIfPresent(url);
+        if (cached != null && isServable(cached, now)) {
+            final String etag = cached.etag();
+            refreshIfDue(cached, url, now, () -> refreshExecutor.execute(() -> {
+                try {
+                    final long start = System.nanoTime();
+                    store(region, url, cached, loader.apply(etag), System.nanoTime() - start);
+                } catch (RuntimeException exception) {
+                    log.debug("Background refresh of {} failed, keeping the cached response", url, exception);
+                } finally {
+                    refreshing.remove(url);
+                }
+            }));
+            dependencies.record(url, true);
+            return (ResponseEntity<T>) cached.response();
+        }
+
+        final long start = System.nanoTime();
+        try {
+            final ResponseEntity<T> response = loader.apply(cached == null ? null : cached.etag());
+            if (isNotModified(response) && cached == null) {
+                // Joined someone else's conditional request without a cached body of our own
+                return track(url, store(region, url, null, loader.apply(null), System.nanoTime() - start));
+            }
+            return track(url, store(region, url, cached, response, System.nanoTime() - start));
+        } catch (RuntimeException exception) {
+            if (canServeOnError(cached, exception)) {
+                staleIfErrorCounter.increment();
+                dependencies.record(url, true);
+                return (ResponseEntity<T>) cached.response();
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * Reactive variant of {@link #get(CacheRegion, String, Function)}.
+     * Reactive lookups complete on other threads than the request's, so they are reported as untracked.
+     *
+     * @param region the kind of resource the URL points to
+     * @param url    the upstream URL
+     * @param loader the upstream call to subscribe to on a miss or for revalidation
+     * @param <T>    the body type
+     * @return a Mono emitting the cached or freshly loaded response
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<ResponseEntity<T>> getReactive(final CacheRegion region, final String url,
+                                                   final Function<String, Mono<ResponseEntity<T>>> loader) {
+        dependencies.untracked();
+        return Mono.defer(() -> {
+            final long now = System.nanoTime();
+            final Entry cached = cache.getIfPresent(url);
+            if (cached != null && isServable(cached, now)) {
+                final long start = System.nanoTime();
+                refreshIfDue(cached, url, now, () -> loader.apply(cached.etag())
+                        .doFinally(signal -> refreshing.remove(url))
+                        .subscribe(response -> store(region, url, cached, response, System.nanoTime() - start),
+                                exception -> log.debug("Background refresh of {} failed, keeping the cached response", url, exception)));
+                return Mono.just((ResponseEntity<T>) cached.response());
+            }
+
+            final long start = System.nanoTime();
+            return loader.apply(cached == null ? null : cached.etag())
+                    .flatMap(response -> {
+                        if (isNotModified(response) && cached == null) {
+                            return loader.apply(null).map(retried -> store(region, url, null, retried, System.nanoTime() - start));
+                        }
+                        return Mono.just(store(region, url, cached, response, System.nanoTime() - start));
+                    })
+                    .onErrorResume(exception -> canServeOnError(cached, exception), exception -> {
+                        staleIfErrorCounter.increment();
+                        return Mono.just((ResponseEntity<T>) cached.response());
+                    });
+        });
+    }
+
+    /**
+     * Reports a URL looked up to the dependency tracker, as tracked only if the response handed out
+     * is the one now cached under the URL.
+     *
+     * @param url      the upstream URL
+     * @param response the response handed to the caller
+     * @param <T>      the body type
+     * @return the response
+     */
+    private <T> ResponseEntity<T> track(final String url, final ResponseEntity<T> response) {
+        final Entry entry = cache.asMap().get(url); // Unlike getIfPresent, not counted as a cache hit
+        dependencies.record(url, entry != null && entry.response() == response);
+        return response;
+    }
+
+    /**
+     * Checks whether a cached response can be served without waiting for the upstream: either it is
+     * still fresh, or it went stale recently enough to be served while it is refreshed.
+     *
+     * @param entry the cached entry
+     * @param now   the current {@link System#nanoTime()}
+     * @return true if the entry can be served right away
+     */
+    private boolean isServable(final Entry entry, final long now) {
+        return entry.isFresh(now) || now - entry.freshUntil() < staleWhileRevalidateNanos;
+    }
+
+    /**
+     * Starts a background refresh of a served entry when it is stale, or probabilistically when it
+     * is close to expiry. At most one refresh per URL runs at a time.
+     *
+     * @param entry   the served entry
+     * @param url     the upstream URL
+     * @param now     the current {@link System#nanoTime()}
+     * @param refresh the action starting the refresh
+     */
+    private void refreshIfDue(final Entry entry, final String url, final long now, final Runnable refresh) {
+        final boolean stale = !entry.isFresh(now);
+        if (stale) {
+            staleWhileRevalidateCounter.increment();
+        }
+        if ((!stale && !isEarlyRefreshDue(entry, now)) || !refreshing.add(url)) {
+            return;
+        }
+        if (stale) {
+            staleRefreshCounter.increment();
+        } else {
+            earlyRefreshCounter.increment();
+        }
+        try {
+            refresh.run();
+        } catch (RejectedExecutionException exception) {
+            refreshing.remove(url);
+            log.debug("Background refresh of {} rejected", url, exception);
+        }
+    }
+
+    /**
+     * XFetch: refresh ahead of expiry with a probability that rises as expiry approaches, scaled by
+     * how long the response took to load so expensive responses are refreshed earlier.
+     *
+     * @param entry the fresh entry
+     * @param now   the current {@link System#nanoTime()}
+     * @return true if this lookup should trigger an early refresh
+     */
+    private boolean isEarlyRefreshDue(final Entry entry, final long now) {
+        if (earlyRefreshBeta <= 0) {
+            return false;
+        }
+        final double gap = -entry.loadNanos() * earlyRefreshBeta * Math.log(ThreadLocalRandom.current().nextDouble());
+        return gap >= entry.freshUntil() - now; // The remaining lifetime, overflow-safe like the other nanoTime comparisons
+    }
+
+    /**
+     * Checks whether a stale response may be served in place of a failed upstream call.
+     * Client errors such as 404 are authoritative and always propagate.
+     *
+     * @param cached    the stale cached entry, or null on a miss
+     * @param exception the upstream failure
+     * @return true if the stale response should be served
+     */
+    private boolean canServeOnError(final Entry cached, final Throwable exception) {
+        return cached != null && !(exception instanceof ClientException)
+                && System.nanoTime() - cached.freshUntil() < staleIfErrorNanos;
+    }
+
+    /**
+     * Caches a successful response, or renews the stale entry on a 304.
+     *
+     * @param region    the kind of resource the URL points to
+     * @param url       the upstream URL
+     * @param cached    the stale cached entry, or null on a miss
+     * @param response  the upstream response
+     * @param loadNanos how long the upstream call took, in nanoseconds
+     * @param <T>       the body type
+     * @return the response to hand to the caller
+     */
+    @SuppressWarnings("unchecked")
+    private <T> ResponseEntity<T> store(final CacheRegion region, final String url, final Entry cached,
+                                        final ResponseEntity<T> response, final long loadNanos) {
+        if (cached != null && isNotModified(response)) {
+            notModifiedCounter.increment();
+            final Duration lifetime = freshnessLifetime(region, response.getHeaders());
+            final String etag = response.getHeaders().getETag();
+            cache.put(url, new Entry(cached.response(), etag == null ? cached.etag() : etag,
+                    expiresAt(lifetime == null ? Duration.ZERO : lifetime), loadNanos, cached.weight()));
+            return (ResponseEntity<T>) cached.response();
+        }
+        if (cached != null && cached.etag() != null) {
+            modifiedCounter.increment();
+        }
+        if (response != null && response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
+            final Duration lifetime = freshnessLifetime(region, response.getHeaders());
+            if (lifetime != null) {
+                final Entry replaced = cache.asMap().put(url, new Entry(response, response.getHeaders().getETag(),
+                        expiresAt(lifetime), loadNanos, weigh(response.getBody())));
+                if (replaced != null) {
+                    dependencies.invalidate(url);
+                }
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Works out how long a response stays fresh: the region time-to-live, shortened by the
+     * upstream {@code max-age}, zero for {@code no-cache} and null for {@code no-store}.
+     *
+     * @param region  the kind of resource cached
+     * @param headers the upstream response headers
+     * @return the freshness lifetime, or null if the response must not be stored
+     */
+    private Duration freshnessLifetime(final CacheRegion region, final HttpHeaders headers) {
+        Duration lifetime = timeToLive.get(region);
+        final String cacheControl = headers.getCacheControl();
+        if (cacheControl == null) {
+            return lifetime;
+        }
+        for (final String directive : cacheControl.toLowerCase(Locale.ENGLISH).split(",")) {
+            final String trimmed = directive.trim();
+            if (NO_STORE.equals(trimmed)) {
+                return null;
+            }
+            if (NO_CACHE.equals(trimmed)) {
+                lifetime = Duration.ZERO;
+            } else if (trimmed.startsWith(MAX_AGE)) {
+                lifetime = shorterOf(lifetime, trimmed.substring(MAX_AGE.length()));
+            }
+        }
+        return lifetime;
+    }
+
+    /**
+     * Returns the shorter of a lifetime and a {@code max-age} value in seconds.
+     *
+     * @param lifetime the current lifetime
+     * @param maxAge   the raw {@code max-age} value
+     * @return the shorter lifetime, or the current one if the value cannot be parsed
+     */
+    private static Duration shorterOf(final Duration lifetime, final String maxAge) {
+        try {
+            final Duration upstream = Duration.ofSeconds(Long.parseLong(maxAge.trim()));
+            return upstream.compareTo(lifetime) < 0 ? upstream : lifetime;
+        } catch (NumberFormatException exception) {
+            return lifetime;
+        }
+    }
+
+    /**
+     * Converts a freshness lifetime into an absolute {@link System#nanoTime()} deadline.
+     *
+     * @param lifetime the freshness lifetime
+     * @return the time at which the response goes stale
+     */
+    private static long expiresAt(final Duration lifetime) {
+        return System.nanoTime() + lifetime.toNanos();
+    }
+
+    /**
+     * Checks whether an upstream response is a 304 Not Modified.
+     *
+     * @param response the upstream response
+     * @return true for a 304 response
+     */
+    private static boolean isNotModified(final ResponseEntity<?> response) {
+        return response != null && response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value();
+    }
+
+    /**
+     * Approximates the weight of a response body as the number of entities it holds.
+     *
+     * @param body the response body
+     * @return the weight of the body, at least one
+     */
+    private static int weigh(final Object body) {
+        if (body instanceof Object[] array) {
+            return Math.max(1, array.length);
+        }
+        if (body instanceof Collection<?> collection) {
+            return Math.max(1, collection.size());
+        }
+        return 1;
+    }
+
+    /**
+     * A cached upstream response.
+     *
+     * @param response   the upstream response
+     * @param etag       the validator of the response, if the upstream sent one
+     * @param freshUntil the {@link System#nanoTime()} at which the response goes stale
+     * @param loadNanos  how long the upstream call for the response took, in nanoseconds
+     * @param weight     the weight of the response body
+     */
+    private record Entry(ResponseEntity<?> response, String etag, long freshUntil, long loadNanos, int weight) {
+
+        boolean isFresh(final long now) {
+            return now - freshUntil < 0;
+        }
+    }
+
+    /**
+     * Keeps entries until they go stale, plus the longest window in which they can still be
+     * served stale or revalidated.
+     */
+    private final class RetentionExpiry implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(final String url, final Entry entry, final long currentTime) {
+            final long fresh = Math.max(0, entry.freshUntil() - currentTime);
+            final long stale = Math.max(staleWhileRevalidateNanos, staleIfErrorNanos);
+            return fresh + (entry.etag() == null ? stale : Math.max(stale, retentionNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(final String url, final Entry entry, final long currentTime, final long currentDuration) {
+            return expireAfterCreate(url, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(final String url, final Entry entry, final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.audition.mirror;
+
+import java.util.Arrays;
+
+/**
+ * Immutable, primitive-specialised multimap from {@code int} keys to groups of {@code int} values.
+ * Keys live in an open-addressing table with linear probing; the values of all keys are packed into
+ * one flat array, each key owning a contiguous run of it, so a lookup touches three arrays and never
+ * boxes, allocates or chases per-entry pointers. Values keep the order in which they were supplied
+ * for their key, which lets callers page through a key's values by position.
+ *
+ * <p>Keys must not be {@link Integer#MIN_VALUE}, which marks empty slots.
+ */
+public final class IntArrayIndex {
+
+    private static final int EMPTY = Integer.MIN_VALUE;
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int OBJECT_HEADER_BYTES = 16;
+    private static final int INT_BYTES = Integer.BYTES;
+    private static final int REFERENCE_BYTES = 4;
+    private static final int NO_VALUE = -1;
+
+    private final int[] keys;
+    private final int[] starts;
+    private final int[] ends;
+    private final int[] values;
+    private final int mask;
+    private final int size;
+
+    private IntArrayIndex(final int[] keys, final int[] starts, final int[] ends, final int[] values, final int size) {
+        this.keys = keys;
+        this.starts = starts;
+        this.ends = ends;
+        this.values = values;
+        this.mask = keys.length - 1;
+        this.size = size;
+    }
+
+    /**
+     * Builds an index from parallel arrays of keys and values: {@code keys[i]} maps to {@code values[i]}.
+     *
+     * @param keys   the key of every pair
+     * @param values the value of every pair
+     * @return the built index
+     * @throws IllegalArgumentException if the arrays differ in length or a key is {@link Integer#MIN_VALUE}
+     */
+    public static IntArrayIndex build(final int[] keys, final int[] values) {
+        if (keys.length != values.length) {
+            throw new IllegalArgumentException("Keys and values must have the same length");
+        }
+        // Load factor of at most one half keeps probe sequences short; the table is sized on the
+        // distinct keys, which a first pass over a scratch table counts
+        final int[] scratch = new int[nextPowerOfTwo(Math.max(1, keys.length) * 2)];
+        Arrays.fill(scratch, EMPTY);
+        int distinct = 0;
+        for (final int key : keys) {
+            if (key == EMPTY) {
+                throw new IllegalArgumentException("Integer.MIN_VALUE cannot be used as a key");
+            }
+            final int slot = probe(scratch, scratch.length - 1, key);
+            if (scratch[slot] == EMPTY) {
+                scratch[slot] = key;
+                distinct++;
+            }
+        }
+
+        final int capacity = nextPowerOfTwo(Math.max(1, distinct) * 2);
+        final int[] table = new int[capacity];
+        Arrays.fill(table, EMPTY);
+        final int[] counts = new int[capacity];
+        for (final int key : keys) {
+            final int slot = probe(table, capacity - 1, key);
+            table[slot] = key;
+            counts[slot]++;
+        }
+
+        final int[] starts = new int[capacity];
+        final int[] ends = new int[capacity];
+        int offset = 0;
+        for (int slot = 0; slot < capacity; slot++) {
+            starts[slot] = offset;
+            ends[slot] = offset;
+            offset += counts[slot];
+        }
+        final int[] packed = new int[values.length];
+        for (int i = 0; i < keys.length; i++) {
+            final int slot = probe(table, capacity - 1, keys[i]);
+            packed[ends[slot]++] = values[i];
+        }
+        return new IntArrayIndex(table, starts, ends, packed, distinct);
+    }
+
+    /**
+     * Returns the number of distinct keys.
+     *
+     * @return the number of keys
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of values over all keys.
+     *
+     * @return the number of values
+     */
+    public int valueCount() {
+        return values.length;
+    }
+
+    /**
+     * Returns how many values a key has.
+     *
+     * @param key the key
+     * @return the number of values, 0 if the key is absent
+     */
+    public int count(final int key) {
+        final int slot = find(key);
+        return slot == NO_VALUE ? 0 : ends[slot] - starts[slot];
+    }
+
+    /**
+     * Returns the first value of a key, for indexes holding one value per key.
+     *
+     * @param key     the key
+     * @param missing the value to return if the key is absent
+     * @return the first value of the key, or {@code missing}
+     */
+    public int first(final int key, final int missing) {
+        final int slot = find(key);
+        return slot == NO_VALUE ? missing : values[starts[slot]];
+    }
+
+    /**
+     * Resolves a page of a key's values to a range of positions, without allocating.
+     * Decode the result with {@link #from(long)} and {@link #to(long)}, then read with {@link #value(int)}.
+     *
+     * @param key    the key
+     * @param offset the index of the first value of the page, like the upstream {@code _start} (nullable)
+     * @param limit  the maximum number of values in the page (nullable for all)
+     * @return the packed {@code [from, to)} position range, empty if the key is absent
+     */
+    public long range(final int key, final Integer offset, final Integer limit) {
+        final int slot = find(key);
+        if (slot == NO_VALUE) {
+            return 0L;
+        }
+        final int start = starts[slot];
+        final int end = ends[slot];
+        final int from = (int) Math.min(end, (long) start + (offset == null ? 0 : Math.max(0, offset)));
+        final int to = limit == null ? end : (int) Math.min(end, (long) from + Math.max(0, limit));
+        return ((long) from << Integer.SIZE) | (to & 0xFFFF_FFFFL);
+    }
+
+    /**
+     * Resolves a page of a key's values starting at the first value not less than a bound, without
+     * allocating. The values of the key must be ascending, as they are for indexes built from
+     * positions in order; the bound is then found by binary search instead of skipping an offset.
+     *
+     * @param key   the key
+     * @param bound the smallest value of the page
+     * @param limit the maximum number of values in the page
+     * @return the packed {@code [from, to)} position range, empty if the key is absent
+     */
+    public long rangeFrom(final int key, final int bound, final int limit) {
+        final int slot = find(key);
+        if (slot == NO_VALUE) {
+            return 0L;
+        }
+        int low = starts[slot];
+        int high = ends[slot];
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (values[middle] < bound) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        final int to = (int) Math.min(ends[slot], (long) low + Math.max(0, limit));
+        return ((long) low << Integer.SIZE) | (to & 0xFFFF_FFFFL);
+    }
+
+    /**
+     * Decodes the first position of a range returned by {@link #range(int, Integer, Integer)}.
+     *
+     * @param range the packed range
+     * @return the first position, inclusive
+     */
+    public static int from(final long range) {
+        return (int) (range >>> Integer.SIZE);
+    }
+
+    /**
+     * Decodes the end position of a range returned by {@link #range(int, Integer, Integer)}.
+     *
+     * @param range the packed range
+     * @return the end position, exclusive
+     */
+    public static int to(final long range) {
+        return (int) range;
+    }
+
+    /**
+     * Reads the value stored at a position.
+     *
+     * @param position a position within a range returned by {@link #range(int, Integer, Integer)}
+     * @return the value
+     */
+    public int value(final int position) {
+        return values[position];
+    }
+
+    /**
+     * Returns the heap footprint of this index.
+     *
+     * @return the approximate retained size in bytes
+     */
+    public long footprintBytes() {
+        return OBJECT_HEADER_BYTES + 6L * REFERENCE_BYTES
+                + 4L * ARRAY_HEADER_BYTES + (long) INT_BYTES * (keys.length * 3L + values.length);
+    }
+
+    /**
+     * Estimates the heap footprint of the same data held as a {@code HashMap<Integer, List<Integer>>}
+     * with {@code ArrayList} values, assuming compressed references and no shared boxed integers.
+     *
+     * @return the approximate retained size in bytes
+     */
+    public long boxedFootprintBytes() {
+        final long integerBytes = OBJECT_HEADER_BYTES;
+        final long nodeBytes = 32;
+        final long arrayListBytes = 24;
+        final long hashMapBytes = 48;
+        // HashMap resizes at a load factor of 0.75
+        final long table = ARRAY_HEADER_BYTES + (long) REFERENCE_BYTES * nextPowerOfTwo((int) Math.ceil(size / 0.75));
+        final long perKey = nodeBytes + integerBytes + arrayListBytes + ARRAY_HEADER_BYTES;
+        final long perValue = REFERENCE_BYTES + integerBytes;
+        return hashMapBytes + table + size * perKey + values.length * perValue;
+    }
+
+    /**
+     * Finds the slot holding a key.
+     *
+     * @param key the key
+     * @return the slot, or {@code NO_VALUE} if the key is absent
+     */
+    private int find(final int key) {
+        if (key == EMPTY) {
+            return NO_VALUE;
+        }
+        final int slot = probe(keys, mask, key);
+        return keys[slot] == key ? slot : NO_VALUE;
+    }
+
+    /**
+     * Walks the probe sequence of a key until it reaches the key or an empty slot.
+     *
+     * @param table the key table
+     * @param mask  the table capacity minus one
+     * @param key   the key
+     * @return the slot holding the key, or the empty slot ending its probe sequence
+     */
+    private static int probe(final int[] table, final int mask, final int key) {
+        int slot = mix(key) & mask;
+        while (table[slot] != EMPTY && table[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Rounds up to a power of two.
+     *
+     * @param value the minimum result
+     * @return the smallest power of two not below {@code value}, at least 1
+     */
+    private static int nextPowerOfTwo(final int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    /**
+     * Spreads sequential IDs across the table (Fibonacci hashing).
+     *
+     * @param key the key
+     * @return the mixed hash
+     */
+    private static int mix(final int key) {
+        final int hash = key * 0x9E37_79B9;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,52 @@
+package com.audition.mirror;
+
+import com.audition.common.exception.ClientException;
+import org.springframework.http.HttpStatus;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * The position of a keyset page: the snapshot it was read from and the last ID it returned.
+ * Clients receive it as an opaque URL-safe token and pass it back unchanged to read the next page
+ * from the same snapshot, seeking straight past the last ID.
+ *
+ * @param version the version of the snapshot the pages are read from
+ * @param lastId  the ID of the last entity already returned
+ */
+public record MirrorCursor(long version, int lastId) {
+
+    private static final int ENCODED_BYTES = Long.BYTES + Integer.BYTES;
+    private static final String MALFORMED_CURSOR_MESSAGE = "Malformed pagination cursor";
+
+    /**
+     * Encodes the cursor as an opaque token.
+     *
+     * @return the URL-safe token
+     */
+    public String encode() {
+        final ByteBuffer bytes = ByteBuffer.allocate(ENCODED_BYTES).putLong(version).putInt(lastId);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.array());
+    }
+
+    /**
+     * Decodes a token returned by {@link #encode()}.
+     *
+     * @param token the token
+     * @return the cursor
+     * @throws ClientException if the token is not a cursor
+     */
+    public static MirrorCursor decode(final String token) {
+        final byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (final IllegalArgumentException e) {
+            throw new ClientException(MALFORMED_CURSOR_MESSAGE, HttpStatus.BAD_REQUEST.value());
+        }
+        if (bytes.length != ENCODED_BYTES) {
+            throw new ClientException(MALFORMED_CURSOR_MESSAGE, HttpStatus.BAD_REQUEST.value());
+        }
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new MirrorCursor(buffer.getLong(), buffer.getInt());
+    }
+}
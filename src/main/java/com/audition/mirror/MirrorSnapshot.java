@@ -0,0 +1,418 @@
+package com.audition.mirror;
+
+import com.audition.dto.PagedResult;
+import com.audition.model.AuditionComment;
+import com.audition.model.AuditionPost;
+import com.audition.query.CommentQuery;
+import com.audition.query.CommentQueryEngine;
+import com.audition.query.PostQuery;
+import com.audition.query.PostQueryEngine;
+import com.audition.query.QueryPlan;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Immutable, versioned copy of the upstream posts and comments, indexed for the lookups the
+ * services perform. A snapshot is built once per synchronisation and then only read, so it can
+ * be shared between request threads without locking. The entities it holds are shared as well
+ * and must be treated as read-only.
+ *
+ * <p>Entities are held in arrays ordered by ID. The ID, user and post lookups go through
+ * {@link IntArrayIndex} instances mapping an ID to array positions, so resolving a lookup and its
+ * page never boxes a key or allocates; only the returned page itself is materialised. Keyset pages
+ * after an ID seek to their first entity by binary search over the sorted IDs, rather than
+ * skipping an offset, so deep pages cost no more than the first. Post titles
+ * are searchable through a {@link TrigramIndex} and completable through a {@link PrefixIndex}, and
+ * combined queries over either entity run against the bitmap indexes of a query engine.
+ */
+public final class MirrorSnapshot {
+
+    /**
+     * The snapshot in place before the first synchronisation completed.
+     */
+    public static final MirrorSnapshot EMPTY = new MirrorSnapshot(0, Instant.EPOCH, List.of(), List.of(), null);
+
+    private static final int MISSING = -1;
+
+    private final long version;
+    private final Instant syncedAt;
+    private final AuditionPost[] posts;
+    private final AuditionComment[] comments;
+    private final int[] postIds;
+    private final int[] commentIds;
+    private final IntArrayIndex postsById;
+    private final IntArrayIndex postsByUser;
+    private final IntArrayIndex commentsById;
+    private final IntArrayIndex commentsByPost;
+    private final String[] titles;
+    private final TrigramIndex titleSearch;
+    private final PrefixIndex titleCompletion;
+    private final PostQueryEngine postQueries;
+    private final CommentQueryEngine commentQueries;
+
+    private MirrorSnapshot(final long version, final Instant syncedAt, final List<AuditionPost> posts,
+                           final List<AuditionComment> comments, final MirrorSnapshot previous) {
+        this.version = version;
+        this.syncedAt = syncedAt;
+        this.posts = posts.stream()
+                .filter(post -> post.getId() != null)
+                .sorted(Comparator.comparing(AuditionPost::getId))
+                .toArray(AuditionPost[]::new);
+        this.comments = comments.stream()
+                .sorted(Comparator.comparingInt(AuditionComment::getId))
+                .toArray(AuditionComment[]::new);
+        this.postIds = Arrays.stream(this.posts).mapToInt(AuditionPost::getId).toArray();
+        this.commentIds = Arrays.stream(this.comments).mapToInt(AuditionComment::getId).toArray();
+        this.postsById = index(this.posts, AuditionPost::getId);
+        this.postsByUser = index(this.posts, AuditionPost::getUserId);
+        this.commentsById = index(this.comments, AuditionComment::getId);
+        this.commentsByPost = index(this.comments, AuditionComment::getPostId);
+        this.titles = Arrays.stream(this.posts).map(AuditionPost::getTitle).toArray(String[]::new);
+        // The title indexes only depend on the titles in ID order, so they survive syncs that leave those unchanged
+        final boolean titlesUnchanged = previous != null && Arrays.equals(previous.titles, this.titles);
+        this.titleSearch = titlesUnchanged ? previous.titleSearch : TrigramIndex.build(this.titles);
+        this.titleCompletion = titlesUnchanged ? previous.titleCompletion : PrefixIndex.build(this.titles);
+        this.postQueries = new PostQueryEngine(this.posts);
+        this.commentQueries = new CommentQueryEngine(this.comments);
+    }
+
+    /**
+     * Builds a snapshot from a complete crawl of the upstream dataset, reusing the title indexes of
+     * the previous snapshot when no post title changed.
+     *
+     * @param version  the version of the snapshot, increasing with every synchronisation
+     * @param posts    all upstream posts
+     * @param comments all upstream comments
+     * @param previous the snapshot being replaced (nullable)
+     * @return the new snapshot
+     */
+    public static MirrorSnapshot of(final long version, final List<AuditionPost> posts, final List<AuditionComment> comments,
+                                    final MirrorSnapshot previous) {
+        return new MirrorSnapshot(version, Instant.now(), posts, comments, previous);
+    }
+
+    /**
+     * Returns a page of items, interpreting the page like the upstream {@code _start}/{@code _limit}
+     * parameters built by the integration URL service.
+     *
+     * @param items the items to page through
+     * @param start the index of the first item to return (nullable, defaults to 0)
+     * @param limit the maximum number of items to return (nullable, defaults to all)
+     * @param <T>   the item type
+     * @return a read-only view of the requested page
+     */
+    public static <T> List<T> slice(final List<T> items, final Integer start, final Integer limit) {
+        final int from = Math.min(items.size(), start == null ? 0 : Math.max(0, start));
+        final int to = limit == null ? items.size() : (int) Math.min(items.size(), (long) from + Math.max(0, limit));
+        return Collections.unmodifiableList(items.subList(from, to));
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public Instant syncedAt() {
+        return syncedAt;
+    }
+
+    /**
+     * Returns all posts, ordered by post ID.
+     *
+     * @return a read-only view of all posts
+     */
+    public List<AuditionPost> posts() {
+        return Collections.unmodifiableList(Arrays.asList(posts));
+    }
+
+    /**
+     * Returns all comments, ordered by comment ID.
+     *
+     * @return a read-only view of all comments
+     */
+    public List<AuditionComment> comments() {
+        return Collections.unmodifiableList(Arrays.asList(comments));
+    }
+
+    /**
+     * Looks up a post by ID.
+     *
+     * @param postId the ID of the post
+     * @return the post, or null if the mirror holds none with that ID
+     */
+    public AuditionPost post(final int postId) {
+        final int position = postsById.first(postId, MISSING);
+        return position == MISSING ? null : posts[position];
+    }
+
+    /**
+     * Returns all posts of a user, ordered by post ID.
+     *
+     * @param userId the ID of the user
+     * @return the user's posts, empty if there are none
+     */
+    public List<AuditionPost> postsByUser(final int userId) {
+        return postsByUser(userId, null, null);
+    }
+
+    /**
+     * Returns a page of the posts of a user, ordered by post ID.
+     *
+     * @param userId the ID of the user
+     * @param start  the index of the first post to return, like the upstream {@code _start} (nullable)
+     * @param limit  the maximum number of posts to return (nullable for all)
+     * @return the requested page, empty if the user has no posts
+     */
+    public List<AuditionPost> postsByUser(final int userId, final Integer start, final Integer limit) {
+        return page(postsByUser, userId, start, limit, posts);
+    }
+
+    /**
+     * Returns the posts after an ID, ordered by post ID, optionally of one user only.
+     * The first post is found by binary search, so a page costs the same however deep it is.
+     *
+     * @param userId  the ID of the user whose posts to return (nullable for all users)
+     * @param afterId the ID the page starts after, {@link Integer#MIN_VALUE} for the first page
+     * @param limit   the maximum number of posts to return
+     * @return the requested page, empty if no post follows
+     */
+    public List<AuditionPost> postsAfter(final Integer userId, final int afterId, final int limit) {
+        final int from = firstAfter(postIds, afterId);
+        if (userId == null) {
+            return slice(posts(), from, limit);
+        }
+        return page(postsByUser.rangeFrom(userId, from, limit), postsByUser, posts);
+    }
+
+    /**
+     * Searches the posts whose title contains a fragment, ignoring case, and returns one page of them.
+     * The title index is queried across all posts before paging, so the total counts every match.
+     *
+     * @param fragment the title fragment to search for
+     * @param userId   the ID of the user whose posts to search (nullable for all users)
+     * @param start    the index of the first match to return, like the upstream {@code _start} (nullable)
+     * @param limit    the maximum number of matches to return (nullable for all)
+     * @return the requested page of matches, ordered by post ID, with the total number of matches
+     */
+    public PagedResult<AuditionPost> searchTitles(final String fragment, final Integer userId, final Integer start,
+                                                  final Integer limit) {
+        int[] matches = titleSearch.search(fragment);
+        if (userId != null) {
+            int count = 0;
+            for (final int position : matches) {
+                if (userId.equals(posts[position].getUserId())) {
+                    matches[count++] = position;
+                }
+            }
+            matches = Arrays.copyOf(matches, count);
+        }
+        final int from = Math.min(matches.length, start == null ? 0 : Math.max(0, start));
+        final int to = limit == null ? matches.length : (int) Math.min(matches.length, (long) from + Math.max(0, limit));
+        final List<AuditionPost> page = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            page.add(posts[matches[i]]);
+        }
+        return new PagedResult<>(Collections.unmodifiableList(page), matches.length);
+    }
+
+    /**
+     * Completes a title prefix, ignoring case.
+     *
+     * @param prefix the prefix typed so far
+     * @param limit  the maximum number of completions to return
+     * @return the distinct matching titles in lexicographic order
+     */
+    public List<String> completeTitles(final String prefix, final int limit) {
+        return titleCompletion.complete(prefix, limit);
+    }
+
+    /**
+     * Runs a combined query over all posts and returns one page of the matches.
+     *
+     * @param query the filters and sort order
+     * @param start the index of the first match to return, like the upstream {@code _start} (nullable)
+     * @param limit the maximum number of matches to return (nullable for all)
+     * @return the requested page of matches with the total number of matches
+     */
+    public PagedResult<AuditionPost> queryPosts(final PostQuery query, final Integer start, final Integer limit) {
+        return page(postQueries.compile(query).execute(start, limit), posts);
+    }
+
+    /**
+     * Runs a combined query over all comments and returns one page of the matches.
+     *
+     * @param query the filters and sort order
+     * @param start the index of the first match to return, like the upstream {@code _start} (nullable)
+     * @param limit the maximum number of matches to return (nullable for all)
+     * @return the requested page of matches with the total number of matches
+     */
+    public PagedResult<AuditionComment> queryComments(final CommentQuery query, final Integer start, final Integer limit) {
+        return page(commentQueries.compile(query).execute(start, limit), comments);
+    }
+
+    /**
+     * Looks up a comment by ID.
+     *
+     * @param commentId the ID of the comment
+     * @return the comment, or null if the mirror holds none with that ID
+     */
+    public AuditionComment comment(final int commentId) {
+        final int position = commentsById.first(commentId, MISSING);
+        return position == MISSING ? null : comments[position];
+    }
+
+    /**
+     * Returns all comments of a post, ordered by comment ID.
+     *
+     * @param postId the ID of the post
+     * @return the post's comments, empty if there are none
+     */
+    public List<AuditionComment> commentsByPost(final int postId) {
+        return commentsByPost(postId, null, null);
+    }
+
+    /**
+     * Returns a page of the comments of a post, ordered by comment ID.
+     *
+     * @param postId the ID of the post
+     * @param start  the index of the first comment to return, like the upstream {@code _start} (nullable)
+     * @param limit  the maximum number of comments to return (nullable for all)
+     * @return the requested page, empty if the post has no comments
+     */
+    public List<AuditionComment> commentsByPost(final int postId, final Integer start, final Integer limit) {
+        return page(commentsByPost, postId, start, limit, comments);
+    }
+
+    /**
+     * Returns the comments of a post after a comment ID, ordered by comment ID.
+     * The first comment is found by binary search, so a page costs the same however deep it is.
+     *
+     * @param postId  the ID of the post
+     * @param afterId the comment ID the page starts after, {@link Integer#MIN_VALUE} for the first page
+     * @param limit   the maximum number of comments to return
+     * @return the requested page, empty if no comment follows
+     */
+    public List<AuditionComment> commentsByPostAfter(final int postId, final int afterId, final int limit) {
+        return page(commentsByPost.rangeFrom(postId, firstAfter(commentIds, afterId), limit), commentsByPost, comments);
+    }
+
+    /**
+     * Returns the indexes of this snapshot by name, for footprint reporting.
+     *
+     * @return the indexes, in a stable order
+     */
+    public Map<String, IntArrayIndex> indexes() {
+        final Map<String, IntArrayIndex> indexes = new LinkedHashMap<>();
+        indexes.put("posts-by-id", postsById);
+        indexes.put("posts-by-user", postsByUser);
+        indexes.put("comments-by-id", commentsById);
+        indexes.put("comments-by-post", commentsByPost);
+        return indexes;
+    }
+
+    /**
+     * Materialises one page of a key's entities.
+     *
+     * @param index    the index mapping the key to entity positions
+     * @param key      the key
+     * @param start    the index of the first entity of the page (nullable)
+     * @param limit    the maximum number of entities in the page (nullable for all)
+     * @param entities the entities, by position
+     * @param <T>      the entity type
+     * @return the requested page
+     */
+    private static <T> List<T> page(final IntArrayIndex index, final int key, final Integer start, final Integer limit,
+                                    final T[] entities) {
+        return page(index.range(key, start, limit), index, entities);
+    }
+
+    /**
+     * Materialises the entities of a resolved range of index positions.
+     *
+     * @param range    the packed position range, as returned by the index
+     * @param index    the index mapping keys to entity positions
+     * @param entities the entities, by position
+     * @param <T>      the entity type
+     * @return the page of entities
+     */
+    private static <T> List<T> page(final long range, final IntArrayIndex index, final T[] entities) {
+        final int from = IntArrayIndex.from(range);
+        final int to = IntArrayIndex.to(range);
+        if (from == to) {
+            return List.of();
+        }
+        final List<T> page = new ArrayList<>(to - from);
+        for (int position = from; position < to; position++) {
+            page.add(entities[index.value(position)]);
+        }
+        return Collections.unmodifiableList(page);
+    }
+
+    /**
+     * Materialises the entities of executed query matches.
+     *
+     * @param matches  the matches of a query plan
+     * @param entities the entities, by position
+     * @param <T>      the entity type
+     * @return the page of entities with the total number of matches
+     */
+    private static <T> PagedResult<T> page(final QueryPlan.Matches matches, final T[] entities) {
+        final List<T> page = new ArrayList<>(matches.positions().length);
+        for (final int position : matches.positions()) {
+            page.add(entities[position]);
+        }
+        return new PagedResult<>(Collections.unmodifiableList(page), matches.total());
+    }
+
+    /**
+     * Finds the position of the first ID greater than a given one, by binary search.
+     *
+     * @param ids     the IDs, ascending
+     * @param afterId the ID to search past
+     * @return the position of the first greater ID, or the length of the array if there is none
+     */
+    private static int firstAfter(final int[] ids, final int afterId) {
+        int low = 0;
+        int high = ids.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (ids[middle] <= afterId) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Indexes entities by a key, mapping each key to the positions of its entities.
+     * Entities without a key are left out of the index.
+     *
+     * @param entities the entities, by position
+     * @param key      extracts the key of an entity
+     * @param <T>      the entity type
+     * @return the index
+     */
+    private static <T> IntArrayIndex index(final T[] entities, final Function<T, Integer> key) {
+        final int[] keys = new int[entities.length];
+        final int[] positions = new int[entities.length];
+        int indexed = 0;
+        for (int position = 0; position < entities.length; position++) {
+            final Integer value = key.apply(entities[position]);
+            if (value != null) {
+                keys[indexed] = value;
+                positions[indexed] = position;
+                indexed++;
+            }
+        }
+        return IntArrayIndex.build(Arrays.copyOf(keys, indexed), Arrays.copyOf(positions, indexed));
+    }
+}
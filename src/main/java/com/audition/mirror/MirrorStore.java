@@ -0,0 +1,142 @@
+package com.audition.mirror;
+
+import com.audition.common.exception.IntegrationException;
+import com.audition.integration.ResponseDependencies;
+import com.audition.model.AuditionComment;
+import com.audition.model.AuditionPost;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link MirrorSnapshot} of the upstream dataset.
+ * Each synchronisation publishes a complete new snapshot with a single atomic swap, so readers
+ * always see one consistent version and never wait on a writer. Responses built from the mirror
+ * depend on the snapshot as a whole, which every publication invalidates.
+ *
+ * <p>A few superseded snapshots are retained by version, so clients paging with a
+ * {@link MirrorCursor} keep reading the version they started on while newer ones are published.
+ */
+@Component
+@ConditionalOnProperty(name = "application.upstream.client", havingValue = "mirror")
+public class MirrorStore {
+
+    private static final String NOT_SYNCHRONISED_MESSAGE = "The local mirror of the upstream data has not been synchronised yet";
+
+    private final transient AtomicReference<MirrorSnapshot> current = new AtomicReference<>(MirrorSnapshot.EMPTY);
+    private final transient Map<Long, MirrorSnapshot> retained = new ConcurrentHashMap<>();
+    private final transient ResponseDependencies dependencies;
+    private final transient int retainedSnapshots;
+
+    /**
+     * Constructs a MirrorStore.
+     *
+     * @param meterRegistry     the registry for the snapshot version, age, size and index footprint gauges
+     * @param dependencies      the tracker told which responses are built from the snapshot and when it is replaced
+     * @param retainedSnapshots the number of superseded snapshots kept for cursors still paging through them
+     */
+    public MirrorStore(final MeterRegistry meterRegistry, final ResponseDependencies dependencies,
+                       @Value("${application.mirror.retained-snapshots:2}") final int retainedSnapshots) {
+        this.dependencies = dependencies;
+        this.retainedSnapshots = retainedSnapshots;
+        Gauge.builder("audition.mirror.version", current, snapshot -> snapshot.get().version())
+                .description("Version of the snapshot currently served")
+                .register(meterRegistry);
+        Gauge.builder("audition.mirror.age", current,
+                        snapshot -> (System.currentTimeMillis() - snapshot.get().syncedAt().toEpochMilli()) / 1000.0)
+                .description("Seconds since the snapshot currently served was synchronised")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("audition.mirror.retained", retained, Map::size)
+                .description("Snapshots held for cursor pagination, including the current one")
+                .register(meterRegistry);
+        Gauge.builder("audition.mirror.entities", current, snapshot -> snapshot.get().posts().size())
+                .description("Entities held by the snapshot currently served")
+                .tag("type", "posts")
+                .register(meterRegistry);
+        Gauge.builder("audition.mirror.entities", current, snapshot -> snapshot.get().comments().size())
+                .description("Entities held by the snapshot currently served")
+                .tag("type", "comments")
+                .register(meterRegistry);
+        for (final String index : MirrorSnapshot.EMPTY.indexes().keySet()) {
+            Gauge.builder("audition.mirror.index.bytes", current, snapshot -> snapshot.get().indexes().get(index).footprintBytes())
+                    .description("Approximate heap footprint of a snapshot index")
+                    .baseUnit("bytes")
+                    .tags("index", index, "layout", "primitive")
+                    .register(meterRegistry);
+            Gauge.builder("audition.mirror.index.bytes", current, snapshot -> snapshot.get().indexes().get(index).boxedFootprintBytes())
+                    .description("Estimated heap footprint of the same index as boxed HashMap of lists, for comparison")
+                    .baseUnit("bytes")
+                    .tags("index", index, "layout", "boxed")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Returns the snapshot currently served, which may still be {@link MirrorSnapshot#EMPTY}.
+     *
+     * @return the current snapshot
+     */
+    public MirrorSnapshot current() {
+        return current.get();
+    }
+
+    /**
+     * Returns the snapshot currently served, failing while no synchronisation has completed.
+     *
+     * @return the current snapshot
+     * @throws IntegrationException if the mirror has not been synchronised yet
+     */
+    public MirrorSnapshot requireCurrent() {
+        final MirrorSnapshot snapshot = current.get();
+        if (snapshot.version() == 0) {
+            throw new IntegrationException(NOT_SYNCHRONISED_MESSAGE, HttpStatus.SERVICE_UNAVAILABLE.value());
+        }
+        dependencies.record(ResponseDependencies.MIRROR_SNAPSHOT, true);
+        return snapshot;
+    }
+
+    /**
+     * Returns the snapshot of a version, if still retained, so a cursor keeps paging through the
+     * version it started on. Once that version has been dropped, the current snapshot is returned
+     * instead and paging carries on past the same ID in it.
+     *
+     * @param version the version of the snapshot
+     * @return the snapshot of that version, or the current snapshot if it is no longer retained
+     * @throws IntegrationException if the mirror has not been synchronised yet
+     */
+    public MirrorSnapshot require(final long version) {
+        final MirrorSnapshot snapshot = retained.get(version);
+        if (snapshot == null) {
+            return requireCurrent();
+        }
+        dependencies.record(ResponseDependencies.MIRROR_SNAPSHOT, true);
+        return snapshot;
+    }
+
+    /**
+     * Builds a new snapshot from a complete crawl and atomically makes it the current one.
+     * Only the synchroniser publishes, so versions increase by one with every publication.
+     *
+     * @param posts    all upstream posts
+     * @param comments all upstream comments
+     * @return the published snapshot
+     */
+    public MirrorSnapshot publish(final List<AuditionPost> posts, final List<AuditionComment> comments) {
+        final MirrorSnapshot previous = current.get();
+        final MirrorSnapshot next = MirrorSnapshot.of(previous.version() + 1, posts, comments, previous);
+        retained.put(next.version(), next);
+        current.set(next);
+        retained.remove(next.version() - retainedSnapshots - 1);
+        dependencies.invalidate(ResponseDependencies.MIRROR_SNAPSHOT);
+        return next;
+    }
+}
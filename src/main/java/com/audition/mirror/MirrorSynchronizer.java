@@ -0,0 +1,179 @@
+package com.audition.mirror;
+
+import com.audition.common.exception.SystemException;
+import com.audition.integration.IIntegrationUrlService;
+import com.audition.integration.JsonArrayResponseExtractor;
+import com.audition.integration.UpstreamResponseCache;
+import com.audition.model.AuditionComment;
+import com.audition.model.AuditionPost;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Keeps the {@link MirrorStore} in sync with the upstream API.
+ * Crawls {@code /posts} and {@code /comments} page by page with the {@code _start}/{@code _limit}
+ * parameters, at startup and then on a fixed delay. Every page is requested conditionally with the
+ * {@code ETag} it had on the previous crawl, so unchanged pages cost a 304 and reuse the entities
+ * already held, and a new snapshot is only published when at least one page changed. Pages are
+ * decoded element by element straight from the connection, without buffering their bodies.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "application.upstream.client", havingValue = "mirror")
+public class MirrorSynchronizer {
+
+    private final transient RestTemplate restTemplate;
+    private final transient IIntegrationUrlService integrationUrlService;
+    private final transient MirrorStore mirrorStore;
+    private final transient JsonArrayResponseExtractor<AuditionPost> postExtractor;
+    private final transient JsonArrayResponseExtractor<AuditionComment> commentExtractor;
+    private final transient int pageSize;
+    private final transient Timer syncTimer;
+    private final transient Counter failureCounter;
+
+    // Pages of the last successful crawl, only touched by the scheduler thread
+    private transient Map<String, Page<AuditionPost>> postPages = Map.of();
+    private transient Map<String, Page<AuditionComment>> commentPages = Map.of();
+
+    /**
+     * Constructs a MirrorSynchronizer.
+     *
+     * @param restTemplate          the shared, pooled RestTemplate used for upstream calls
+     * @param integrationUrlService the service to get integration URLs for posts and comments
+     * @param mirrorStore           the store receiving new snapshots
+     * @param objectMapper          the mapper used to decode upstream pages
+     * @param meterRegistry         the registry for the synchronisation timer and failure counter
+     * @param pageSize              the number of entities requested per upstream page
+     */
+    public MirrorSynchronizer(final RestTemplate restTemplate, final IIntegrationUrlService integrationUrlService,
+                              final MirrorStore mirrorStore, final ObjectMapper objectMapper, final MeterRegistry meterRegistry,
+                              @Value("${application.mirror.page-size:100}") final int pageSize) {
+        this.restTemplate = restTemplate;
+        this.integrationUrlService = integrationUrlService;
+        this.mirrorStore = mirrorStore;
+        this.postExtractor = new JsonArrayResponseExtractor<>(objectMapper, AuditionPost.class);
+        this.commentExtractor = new JsonArrayResponseExtractor<>(objectMapper, AuditionComment.class);
+        this.pageSize = Math.max(1, pageSize);
+        this.syncTimer = Timer.builder("audition.mirror.sync")
+                .description("Duration of upstream crawls")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("audition.mirror.sync.failures")
+                .description("Upstream crawls that failed and left the previous snapshot in place")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Crawls the upstream dataset and publishes a new snapshot if anything changed.
+     * A failed crawl leaves the snapshot currently served untouched.
+     */
+    @Scheduled(initialDelayString = "${application.mirror.initial-delay:0}",
+            fixedDelayString = "${application.mirror.sync-interval:300000}")
+    public void synchronize() {
+        final Timer.Sample sample = Timer.start();
+        try {
+            final Crawl<AuditionPost> posts = crawl(start -> integrationUrlService.getPostsUrl(null, start, pageSize),
+                    postExtractor, postPages);
+            final Crawl<AuditionComment> comments = crawl(start -> integrationUrlService.getAllCommentsUrl(start, pageSize),
+                    commentExtractor, commentPages);
+            postPages = posts.pages();
+            commentPages = comments.pages();
+
+            if (posts.changed() || comments.changed() || mirrorStore.current().version() == 0) {
+                final MirrorSnapshot snapshot = mirrorStore.publish(posts.items(), comments.items());
+                log.info("Published mirror snapshot {} with {} posts and {} comments",
+                        snapshot.version(), snapshot.posts().size(), snapshot.comments().size());
+                if (log.isDebugEnabled()) {
+                    snapshot.indexes().forEach((name, index) -> log.debug("Mirror index {}: {} keys, {} values, {} bytes ({} bytes boxed)",
+                            name, index.size(), index.valueCount(), index.footprintBytes(), index.boxedFootprintBytes()));
+                }
+            } else {
+                log.debug("Upstream unchanged, keeping mirror snapshot {}", mirrorStore.current().version());
+            }
+        } catch (RestClientException | SystemException exception) {
+            failureCounter.increment();
+            log.warn("Mirror synchronisation failed, keeping snapshot {}", mirrorStore.current().version(), exception);
+        } finally {
+            sample.stop(syncTimer);
+        }
+    }
+
+    /**
+     * Crawls one upstream collection until a short page signals its end.
+     *
+     * @param pageUrl   builds the URL of the page starting at the given offset
+     * @param extractor decodes the entities of a page
+     * @param previous  the pages of the previous crawl, by URL
+     * @param <T>       the entity type
+     * @return the entities and pages of this crawl, and whether anything changed
+     */
+    private <T> Crawl<T> crawl(final IntFunction<String> pageUrl, final JsonArrayResponseExtractor<T> extractor,
+                               final Map<String, Page<T>> previous) {
+        final Map<String, Page<T>> pages = new HashMap<>();
+        final List<T> items = new ArrayList<>();
+        boolean changed = false;
+        int start = 0;
+        Page<T> page;
+        do {
+            final String url = pageUrl.apply(start);
+            final Page<T> known = previous.get(url);
+            final RequestCallback conditional = request -> request.getHeaders()
+                    .addAll(UpstreamResponseCache.conditionalHeaders(known == null ? null : known.etag()));
+            final ResponseEntity<List<T>> response = restTemplate.execute(url, HttpMethod.GET, conditional, extractor);
+            if (response == null) {
+                throw new SystemException("No response for mirror page " + url);
+            }
+            if (known != null && response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                page = known;
+            } else {
+                final List<T> body = response.getBody();
+                page = new Page<>(response.getHeaders().getETag(), body == null ? List.of() : body);
+                changed = true;
+            }
+            pages.put(url, page);
+            items.addAll(page.items());
+            start += pageSize;
+        } while (page.items().size() >= pageSize);
+
+        return new Crawl<>(items, pages, changed || pages.size() != previous.size());
+    }
+
+    /**
+     * One crawled upstream page.
+     *
+     * @param etag  the validator of the page, if the upstream sent one
+     * @param items the entities on the page
+     * @param <T>   the entity type
+     */
+    private record Page<T>(String etag, List<T> items) {
+    }
+
+    /**
+     * The result of crawling one upstream collection.
+     *
+     * @param items   all entities, in crawl order
+     * @param pages   the crawled pages, by URL
+     * @param changed whether any page differs from the previous crawl
+     * @param <T>     the entity type
+     */
+    private record Crawl<T>(List<T> items, Map<String, Page<T>> pages, boolean changed) {
+    }
+}
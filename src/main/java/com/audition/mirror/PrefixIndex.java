@@ -0,0 +1,171 @@
+package com.audition.mirror;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Immutable, case-folded prefix index over a list of texts, answering type-ahead completions.
+ * The distinct folded texts are held in one sorted array, which is a flattened trie: every prefix
+ * owns a contiguous range of it, found by binary search, and the first entries of that range are
+ * its top completions in lexicographic order. A lookup therefore costs {@code O(log n + k)} string
+ * comparisons and allocates only the returned list.
+ *
+ * <p>Keys are stored front-coded in blocks, like the terms dictionary of a search engine: each block
+ * starts with a complete key and every following key only keeps the suffix it does not share with
+ * its predecessor. Titles sharing leading words therefore cost little more than their differences.
+ */
+public final class PrefixIndex {
+
+    private static final int BLOCK_SIZE = 16;
+
+    private final String[] heads;
+    private final String[] suffixes;
+    private final int[] shared;
+    private final String[] completions;
+
+    private PrefixIndex(final String[] heads, final String[] suffixes, final int[] shared, final String[] completions) {
+        this.heads = heads;
+        this.suffixes = suffixes;
+        this.shared = shared;
+        this.completions = completions;
+    }
+
+    /**
+     * Builds an index over texts. Texts equal after case folding are completed once, with the first
+     * spelling in lexicographic order.
+     *
+     * @param texts the texts to index; null texts are ignored
+     * @return the built index
+     */
+    public static PrefixIndex build(final String[] texts) {
+        final String[] originals = Arrays.stream(texts)
+                .filter(text -> text != null && !text.isEmpty())
+                .sorted(Comparator.comparing(PrefixIndex::fold).thenComparing(Comparator.naturalOrder()))
+                .toArray(String[]::new);
+
+        final List<String> keys = new ArrayList<>(originals.length);
+        final List<String> completions = new ArrayList<>(originals.length);
+        for (final String original : originals) {
+            final String key = fold(original);
+            if (keys.isEmpty() || !keys.get(keys.size() - 1).equals(key)) {
+                keys.add(key);
+                completions.add(original);
+            }
+        }
+
+        final String[] heads = new String[(keys.size() + BLOCK_SIZE - 1) / BLOCK_SIZE];
+        final String[] suffixes = new String[keys.size()];
+        final int[] shared = new int[keys.size()];
+        for (int i = 0; i < keys.size(); i++) {
+            final String key = keys.get(i);
+            if (i % BLOCK_SIZE == 0) {
+                heads[i / BLOCK_SIZE] = key;
+            } else {
+                shared[i] = commonPrefix(keys.get(i - 1), key);
+                suffixes[i] = key.substring(shared[i]);
+            }
+        }
+        return new PrefixIndex(heads, suffixes, shared, completions.toArray(String[]::new));
+    }
+
+    /**
+     * Returns the first completions of a prefix in lexicographic order, ignoring case.
+     *
+     * @param prefix the prefix typed so far
+     * @param limit  the maximum number of completions to return
+     * @return the completions, in their original spelling
+     */
+    public List<String> complete(final String prefix, final int limit) {
+        final String folded = fold(prefix);
+        final List<String> result = new ArrayList<>(Math.max(0, Math.min(limit, completions.length)));
+        if (limit <= 0 || heads.length == 0) {
+            return result;
+        }
+
+        // The last block whose head sorts before the prefix is where its range may start
+        int low = 0;
+        int high = heads.length - 1;
+        while (low < high) {
+            final int middle = (low + high + 1) >>> 1;
+            if (heads[middle].compareTo(folded) < 0) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        final StringBuilder key = new StringBuilder();
+        for (int i = low * BLOCK_SIZE; i < completions.length && result.size() < limit; i++) {
+            if (i % BLOCK_SIZE == 0) {
+                key.setLength(0);
+                key.append(heads[i / BLOCK_SIZE]);
+            } else {
+                key.setLength(shared[i]);
+                key.append(suffixes[i]);
+            }
+            if (startsWith(key, folded)) {
+                result.add(completions[i]);
+            } else if (CharSequence.compare(key, folded) > 0) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of distinct completions in the index.
+     *
+     * @return the number of completions
+     */
+    public int size() {
+        return completions.length;
+    }
+
+    /**
+     * Folds text to the case used for indexing and querying.
+     *
+     * @param text the text
+     * @return the folded text
+     */
+    private static String fold(final String text) {
+        return text.toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * Returns the length of the prefix two strings share.
+     *
+     * @param left  the first string
+     * @param right the second string
+     * @return the number of leading characters they share
+     */
+    private static int commonPrefix(final String left, final String right) {
+        final int length = Math.min(left.length(), right.length());
+        int shared = 0;
+        while (shared < length && left.charAt(shared) == right.charAt(shared)) {
+            shared++;
+        }
+        return shared;
+    }
+
+    /**
+     * Checks whether a decoded key starts with a prefix.
+     *
+     * @param key    the decoded key
+     * @param prefix the folded prefix
+     * @return true if the key starts with the prefix
+     */
+    private static boolean startsWith(final CharSequence key, final String prefix) {
+        if (key.length() < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (key.charAt(i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,220 @@
+package com.audition.mirror;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Immutable, case-folded trigram inverted index over a list of texts, answering substring queries.
+ * Every text is folded to lower case and split into its overlapping three-character grams; each
+ * distinct gram maps to the ascending positions of the texts containing it. A query intersects the
+ * posting lists of its own grams, smallest first, and only verifies the surviving candidates
+ * against the folded text, so its cost follows the rarest gram rather than the number of texts.
+ *
+ * <p>Grams are held in a sorted {@code long[]} with their postings packed into one flat
+ * {@code int[]}, in the same layout as {@link IntArrayIndex}. Queries shorter than a gram cannot
+ * use the index and fall back to scanning the folded texts.
+ */
+public final class TrigramIndex {
+
+    private static final int GRAM_LENGTH = 3;
+    private static final int[] NONE = new int[0];
+
+    private final String[] folded;
+    private final long[] grams;
+    private final int[] offsets;
+    private final int[] postings;
+
+    private TrigramIndex(final String[] folded, final long[] grams, final int[] offsets, final int[] postings) {
+        this.folded = folded;
+        this.grams = grams;
+        this.offsets = offsets;
+        this.postings = postings;
+    }
+
+    /**
+     * Builds an index over texts, identified by their position in the array.
+     *
+     * @param texts the texts to index; null texts never match
+     * @return the built index
+     */
+    public static TrigramIndex build(final String[] texts) {
+        final String[] folded = new String[texts.length];
+        final long[][] gramsByText = new long[texts.length][];
+        int total = 0;
+        for (int position = 0; position < texts.length; position++) {
+            folded[position] = texts[position] == null ? null : fold(texts[position]);
+            gramsByText[position] = folded[position] == null ? new long[0] : distinctGrams(folded[position]);
+            total += gramsByText[position].length;
+        }
+
+        final long[] all = new long[total];
+        int cursor = 0;
+        for (final long[] textGrams : gramsByText) {
+            System.arraycopy(textGrams, 0, all, cursor, textGrams.length);
+            cursor += textGrams.length;
+        }
+        final long[] grams = distinct(all);
+
+        // Texts are visited in position order, so every posting list comes out ascending
+        final int[] offsets = new int[grams.length + 1];
+        for (final long gram : all) {
+            offsets[Arrays.binarySearch(grams, gram) + 1]++;
+        }
+        for (int i = 0; i < grams.length; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        final int[] fill = Arrays.copyOf(offsets, grams.length);
+        final int[] postings = new int[total];
+        for (int position = 0; position < texts.length; position++) {
+            for (final long gram : gramsByText[position]) {
+                postings[fill[Arrays.binarySearch(grams, gram)]++] = position;
+            }
+        }
+        return new TrigramIndex(folded, grams, offsets, postings);
+    }
+
+    /**
+     * Finds the texts containing a fragment, ignoring case.
+     *
+     * @param fragment the substring to look for; an empty fragment matches every text
+     * @return the ascending positions of the matching texts
+     */
+    public int[] search(final String fragment) {
+        final String needle = fold(fragment);
+        if (needle.length() < GRAM_LENGTH) {
+            return scan(needle);
+        }
+
+        // Slots are packed behind their list length so that sorting them puts the shortest lists
+        // first, which keeps every intermediate intersection small
+        final long[] needleGrams = distinctGrams(needle);
+        final long[] order = new long[needleGrams.length];
+        for (int i = 0; i < needleGrams.length; i++) {
+            final int slot = Arrays.binarySearch(grams, needleGrams[i]);
+            if (slot < 0) {
+                return NONE;
+            }
+            order[i] = (long) length(slot) << Integer.SIZE | slot;
+        }
+        Arrays.sort(order);
+
+        final int first = (int) order[0];
+        int[] candidates = Arrays.copyOfRange(postings, offsets[first], offsets[first + 1]);
+        for (int i = 1; i < order.length && candidates.length > 0; i++) {
+            candidates = intersect(candidates, (int) order[i]);
+        }
+
+        // Sharing all grams does not imply adjacency, so the candidates are verified
+        int matches = 0;
+        for (final int candidate : candidates) {
+            if (folded[candidate].contains(needle)) {
+                candidates[matches++] = candidate;
+            }
+        }
+        return Arrays.copyOf(candidates, matches);
+    }
+
+    /**
+     * Returns the number of distinct grams in the index.
+     *
+     * @return the number of grams
+     */
+    public int gramCount() {
+        return grams.length;
+    }
+
+    /**
+     * Scans every text for a fragment too short to be looked up by gram.
+     *
+     * @param needle the folded fragment
+     * @return the ascending positions of the matching texts
+     */
+    private int[] scan(final String needle) {
+        final int[] matches = new int[folded.length];
+        int count = 0;
+        for (int position = 0; position < folded.length; position++) {
+            if (folded[position] != null && folded[position].contains(needle)) {
+                matches[count++] = position;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    /**
+     * Intersects ascending candidates with the posting list of a gram.
+     *
+     * @param candidates the ascending candidate positions
+     * @param slot       the slot of the gram
+     * @return the ascending positions present in both
+     */
+    private int[] intersect(final int[] candidates, final int slot) {
+        final int[] result = new int[candidates.length];
+        int count = 0;
+        int posting = offsets[slot];
+        final int end = offsets[slot + 1];
+        for (int i = 0; i < candidates.length && posting < end; i++) {
+            while (posting < end && postings[posting] < candidates[i]) {
+                posting++;
+            }
+            if (posting < end && postings[posting] == candidates[i]) {
+                result[count++] = candidates[i];
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Returns the length of the posting list of a gram.
+     *
+     * @param slot the slot of the gram
+     * @return the number of texts containing the gram
+     */
+    private int length(final int slot) {
+        return offsets[slot + 1] - offsets[slot];
+    }
+
+    /**
+     * Folds text to the case used for indexing and querying.
+     *
+     * @param text the text
+     * @return the folded text
+     */
+    private static String fold(final String text) {
+        return text.toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * Extracts the distinct grams of a folded text, each packed as three 16-bit characters.
+     *
+     * @param text the folded text
+     * @return the sorted distinct grams, empty for texts shorter than a gram
+     */
+    private static long[] distinctGrams(final String text) {
+        if (text.length() < GRAM_LENGTH) {
+            return new long[0];
+        }
+        final long[] textGrams = new long[text.length() - GRAM_LENGTH + 1];
+        for (int i = 0; i < textGrams.length; i++) {
+            textGrams[i] = (long) text.charAt(i) << 32 | (long) text.charAt(i + 1) << 16 | text.charAt(i + 2);
+        }
+        return distinct(textGrams);
+    }
+
+    /**
+     * Sorts and deduplicates values.
+     *
+     * @param values the values, left untouched
+     * @return the sorted distinct values
+     */
+    private static long[] distinct(final long[] values) {
+        final long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int count = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[count++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, count);
+    }
+}
@@ -0,0 +1,112 @@
+package com.audition.query;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntFunction;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable inverted index from the keys of one field to the compressed bitmap of the entity
+ * positions holding them. Bitmaps are run-length optimised after building, so dense or clustered
+ * postings such as user and post IDs over ID-ordered entities shrink to a few runs.
+ *
+ * <p>Bitmaps handed out are shared between queries and must not be modified; combine them with the
+ * static {@link RoaringBitmap} operations, which return new bitmaps.
+ *
+ * @param <K> the key type
+ */
+public final class BitmapIndex<K> {
+
+    private static final Pattern TERM_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final RoaringBitmap NONE = new RoaringBitmap();
+
+    private final Map<K, RoaringBitmap> postings;
+
+    private BitmapIndex(final Map<K, RoaringBitmap> postings) {
+        this.postings = postings;
+    }
+
+    /**
+     * Builds an index over entities identified by their position.
+     *
+     * @param size the number of entities
+     * @param keys returns the keys of the entity at a position; null keys are skipped
+     * @param <K>  the key type
+     * @return the built index
+     */
+    public static <K> BitmapIndex<K> build(final int size, final IntFunction<? extends Collection<K>> keys) {
+        final Map<K, RoaringBitmap> postings = new HashMap<>();
+        for (int position = 0; position < size; position++) {
+            for (final K key : keys.apply(position)) {
+                if (key != null) {
+                    postings.computeIfAbsent(key, ignored -> new RoaringBitmap()).add(position);
+                }
+            }
+        }
+        postings.values().forEach(RoaringBitmap::runOptimize);
+        return new BitmapIndex<>(postings);
+    }
+
+    /**
+     * Splits text into the distinct case-folded words it contains, the keys of full-text fields.
+     *
+     * @param text the text (nullable)
+     * @return the distinct words, in order of first occurrence
+     */
+    public static Set<String> terms(final String text) {
+        final Set<String> terms = new LinkedHashSet<>();
+        if (text != null) {
+            for (final String term : TERM_SEPARATOR.split(text.toLowerCase(Locale.ENGLISH))) {
+                if (!term.isEmpty()) {
+                    terms.add(term);
+                }
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Returns the positions holding a key.
+     *
+     * @param key the key
+     * @return the shared, read-only bitmap of positions, empty if no entity holds the key
+     */
+    public RoaringBitmap get(final K key) {
+        return postings.getOrDefault(key, NONE);
+    }
+
+    /**
+     * Returns the positions holding any of several keys.
+     *
+     * @param keys the keys
+     * @return a new bitmap of positions
+     */
+    public RoaringBitmap any(final Collection<K> keys) {
+        return FastAggregation.or(keys.stream().map(this::get).toArray(RoaringBitmap[]::new));
+    }
+
+    /**
+     * Returns the number of distinct keys.
+     *
+     * @return the number of keys
+     */
+    public int size() {
+        return postings.size();
+    }
+
+    /**
+     * Returns the serialised size of all bitmaps, a lower bound of their heap footprint.
+     *
+     * @return the size in bytes
+     */
+    public long sizeInBytes() {
+        return postings.values().stream().mapToLong(RoaringBitmap::getLongSizeInBytes).sum();
+    }
+}
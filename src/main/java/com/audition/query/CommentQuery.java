@@ -0,0 +1,19 @@
+package com.audition.query;
+
+import java.util.Set;
+
+/**
+ * Combined filter and sort order over comments. All given predicates must hold; absent ones match everything.
+ *
+ * @param postIds the IDs of the posts whose comments match, any of them (nullable or empty for all posts)
+ * @param name    words that must all occur in the name, ignoring case and punctuation (nullable)
+ * @param email   the email address of the commenter, ignoring case (nullable)
+ * @param body    words that must all occur in the body, ignoring case and punctuation (nullable)
+ * @param minId   the smallest comment ID to match, inclusive (nullable)
+ * @param maxId   the largest comment ID to match, inclusive (nullable)
+ * @param sort    the field to sort by: {@code id}, {@code postId}, {@code name} or {@code email}, prefixed
+ *                with {@code -} for descending order (nullable for ascending ID)
+ */
+public record CommentQuery(Set<Integer> postIds, String name, String email, String body, Integer minId, Integer maxId,
+                           String sort) {
+}
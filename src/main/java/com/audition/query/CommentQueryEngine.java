@@ -0,0 +1,87 @@
+package com.audition.query;
+
+import com.audition.model.AuditionComment;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable query engine over an ID-ordered array of comments.
+ * Holds a bitmap index per filterable field and a rank per sortable field, and compiles every
+ * {@link CommentQuery} into a {@link QueryPlan} against them.
+ */
+public final class CommentQueryEngine {
+
+    private final int[] ids;
+    private final BitmapIndex<Integer> postIds;
+    private final BitmapIndex<String> nameTerms;
+    private final BitmapIndex<String> emails;
+    private final BitmapIndex<String> bodyTerms;
+    private final Map<String, int[]> ranks;
+
+    /**
+     * Builds the indexes over comments.
+     *
+     * @param comments the comments, ordered by ID; the engine refers to them by position
+     */
+    public CommentQueryEngine(final AuditionComment[] comments) {
+        this.ids = new int[comments.length];
+        for (int position = 0; position < comments.length; position++) {
+            ids[position] = comments[position].getId();
+        }
+        this.postIds = BitmapIndex.build(comments.length, position -> Set.of(comments[position].getPostId()));
+        this.nameTerms = BitmapIndex.build(comments.length, position -> BitmapIndex.terms(comments[position].getName()));
+        this.emails = BitmapIndex.build(comments.length, position -> Collections.singleton(fold(comments[position].getEmail())));
+        this.bodyTerms = BitmapIndex.build(comments.length, position -> BitmapIndex.terms(comments[position].getBody()));
+        this.ranks = Map.of(
+                "postId", QueryPlan.rank(comments, Comparator.comparingInt(AuditionComment::getPostId)),
+                "name", QueryPlan.rank(comments, Comparator.comparing((AuditionComment comment) -> fold(comment.getName()),
+                        Comparator.nullsLast(Comparator.naturalOrder()))),
+                "email", QueryPlan.rank(comments, Comparator.comparing((AuditionComment comment) -> fold(comment.getEmail()),
+                        Comparator.nullsLast(Comparator.naturalOrder()))));
+    }
+
+    /**
+     * Compiles a query into an evaluation plan.
+     *
+     * @param query the query
+     * @return the plan
+     * @throws com.audition.common.exception.ClientException if the query sorts by an unknown field
+     */
+    public QueryPlan compile(final CommentQuery query) {
+        final QueryPlan.Builder plan = QueryPlan.over(ids)
+                .idRange(query.minId(), query.maxId())
+                .sort(query.sort(), ranks);
+        if (query.postIds() != null && !query.postIds().isEmpty()) {
+            plan.filter(postIds.any(query.postIds()));
+        }
+        if (query.email() != null && !query.email().isBlank()) {
+            plan.filter(emails.get(fold(query.email().trim())));
+        }
+        BitmapIndex.terms(query.name()).forEach(term -> plan.filter(nameTerms.get(term)));
+        BitmapIndex.terms(query.body()).forEach(term -> plan.filter(bodyTerms.get(term)));
+        return plan.build();
+    }
+
+    /**
+     * Returns the serialised size of all bitmap indexes.
+     *
+     * @return the size in bytes
+     */
+    public long sizeInBytes() {
+        return postIds.sizeInBytes() + nameTerms.sizeInBytes() + emails.sizeInBytes() + bodyTerms.sizeInBytes();
+    }
+
+    /**
+     * Folds text for case-insensitive matching and sorting.
+     *
+     * @param text the text (nullable)
+     * @return the folded text, or null
+     */
+    private static String fold(final String text) {
+        return text == null ? null : text.toLowerCase(Locale.ENGLISH);
+    }
+}
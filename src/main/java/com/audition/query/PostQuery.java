@@ -0,0 +1,17 @@
+package com.audition.query;
+
+import java.util.Set;
+
+/**
+ * Combined filter and sort order over posts. All given predicates must hold; absent ones match everything.
+ *
+ * @param userIds the IDs of the users whose posts match, any of them (nullable or empty for all users)
+ * @param title   words that must all occur in the title, ignoring case and punctuation (nullable)
+ * @param body    words that must all occur in the body, ignoring case and punctuation (nullable)
+ * @param minId   the smallest post ID to match, inclusive (nullable)
+ * @param maxId   the largest post ID to match, inclusive (nullable)
+ * @param sort    the field to sort by: {@code id}, {@code userId} or {@code title}, prefixed with {@code -}
+ *                for descending order (nullable for ascending ID)
+ */
+public record PostQuery(Set<Integer> userIds, String title, String body, Integer minId, Integer maxId, String sort) {
+}
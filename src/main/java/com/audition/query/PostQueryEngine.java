@@ -0,0 +1,80 @@
+package com.audition.query;
+
+import com.audition.model.AuditionPost;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable query engine over an ID-ordered array of posts.
+ * Holds a bitmap index per filterable field and a rank per sortable field, and compiles every
+ * {@link PostQuery} into a {@link QueryPlan} against them.
+ */
+public final class PostQueryEngine {
+
+    private final int[] ids;
+    private final BitmapIndex<Integer> userIds;
+    private final BitmapIndex<String> titleTerms;
+    private final BitmapIndex<String> bodyTerms;
+    private final Map<String, int[]> ranks;
+
+    /**
+     * Builds the indexes over posts.
+     *
+     * @param posts the posts, ordered by ID; the engine refers to them by position
+     */
+    public PostQueryEngine(final AuditionPost[] posts) {
+        this.ids = new int[posts.length];
+        for (int position = 0; position < posts.length; position++) {
+            ids[position] = posts[position].getId();
+        }
+        this.userIds = BitmapIndex.build(posts.length, position -> Collections.singleton(posts[position].getUserId()));
+        this.titleTerms = BitmapIndex.build(posts.length, position -> BitmapIndex.terms(posts[position].getTitle()));
+        this.bodyTerms = BitmapIndex.build(posts.length, position -> BitmapIndex.terms(posts[position].getBody()));
+        this.ranks = Map.of(
+                "userId", QueryPlan.rank(posts, Comparator.comparing(AuditionPost::getUserId,
+                        Comparator.nullsLast(Comparator.naturalOrder()))),
+                "title", QueryPlan.rank(posts, Comparator.comparing((AuditionPost post) -> fold(post.getTitle()),
+                        Comparator.nullsLast(Comparator.naturalOrder()))));
+    }
+
+    /**
+     * Compiles a query into an evaluation plan.
+     *
+     * @param query the query
+     * @return the plan
+     * @throws com.audition.common.exception.ClientException if the query sorts by an unknown field
+     */
+    public QueryPlan compile(final PostQuery query) {
+        final QueryPlan.Builder plan = QueryPlan.over(ids)
+                .idRange(query.minId(), query.maxId())
+                .sort(query.sort(), ranks);
+        if (query.userIds() != null && !query.userIds().isEmpty()) {
+            plan.filter(userIds.any(query.userIds()));
+        }
+        BitmapIndex.terms(query.title()).forEach(term -> plan.filter(titleTerms.get(term)));
+        BitmapIndex.terms(query.body()).forEach(term -> plan.filter(bodyTerms.get(term)));
+        return plan.build();
+    }
+
+    /**
+     * Returns the serialised size of all bitmap indexes.
+     *
+     * @return the size in bytes
+     */
+    public long sizeInBytes() {
+        return userIds.sizeInBytes() + titleTerms.sizeInBytes() + bodyTerms.sizeInBytes();
+    }
+
+    /**
+     * Folds text for case-insensitive sorting.
+     *
+     * @param text the text (nullable)
+     * @return the folded text, or null
+     */
+    private static String fold(final String text) {
+        return text == null ? null : text.toLowerCase(Locale.ENGLISH);
+    }
+}
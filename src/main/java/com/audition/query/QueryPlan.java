@@ -0,0 +1,226 @@
+package com.audition.query;
+
+import com.audition.common.exception.ClientException;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evaluation plan of one compiled query over ID-ordered entities.
+ * Compiling resolves every predicate to a bitmap of matching positions once: ID bounds become a
+ * position range, equality and term predicates the bitmaps of their inverted indexes. Executing
+ * intersects the bitmaps, smallest first so intermediate results only shrink, then orders and
+ * pages the matches, touching entities only for the requested page.
+ */
+public final class QueryPlan {
+
+    private static final String ID_FIELD = "id";
+    private static final String DESCENDING = "-";
+    private static final String UNKNOWN_SORT_MESSAGE = "Cannot sort by unknown field: ";
+
+    private final List<RoaringBitmap> filters;
+    private final int from;
+    private final int to;
+    private final int[] rank;
+    private final boolean descending;
+
+    private QueryPlan(final List<RoaringBitmap> filters, final int from, final int to, final int[] rank, final boolean descending) {
+        this.filters = filters;
+        this.from = from;
+        this.to = to;
+        this.rank = rank;
+        this.descending = descending;
+    }
+
+    /**
+     * Starts compiling a plan over entities ordered by ID.
+     *
+     * @param ids the ascending IDs of the entities, by position
+     * @return a builder for the plan
+     */
+    public static Builder over(final int[] ids) {
+        return new Builder(ids);
+    }
+
+    /**
+     * Executes the plan and returns one page of the matches.
+     *
+     * @param start the index of the first match to return, like the upstream {@code _start} (nullable)
+     * @param limit the maximum number of matches to return (nullable for all)
+     * @return the positions of the requested page in sort order, and the total number of matches
+     */
+    public Matches execute(final Integer start, final Integer limit) {
+        final RoaringBitmap matches = evaluate();
+        final int total = matches.getCardinality();
+        final int first = Math.min(total, start == null ? 0 : Math.max(0, start));
+        final int last = limit == null ? total : (int) Math.min(total, (long) first + Math.max(0, limit));
+        final int[] page = new int[last - first];
+
+        if (rank == null) {
+            // Positions are in ID order, so the page can be selected without sorting
+            for (int i = first; i < last; i++) {
+                page[i - first] = matches.select(descending ? total - 1 - i : i);
+            }
+            return new Matches(page, total);
+        }
+
+        // Ranks are packed in front of positions so that one primitive sort orders the matches
+        final int[] positions = matches.toArray();
+        final long[] ranked = new long[total];
+        for (int i = 0; i < total; i++) {
+            ranked[i] = (long) rank[positions[i]] << Integer.SIZE | positions[i];
+        }
+        Arrays.sort(ranked);
+        for (int i = first; i < last; i++) {
+            page[i - first] = (int) ranked[descending ? total - 1 - i : i];
+        }
+        return new Matches(page, total);
+    }
+
+    /**
+     * Intersects the position range with every filter.
+     *
+     * @return a new bitmap of the matching positions
+     */
+    private RoaringBitmap evaluate() {
+        final RoaringBitmap range = new RoaringBitmap();
+        if (from < to) {
+            range.add((long) from, (long) to);
+        }
+        if (filters.isEmpty()) {
+            return range;
+        }
+        RoaringBitmap result = RoaringBitmap.and(filters.get(0), range);
+        for (int i = 1; i < filters.size() && !result.isEmpty(); i++) {
+            result = RoaringBitmap.and(result, filters.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Computes the rank of every entity under an ordering, for sorting matches by that ordering.
+     *
+     * @param entities   the entities, by position
+     * @param comparator the ordering; ties keep position order
+     * @param <T>        the entity type
+     * @return the rank of the entity at every position
+     */
+    public static <T> int[] rank(final T[] entities, final Comparator<? super T> comparator) {
+        final Integer[] order = new Integer[entities.length];
+        for (int position = 0; position < entities.length; position++) {
+            order[position] = position;
+        }
+        Arrays.sort(order, (left, right) -> comparator.compare(entities[left], entities[right]));
+        final int[] rank = new int[entities.length];
+        for (int i = 0; i < order.length; i++) {
+            rank[order[i]] = i;
+        }
+        return rank;
+    }
+
+    /**
+     * The result of executing a plan.
+     *
+     * @param positions the positions of the requested page, in sort order
+     * @param total     the number of matches across all pages
+     */
+    public record Matches(int[] positions, int total) {
+    }
+
+    /**
+     * Compiles the predicates of a query into a plan.
+     */
+    public static final class Builder {
+
+        private final int[] ids;
+        private final List<RoaringBitmap> filters = new ArrayList<>();
+        private int from;
+        private int to;
+        private int[] rank;
+        private boolean descending;
+
+        private Builder(final int[] ids) {
+            this.ids = ids;
+            this.to = ids.length;
+        }
+
+        /**
+         * Restricts matches to entities with an ID within bounds.
+         *
+         * @param minId the smallest ID to match, inclusive (nullable for no lower bound)
+         * @param maxId the largest ID to match, inclusive (nullable for no upper bound)
+         * @return this builder
+         */
+        public Builder idRange(final Integer minId, final Integer maxId) {
+            if (minId != null) {
+                from = Math.max(from, lowerBound(minId));
+            }
+            if (maxId != null) {
+                to = maxId == Integer.MAX_VALUE ? to : Math.min(to, lowerBound(maxId + 1));
+            }
+            return this;
+        }
+
+        /**
+         * Restricts matches to the positions of a bitmap.
+         *
+         * @param filter the bitmap of matching positions, left unmodified
+         * @return this builder
+         */
+        public Builder filter(final RoaringBitmap filter) {
+            filters.add(filter);
+            return this;
+        }
+
+        /**
+         * Orders matches by a sort expression: a field name, prefixed with {@code -} for descending
+         * order. The {@code id} field is always available and is the default.
+         *
+         * @param sort  the sort expression (nullable for ascending ID order)
+         * @param ranks the precomputed ranks of the sortable fields other than {@code id}, by field name
+         * @return this builder
+         * @throws ClientException if the sort expression names an unknown field
+         */
+        public Builder sort(final String sort, final Map<String, int[]> ranks) {
+            if (sort == null || sort.isBlank()) {
+                return this;
+            }
+            final String expression = sort.trim();
+            descending = expression.startsWith(DESCENDING);
+            final String field = descending ? expression.substring(DESCENDING.length()) : expression;
+            if (!ID_FIELD.equals(field)) {
+                rank = ranks.get(field);
+                if (rank == null) {
+                    throw new ClientException(UNKNOWN_SORT_MESSAGE + field, HttpStatus.BAD_REQUEST.value());
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Finishes compilation.
+         *
+         * @return the plan
+         */
+        public QueryPlan build() {
+            filters.sort(Comparator.comparingInt(RoaringBitmap::getCardinality));
+            return new QueryPlan(List.copyOf(filters), from, to, rank, descending);
+        }
+
+        /**
+         * Finds the first position whose ID is not below a bound.
+         *
+         * @param id the bound
+         * @return the position, or the number of entities if every ID is below the bound
+         */
+        private int lowerBound(final int id) {
+            final int found = Arrays.binarySearch(ids, id);
+            return found >= 0 ? found : -found - 1;
+        }
+    }
+}
@@ -1,8 +1,20 @@
 package com.audition.service;
 
+import com.audition.common.exception.ClientException;
 import com.audition.common.exception.NoDataFoundException;
+import com.audition.integration.CacheRegion;
 import com.audition.integration.IIntegrationUrlService;
+import com.audition.integration.JsonArrayResponseExtractor;
+import com.audition.integration.UpstreamBatchLoader;
+import com.audition.integration.UpstreamBatcher;
+import com.audition.integration.UpstreamFanOut;
+import com.audition.integration.UpstreamRequestCoalescer;
+import com.audition.integration.UpstreamResponseCache;
 import com.audition.model.AuditionComment;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
@@ -10,15 +22,20 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of {@link IAuditionCommentsService} to interact with an external comments service.
  * This service handles retrieval of audition comments for specific posts and individual comments.
  */
 @Component
+@ConditionalOnProperty(name = "application.upstream.client", havingValue = "blocking", matchIfMissing = true)
 public class AuditionCommentsServiceImpl implements IAuditionCommentsService {
 
     private static final String NO_COMMENTS_FOUND_MESSAGE = "No comments found for post ID: ";
@@ -27,34 +44,57 @@ public class AuditionCommentsServiceImpl implements IAuditionCommentsService {
 
     private final transient RestTemplate restTemplate;
     private final transient IIntegrationUrlService integrationUrlService;
+    private final transient UpstreamRequestCoalescer requestCoalescer;
+    private final transient UpstreamResponseCache responseCache;
+    private final transient UpstreamFanOut fanOut;
+    private final transient ObjectMapper objectMapper;
+    private final transient UpstreamBatchLoader<Integer, List<AuditionComment>> commentsLoader; // Null when batching is disabled
 
     /**
      * Constructs an instance of {@link AuditionCommentsServiceImpl}.
      *
+     * @param restTemplate          the shared, pooled RestTemplate used for upstream calls
      * @param integrationUrlService the service to get integration URLs for comments
+     * @param requestCoalescer      the single-flight layer shared by identical upstream calls
+     * @param responseCache         the cache of upstream responses
+     * @param fanOut                the bounded-parallel fan-out used by batch lookups
+     * @param objectMapper          the mapper used to decode batched upstream responses
+     * @param batcher               creates the loader merging concurrent fetches of the comments of different posts
      */
-    public AuditionCommentsServiceImpl(final IIntegrationUrlService integrationUrlService) {
+    public AuditionCommentsServiceImpl(final RestTemplate restTemplate, final IIntegrationUrlService integrationUrlService,
+                                       final UpstreamRequestCoalescer requestCoalescer, final UpstreamResponseCache responseCache,
+                                       final UpstreamFanOut fanOut, final ObjectMapper objectMapper, final UpstreamBatcher batcher) {
+        this.restTemplate = restTemplate;
         this.integrationUrlService = integrationUrlService;
-        this.restTemplate = new RestTemplate(); // Moved initialization to constructor
+        this.requestCoalescer = requestCoalescer;
+        this.responseCache = responseCache;
+        this.fanOut = fanOut;
+        this.objectMapper = objectMapper;
+        this.commentsLoader = batcher.loader(CacheRegion.COMMENTS.name(), this::fetchCommentsByPostIds);
     }
 
     /**
      * Retrieves a list of comments for a specific post with pagination support.
      *
      * @param postId the ID of the post (must be positive)
-     * @param page   the page number to retrieve (must be non-negative)
+     * @param offset the index of the first comment to return, like the upstream {@code _start} (must be non-negative)
      * @param size   the number of comments per page (must be positive)
      * @return a list of audition comments, or an empty list if none are found
      * @throws NoDataFoundException if no comments are found for the given post ID
      */
     @Override
-    public List<AuditionComment> getComments(final int postId, final Integer page, final Integer size) {
-        final String commentUrl = integrationUrlService.getCommentsUrl(postId, page, size);
+    public List<AuditionComment> getComments(final int postId, final Integer offset, final Integer size) {
+        final String commentUrl = integrationUrlService.getCommentsUrl(postId, offset, size);
 
         try {
-            final ResponseEntity<AuditionComment[]> responseEntity = restTemplate.getForEntity(commentUrl, AuditionComment[].class);
+            // Misses are merged with concurrent fetches for other posts, each caller taking its own page of the result
+            final ResponseEntity<AuditionComment[]> responseEntity = commentsLoader == null
+                    ? fetch(commentUrl, AuditionComment[].class)
+                    : responseCache.get(CacheRegion.COMMENTS, commentUrl, etag -> etag == null
+                            ? ResponseEntity.ok(page(commentsLoader.load(postId), offset, size))
+                            : exchange(commentUrl, etag, AuditionComment[].class));
             return Optional.ofNullable(responseEntity.getBody())
-                    .map(Arrays::asList)
+                    .map(comments -> Collections.unmodifiableList(Arrays.asList(comments))) // Read-only view, the array may be shared
                     .orElse(Collections.emptyList());
 
         } catch (HttpClientErrorException exception) {
@@ -62,6 +102,11 @@ public class AuditionCommentsServiceImpl implements IAuditionCommentsService {
                 throw new NoDataFoundException(NO_COMMENTS_FOUND_MESSAGE + postId, HttpStatus.NOT_FOUND.value());
             }
             throw new RuntimeException(CLIENT_ERROR_MESSAGE + exception.getMessage(), exception);
+        } catch (ClientException exception) {
+            if (isNotFound(exception)) {
+                throw new NoDataFoundException(NO_COMMENTS_FOUND_MESSAGE + postId, HttpStatus.NOT_FOUND.value());
+            }
+            throw exception;
         }
     }
 
@@ -77,7 +122,7 @@ public class AuditionCommentsServiceImpl implements IAuditionCommentsService {
         final String commentUrl = integrationUrlService.getCommentUrl(commentId);
 
         try {
-            final ResponseEntity<AuditionComment> responseEntity = restTemplate.getForEntity(commentUrl, AuditionComment.class);
+            final ResponseEntity<AuditionComment> responseEntity = fetch(commentUrl, AuditionComment.class);
             return Optional.ofNullable(responseEntity.getBody())
                     .orElseThrow(() -> new NoDataFoundException(NO_DATA_FOUND_MESSAGE + commentId, HttpStatus.NO_CONTENT.value()));
 
@@ -86,6 +131,91 @@ public class AuditionCommentsServiceImpl implements IAuditionCommentsService {
                 throw new NoDataFoundException(NO_DATA_FOUND_MESSAGE + commentId, HttpStatus.NOT_FOUND.value());
             }
             throw new RuntimeException(CLIENT_ERROR_MESSAGE + exception.getMessage(), exception);
+        } catch (ClientException exception) {
+            if (isNotFound(exception)) {
+                throw new NoDataFoundException(NO_DATA_FOUND_MESSAGE + commentId, HttpStatus.NOT_FOUND.value());
+            }
+            throw exception;
         }
     }
+
+    /**
+     * Retrieves many comments by ID.
+     * Comments are fetched concurrently with a bounded number in flight; each fetch goes through the
+     * response cache and the request coalescer like a single lookup.
+     *
+     * @param commentIds the IDs of the comments to retrieve
+     * @return the comments found, by ID, in the order of the IDs; IDs of missing comments are absent
+     */
+    @Override
+    public Map<Integer, AuditionComment> getCommentsByIds(final Collection<Integer> commentIds) {
+        return fanOut.fetchAll(commentIds, commentId -> Lookups.findOrNull(() -> getComment(commentId)));
+    }
+
+    /**
+     * Fetches an upstream resource, served from the response cache when possible.
+     * Stale cached responses are revalidated with a conditional GET, and upstream calls for the same
+     * URL are shared between concurrent callers.
+     *
+     * @param url  the upstream URL
+     * @param type the response body type
+     * @param <T>  the response body type
+     * @return the upstream response
+     */
+    private <T> ResponseEntity<T> fetch(final String url, final Class<T> type) {
+        return responseCache.get(CacheRegion.COMMENTS, url, etag -> exchange(url, etag, type));
+    }
+
+    /**
+     * Makes an upstream GET call, shared with concurrent callers of the same URL.
+     *
+     * @param url  the upstream URL
+     * @param etag the validator of a stale cached response, or null for an unconditional request
+     * @param type the response body type
+     * @param <T>  the response body type
+     * @return the upstream response
+     */
+    private <T> ResponseEntity<T> exchange(final String url, final String etag, final Class<T> type) {
+        return requestCoalescer.execute(url, () -> restTemplate.exchange(
+                url, HttpMethod.GET, new HttpEntity<>(UpstreamResponseCache.conditionalHeaders(etag)), type));
+    }
+
+    /**
+     * Fetches all comments of many posts in one upstream call, for the batch loader.
+     *
+     * @param postIds the IDs of the posts
+     * @return the comments of every post, by post ID; posts without comments map to an empty list
+     */
+    private Map<Integer, List<AuditionComment>> fetchCommentsByPostIds(final Set<Integer> postIds) {
+        final ResponseEntity<List<AuditionComment>> response = restTemplate.execute(integrationUrlService.getCommentsByPostIdsUrl(postIds),
+                HttpMethod.GET, null, new JsonArrayResponseExtractor<>(objectMapper, AuditionComment.class));
+        final Map<Integer, List<AuditionComment>> comments = response == null || response.getBody() == null
+                ? Map.of()
+                : response.getBody().stream().collect(Collectors.groupingBy(AuditionComment::getPostId));
+        return postIds.stream().collect(Collectors.toMap(postId -> postId, postId -> comments.getOrDefault(postId, List.of())));
+    }
+
+    /**
+     * Takes one page of a post's comments, like the upstream {@code _start}/{@code _limit} parameters.
+     *
+     * @param comments all comments of the post
+     * @param start    the index of the first comment to return (nullable for the first)
+     * @param limit    the maximum number of comments to return (nullable for all)
+     * @return the comments of the page
+     */
+    private static AuditionComment[] page(final List<AuditionComment> comments, final Integer start, final Integer limit) {
+        final int from = Math.min(comments.size(), start == null ? 0 : Math.max(0, start));
+        final int to = limit == null ? comments.size() : (int) Math.min(comments.size(), (long) from + Math.max(0, limit));
+        return comments.subList(from, to).toArray(AuditionComment[]::new);
+    }
+
+    /**
+     * Checks whether a client error raised by the RestTemplate error handler is a 404.
+     *
+     * @param exception the client error
+     * @return true if the upstream answered 404 Not Found
+     */
+    private static boolean isNotFound(final ClientException exception) {
+        return Integer.valueOf(HttpStatus.NOT_FOUND.value()).equals(exception.getStatusCode());
+    }
 }
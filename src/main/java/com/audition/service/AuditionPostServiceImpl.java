@@ -1,8 +1,24 @@
 package com.audition.service;
 
+import com.audition.common.exception.ClientException;
 import com.audition.common.exception.NoDataFoundException;
+import com.audition.common.exception.SystemException;
+import com.audition.integration.CacheRegion;
 import com.audition.integration.IIntegrationUrlService;
+import com.audition.integration.JsonArrayResponseExtractor;
+import com.audition.integration.JsonProjection;
+import com.audition.integration.UpstreamBatchLoader;
+import com.audition.integration.UpstreamBatcher;
+import com.audition.integration.UpstreamFanOut;
+import com.audition.integration.UpstreamRequestCoalescer;
+import com.audition.integration.UpstreamResponseCache;
+import com.audition.model.AuditionComment;
 import com.audition.model.AuditionPost;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
@@ -11,54 +27,162 @@ import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of IAuditionIntegrationPostsClient to interact with external posts service.
  */
 @Component
+@ConditionalOnProperty(name = "application.upstream.client", havingValue = "blocking", matchIfMissing = true)
 public class AuditionPostServiceImpl implements IAuditionPostService {
 
-    private final transient RestTemplate restTemplate = new RestTemplate();
+    private final transient RestTemplate restTemplate;
     private final transient IIntegrationUrlService integrationUrlService;
     private final transient IAuditionCommentsService auditionIntegrationCommentsClient;
+    private final transient Executor upstreamExecutor;
+    private final transient UpstreamRequestCoalescer requestCoalescer;
+    private final transient UpstreamResponseCache responseCache;
+    private final transient ObjectMapper objectMapper;
+    private final transient UpstreamFanOut fanOut;
+    private final transient UpstreamBatchLoader<Integer, AuditionPost> postLoader; // Null when batching is disabled
 
     // Constants for error messages
     private static final String NO_POST_FOUND_MESSAGE = "No post found for ID: ";
     private static final String NO_POSTS_FOUND_MESSAGE = "No posts found for user ID: ";
     private static final String FETCHING_POSTS_ERROR_MESSAGE = "An error occurred while fetching posts";
+    private static final String FETCHING_POST_ERROR_MESSAGE = "An error occurred while fetching post with comments";
 
-    public AuditionPostServiceImpl(final IAuditionCommentsService auditionIntegrationCommentsClient,
-                                   final IIntegrationUrlService integrationUrlService) {
+    private static final String TITLE_FIELD = "title";
+
+    /**
+     * Constructs an instance of {@link AuditionPostServiceImpl}.
+     *
+     * @param restTemplate                      the shared, pooled RestTemplate used for upstream calls
+     * @param auditionIntegrationCommentsClient the service used to load comments for a post
+     * @param integrationUrlService             the service to get integration URLs for posts
+     * @param upstreamExecutor                  the executor used to fetch comments concurrently with the post
+     * @param requestCoalescer                  the single-flight layer shared by identical upstream calls
+     * @param responseCache                     the cache of upstream responses
+     * @param objectMapper                      the mapper used to decode projected upstream pages
+     * @param fanOut                            the bounded-parallel fan-out used by batch lookups
+     * @param batcher                           creates the loader merging concurrent single-post fetches
+     */
+    public AuditionPostServiceImpl(final RestTemplate restTemplate,
+                                   final IAuditionCommentsService auditionIntegrationCommentsClient,
+                                   final IIntegrationUrlService integrationUrlService,
+                                   @Qualifier("upstreamExecutor") final Executor upstreamExecutor,
+                                   final UpstreamRequestCoalescer requestCoalescer,
+                                   final UpstreamResponseCache responseCache,
+                                   final ObjectMapper objectMapper,
+                                   final UpstreamFanOut fanOut,
+                                   final UpstreamBatcher batcher) {
+        this.restTemplate = restTemplate;
         this.auditionIntegrationCommentsClient = auditionIntegrationCommentsClient;
         this.integrationUrlService = integrationUrlService;
+        this.upstreamExecutor = upstreamExecutor;
+        this.requestCoalescer = requestCoalescer;
+        this.responseCache = responseCache;
+        this.objectMapper = objectMapper;
+        this.fanOut = fanOut;
+        this.postLoader = batcher.loader(CacheRegion.POSTS.name(), this::fetchPostsByIds);
     }
 
     /**
      * Retrieves a list of audition posts for a specific user with pagination support.
      *
      * @param userId the ID of the user (nullable)
-     * @param page   the page number to retrieve (0-based)
+     * @param offset the index of the first post to return, like the upstream {@code _start}
      * @param size   the number of posts per page (must be positive)
      * @return a list of audition posts, or an empty list if none are found
      * @throws NoDataFoundException if no posts are found for the given user ID
      */
     @Override
-    public List<AuditionPost> getPosts(final Integer userId, final Integer page, final Integer size) {
-        final String url = integrationUrlService.getPostsUrl(userId, page, size);
+    public List<AuditionPost> getPosts(final Integer userId, final Integer offset, final Integer size) {
+        final String url = integrationUrlService.getPostsUrl(userId, offset, size);
 
-        try {
-            final ResponseEntity<AuditionPost[]> responseEntity = restTemplate.getForEntity(url, AuditionPost[].class);
+        return fetchPosts(userId, () -> {
+            final ResponseEntity<AuditionPost[]> responseEntity = fetch(CacheRegion.POSTS, url, AuditionPost[].class);
             return Optional.ofNullable(responseEntity.getBody())
-                    .map(Arrays::asList) // Convert array to List if body is not null
+                    .map(posts -> Collections.unmodifiableList(Arrays.asList(posts))) // Read-only view, the array may be shared
                     .orElseGet(List::of); // Return an empty list if body is null
+        });
+    }
+
+    /**
+     * Retrieves the posts of a page whose title contains a fragment, binding only some fields.
+     * The title test and the field selection are applied by the decoder while it reads the upstream
+     * payload: skipped values are never decoded and rejected posts are never allocated. Projected
+     * pages are cached and coalesced separately from full pages, under a key naming the projection,
+     * and are revalidated with the validator of the upstream page they were decoded from.
+     *
+     * @param userId        the ID of the user (nullable)
+     * @param offset        the index of the first post to return, like the upstream {@code _start}
+     * @param size          the number of posts per page (must be positive)
+     * @param titleFragment the fragment titles must contain (nullable or empty for no filter)
+     * @param fields        the names of the fields the caller needs (nullable for all)
+     * @return the matching posts of the page
+     * @throws NoDataFoundException if no posts are found for the given user ID
+     */
+    @Override
+    public List<AuditionPost> getPosts(final Integer userId, final Integer offset, final Integer size,
+                                       final String titleFragment, final Set<String> fields) {
+        final String folded = titleFragment == null ? "" : titleFragment.toLowerCase(Locale.ENGLISH);
+        if (folded.isEmpty() && fields == null) {
+            return getPosts(userId, offset, size);
+        }
+
+        final String url = integrationUrlService.getPostsUrl(userId, offset, size);
+        JsonProjection projection = JsonProjection.of(fields);
+        if (!folded.isEmpty()) {
+            projection = projection.where(TITLE_FIELD, title -> title != null && title.toLowerCase(Locale.ENGLISH).contains(folded));
+        }
+        final JsonArrayResponseExtractor<AuditionPost> extractor =
+                new JsonArrayResponseExtractor<>(objectMapper, AuditionPost.class, projection);
+        final String key = url + "#" + TITLE_FIELD + "=" + folded + ";fields=" + (fields == null ? "*" : String.join(",", new TreeSet<>(fields)));
+
+        return fetchPosts(userId, () -> {
+            final ResponseEntity<List<AuditionPost>> responseEntity = responseCache.get(CacheRegion.POSTS, key,
+                    etag -> requestCoalescer.execute(key, () -> restTemplate.execute(url, HttpMethod.GET,
+                            request -> request.getHeaders().addAll(UpstreamResponseCache.conditionalHeaders(etag)), extractor)));
+            return Optional.ofNullable(responseEntity.getBody()).orElseGet(List::of);
+        });
+    }
+
+    /**
+     * Runs an upstream call for a page of posts, translating its failures into the exceptions reported to callers.
+     *
+     * @param userId the ID of the user whose posts are requested (nullable)
+     * @param call   the upstream call
+     * @return the posts returned by the call
+     * @throws NoDataFoundException if no posts are found for the given user ID
+     */
+    private static List<AuditionPost> fetchPosts(final Integer userId, final Supplier<List<AuditionPost>> call) {
+        try {
+            return call.get();
 
         } catch (HttpClientErrorException exception) {
             if (exception.getStatusCode() == HttpStatus.NOT_FOUND) {
                 throw new NoDataFoundException(NO_POSTS_FOUND_MESSAGE + userId, HttpStatus.NOT_FOUND.value());
             }
             throw new HttpClientErrorException(exception.getStatusCode(), exception.getMessage());
+        } catch (ClientException exception) {
+            if (isNotFound(exception)) {
+                throw new NoDataFoundException(NO_POSTS_FOUND_MESSAGE + userId, HttpStatus.NOT_FOUND.value());
+            }
+            throw exception;
         } catch (RestClientException exception) {
             throw new RestClientException(FETCHING_POSTS_ERROR_MESSAGE, exception);
         }
@@ -66,27 +190,70 @@ public class AuditionPostServiceImpl implements IAuditionPostService {
 
     /**
      * Retrieves a specific audition post by its ID.
+     * When comments are requested they are fetched concurrently with the post, since the comments
+     * URL only needs the post ID. A failure of the post lookup takes precedence over a failure of the
+     * comments lookup, so a missing post is always reported as such, and cancels the comments lookup.
      *
      * @param id             the ID of the post (must be positive)
      * @param loadComments   whether to include comments in the response
-     * @param page           the page number for pagination of comments (if included, must be non-negative)
+     * @param offset         the index of the first comment to include, like the upstream {@code _start} (if included, must be non-negative)
      * @param size           the number of comments per page (if included, must be positive)
      * @return the requested audition post, or null if not found
      * @throws NoDataFoundException if no post is found for the given ID
      */
     @Override
-    public AuditionPost getPostById(final Integer id, final boolean loadComments, final Integer page, final Integer size) {
+    public AuditionPost getPostById(final Integer id, final boolean loadComments, final Integer offset, final Integer size) {
+        if (!loadComments) {
+            return fetchPost(id);
+        }
+
+        final CompletableFuture<List<AuditionComment>> comments = CompletableFuture.supplyAsync(
+                () -> auditionIntegrationCommentsClient.getComments(id, offset, size), upstreamExecutor);
+        // The post is fetched on the calling thread; if it fails, the comments call is cancelled so a
+        // queued call never runs and a running one is not waited on.
+        final AuditionPost auditionPost;
+        try {
+            auditionPost = fetchPost(id);
+        } catch (RuntimeException exception) {
+            comments.cancel(true);
+            throw exception;
+        }
+        // The fetched post may be shared with coalesced callers, so comments are attached to a copy.
+        return new AuditionPost(auditionPost.getUserId(), auditionPost.getId(), auditionPost.getTitle(),
+                auditionPost.getBody(), join(comments));
+    }
+
+    /**
+     * Retrieves many posts by ID, without their comments.
+     * Posts are fetched concurrently with a bounded number in flight; each fetch goes through the
+     * response cache and the request coalescer like a single lookup, so cached posts cost no upstream call.
+     *
+     * @param postIds the IDs of the posts to retrieve
+     * @return the posts found, by ID, in the order of the IDs; IDs of missing posts are absent
+     */
+    @Override
+    public Map<Integer, AuditionPost> getPostsByIds(final Collection<Integer> postIds) {
+        return fanOut.fetchAll(postIds, postId -> Lookups.findOrNull(() -> fetchPost(postId)));
+    }
+
+    /**
+     * Fetches a single post from the upstream service.
+     *
+     * @param id the ID of the post
+     * @return the requested audition post
+     * @throws NoDataFoundException if no post is found for the given ID
+     */
+    private AuditionPost fetchPost(final Integer id) {
         final String postUrl = integrationUrlService.getPostByIdUrl(id);
 
         try {
-            final ResponseEntity<AuditionPost> responseEntity = restTemplate.getForEntity(postUrl, AuditionPost.class);
+            // Misses are merged with concurrent fetches of other posts; revalidating a cached post stays a conditional GET
+            final ResponseEntity<AuditionPost> responseEntity = postLoader == null
+                    ? fetch(CacheRegion.POSTS, postUrl, AuditionPost.class)
+                    : responseCache.get(CacheRegion.POSTS, postUrl, etag -> etag == null
+                            ? ResponseEntity.ofNullable(postLoader.load(id))
+                            : exchange(postUrl, etag, AuditionPost.class));
             return Optional.ofNullable(responseEntity.getBody())
-                    .map(auditionPost -> {
-                        if (loadComments) {
-                            auditionPost.setAuditionComments(auditionIntegrationCommentsClient.getComments(auditionPost.getId(), page, size));
-                        }
-                        return auditionPost;
-                    })
                     .orElseThrow(() -> new NoDataFoundException(NO_POST_FOUND_MESSAGE + id, HttpStatus.NOT_FOUND.value()));
 
         } catch (HttpClientErrorException exception) {
@@ -94,6 +261,83 @@ public class AuditionPostServiceImpl implements IAuditionPostService {
                 throw new NoDataFoundException(NO_POST_FOUND_MESSAGE + id, HttpStatus.NOT_FOUND.value());
             }
             throw new HttpClientErrorException(exception.getStatusCode(), exception.getMessage());
+        } catch (ClientException exception) {
+            if (isNotFound(exception)) {
+                throw new NoDataFoundException(NO_POST_FOUND_MESSAGE + id, HttpStatus.NOT_FOUND.value());
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * Fetches many posts in one upstream call, for the batch loader.
+     *
+     * @param ids the IDs of the posts
+     * @return the posts found, by ID
+     */
+    private Map<Integer, AuditionPost> fetchPostsByIds(final Set<Integer> ids) {
+        final ResponseEntity<List<AuditionPost>> response = restTemplate.execute(integrationUrlService.getPostsByIdsUrl(ids),
+                HttpMethod.GET, null, new JsonArrayResponseExtractor<>(objectMapper, AuditionPost.class));
+        if (response == null || response.getBody() == null) {
+            return Map.of();
+        }
+        return response.getBody().stream().collect(Collectors.toMap(AuditionPost::getId, Function.identity(), (first, duplicate) -> first));
+    }
+
+    /**
+     * Fetches an upstream resource, served from the response cache when possible.
+     * Stale cached responses are revalidated with a conditional GET, and upstream calls for the same
+     * URL are shared between concurrent callers.
+     *
+     * @param region the kind of resource the URL points to
+     * @param url    the upstream URL
+     * @param type   the response body type
+     * @param <T>    the response body type
+     * @return the upstream response
+     */
+    private <T> ResponseEntity<T> fetch(final CacheRegion region, final String url, final Class<T> type) {
+        return responseCache.get(region, url, etag -> exchange(url, etag, type));
+    }
+
+    /**
+     * Makes an upstream GET call, shared with concurrent callers of the same URL.
+     *
+     * @param url  the upstream URL
+     * @param etag the validator of a stale cached response, or null for an unconditional request
+     * @param type the response body type
+     * @param <T>  the response body type
+     * @return the upstream response
+     */
+    private <T> ResponseEntity<T> exchange(final String url, final String etag, final Class<T> type) {
+        return requestCoalescer.execute(url, () -> restTemplate.exchange(
+                url, HttpMethod.GET, new HttpEntity<>(UpstreamResponseCache.conditionalHeaders(etag)), type));
+    }
+
+    /**
+     * Waits for a concurrent upstream call and rethrows its original exception on failure.
+     *
+     * @param future the pending upstream call
+     * @param <T>    the result type
+     * @return the result of the call
+     */
+    private static <T> T join(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new SystemException(FETCHING_POST_ERROR_MESSAGE, exception.getCause());
         }
     }
+
+    /**
+     * Checks whether a client error raised by the RestTemplate error handler is a 404.
+     *
+     * @param exception the client error
+     * @return true if the upstream answered 404 Not Found
+     */
+    private static boolean isNotFound(final ClientException exception) {
+        return Integer.valueOf(HttpStatus.NOT_FOUND.value()).equals(exception.getStatusCode());
+    }
 }
@@ -3,7 +3,9 @@ package com.audition.service;
 import com.audition.model.AuditionComment;
 import jakarta.validation.constraints.Positive;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Interface for interacting with audition comments in the integration layer.
@@ -14,11 +16,11 @@ public interface IAuditionCommentsService {
      * Retrieves a list of comments for a specified audition post.
      *
      * @param postId the ID of the post (must be positive)
-     * @param page   the page number for pagination (optional, can be null)
+     * @param offset the index of the first comment to return, like the upstream {@code _start} (nullable)
      * @param size   the number of comments per page (optional, can be null)
      * @return a list of audition comments, or an empty list if none are found
      */
-    List<AuditionComment> getComments(@Positive(message = "Post ID must be positive.") int postId, Integer page, Integer size);
+    List<AuditionComment> getComments(@Positive(message = "Post ID must be positive.") int postId, Integer offset, Integer size);
 
     /**
      * Retrieves a specific comment by its ID.
@@ -27,4 +29,16 @@ public interface IAuditionCommentsService {
      * @return the requested audition comment, or null if not found
      */
     AuditionComment getComment(@Positive(message = "Comment ID must be positive.") Integer commentId);
+
+    /**
+     * Retrieves many comments by ID.
+     * By default every comment is fetched in turn; implementations backed by a remote service fetch
+     * them concurrently, with a bounded number in flight.
+     *
+     * @param commentIds the IDs of the comments to retrieve
+     * @return the comments found, by ID, in the order of the IDs; IDs of missing comments are absent
+     */
+    default Map<Integer, AuditionComment> getCommentsByIds(final Collection<Integer> commentIds) {
+        return Lookups.findAll(commentIds, this::getComment);
+    }
 }
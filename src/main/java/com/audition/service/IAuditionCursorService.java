@@ -0,0 +1,35 @@
+package com.audition.service;
+
+import com.audition.dto.CursorPage;
+import com.audition.model.AuditionComment;
+import com.audition.model.AuditionPost;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Interface for paging through posts and comments by opaque cursor.
+ * Each page seeks directly past the last ID of the previous one, on the same version of the dataset,
+ * so pages neither skip nor repeat entities while the dataset changes. Only available where the full
+ * dataset is held locally as versioned snapshots.
+ */
+public interface IAuditionCursorService {
+
+    /**
+     * Returns the page of posts following a cursor, ordered by post ID.
+     *
+     * @param userId the ID of the user whose posts to return (nullable for all users)
+     * @param cursor the cursor returned with the previous page, empty or null for the first page
+     * @param size   the maximum number of posts to return (must be positive)
+     * @return the page of posts with the cursor of the next page
+     */
+    CursorPage<AuditionPost> getPostsAfter(Integer userId, String cursor, @Positive int size);
+
+    /**
+     * Returns the page of comments of a post following a cursor, ordered by comment ID.
+     *
+     * @param postId the ID of the post
+     * @param cursor the cursor returned with the previous page, empty or null for the first page
+     * @param size   the maximum number of comments to return (must be positive)
+     * @return the page of comments with the cursor of the next page
+     */
+    CursorPage<AuditionComment> getCommentsAfter(int postId, String cursor, @Positive int size);
+}
@@ -0,0 +1,35 @@
+package com.audition.service;
+
+import com.audition.dto.PagedResult;
+import com.audition.model.AuditionPost;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
+
+import java.util.List;
+
+/**
+ * Interface for searching audition posts across the whole dataset.
+ * Only available where the full dataset is held locally; other modes filter the fetched page instead.
+ */
+public interface IAuditionPostSearchService {
+
+    /**
+     * Searches posts whose title contains a fragment, ignoring case, then pages through the matches.
+     *
+     * @param title  the title fragment to search for
+     * @param userId the ID of the user whose posts to search (nullable for all users)
+     * @param offset the index of the first match to return, like the upstream {@code _start}
+     * @param size   the maximum number of matches to return (must be positive)
+     * @return the requested page of matches with the total number of matches
+     */
+    PagedResult<AuditionPost> searchByTitle(String title, Integer userId, @Min(0) Integer offset, @Positive Integer size);
+
+    /**
+     * Completes a title prefix, ignoring case, for type-ahead.
+     *
+     * @param prefix the prefix typed so far
+     * @param limit  the maximum number of completions to return (must be positive)
+     * @return the distinct matching titles in lexicographic order
+     */
+    List<String> suggestTitles(String prefix, @Positive int limit);
+}
@@ -4,7 +4,11 @@ import com.audition.model.AuditionPost;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Positive;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Interface for interacting with the external posts integration service.
@@ -15,21 +19,57 @@ public interface IAuditionPostService {
      * Retrieves a list of audition posts for a specific user with pagination support.
      *
      * @param userId the ID of the user (nullable)
-     * @param page   the page number to retrieve (0-based, must be non-negative)
+     * @param offset the index of the first post to return, like the upstream {@code _start} (must be non-negative)
      * @param size   the number of posts per page (must be positive)
      * @return a list of audition posts (empty list if no posts exist)
      */
-    List<AuditionPost> getPosts(Integer userId, @Min(0) Integer page, @Positive Integer size);
+    List<AuditionPost> getPosts(Integer userId, @Min(0) Integer offset, @Positive Integer size);
+
+    /**
+     * Retrieves the posts of a page whose title contains a fragment, ignoring case, binding only some fields.
+     * Implementations decoding upstream payloads push both into the decoder, so unneeded values are
+     * skipped and non-matching posts are never materialised. By default the page is fetched in full
+     * and filtered afterwards.
+     *
+     * @param userId        the ID of the user (nullable)
+     * @param offset        the index of the first post to return, like the upstream {@code _start} (must be non-negative)
+     * @param size          the number of posts per page (must be positive)
+     * @param titleFragment the fragment titles must contain (nullable or empty for no filter)
+     * @param fields        the names of the fields the caller needs (nullable for all); other fields may be left unset
+     * @return the matching posts of the page (empty list if none match)
+     */
+    default List<AuditionPost> getPosts(final Integer userId, @Min(0) final Integer offset, @Positive final Integer size,
+                                        final String titleFragment, final Set<String> fields) {
+        final List<AuditionPost> posts = getPosts(userId, offset, size);
+        if (titleFragment == null || titleFragment.isEmpty()) {
+            return posts;
+        }
+        final String folded = titleFragment.toLowerCase(Locale.ENGLISH);
+        return posts.stream()
+                .filter(post -> post.getTitle() != null && post.getTitle().toLowerCase(Locale.ENGLISH).contains(folded))
+                .toList();
+    }
 
     /**
      * Retrieves a specific audition post by its ID.
      *
      * @param postId         the ID of the post to retrieve (must be positive)
      * @param includeComments whether to include comments in the response
-     * @param page           the page number for pagination of comments (if included, must be non-negative)
+     * @param offset         the index of the first comment to include, like the upstream {@code _start} (if included, must be non-negative)
      * @param size           the number of comments per page (if included, must be positive)
      * @return the requested audition post, or null if not found
      */
-    AuditionPost getPostById(@Positive Integer postId, boolean includeComments, @Min(0) Integer page, @Positive Integer size);
+    AuditionPost getPostById(@Positive Integer postId, boolean includeComments, @Min(0) Integer offset, @Positive Integer size);
 
+    /**
+     * Retrieves many audition posts by ID, without their comments.
+     * By default every post is fetched in turn; implementations backed by a remote service fetch
+     * them concurrently, with a bounded number in flight.
+     *
+     * @param postIds the IDs of the posts to retrieve
+     * @return the posts found, by ID, in the order of the IDs; IDs of missing posts are absent
+     */
+    default Map<Integer, AuditionPost> getPostsByIds(final Collection<Integer> postIds) {
+        return Lookups.findAll(postIds, postId -> getPostById(postId, false, null, null));
+    }
 }
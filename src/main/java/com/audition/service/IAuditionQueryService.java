@@ -0,0 +1,36 @@
+package com.audition.service;
+
+import com.audition.dto.PagedResult;
+import com.audition.model.AuditionComment;
+import com.audition.model.AuditionPost;
+import com.audition.query.CommentQuery;
+import com.audition.query.PostQuery;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
+
+/**
+ * Interface for combined multi-field queries over posts and comments.
+ * Only available where the full dataset is held locally.
+ */
+public interface IAuditionQueryService {
+
+    /**
+     * Runs a combined query over all posts, then pages through the matches.
+     *
+     * @param query   the filters and sort order
+     * @param offset  the index of the first match to return, like the upstream {@code _start}
+     * @param size    the maximum number of matches to return (must be positive)
+     * @return the requested page of matches with the total number of matches
+     */
+    PagedResult<AuditionPost> queryPosts(PostQuery query, @Min(0) Integer offset, @Positive Integer size);
+
+    /**
+     * Runs a combined query over all comments, then pages through the matches.
+     *
+     * @param query   the filters and sort order
+     * @param offset  the index of the first match to return, like the upstream {@code _start}
+     * @param size    the maximum number of matches to return (must be positive)
+     * @return the requested page of matches with the total number of matches
+     */
+    PagedResult<AuditionComment> queryComments(CommentQuery query, @Min(0) Integer offset, @Positive Integer size);
+}
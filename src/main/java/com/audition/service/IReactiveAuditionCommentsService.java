@@ -0,0 +1,29 @@
+package com.audition.service;
+
+import com.audition.model.AuditionComment;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link IAuditionCommentsService}.
+ */
+public interface IReactiveAuditionCommentsService {
+
+    /**
+     * Streams the comments for a specified audition post.
+     *
+     * @param postId the ID of the post (must be positive)
+     * @param offset the index of the first comment to return, like the upstream {@code _start} (nullable)
+     * @param size   the number of comments per page (optional, can be null)
+     * @return a Flux of audition comments (empty if none are found)
+     */
+    Flux<AuditionComment> getCommentsReactive(int postId, Integer offset, Integer size);
+
+    /**
+     * Retrieves a specific comment by its ID.
+     *
+     * @param commentId the ID of the comment (must be positive)
+     * @return a Mono emitting the requested audition comment, or an error if not found
+     */
+    Mono<AuditionComment> getCommentReactive(Integer commentId);
+}
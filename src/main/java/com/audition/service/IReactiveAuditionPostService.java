@@ -0,0 +1,32 @@
+package com.audition.service;
+
+import com.audition.model.AuditionPost;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link IAuditionPostService}.
+ */
+public interface IReactiveAuditionPostService {
+
+    /**
+     * Streams audition posts for a specific user with pagination support.
+     *
+     * @param userId the ID of the user (nullable)
+     * @param offset the index of the first post to return, like the upstream {@code _start} (must be non-negative)
+     * @param size   the number of posts per page (must be positive)
+     * @return a Flux of audition posts (empty if no posts exist)
+     */
+    Flux<AuditionPost> getPostsReactive(Integer userId, Integer offset, Integer size);
+
+    /**
+     * Retrieves a specific audition post by its ID.
+     *
+     * @param postId          the ID of the post to retrieve (must be positive)
+     * @param includeComments whether to include comments in the response
+     * @param offset          the index of the first comment to include, like the upstream {@code _start} (if included, must be non-negative)
+     * @param size            the number of comments per page (if included, must be positive)
+     * @return a Mono emitting the requested audition post, or an error if not found
+     */
+    Mono<AuditionPost> getPostByIdReactive(Integer postId, boolean includeComments, Integer offset, Integer size);
+}
@@ -0,0 +1,53 @@
+package com.audition.service;
+
+import com.audition.common.exception.NoDataFoundException;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Helpers for batch lookups built from single-entity lookups, which report a missing entity
+ * with a {@link NoDataFoundException}.
+ */
+final class Lookups {
+
+    private Lookups() {
+    }
+
+    /**
+     * Runs a single-entity lookup, turning a missing entity into null.
+     *
+     * @param lookup the lookup
+     * @param <T>    the entity type
+     * @return the entity, or null if it does not exist
+     */
+    static <T> T findOrNull(final Supplier<T> lookup) {
+        try {
+            return lookup.get();
+        } catch (NoDataFoundException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * Looks up every ID in turn.
+     *
+     * @param ids    the IDs to look up
+     * @param lookup looks up one ID, throwing {@link NoDataFoundException} if it does not exist
+     * @param <T>    the entity type
+     * @return the entities found, by ID, in the order of the IDs; missing IDs are absent
+     */
+    static <T> Map<Integer, T> findAll(final Collection<Integer> ids, final Function<Integer, T> lookup) {
+        final Map<Integer, T> found = new LinkedHashMap<>();
+        for (final Integer id : ids) {
+            final T entity = findOrNull(() -> lookup.apply(id));
+            if (entity != null) {
+                found.putIfAbsent(id, entity);
+            }
+        }
+        return found;
+    }
+}
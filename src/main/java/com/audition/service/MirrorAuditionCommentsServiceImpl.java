@@ -0,0 +1,85 @@
+package com.audition.service;
+
+import com.audition.common.exception.NoDataFoundException;
+import com.audition.mirror.MirrorSnapshot;
+import com.audition.mirror.MirrorStore;
+import com.audition.model.AuditionComment;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of {@link IAuditionCommentsService} served entirely from the local mirror of the
+ * upstream dataset. Every call is an in-memory lookup against one consistent snapshot; paging
+ * follows the upstream {@code _start}/{@code _limit} semantics so responses match the other modes.
+ */
+@Component
+@ConditionalOnProperty(name = "application.upstream.client", havingValue = "mirror")
+public class MirrorAuditionCommentsServiceImpl implements IAuditionCommentsService {
+
+    private static final String NO_DATA_FOUND_MESSAGE = "No data found for comment ID: ";
+
+    private final transient MirrorStore mirrorStore;
+
+    /**
+     * Constructs an instance of {@link MirrorAuditionCommentsServiceImpl}.
+     *
+     * @param mirrorStore the store holding the current snapshot of the upstream dataset
+     */
+    public MirrorAuditionCommentsServiceImpl(final MirrorStore mirrorStore) {
+        this.mirrorStore = mirrorStore;
+    }
+
+    /**
+     * Retrieves a list of comments for a specific post with pagination support.
+     *
+     * @param postId the ID of the post (must be positive)
+     * @param offset the index of the first comment to return, like the upstream {@code _start}
+     * @param size   the maximum number of comments to return
+     * @return a list of audition comments, or an empty list if none are found
+     */
+    @Override
+    public List<AuditionComment> getComments(final int postId, final Integer offset, final Integer size) {
+        return mirrorStore.requireCurrent().commentsByPost(postId, offset, size);
+    }
+
+    /**
+     * Retrieves a specific comment by its ID.
+     *
+     * @param commentId the ID of the comment
+     * @return the requested audition comment
+     * @throws NoDataFoundException if no comment is found for the given ID
+     */
+    @Override
+    public AuditionComment getComment(final Integer commentId) {
+        final AuditionComment comment = mirrorStore.requireCurrent().comment(commentId);
+        if (comment == null) {
+            throw new NoDataFoundException(NO_DATA_FOUND_MESSAGE + commentId, HttpStatus.NOT_FOUND.value());
+        }
+        return comment;
+    }
+
+    /**
+     * Retrieves many comments by ID, all from the same snapshot.
+     *
+     * @param commentIds the IDs of the comments to retrieve
+     * @return the comments found, by ID, in the order of the IDs; IDs of missing comments are absent
+     */
+    @Override
+    public Map<Integer, AuditionComment> getCommentsByIds(final Collection<Integer> commentIds) {
+        final MirrorSnapshot snapshot = mirrorStore.requireCurrent();
+        final Map<Integer, AuditionComment> found = new LinkedHashMap<>();
+        for (final Integer id : commentIds) {
+            final AuditionComment comment = snapshot.comment(id);
+            if (comment != null) {
+                found.put(id, comment);
+            }
+        }
+        return found;
+    }
+}
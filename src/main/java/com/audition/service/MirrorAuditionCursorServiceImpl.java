@@ -0,0 +1,117 @@
+package com.audition.service;
+
+import com.audition.dto.CursorPage;
+import com.audition.mirror.MirrorCursor;
+import com.audition.mirror.MirrorSnapshot;
+import com.audition.mirror.MirrorStore;
+import com.audition.model.AuditionComment;
+import com.audition.model.AuditionPost;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Implementation of {@link IAuditionCursorService} served from the local mirror of the upstream dataset.
+ * A cursor names the snapshot its first page was read from; later pages are read from that snapshot
+ * while the store retains it, and from the current snapshot past the same ID once it has been dropped.
+ */
+@Component
+@ConditionalOnProperty(name = "application.upstream.client", havingValue = "mirror")
+public class MirrorAuditionCursorServiceImpl implements IAuditionCursorService {
+
+    private final transient MirrorStore mirrorStore;
+
+    /**
+     * Constructs an instance of {@link MirrorAuditionCursorServiceImpl}.
+     *
+     * @param mirrorStore the store holding the current and recently superseded snapshots
+     */
+    public MirrorAuditionCursorServiceImpl(final MirrorStore mirrorStore) {
+        this.mirrorStore = mirrorStore;
+    }
+
+    /**
+     * Returns the page of posts following a cursor, ordered by post ID.
+     *
+     * @param userId the ID of the user whose posts to return (nullable for all users)
+     * @param cursor the cursor returned with the previous page, empty or null for the first page
+     * @param size   the maximum number of posts to return
+     * @return the page of posts with the cursor of the next page
+     */
+    @Override
+    public CursorPage<AuditionPost> getPostsAfter(final Integer userId, final String cursor, final int size) {
+        final MirrorCursor position = decode(cursor);
+        final MirrorSnapshot snapshot = snapshot(position);
+        // One extra post tells whether another page follows without counting the rest
+        return page(snapshot, snapshot.postsAfter(userId, lastId(position), size + 1), size, AuditionPost::getId);
+    }
+
+    /**
+     * Returns the page of comments of a post following a cursor, ordered by comment ID.
+     *
+     * @param postId the ID of the post
+     * @param cursor the cursor returned with the previous page, empty or null for the first page
+     * @param size   the maximum number of comments to return
+     * @return the page of comments with the cursor of the next page
+     */
+    @Override
+    public CursorPage<AuditionComment> getCommentsAfter(final int postId, final String cursor, final int size) {
+        final MirrorCursor position = decode(cursor);
+        final MirrorSnapshot snapshot = snapshot(position);
+        return page(snapshot, snapshot.commentsByPostAfter(postId, lastId(position), size + 1), size, AuditionComment::getId);
+    }
+
+    /**
+     * Decodes a cursor supplied by a client.
+     *
+     * @param cursor the cursor, empty or null for the first page
+     * @return the decoded cursor, or null for the first page
+     */
+    private static MirrorCursor decode(final String cursor) {
+        return StringUtils.hasText(cursor) ? MirrorCursor.decode(cursor) : null;
+    }
+
+    /**
+     * Returns the snapshot a page is read from: the one a cursor was issued on, or the current one
+     * for the first page.
+     *
+     * @param position the decoded cursor, or null for the first page
+     * @return the snapshot
+     */
+    private MirrorSnapshot snapshot(final MirrorCursor position) {
+        return position == null ? mirrorStore.requireCurrent() : mirrorStore.require(position.version());
+    }
+
+    /**
+     * Returns the ID a page starts after.
+     *
+     * @param position the decoded cursor, or null for the first page
+     * @return the last ID already returned, or {@link Integer#MIN_VALUE} for the first page
+     */
+    private static int lastId(final MirrorCursor position) {
+        return position == null ? Integer.MIN_VALUE : position.lastId();
+    }
+
+    /**
+     * Trims a page read with one extra item and issues the cursor of the next page if that item exists.
+     *
+     * @param snapshot the snapshot the page was read from
+     * @param items    the page, with at most one item more than requested
+     * @param size     the requested page size
+     * @param id       the function returning the ID of an item
+     * @param <T>      the item type
+     * @return the page with the cursor of the next page
+     */
+    private static <T> CursorPage<T> page(final MirrorSnapshot snapshot, final List<T> items, final int size,
+                                          final ToIntFunction<T> id) {
+        if (items.size() <= size) {
+            return new CursorPage<>(items, null);
+        }
+        final List<T> page = items.subList(0, size);
+        final int lastId = id.applyAsInt(page.get(size - 1));
+        return new CursorPage<>(page, new MirrorCursor(snapshot.version(), lastId).encode());
+    }
+}
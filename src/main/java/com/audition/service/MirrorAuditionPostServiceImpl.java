@@ -0,0 +1,123 @@
+package com.audition.service;
+
+import com.audition.common.exception.NoDataFoundException;
+import com.audition.dto.PagedResult;
+import com.audition.mirror.MirrorSnapshot;
+import com.audition.mirror.MirrorStore;
+import com.audition.model.AuditionPost;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of {@link IAuditionPostService} served entirely from the local mirror of the
+ * upstream dataset. Every call is an in-memory lookup against one consistent snapshot; paging
+ * follows the upstream {@code _start}/{@code _limit} semantics so responses match the other modes.
+ * Holding the whole dataset, it also serves title searches and completions across all posts.
+ */
+@Component
+@ConditionalOnProperty(name = "application.upstream.client", havingValue = "mirror")
+public class MirrorAuditionPostServiceImpl implements IAuditionPostService, IAuditionPostSearchService {
+
+    private static final String NO_POST_FOUND_MESSAGE = "No post found for ID: ";
+
+    private final transient MirrorStore mirrorStore;
+
+    /**
+     * Constructs an instance of {@link MirrorAuditionPostServiceImpl}.
+     *
+     * @param mirrorStore the store holding the current snapshot of the upstream dataset
+     */
+    public MirrorAuditionPostServiceImpl(final MirrorStore mirrorStore) {
+        this.mirrorStore = mirrorStore;
+    }
+
+    /**
+     * Retrieves a list of audition posts for a specific user with pagination support.
+     *
+     * @param userId the ID of the user (nullable)
+     * @param offset the index of the first post to return, like the upstream {@code _start}
+     * @param size   the maximum number of posts to return
+     * @return a list of audition posts, or an empty list if none are found
+     */
+    @Override
+    public List<AuditionPost> getPosts(final Integer userId, final Integer offset, final Integer size) {
+        final MirrorSnapshot snapshot = mirrorStore.requireCurrent();
+        return userId == null ? MirrorSnapshot.slice(snapshot.posts(), offset, size) : snapshot.postsByUser(userId, offset, size);
+    }
+
+    /**
+     * Retrieves a specific audition post by its ID.
+     *
+     * @param id           the ID of the post (must be positive)
+     * @param loadComments whether to include comments in the response
+     * @param offset       the index of the first comment to include, like the upstream {@code _start}
+     * @param size         the maximum number of comments to include
+     * @return the requested audition post
+     * @throws NoDataFoundException if no post is found for the given ID
+     */
+    @Override
+    public AuditionPost getPostById(final Integer id, final boolean loadComments, final Integer offset, final Integer size) {
+        final MirrorSnapshot snapshot = mirrorStore.requireCurrent();
+        final AuditionPost post = snapshot.post(id);
+        if (post == null) {
+            throw new NoDataFoundException(NO_POST_FOUND_MESSAGE + id, HttpStatus.NOT_FOUND.value());
+        }
+        if (!loadComments) {
+            return post;
+        }
+        // Snapshot entities are shared, so comments are attached to a copy
+        return new AuditionPost(post.getUserId(), post.getId(), post.getTitle(), post.getBody(),
+                snapshot.commentsByPost(id, offset, size));
+    }
+
+    /**
+     * Searches posts whose title contains a fragment, ignoring case, then pages through the matches.
+     *
+     * @param title  the title fragment to search for
+     * @param userId the ID of the user whose posts to search (nullable for all users)
+     * @param offset the index of the first match to return, like the upstream {@code _start}
+     * @param size   the maximum number of matches to return
+     * @return the requested page of matches with the total number of matches
+     */
+    @Override
+    public PagedResult<AuditionPost> searchByTitle(final String title, final Integer userId, final Integer offset, final Integer size) {
+        return mirrorStore.requireCurrent().searchTitles(title, userId, offset, size);
+    }
+
+    /**
+     * Completes a title prefix, ignoring case, for type-ahead.
+     *
+     * @param prefix the prefix typed so far
+     * @param limit  the maximum number of completions to return
+     * @return the distinct matching titles in lexicographic order
+     */
+    @Override
+    public List<String> suggestTitles(final String prefix, final int limit) {
+        return mirrorStore.requireCurrent().completeTitles(prefix, limit);
+    }
+
+    /**
+     * Retrieves many posts by ID, without their comments, all from the same snapshot.
+     *
+     * @param postIds the IDs of the posts to retrieve
+     * @return the posts found, by ID, in the order of the IDs; IDs of missing posts are absent
+     */
+    @Override
+    public Map<Integer, AuditionPost> getPostsByIds(final Collection<Integer> postIds) {
+        final MirrorSnapshot snapshot = mirrorStore.requireCurrent();
+        final Map<Integer, AuditionPost> found = new LinkedHashMap<>();
+        for (final Integer id : postIds) {
+            final AuditionPost post = snapshot.post(id);
+            if (post != null) {
+                found.put(id, post);
+            }
+        }
+        return found;
+    }
+}
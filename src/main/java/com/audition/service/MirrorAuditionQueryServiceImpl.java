@@ -0,0 +1,56 @@
+package com.audition.service;
+
+import com.audition.dto.PagedResult;
+import com.audition.mirror.MirrorStore;
+import com.audition.model.AuditionComment;
+import com.audition.model.AuditionPost;
+import com.audition.query.CommentQuery;
+import com.audition.query.PostQuery;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Implementation of {@link IAuditionQueryService} served from the local mirror of the upstream dataset.
+ * Every query is compiled against the bitmap indexes of the current snapshot and evaluated in memory.
+ */
+@Component
+@ConditionalOnProperty(name = "application.upstream.client", havingValue = "mirror")
+public class MirrorAuditionQueryServiceImpl implements IAuditionQueryService {
+
+    private final transient MirrorStore mirrorStore;
+
+    /**
+     * Constructs an instance of {@link MirrorAuditionQueryServiceImpl}.
+     *
+     * @param mirrorStore the store holding the current snapshot of the upstream dataset
+     */
+    public MirrorAuditionQueryServiceImpl(final MirrorStore mirrorStore) {
+        this.mirrorStore = mirrorStore;
+    }
+
+    /**
+     * Runs a combined query over all posts, then pages through the matches.
+     *
+     * @param query   the filters and sort order
+     * @param offset  the index of the first match to return, like the upstream {@code _start}
+     * @param size    the maximum number of matches to return
+     * @return the requested page of matches with the total number of matches
+     */
+    @Override
+    public PagedResult<AuditionPost> queryPosts(final PostQuery query, final Integer offset, final Integer size) {
+        return mirrorStore.requireCurrent().queryPosts(query, offset, size);
+    }
+
+    /**
+     * Runs a combined query over all comments, then pages through the matches.
+     *
+     * @param query   the filters and sort order
+     * @param offset  the index of the first match to return, like the upstream {@code _start}
+     * @param size    the maximum number of matches to return
+     * @return the requested page of matches with the total number of matches
+     */
+    @Override
+    public PagedResult<AuditionComment> queryComments(final CommentQuery query, final Integer offset, final Integer size) {
+        return mirrorStore.requireCurrent().queryComments(query, offset, size);
+    }
+}
@@ -0,0 +1,177 @@
+package com.audition.service;
+
+import com.audition.common.exception.ClientException;
+import com.audition.common.exception.NoDataFoundException;
+import com.audition.integration.CacheRegion;
+import com.audition.integration.IIntegrationUrlService;
+import com.audition.integration.UpstreamRequestCoalescer;
+import com.audition.integration.UpstreamResponseCache;
+import com.audition.model.AuditionComment;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Non-blocking implementation of {@link IAuditionCommentsService} built on a Netty-backed WebClient.
+ * The blocking interface methods bridge onto the reactive ones by blocking the calling thread.
+ * The controllers call the blocking methods, so in this mode a request still holds its servlet
+ * thread while its upstream calls are in flight; only the HTTP client changes. The reactive methods
+ * let a non-blocking caller hold many in-flight upstream calls without dedicated threads.
+ */
+@Component
+@ConditionalOnProperty(name = "application.upstream.client", havingValue = "reactive")
+public class ReactiveAuditionCommentsServiceImpl implements IAuditionCommentsService, IReactiveAuditionCommentsService {
+
+    private static final String NO_COMMENTS_FOUND_MESSAGE = "No comments found for post ID: ";
+    private static final String NO_DATA_FOUND_MESSAGE = "No data found for comment ID: ";
+    private static final CacheRegion REGION = CacheRegion.COMMENTS;
+
+    private final transient WebClient webClient;
+    private final transient IIntegrationUrlService integrationUrlService;
+    private final transient UpstreamRequestCoalescer requestCoalescer;
+    private final transient UpstreamResponseCache responseCache;
+    private final transient int batchParallelism;
+
+    /**
+     * Constructs an instance of {@link ReactiveAuditionCommentsServiceImpl}.
+     *
+     * @param upstreamWebClient     the shared, pooled WebClient used for upstream calls
+     * @param integrationUrlService the service to get integration URLs for comments
+     * @param requestCoalescer      the single-flight layer shared by identical upstream calls
+     * @param responseCache         the cache of upstream responses
+     * @param batchParallelism      the maximum number of lookups of one batch in flight at a time
+     */
+    public ReactiveAuditionCommentsServiceImpl(final WebClient upstreamWebClient, final IIntegrationUrlService integrationUrlService,
+                                               final UpstreamRequestCoalescer requestCoalescer,
+                                               final UpstreamResponseCache responseCache,
+                                               @Value("${application.batch.max-parallelism:8}") final int batchParallelism) {
+        this.webClient = upstreamWebClient;
+        this.integrationUrlService = integrationUrlService;
+        this.requestCoalescer = requestCoalescer;
+        this.responseCache = responseCache;
+        this.batchParallelism = Math.max(1, batchParallelism);
+    }
+
+    @Override
+    public List<AuditionComment> getComments(final int postId, final Integer offset, final Integer size) {
+        return getCommentsReactive(postId, offset, size).collectList().block();
+    }
+
+    @Override
+    public AuditionComment getComment(final Integer commentId) {
+        return getCommentReactive(commentId).block();
+    }
+
+    /**
+     * Streams comments for a specific post with pagination support.
+     *
+     * @param postId the ID of the post (must be positive)
+     * @param offset the index of the first comment to return, like the upstream {@code _start} (must be non-negative)
+     * @param size   the number of comments per page (must be positive)
+     * @return a Flux of audition comments, empty if none are found
+     */
+    @Override
+    public Flux<AuditionComment> getCommentsReactive(final int postId, final Integer offset, final Integer size) {
+        final String commentUrl = integrationUrlService.getCommentsUrl(postId, offset, size);
+
+        return fetchList(commentUrl, AuditionComment.class)
+                .onErrorMap(ReactiveAuditionCommentsServiceImpl::isNotFound,
+                        exception -> new NoDataFoundException(NO_COMMENTS_FOUND_MESSAGE + postId, HttpStatus.NOT_FOUND.value()));
+    }
+
+    /**
+     * Retrieves a specific comment by its ID.
+     *
+     * @param commentId the ID of the comment
+     * @return a Mono emitting the requested comment, or a {@link NoDataFoundException} if none exists
+     */
+    @Override
+    public Mono<AuditionComment> getCommentReactive(final Integer commentId) {
+        final String commentUrl = integrationUrlService.getCommentUrl(commentId);
+
+        return fetchOne(commentUrl, AuditionComment.class)
+                .switchIfEmpty(Mono.error(() -> new NoDataFoundException(NO_DATA_FOUND_MESSAGE + commentId, HttpStatus.NO_CONTENT.value())))
+                .onErrorMap(ReactiveAuditionCommentsServiceImpl::isNotFound,
+                        exception -> new NoDataFoundException(NO_DATA_FOUND_MESSAGE + commentId, HttpStatus.NOT_FOUND.value()));
+    }
+
+    /**
+     * Retrieves many comments by ID.
+     * Lookups run concurrently with a bounded number in flight, each one served from the response cache when possible.
+     *
+     * @param commentIds the IDs of the comments to retrieve
+     * @return the comments found, by ID, in the order of the IDs; IDs of missing comments are absent
+     */
+    @Override
+    public Map<Integer, AuditionComment> getCommentsByIds(final Collection<Integer> commentIds) {
+        return Flux.fromIterable(new LinkedHashSet<>(commentIds))
+                .flatMapSequential(commentId -> getCommentReactive(commentId)
+                        .map(comment -> Map.entry(commentId, comment))
+                        .onErrorResume(NoDataFoundException.class, exception -> Mono.empty()), batchParallelism)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue, LinkedHashMap::new)
+                .block();
+    }
+
+    /**
+     * Fetches an upstream collection, served from the response cache when possible.
+     * Stale cached responses are revalidated with a conditional GET, and upstream calls for the same
+     * URL are shared between concurrent subscribers.
+     *
+     * @param url  the upstream URL
+     * @param type the element type
+     * @param <T>  the element type
+     * @return a Flux of the elements of the upstream response
+     */
+    private <T> Flux<T> fetchList(final String url, final Class<T> type) {
+        return responseCache.getReactive(REGION, url, etag -> requestCoalescer.executeReactive(url, () -> webClient.get()
+                        .uri(URI.create(url))
+                        .headers(headers -> headers.addAll(UpstreamResponseCache.conditionalHeaders(etag)))
+                        .retrieve()
+                        .toEntityList(type)))
+                .mapNotNull(ResponseEntity::getBody)
+                .flatMapIterable(Function.identity());
+    }
+
+    /**
+     * Fetches a single upstream resource, served from the response cache when possible.
+     * Stale cached responses are revalidated with a conditional GET, and upstream calls for the same
+     * URL are shared between concurrent subscribers.
+     *
+     * @param url  the upstream URL
+     * @param type the response body type
+     * @param <T>  the response body type
+     * @return a Mono emitting the upstream response body, empty if the upstream returned none
+     */
+    private <T> Mono<T> fetchOne(final String url, final Class<T> type) {
+        return responseCache.getReactive(REGION, url, etag -> requestCoalescer.executeReactive(url, () -> webClient.get()
+                        .uri(URI.create(url))
+                        .headers(headers -> headers.addAll(UpstreamResponseCache.conditionalHeaders(etag)))
+                        .retrieve()
+                        .toEntity(type)))
+                .mapNotNull(ResponseEntity::getBody);
+    }
+
+    /**
+     * Checks whether an upstream error is a 404 client error.
+     *
+     * @param throwable the upstream error
+     * @return true if the upstream answered 404 Not Found
+     */
+    private static boolean isNotFound(final Throwable throwable) {
+        return throwable instanceof ClientException clientException
+                && Integer.valueOf(HttpStatus.NOT_FOUND.value()).equals(clientException.getStatusCode());
+    }
+}
@@ -0,0 +1,207 @@
+package com.audition.service;
+
+import com.audition.common.exception.ClientException;
+import com.audition.common.exception.NoDataFoundException;
+import com.audition.integration.CacheRegion;
+import com.audition.integration.IIntegrationUrlService;
+import com.audition.integration.UpstreamRequestCoalescer;
+import com.audition.integration.UpstreamResponseCache;
+import com.audition.model.AuditionComment;
+import com.audition.model.AuditionPost;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Signal;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Non-blocking implementation of {@link IAuditionPostService} built on a Netty-backed WebClient.
+ * The blocking interface methods bridge onto the reactive ones by blocking the calling thread.
+ * The controllers call the blocking methods, so in this mode a request still holds its servlet
+ * thread while its upstream calls are in flight; only the HTTP client changes. The reactive methods
+ * let a non-blocking caller hold many in-flight upstream calls without dedicated threads.
+ */
+@Component
+@ConditionalOnProperty(name = "application.upstream.client", havingValue = "reactive")
+public class ReactiveAuditionPostServiceImpl implements IAuditionPostService, IReactiveAuditionPostService {
+
+    private static final String NO_POST_FOUND_MESSAGE = "No post found for ID: ";
+    private static final String NO_POSTS_FOUND_MESSAGE = "No posts found for user ID: ";
+    private static final CacheRegion REGION = CacheRegion.POSTS;
+
+    private final transient WebClient webClient;
+    private final transient IIntegrationUrlService integrationUrlService;
+    private final transient IReactiveAuditionCommentsService auditionCommentsService;
+    private final transient UpstreamRequestCoalescer requestCoalescer;
+    private final transient UpstreamResponseCache responseCache;
+    private final transient int batchParallelism;
+
+    /**
+     * Constructs an instance of {@link ReactiveAuditionPostServiceImpl}.
+     *
+     * @param upstreamWebClient       the shared, pooled WebClient used for upstream calls
+     * @param auditionCommentsService the reactive service used to load comments for a post
+     * @param integrationUrlService   the service to get integration URLs for posts
+     * @param requestCoalescer        the single-flight layer shared by identical upstream calls
+     * @param responseCache           the cache of upstream responses
+     * @param batchParallelism        the maximum number of lookups of one batch in flight at a time
+     */
+    public ReactiveAuditionPostServiceImpl(final WebClient upstreamWebClient,
+                                           final IReactiveAuditionCommentsService auditionCommentsService,
+                                           final IIntegrationUrlService integrationUrlService,
+                                           final UpstreamRequestCoalescer requestCoalescer,
+                                           final UpstreamResponseCache responseCache,
+                                           @Value("${application.batch.max-parallelism:8}") final int batchParallelism) {
+        this.webClient = upstreamWebClient;
+        this.auditionCommentsService = auditionCommentsService;
+        this.integrationUrlService = integrationUrlService;
+        this.requestCoalescer = requestCoalescer;
+        this.responseCache = responseCache;
+        this.batchParallelism = Math.max(1, batchParallelism);
+    }
+
+    @Override
+    public List<AuditionPost> getPosts(final Integer userId, final Integer offset, final Integer size) {
+        return getPostsReactive(userId, offset, size).collectList().block();
+    }
+
+    @Override
+    public AuditionPost getPostById(final Integer id, final boolean loadComments, final Integer offset, final Integer size) {
+        return getPostByIdReactive(id, loadComments, offset, size).block();
+    }
+
+    /**
+     * Streams audition posts for a specific user with pagination support.
+     *
+     * @param userId the ID of the user (nullable)
+     * @param offset the index of the first post to return, like the upstream {@code _start}
+     * @param size   the number of posts per page (must be positive)
+     * @return a Flux of audition posts, empty if none are found
+     */
+    @Override
+    public Flux<AuditionPost> getPostsReactive(final Integer userId, final Integer offset, final Integer size) {
+        final String url = integrationUrlService.getPostsUrl(userId, offset, size);
+
+        return fetchList(url, AuditionPost.class)
+                .onErrorMap(ReactiveAuditionPostServiceImpl::isNotFound,
+                        exception -> new NoDataFoundException(NO_POSTS_FOUND_MESSAGE + userId, HttpStatus.NOT_FOUND.value()));
+    }
+
+    /**
+     * Retrieves a specific audition post by its ID.
+     *
+     * @param id           the ID of the post (must be positive)
+     * @param loadComments whether to include comments in the response
+     * @param offset       the index of the first comment to include, like the upstream {@code _start} (if included, must be non-negative)
+     * @param size         the number of comments per page (if included, must be positive)
+     * @return a Mono emitting the requested post, or a {@link NoDataFoundException} if none exists
+     */
+    @Override
+    public Mono<AuditionPost> getPostByIdReactive(final Integer id, final boolean loadComments, final Integer offset, final Integer size) {
+        final String postUrl = integrationUrlService.getPostByIdUrl(id);
+
+        final Mono<AuditionPost> post = fetchOne(postUrl, AuditionPost.class)
+                .switchIfEmpty(Mono.error(() -> new NoDataFoundException(NO_POST_FOUND_MESSAGE + id, HttpStatus.NOT_FOUND.value())))
+                .onErrorMap(ReactiveAuditionPostServiceImpl::isNotFound,
+                        exception -> new NoDataFoundException(NO_POST_FOUND_MESSAGE + id, HttpStatus.NOT_FOUND.value()));
+
+        if (!loadComments) {
+            return post;
+        }
+
+        // Fetch comments concurrently; a comments failure is only surfaced once the post itself succeeded
+        final Mono<Signal<List<AuditionComment>>> comments = auditionCommentsService.getCommentsReactive(id, offset, size)
+                .collectList()
+                .materialize();
+        return Mono.zip(post, comments)
+                .flatMap(tuple -> {
+                    final Signal<List<AuditionComment>> signal = tuple.getT2();
+                    if (signal.hasError()) {
+                        return Mono.error(signal.getThrowable());
+                    }
+                    // The fetched post may be shared with coalesced subscribers, so comments are attached to a copy
+                    final AuditionPost auditionPost = tuple.getT1();
+                    return Mono.just(new AuditionPost(auditionPost.getUserId(), auditionPost.getId(), auditionPost.getTitle(),
+                            auditionPost.getBody(), signal.get()));
+                });
+    }
+
+    /**
+     * Retrieves many posts by ID, without their comments.
+     * Lookups run concurrently with a bounded number in flight, each one served from the response cache when possible.
+     *
+     * @param postIds the IDs of the posts to retrieve
+     * @return the posts found, by ID, in the order of the IDs; IDs of missing posts are absent
+     */
+    @Override
+    public Map<Integer, AuditionPost> getPostsByIds(final Collection<Integer> postIds) {
+        return Flux.fromIterable(new LinkedHashSet<>(postIds))
+                .flatMapSequential(postId -> getPostByIdReactive(postId, false, null, null)
+                        .map(post -> Map.entry(postId, post))
+                        .onErrorResume(NoDataFoundException.class, exception -> Mono.empty()), batchParallelism)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue, LinkedHashMap::new)
+                .block();
+    }
+
+    /**
+     * Fetches an upstream collection, served from the response cache when possible.
+     * Stale cached responses are revalidated with a conditional GET, and upstream calls for the same
+     * URL are shared between concurrent subscribers.
+     *
+     * @param url  the upstream URL
+     * @param type the element type
+     * @param <T>  the element type
+     * @return a Flux of the elements of the upstream response
+     */
+    private <T> Flux<T> fetchList(final String url, final Class<T> type) {
+        return responseCache.getReactive(REGION, url, etag -> requestCoalescer.executeReactive(url, () -> webClient.get()
+                        .uri(URI.create(url))
+                        .headers(headers -> headers.addAll(UpstreamResponseCache.conditionalHeaders(etag)))
+                        .retrieve()
+                        .toEntityList(type)))
+                .mapNotNull(ResponseEntity::getBody)
+                .flatMapIterable(Function.identity());
+    }
+
+    /**
+     * Fetches a single upstream resource, served from the response cache when possible.
+     * Stale cached responses are revalidated with a conditional GET, and upstream calls for the same
+     * URL are shared between concurrent subscribers.
+     *
+     * @param url  the upstream URL
+     * @param type the response body type
+     * @param <T>  the response body type
+     * @return a Mono emitting the upstream response body, empty if the upstream returned none
+     */
+    private <T> Mono<T> fetchOne(final String url, final Class<T> type) {
+        return responseCache.getReactive(REGION, url, etag -> requestCoalescer.executeReactive(url, () -> webClient.get()
+                        .uri(URI.create(url))
+                        .headers(headers -> headers.addAll(UpstreamResponseCache.conditionalHeaders(etag)))
+                        .retrieve()
+                        .toEntity(type)))
+                .mapNotNull(ResponseEntity::getBody);
+    }
+
+    /**
+     * Checks whether an upstream error is a 404 client error.
+     *
+     * @param throwable the upstream error
+     * @return true if the upstream answered 404 Not Found
+     */
+    private static boolean isNotFound(final Throwable throwable) {
+        return throwable instanceof ClientException clientException
+                && Integer.valueOf(HttpStatus.NOT_FOUND.value()).equals(clientException.getStatusCode());
+    }
+}
@@ -1,29 +1,48 @@
 package com.audition.web;
 
+import com.audition.common.exception.SystemException;
 import com.audition.common.logging.AuditionLogger;
+import com.audition.dto.BatchResult;
+import com.audition.dto.CursorPage;
 import com.audition.dto.ErrorResponse;
+import com.audition.dto.PagedResult;
+import com.audition.query.CommentQuery;
 import com.audition.service.IAuditionCommentsService;
+import com.audition.service.IAuditionCursorService;
+import com.audition.service.IAuditionQueryService;
 import com.audition.model.AuditionComment;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.IntFunction;
 
 /**
  * Controller for managing and retrieving audition comments.
@@ -41,6 +60,7 @@ public class AuditionCommentsController {
     public static final String DEFAULT_PAGE = "0";
     public static final String DEFAULT_PAGE_SIZE = "100";
     public static final long MAX_PAGE_SIZE = 100L;
+    public static final int MAX_BATCH_SIZE = 100;
 
     // Constants for log messages
     private static final String FETCHING_COMMENTS_MESSAGE = "Fetching comments for post ID: {}";
@@ -48,11 +68,19 @@ public class AuditionCommentsController {
     private static final String FETCHING_COMMENT_BY_ID_MESSAGE = "Fetching comment by ID: {}";
     private static final String RETRIEVED_COMMENT_MESSAGE = "Retrieved comment: {}";
     private static final String COMMENT_NOT_FOUND_MESSAGE = "Comment not found for ID: {}";
+    private static final String EXPORTING_COMMENTS_MESSAGE = "Exporting comments for post ID: {}";
+    private static final String FETCHING_COMMENTS_BY_IDS_MESSAGE = "Fetching {} comments by ID";
 
     // Constants for error response
     private static final String COMMENT_NOT_FOUND_ERROR = "Comment not found";
+    private static final String QUERY_UNAVAILABLE_MESSAGE = "Queries are only available when serving from the local mirror";
+    private static final String CURSOR_UNAVAILABLE_MESSAGE = "Cursors are only available when serving from the local mirror";
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
 
     private final transient IAuditionCommentsService auditionCommentsService;
+    private final transient ObjectProvider<IAuditionQueryService> auditionQueryService;
+    private final transient ObjectProvider<IAuditionCursorService> auditionCursorService;
+    private final transient ObjectMapper objectMapper;
     private final transient AuditionLogger auditionLogger;
     private static final Logger COMMENTS_LOGGER = LoggerFactory.getLogger(AuditionCommentsController.class);
 
@@ -60,20 +88,34 @@ public class AuditionCommentsController {
      * Constructor for AuditionCommentsController.
      *
      * @param auditionCommentsService The service layer for managing audition comments.
+     * @param auditionQueryService    The combined query service, available in mirror mode only.
+     * @param auditionCursorService   The cursor pagination service, available in mirror mode only.
+     * @param objectMapper            The mapper used to serialise streamed exports.
      * @param auditionLogger          Logger to log activity within the controller.
      */
-    public AuditionCommentsController(final IAuditionCommentsService auditionCommentsService, final AuditionLogger auditionLogger) {
+    public AuditionCommentsController(final IAuditionCommentsService auditionCommentsService,
+                                      final ObjectProvider<IAuditionQueryService> auditionQueryService,
+                                      final ObjectProvider<IAuditionCursorService> auditionCursorService,
+                                      final ObjectMapper objectMapper,
+                                      final AuditionLogger auditionLogger) {
+        this.objectMapper = objectMapper;
         this.auditionCommentsService = auditionCommentsService;
+        this.auditionQueryService = auditionQueryService;
+        this.auditionCursorService = auditionCursorService;
         this.auditionLogger = auditionLogger;
     }
 
     /**
      * Retrieve all comments associated with a specific post ID.
      * Supports pagination, with page number and size specified as request parameters.
+     * Where a cursor service is available, a {@code cursor} parameter pages through the comments of one
+     * consistent snapshot by ID instead, returning the cursor of the next page in the
+     * {@code X-Next-Cursor} header; pass it empty to start.
      *
      * @param postId The ID of the post whose comments need to be retrieved.
      * @param page   The page number (zero-based) for pagination, default is 0.
      * @param size   The page size (number of items), default is 100, max is 100.
+     * @param cursor Optional cursor of the page to return, replacing the page number.
      * @return A ResponseEntity containing a list of comments associated with the post ID.
      */
     @Operation(summary = "Get comments for a specific post")
@@ -84,15 +126,142 @@ public class AuditionCommentsController {
             @RequestParam(required = false, defaultValue = DEFAULT_PAGE)
             @Min(0) final Integer page,
             @RequestParam(required = false, defaultValue = DEFAULT_PAGE_SIZE)
-            @Positive @Max(MAX_PAGE_SIZE) final Integer size) {
+            @Positive @Max(MAX_PAGE_SIZE) final Integer size,
+            @Parameter(description = "Cursor returned in X-Next-Cursor, empty for the first page")
+            @RequestParam(name = Pagination.CURSOR_PARAMETER, required = false) final String cursor) {
 
         auditionLogger.info(COMMENTS_LOGGER, FETCHING_COMMENTS_MESSAGE, postId);
 
-        final List<AuditionComment> comments = auditionCommentsService.getComments(postId, page, size);
+        if (cursor != null) {
+            final IAuditionCursorService cursorService = auditionCursorService.getIfAvailable();
+            if (cursorService == null) {
+                throw new SystemException(CURSOR_UNAVAILABLE_MESSAGE, HttpStatus.NOT_IMPLEMENTED.value());
+            }
+            final CursorPage<AuditionComment> result = cursorService.getCommentsAfter(postId, cursor, size);
+            COMMENTS_LOGGER.info(RETRIEVED_COMMENTS_MESSAGE, postId);
+            return Pagination.withNextCursor(result);
+        }
+        final List<AuditionComment> comments = auditionCommentsService.getComments(postId, Pagination.offset(page, size), size);
         COMMENTS_LOGGER.info(RETRIEVED_COMMENTS_MESSAGE, postId);
         return ResponseEntity.ok(comments);
     }
 
+    /**
+     * Export all comments of a post as newline-delimited JSON.
+     * Comments are fetched page by page and written as they arrive, so the export is not capped by the page size.
+     *
+     * @param postId  The ID of the post whose comments to export.
+     * @param limit   Optional maximum number of comments to export.
+     * @param fields  Optional names of the fields to export.
+     * @param exclude Optional names of the fields to leave out.
+     * @return A ResponseEntity streaming one comment per line.
+     */
+    @Operation(summary = "Export comments of a post as NDJSON")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportCommentsAsNdjson(
+            @RequestParam @Positive final Integer postId,
+            @RequestParam(required = false) @Positive final Integer limit,
+            @RequestParam(name = FieldProjection.FIELDS_PARAMETER, required = false) final String[] fields,
+            @RequestParam(name = FieldProjection.EXCLUDE_PARAMETER, required = false) final String[] exclude) {
+
+        auditionLogger.info(COMMENTS_LOGGER, EXPORTING_COMMENTS_MESSAGE, postId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(JsonStreams.ndjson(projectedWriter(fields, exclude), commentPages(postId), (int) MAX_PAGE_SIZE, limit));
+    }
+
+    /**
+     * Export all comments of a post as a JSON array.
+     * Comments are fetched page by page and written as they arrive, so the export is not capped by the page size.
+     *
+     * @param postId  The ID of the post whose comments to export.
+     * @param limit   Optional maximum number of comments to export.
+     * @param fields  Optional names of the fields to export.
+     * @param exclude Optional names of the fields to leave out.
+     * @return A ResponseEntity streaming a JSON array of comments.
+     */
+    @Operation(summary = "Export comments of a post as a JSON array")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportCommentsAsArray(
+            @RequestParam @Positive final Integer postId,
+            @RequestParam(required = false) @Positive final Integer limit,
+            @RequestParam(name = FieldProjection.FIELDS_PARAMETER, required = false) final String[] fields,
+            @RequestParam(name = FieldProjection.EXCLUDE_PARAMETER, required = false) final String[] exclude) {
+
+        auditionLogger.info(COMMENTS_LOGGER, EXPORTING_COMMENTS_MESSAGE, postId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(JsonStreams.array(projectedWriter(fields, exclude), commentPages(postId), (int) MAX_PAGE_SIZE, limit));
+    }
+
+    /**
+     * Query comments by any combination of post IDs, name words, email, body words and an ID range, in a chosen order.
+     * All given filters must match. The total number of matches is returned in the {@code X-Total-Count} header.
+     *
+     * @param postId Optional post IDs, matching comments on any of them.
+     * @param name   Optional words that must all occur in the commenter name.
+     * @param email  Optional email address of the commenter, ignoring case.
+     * @param body   Optional words that must all occur in the body.
+     * @param minId  Optional smallest comment ID, inclusive.
+     * @param maxId  Optional largest comment ID, inclusive.
+     * @param sort   Optional sort field ({@code id}, {@code postId}, {@code name} or {@code email}), prefixed with {@code -} for descending.
+     * @param page   The page number (zero-based) for pagination of the matches, default is 0.
+     * @param size   The page size (number of matches), default is 100, max is 100.
+     * @return A ResponseEntity containing the requested page of matching comments.
+     */
+    @Operation(summary = "Query comments", description = "Filter and sort comments by several fields at once.")
+    @GetMapping(value = "/query", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<AuditionComment>> queryComments(
+            @RequestParam(required = false) final Set<@Positive Integer> postId,
+            @RequestParam(required = false) final String name,
+            @RequestParam(required = false) final String email,
+            @RequestParam(required = false) final String body,
+            @RequestParam(required = false) @Positive final Integer minId,
+            @RequestParam(required = false) @Positive final Integer maxId,
+            @RequestParam(required = false) final String sort,
+            @RequestParam(required = false, defaultValue = DEFAULT_PAGE) @Min(0) final Integer page,
+            @RequestParam(required = false, defaultValue = DEFAULT_PAGE_SIZE) @Positive @Max(MAX_PAGE_SIZE) final Integer size) {
+
+        final IAuditionQueryService queryService = auditionQueryService.getIfAvailable();
+        if (queryService == null) {
+            throw new SystemException(QUERY_UNAVAILABLE_MESSAGE, HttpStatus.NOT_IMPLEMENTED.value());
+        }
+        final PagedResult<AuditionComment> result = queryService.queryComments(
+                new CommentQuery(postId, name, email, body, minId, maxId, sort), Pagination.offset(page, size), size);
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(result.total()))
+                .body(result.items());
+    }
+
+    /**
+     * Retrieve many comments by ID in one request.
+     * Duplicate IDs are looked up once, and comments that do not exist are reported as missing
+     * instead of failing the request.
+     *
+     * @param ids The IDs of the comments to retrieve, at most 100.
+     * @return A ResponseEntity containing the found comments and the missing IDs, both in request order.
+     */
+    @Operation(summary = "Get comments by IDs")
+    @GetMapping(params = "ids", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchResult<AuditionComment>> getCommentsByIds(
+            @Parameter(description = "Comma-separated IDs of the comments")
+            @RequestParam @NotEmpty @Size(max = MAX_BATCH_SIZE) final List<@NotNull @Positive Integer> ids) {
+        return ResponseEntity.ok(findComments(ids));
+    }
+
+    /**
+     * Retrieve many comments by ID in one request, for ID lists too long for a query string.
+     *
+     * @param ids The IDs of the comments to retrieve, as a JSON array of at most 100 IDs.
+     * @return A ResponseEntity containing the found comments and the missing IDs, both in request order.
+     */
+    @Operation(summary = "Get comments by IDs in the request body")
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchResult<AuditionComment>> getCommentsByIdsInBody(
+            @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) final List<@NotNull @Positive Integer> ids) {
+        return ResponseEntity.ok(findComments(ids));
+    }
+
     /**
      * Retrieve a specific comment by its ID.
      * If the comment does not exist, returns a 404 NOT FOUND status.
@@ -118,4 +287,37 @@ public class AuditionCommentsController {
                     .body(new ErrorResponse(COMMENT_NOT_FOUND_ERROR));
         }
     }
+
+    /**
+     * Looks up comments by ID and splits the IDs into found and missing.
+     *
+     * @param ids the requested IDs, possibly with duplicates
+     * @return the batch result
+     */
+    private BatchResult<AuditionComment> findComments(final List<Integer> ids) {
+        final Set<Integer> distinct = new LinkedHashSet<>(ids);
+        COMMENTS_LOGGER.info(FETCHING_COMMENTS_BY_IDS_MESSAGE, distinct.size());
+        return BatchResult.of(distinct, auditionCommentsService.getCommentsByIds(distinct));
+    }
+
+    /**
+     * Returns a writer projecting the exported comments onto the requested fields.
+     *
+     * @param fields  the raw values of the {@code fields} parameter (nullable)
+     * @param exclude the raw values of the {@code exclude} parameter (nullable)
+     * @return the writer
+     */
+    private ObjectWriter projectedWriter(final String[] fields, final String[] exclude) {
+        return objectMapper.writer(FieldProjection.filters(FieldProjection.parse(fields), FieldProjection.parse(exclude)));
+    }
+
+    /**
+     * Returns a function fetching one page of a post's comments at an offset.
+     *
+     * @param postId the ID of the post
+     * @return the page fetcher
+     */
+    private IntFunction<List<?>> commentPages(final int postId) {
+        return start -> auditionCommentsService.getComments(postId, start, (int) MAX_PAGE_SIZE);
+    }
 }
@@ -1,32 +1,58 @@
 package com.audition.web;
 
+import com.audition.common.exception.ClientException;
+import com.audition.common.exception.SystemException;
 import com.audition.common.logging.AuditionLogger;
+import com.audition.dto.BatchResult;
+import com.audition.dto.CursorPage;
 import com.audition.dto.ErrorResponse;
+import com.audition.dto.PagedResult;
+import com.audition.query.PostQuery;
+import com.audition.service.IAuditionCursorService;
+import com.audition.service.IAuditionPostSearchService;
 import com.audition.service.IAuditionPostService;
+import com.audition.service.IAuditionQueryService;
 import com.audition.model.AuditionPost;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
 
 /**
  * Controller for managing and retrieving audition posts.
@@ -46,6 +72,14 @@ public class AuditionPostsController {
     private static final String DEFAULT_PAGE = "0";
     private static final String DEFAULT_PAGE_SIZE = "100";
     private static final long MAX_PAGE_SIZE = 100L;
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    private static final String DEFAULT_SUGGESTION_LIMIT = "10";
+    private static final long MAX_SUGGESTION_LIMIT = 50L;
+    private static final int MAX_BATCH_SIZE = 100;
+    private static final Set<String> TITLE_ONLY = Set.of("title");
+    private static final String QUERY_UNAVAILABLE_MESSAGE = "Queries are only available when serving from the local mirror";
+    private static final String CURSOR_UNAVAILABLE_MESSAGE = "Cursors are only available when serving from the local mirror";
+    private static final String CURSOR_WITH_TITLE_MESSAGE = "Cursors cannot be combined with a title filter";
 
     // Constants for log messages
     private static final String INVALID_USER_ID_MESSAGE = "Invalid User ID";
@@ -54,34 +88,61 @@ public class AuditionPostsController {
     private static final String GET_POST_BY_ID_MESSAGE = "Received request to get post by ID: {}";
     private static final String POST_NOT_FOUND_ERROR = "Post not found";
     private static final String PAGE_NOT_FOUND_ERROR = "Page not found";
+    private static final String EXPORT_POSTS_MESSAGE = "Received request to export posts for user ID: {}";
+    private static final String GET_POSTS_BY_IDS_MESSAGE = "Received request to get {} posts by ID";
 
     // Constant for error responses
     private static final AuditionPost INVALID_USER_ID_RESPONSE = new
             AuditionPost(0, 0, INVALID_USER_ID_MESSAGE, INVALID_USER_ID_ERROR_MESSAGE, Collections.emptyList());
 
     private final transient IAuditionPostService auditionPostService;
+    private final transient ObjectProvider<IAuditionPostSearchService> auditionPostSearchService;
+    private final transient ObjectProvider<IAuditionQueryService> auditionQueryService;
+    private final transient ObjectProvider<IAuditionCursorService> auditionCursorService;
+    private final transient ObjectMapper objectMapper;
     private final transient AuditionLogger auditionLogger;
     private static final Logger POSTS_LOGGER = LoggerFactory.getLogger(AuditionPostsController.class);
 
     /**
      * Constructor for AuditionPostsController.
      *
-     * @param auditionPostService The service layer for managing audition posts.
-     * @param auditionLogger      Logger to log activity within the controller.
+     * @param auditionPostService       The service layer for managing audition posts.
+     * @param auditionPostSearchService The dataset-wide post search, available in mirror mode only.
+     * @param auditionQueryService      The combined query service, available in mirror mode only.
+     * @param auditionCursorService     The cursor pagination service, available in mirror mode only.
+     * @param objectMapper              The mapper used to serialise streamed exports.
+     * @param auditionLogger            Logger to log activity within the controller.
      */
-    public AuditionPostsController(final IAuditionPostService auditionPostService, final AuditionLogger auditionLogger) {
+    public AuditionPostsController(final IAuditionPostService auditionPostService,
+                                   final ObjectProvider<IAuditionPostSearchService> auditionPostSearchService,
+                                   final ObjectProvider<IAuditionQueryService> auditionQueryService,
+                                   final ObjectProvider<IAuditionCursorService> auditionCursorService,
+                                   final ObjectMapper objectMapper,
+                                   final AuditionLogger auditionLogger) {
+        this.objectMapper = objectMapper;
         this.auditionPostService = auditionPostService;
+        this.auditionPostSearchService = auditionPostSearchService;
+        this.auditionQueryService = auditionQueryService;
+        this.auditionCursorService = auditionCursorService;
         this.auditionLogger = auditionLogger;
     }
 
     /**
      * Retrieve all audition posts, with optional filtering by user ID and title.
      * Supports pagination, with page number and size specified as request parameters.
+     * Where a search service is available, a title filter searches the whole dataset before paging
+     * and the total number of matches is returned in the {@code X-Total-Count} header; otherwise it
+     * only filters the requested page.
+     * Where a cursor service is available, a {@code cursor} parameter pages through the posts of one
+     * consistent snapshot by ID instead, returning the cursor of the next page in the
+     * {@code X-Next-Cursor} header; pass it empty to start.
      *
      * @param page   The page number (zero-based) for pagination, default is 0.
      * @param size   The page size (number of items), default is 100, max is 100.
      * @param userId Optional user ID to filter posts by user.
      * @param title  Optional post title filter.
+     * @param fields Optional names of the fields to return; the other fields are not even decoded from upstream.
+     * @param cursor Optional cursor of the page to return, replacing the page number.
      * @return A ResponseEntity containing a list of filtered posts.
      */
     @Operation(summary = "Get all posts", description = "Retrieve all posts with optional filtering by user ID and title.")
@@ -90,7 +151,11 @@ public class AuditionPostsController {
             @RequestParam(required = false, defaultValue = DEFAULT_PAGE) @Min(0) final Integer page,
             @RequestParam(required = false, defaultValue = DEFAULT_PAGE_SIZE) @Positive @Max(MAX_PAGE_SIZE) final Integer size,
             @RequestParam(required = false) final Optional<Integer> userId,
-            @RequestParam(required = false) final Optional<String> title) {
+            @RequestParam(required = false) final Optional<String> title,
+            @Parameter(description = "Comma-separated names of the fields to return")
+            @RequestParam(name = FieldProjection.FIELDS_PARAMETER, required = false) final String[] fields,
+            @Parameter(description = "Cursor returned in X-Next-Cursor, empty for the first page")
+            @RequestParam(name = Pagination.CURSOR_PARAMETER, required = false) final String cursor) {
 
         // Validate userId if present
         if (userId.isPresent() && userId.get() <= 0) {
@@ -98,20 +163,193 @@ public class AuditionPostsController {
             return ResponseEntity.badRequest().body(Collections.singletonList(INVALID_USER_ID_RESPONSE));
         }
 
-        // Fetch posts with pagination and optional filtering
-        List<AuditionPost> posts = auditionPostService.getPosts(userId.orElse(null), page, size);
-        final String filterTitle = title.map(String::toLowerCase).orElse("");
-        if (!filterTitle.isEmpty()) {
-            posts = posts.stream()
-                    .filter(post -> post.getTitle() != null
-                            && post.getTitle().toLowerCase(Locale.ENGLISH).contains(filterTitle))
-                    .toList();
+        // Seek past the last ID of the previous page on the snapshot the cursor was issued on
+        if (cursor != null) {
+            if (title.filter(value -> !value.isBlank()).isPresent()) {
+                throw new ClientException(CURSOR_WITH_TITLE_MESSAGE, HttpStatus.BAD_REQUEST.value());
+            }
+            final IAuditionCursorService cursorService = auditionCursorService.getIfAvailable();
+            if (cursorService == null) {
+                throw new SystemException(CURSOR_UNAVAILABLE_MESSAGE, HttpStatus.NOT_IMPLEMENTED.value());
+            }
+            final CursorPage<AuditionPost> result = cursorService.getPostsAfter(userId.orElse(null), cursor, size);
+            auditionLogger.debug(POSTS_LOGGER, SUCCESSFUL_RETRIEVAL_MESSAGE);
+            return Pagination.withNextCursor(result);
         }
+        final int offset = Pagination.offset(page, size);
+
+        // Search titles across the whole dataset when a search service is available
+        final String searchTitle = title.filter(value -> !value.isBlank()).orElse(null);
+        final IAuditionPostSearchService searchService = auditionPostSearchService.getIfAvailable();
+        if (searchTitle != null && searchService != null) {
+            final PagedResult<AuditionPost> result = searchService.searchByTitle(searchTitle, userId.orElse(null), offset, size);
+            auditionLogger.debug(POSTS_LOGGER, SUCCESSFUL_RETRIEVAL_MESSAGE);
+            return ResponseEntity.ok()
+                    .header(TOTAL_COUNT_HEADER, String.valueOf(result.total()))
+                    .body(result.items());
+        }
+
+        // Fetch posts with pagination, filtering titles and binding only the projected fields while the page is decoded
+        final Set<String> projection = FieldProjection.parse(fields);
+        final List<AuditionPost> posts = auditionPostService.getPosts(userId.orElse(null), offset, size, title.orElse(null),
+                projection.isEmpty() ? null : projection);
 
         auditionLogger.debug(POSTS_LOGGER, SUCCESSFUL_RETRIEVAL_MESSAGE);
         return ResponseEntity.ok(posts);
     }
 
+    /**
+     * Suggest post titles starting with a prefix, for type-ahead.
+     * Served from the in-memory title index where a search service is available; otherwise only the
+     * titles of the first page of posts, which the upstream response cache keeps warm, are matched.
+     * Titles differing only in case are suggested once, in the spelling that sorts first.
+     *
+     * @param prefix The prefix typed so far, matched ignoring case.
+     * @param limit  The maximum number of suggestions, default is 10, max is 50.
+     * @return A ResponseEntity containing the distinct matching titles in lexicographic order.
+     */
+    @Operation(summary = "Suggest post titles", description = "Complete a title prefix for type-ahead. "
+            + "Outside mirror mode, completions are limited to the titles of the first page of posts.")
+    @GetMapping(value = "/suggest", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<String>> suggestTitles(
+            @RequestParam @NotBlank final String prefix,
+            @RequestParam(required = false, defaultValue = DEFAULT_SUGGESTION_LIMIT) @Positive @Max(MAX_SUGGESTION_LIMIT) final Integer limit) {
+
+        final IAuditionPostSearchService searchService = auditionPostSearchService.getIfAvailable();
+        if (searchService != null) {
+            return ResponseEntity.ok(searchService.suggestTitles(prefix, limit));
+        }
+
+        final String folded = prefix.toLowerCase(Locale.ENGLISH);
+        final List<String> titles = auditionPostService.getPosts(null, Integer.parseInt(DEFAULT_PAGE), (int) MAX_PAGE_SIZE, null, TITLE_ONLY).stream()
+                .map(AuditionPost::getTitle)
+                .filter(postTitle -> postTitle != null && postTitle.toLowerCase(Locale.ENGLISH).startsWith(folded))
+                .sorted(Comparator.comparing((String postTitle) -> postTitle.toLowerCase(Locale.ENGLISH))
+                        .thenComparing(Comparator.naturalOrder()))
+                // Deduplicate ignoring case, keeping the first spelling like the mirror's title index
+                .collect(Collectors.toMap(postTitle -> postTitle.toLowerCase(Locale.ENGLISH), Function.identity(),
+                        (first, second) -> first, LinkedHashMap::new))
+                .values().stream()
+                .limit(limit)
+                .toList();
+        return ResponseEntity.ok(titles);
+    }
+
+    /**
+     * Query posts by any combination of user IDs, title and body words and an ID range, in a chosen order.
+     * All given filters must match. The total number of matches is returned in the {@code X-Total-Count} header.
+     *
+     * @param userId Optional user IDs, matching posts of any of them.
+     * @param title  Optional words that must all occur in the title.
+     * @param body   Optional words that must all occur in the body.
+     * @param minId  Optional smallest post ID, inclusive.
+     * @param maxId  Optional largest post ID, inclusive.
+     * @param sort   Optional sort field ({@code id}, {@code userId} or {@code title}), prefixed with {@code -} for descending.
+     * @param page   The page number (zero-based) for pagination of the matches, default is 0.
+     * @param size   The page size (number of matches), default is 100, max is 100.
+     * @return A ResponseEntity containing the requested page of matching posts.
+     */
+    @Operation(summary = "Query posts", description = "Filter and sort posts by several fields at once.")
+    @GetMapping(value = "/query", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<AuditionPost>> queryPosts(
+            @RequestParam(required = false) final Set<@Positive Integer> userId,
+            @RequestParam(required = false) final String title,
+            @RequestParam(required = false) final String body,
+            @RequestParam(required = false) @Positive final Integer minId,
+            @RequestParam(required = false) @Positive final Integer maxId,
+            @RequestParam(required = false) final String sort,
+            @RequestParam(required = false, defaultValue = DEFAULT_PAGE) @Min(0) final Integer page,
+            @RequestParam(required = false, defaultValue = DEFAULT_PAGE_SIZE) @Positive @Max(MAX_PAGE_SIZE) final Integer size) {
+
+        final IAuditionQueryService queryService = auditionQueryService.getIfAvailable();
+        if (queryService == null) {
+            throw new SystemException(QUERY_UNAVAILABLE_MESSAGE, HttpStatus.NOT_IMPLEMENTED.value());
+        }
+        final PagedResult<AuditionPost> result = queryService.queryPosts(
+                new PostQuery(userId, title, body, minId, maxId, sort), Pagination.offset(page, size), size);
+        auditionLogger.debug(POSTS_LOGGER, SUCCESSFUL_RETRIEVAL_MESSAGE);
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(result.total()))
+                .body(result.items());
+    }
+
+    /**
+     * Export posts, optionally of one user, as newline-delimited JSON.
+     * Posts are fetched page by page and written as they arrive, so the export is not capped by the page size.
+     *
+     * @param userId  Optional user ID to export the posts of.
+     * @param limit   Optional maximum number of posts to export.
+     * @param fields  Optional names of the fields to export.
+     * @param exclude Optional names of the fields to leave out.
+     * @return A ResponseEntity streaming one post per line.
+     */
+    @Operation(summary = "Export posts as NDJSON", description = "Stream posts as newline-delimited JSON.")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportPostsAsNdjson(
+            @RequestParam(required = false) @Positive final Integer userId,
+            @RequestParam(required = false) @Positive final Integer limit,
+            @RequestParam(name = FieldProjection.FIELDS_PARAMETER, required = false) final String[] fields,
+            @RequestParam(name = FieldProjection.EXCLUDE_PARAMETER, required = false) final String[] exclude) {
+
+        auditionLogger.info(POSTS_LOGGER, EXPORT_POSTS_MESSAGE, userId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(JsonStreams.ndjson(projectedWriter(fields, exclude), postPages(userId), (int) MAX_PAGE_SIZE, limit));
+    }
+
+    /**
+     * Export posts, optionally of one user, as a JSON array.
+     * Posts are fetched page by page and written as they arrive, so the export is not capped by the page size.
+     *
+     * @param userId  Optional user ID to export the posts of.
+     * @param limit   Optional maximum number of posts to export.
+     * @param fields  Optional names of the fields to export.
+     * @param exclude Optional names of the fields to leave out.
+     * @return A ResponseEntity streaming a JSON array of posts.
+     */
+    @Operation(summary = "Export posts as a JSON array", description = "Stream posts as one chunked JSON array.")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportPostsAsArray(
+            @RequestParam(required = false) @Positive final Integer userId,
+            @RequestParam(required = false) @Positive final Integer limit,
+            @RequestParam(name = FieldProjection.FIELDS_PARAMETER, required = false) final String[] fields,
+            @RequestParam(name = FieldProjection.EXCLUDE_PARAMETER, required = false) final String[] exclude) {
+
+        auditionLogger.info(POSTS_LOGGER, EXPORT_POSTS_MESSAGE, userId);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(JsonStreams.array(projectedWriter(fields, exclude), postPages(userId), (int) MAX_PAGE_SIZE, limit));
+    }
+
+    /**
+     * Retrieve many posts by ID in one request, without their comments.
+     * Duplicate IDs are looked up once, and posts that do not exist are reported as missing
+     * instead of failing the request.
+     *
+     * @param ids The IDs of the posts to retrieve, at most 100.
+     * @return A ResponseEntity containing the found posts and the missing IDs, both in request order.
+     */
+    @Operation(summary = "Get posts by IDs", description = "Retrieve many posts by ID, reporting the IDs that do not exist.")
+    @GetMapping(params = "ids", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchResult<AuditionPost>> getPostsByIds(
+            @Parameter(description = "Comma-separated IDs of the posts")
+            @RequestParam @NotEmpty @Size(max = MAX_BATCH_SIZE) final List<@NotNull @Positive Integer> ids) {
+        return ResponseEntity.ok(findPosts(ids));
+    }
+
+    /**
+     * Retrieve many posts by ID in one request, for ID lists too long for a query string.
+     *
+     * @param ids The IDs of the posts to retrieve, as a JSON array of at most 100 IDs.
+     * @return A ResponseEntity containing the found posts and the missing IDs, both in request order.
+     */
+    @Operation(summary = "Get posts by IDs in the request body", description = "Retrieve many posts by ID, reporting the IDs that do not exist.")
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BatchResult<AuditionPost>> getPostsByIdsInBody(
+            @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) final List<@NotNull @Positive Integer> ids) {
+        return ResponseEntity.ok(findPosts(ids));
+    }
+
     /**
      * Retrieve a specific post by its ID.
 
@@ -156,10 +394,43 @@ public class AuditionPostsController {
             @Positive @Max(MAX_PAGE_SIZE) final Integer size) {
 
         auditionLogger.info(POSTS_LOGGER, "Received request to get post with comments for post ID: {}", postId);
-        final AuditionPost postWithComments = auditionPostService.getPostById(postId, true, page, size);
+        final AuditionPost postWithComments = auditionPostService.getPostById(postId, true, Pagination.offset(page, size), size);
 
         return Objects.isNull(postWithComments)
                 ? ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse(POST_NOT_FOUND_ERROR))
                 : ResponseEntity.ok(postWithComments);
     }
+
+    /**
+     * Returns a function fetching one page of posts at an offset.
+     *
+     * @param userId the ID of the user whose posts to fetch (nullable for all)
+     * @return the page fetcher
+     */
+    private IntFunction<List<?>> postPages(final Integer userId) {
+        return start -> auditionPostService.getPosts(userId, start, (int) MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Returns a writer projecting the exported posts onto the requested fields.
+     *
+     * @param fields  the raw values of the {@code fields} parameter (nullable)
+     * @param exclude the raw values of the {@code exclude} parameter (nullable)
+     * @return the writer
+     */
+    private ObjectWriter projectedWriter(final String[] fields, final String[] exclude) {
+        return objectMapper.writer(FieldProjection.filters(FieldProjection.parse(fields), FieldProjection.parse(exclude)));
+    }
+
+    /**
+     * Looks up posts by ID and splits the IDs into found and missing.
+     *
+     * @param ids the requested IDs, possibly with duplicates
+     * @return the batch result
+     */
+    private BatchResult<AuditionPost> findPosts(final List<Integer> ids) {
+        final Set<Integer> distinct = new LinkedHashSet<>(ids);
+        auditionLogger.info(POSTS_LOGGER, GET_POSTS_BY_IDS_MESSAGE, distinct.size());
+        return BatchResult.of(distinct, auditionPostService.getPostsByIds(distinct));
+    }
 }
@@ -0,0 +1,136 @@
+package com.audition.web;
+
+import com.audition.model.AuditionComment;
+import com.audition.model.AuditionPost;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.util.StringUtils;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Response field projection, applied while entities are serialized.
+ * Posts and comments carry a Jackson property filter; by default it writes every property, and a
+ * request naming {@code fields} to keep or fields to {@code exclude} swaps in a filter that skips
+ * the other properties as the entities are written, so no projected copy is ever built. Only the
+ * outermost entities of a response are projected: comments nested in a projected post are written whole.
+ */
+public final class FieldProjection {
+
+    /**
+     * The request parameter listing the fields to keep, separated by commas.
+     */
+    public static final String FIELDS_PARAMETER = "fields";
+
+    /**
+     * The request parameter listing the fields to leave out, separated by commas.
+     */
+    public static final String EXCLUDE_PARAMETER = "exclude";
+
+    private static final String FILTER_ID = "fieldProjection";
+    private static final List<Class<?>> PROJECTED_TYPES = List.of(AuditionPost.class, AuditionComment.class);
+
+    private FieldProjection() {
+    }
+
+    /**
+     * Makes a mapper honour field projection: projected types get the projection filter, which
+     * writes every property unless a request supplies its own filters.
+     *
+     * @param objectMapper the mapper to configure
+     * @return the same mapper
+     */
+    public static ObjectMapper configure(final ObjectMapper objectMapper) {
+        PROJECTED_TYPES.forEach(type -> objectMapper.addMixIn(type, Projected.class));
+        return objectMapper.setFilterProvider(filters(null, null));
+    }
+
+    /**
+     * Builds the filters projecting entities onto some fields.
+     *
+     * @param fields  the names of the fields to keep (nullable or empty for all)
+     * @param exclude the names of the fields to leave out (nullable or empty for none)
+     * @return the filters to serialize with
+     */
+    public static FilterProvider filters(final Collection<String> fields, final Collection<String> exclude) {
+        return new SimpleFilterProvider().addFilter(FILTER_ID, new ProjectionFilter(
+                fields == null || fields.isEmpty() ? null : Set.copyOf(fields),
+                exclude == null ? Set.of() : Set.copyOf(exclude)));
+    }
+
+    /**
+     * Parses comma-separated lists of field names.
+     *
+     * @param values the raw values of a repeatable request parameter (nullable)
+     * @return the trimmed, non-empty field names
+     */
+    public static Set<String> parse(final String... values) {
+        if (values == null) {
+            return Set.of();
+        }
+        return Arrays.stream(values)
+                .flatMap(value -> StringUtils.commaDelimitedListToSet(value).stream())
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * Mix-in attaching the projection filter to a type.
+     */
+    @JsonFilter(FILTER_ID)
+    private interface Projected {
+    }
+
+    /**
+     * Writes the selected properties of the outermost entities, and every property of nested ones.
+     */
+    private static final class ProjectionFilter extends SimpleBeanPropertyFilter {
+
+        private final Set<String> fields; // Null keeps every field not excluded
+        private final Set<String> exclude;
+
+        private ProjectionFilter(final Set<String> fields, final Set<String> exclude) {
+            this.fields = fields;
+            this.exclude = exclude;
+        }
+
+        @Override
+        public void serializeAsField(final Object pojo, final JsonGenerator generator, final SerializerProvider provider,
+                                     final PropertyWriter writer) throws Exception {
+            final String name = writer.getName();
+            if ((fields == null || fields.contains(name)) && !exclude.contains(name) || isNested(generator)) {
+                writer.serializeAsField(pojo, generator, provider);
+            } else if (!generator.canOmitFields()) {
+                writer.serializeAsOmittedField(pojo, generator, provider);
+            }
+        }
+
+        /**
+         * Checks whether the entity being written sits inside another projected entity.
+         *
+         * @param generator the generator writing the entity
+         * @return true if an enclosing JSON value is a projected entity
+         */
+        private static boolean isNested(final JsonGenerator generator) {
+            for (JsonStreamContext context = generator.getOutputContext().getParent(); context != null; context = context.getParent()) {
+                final Object value = context.getCurrentValue();
+                if (value != null && PROJECTED_TYPES.stream().anyMatch(type -> type.isInstance(value))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.audition.web;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Writes paged results to the response as they are fetched, instead of materialising them into one list.
+ * Pages are requested one at a time with the upstream {@code _start}/{@code _limit} semantics; every item
+ * is serialised straight to the response and the output is flushed after each page, so memory stays
+ * bounded by one page and the first bytes reach the client before the last page has been fetched.
+ */
+final class JsonStreams {
+
+    private static final char LINE_SEPARATOR = '\n';
+
+    private JsonStreams() {
+    }
+
+    /**
+     * Streams items as newline-delimited JSON, one document per line.
+     *
+     * @param writer   the writer used to serialise every item, carrying any field projection
+     * @param pages    fetches the page starting at the given offset
+     * @param pageSize the number of items requested per page
+     * @param limit    the maximum number of items to write (nullable for all)
+     * @return the streaming body
+     */
+    static StreamingResponseBody ndjson(final ObjectWriter writer, final IntFunction<List<?>> pages, final int pageSize,
+                                        final Integer limit) {
+        final ObjectWriter itemWriter = writer.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        return outputStream -> {
+            try (JsonGenerator generator = itemWriter.createGenerator(outputStream, JsonEncoding.UTF8)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null); // Lines are separated by the newline alone
+                forEachPage(pages, pageSize, limit, items -> {
+                    for (final Object item : items) {
+                        itemWriter.writeValue(generator, item);
+                        generator.writeRaw(LINE_SEPARATOR);
+                    }
+                    generator.flush();
+                });
+            }
+        };
+    }
+
+    /**
+     * Streams items as one JSON array, written element by element.
+     *
+     * @param writer   the writer used to serialise every item, carrying any field projection
+     * @param pages    fetches the page starting at the given offset
+     * @param pageSize the number of items requested per page
+     * @param limit    the maximum number of items to write (nullable for all)
+     * @return the streaming body
+     */
+    static StreamingResponseBody array(final ObjectWriter writer, final IntFunction<List<?>> pages, final int pageSize,
+                                       final Integer limit) {
+        final ObjectWriter itemWriter = writer.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        return outputStream -> {
+            try (JsonGenerator generator = itemWriter.createGenerator(outputStream, JsonEncoding.UTF8)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.writeStartArray();
+                forEachPage(pages, pageSize, limit, items -> {
+                    for (final Object item : items) {
+                        itemWriter.writeValue(generator, item);
+                    }
+                    generator.flush();
+                });
+                generator.writeEndArray();
+            }
+        };
+    }
+
+    /**
+     * Fetches pages until a short page signals the end or the limit is reached.
+     *
+     * @param pages    fetches the page starting at the given offset
+     * @param pageSize the number of items requested per page
+     * @param limit    the maximum number of items to hand out (nullable for all)
+     * @param consumer receives every page, truncated to the limit
+     * @throws IOException if the consumer fails to write a page
+     */
+    private static void forEachPage(final IntFunction<List<?>> pages, final int pageSize, final Integer limit,
+                                    final PageConsumer consumer) throws IOException {
+        long remaining = limit == null ? Long.MAX_VALUE : limit;
+        int start = 0;
+        List<?> page;
+        do {
+            page = pages.apply(start);
+            final List<?> items = page.size() > remaining ? page.subList(0, (int) remaining) : page;
+            consumer.accept(items);
+            remaining -= items.size();
+            start += pageSize;
+        } while (page.size() >= pageSize && remaining > 0);
+    }
+
+    /**
+     * Receives one fetched page.
+     */
+    @FunctionalInterface
+    private interface PageConsumer {
+
+        /**
+         * Writes one page.
+         *
+         * @param items the items of the page
+         * @throws IOException if writing fails
+         */
+        void accept(List<?> items) throws IOException;
+    }
+}
@@ -0,0 +1,55 @@
+package com.audition.web;
+
+import com.audition.dto.CursorPage;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Request pagination shared by the controllers.
+ * Pages are numbered from zero and converted to the offsets the services and upstream expect, so
+ * page 2 of size 100 starts at the 201st entity. Where cursors are available, a {@code cursor}
+ * parameter pages by seeking past the last ID instead; the cursor of the following page is returned
+ * in the {@code X-Next-Cursor} header and is absent on the last page.
+ */
+public final class Pagination {
+
+    /**
+     * The request parameter carrying the cursor of the requested page, empty for the first page.
+     */
+    public static final String CURSOR_PARAMETER = "cursor";
+
+    /**
+     * The response header carrying the cursor of the following page.
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private Pagination() {
+    }
+
+    /**
+     * Converts a page number to the offset of its first entity.
+     *
+     * @param page the zero-based page number
+     * @param size the page size
+     * @return the offset, capped at {@link Integer#MAX_VALUE}
+     */
+    public static int offset(final int page, final int size) {
+        return (int) Math.min(Integer.MAX_VALUE, (long) page * size);
+    }
+
+    /**
+     * Builds the response of a page read by cursor, with the cursor of the next page if there is one.
+     *
+     * @param page the page with the cursor of the next page
+     * @param <T>  the item type
+     * @return the response carrying the items, and the cursor in the {@code X-Next-Cursor} header
+     */
+    public static <T> ResponseEntity<List<T>> withNextCursor(final CursorPage<T> page) {
+        final ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+}
@@ -27,7 +27,7 @@ public class ExceptionControllerAdvice extends ResponseEntityExceptionHandler {
 
     public static final String DEFAULT_TITLE = "API Error Occurred";
     private static final Logger LOG = LoggerFactory.getLogger(ExceptionControllerAdvice.class);
-    private static final String ERROR_MESSAGE = "Error Code from Exception could not be mapped to a valid HttpStatus Code - ";
+    private static final String ERROR_MESSAGE = "Error Code from Exception could not be mapped to a valid HttpStatus Code - {}";
     private static final String DEFAULT_MESSAGE = "API Error occurred. Please contact support or administrator.";
 
     private final transient AuditionLogger logger;
@@ -128,9 +128,7 @@ public class ExceptionControllerAdvice extends ResponseEntityExceptionHandler {
         try {
             return HttpStatusCode.valueOf(exception.getStatusCode());
         } catch (final IllegalArgumentException iae) {
-            if (pageNotFoundLogger.isInfoEnabled()) {
-                logger.info(LOG, ERROR_MESSAGE + exception.getStatusCode());
-            }
+            logger.infoLazy(LOG, ERROR_MESSAGE, exception::getStatusCode);
             return INTERNAL_SERVER_ERROR;
         }
     }
@@ -0,0 +1,46 @@
+package com.audition.web.advice;
+
+import com.audition.web.FieldProjection;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.util.Set;
+
+/**
+ * Applies the {@code fields} and {@code exclude} request parameters to the JSON responses of the controllers.
+ * The parameters only select the Jackson filters the response body is written with, so the entities are
+ * serialised in place rather than copied into projected views.
+ */
+@RestControllerAdvice(basePackages = "com.audition.web")
+public class FieldProjectionAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    /**
+     * Sets the projection filters on the response body when the request asks for a projection.
+     *
+     * @param bodyContainer the response body to be written
+     * @param contentType   the selected content type
+     * @param returnType    the return type of the controller method
+     * @param request       the current request
+     * @param response      the current response
+     */
+    @Override
+    protected void beforeBodyWriteInternal(final MappingJacksonValue bodyContainer, final MediaType contentType,
+                                           final MethodParameter returnType, final ServerHttpRequest request,
+                                           final ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            final HttpServletRequest httpRequest = servletRequest.getServletRequest();
+            final Set<String> fields = FieldProjection.parse(httpRequest.getParameterValues(FieldProjection.FIELDS_PARAMETER));
+            final Set<String> exclude = FieldProjection.parse(httpRequest.getParameterValues(FieldProjection.EXCLUDE_PARAMETER));
+            if (!fields.isEmpty() || !exclude.isEmpty()) {
+                bodyContainer.setFilters(FieldProjection.filters(fields, exclude));
+            }
+        }
+    }
+}
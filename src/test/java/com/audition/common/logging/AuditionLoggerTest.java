@@ -5,13 +5,16 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.slf4j.Logger;
+import org.slf4j.helpers.MessageFormatter;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 
 import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -62,7 +65,8 @@ class AuditionLoggerTest extends BaseTest {
         problemDetail.setInstance(URI.create("http://instance#"));
         problemDetail.setType(URI.create("http://type#"));
         final var exception = new Exception(randomString());
-        final var messageCaptor = ArgumentCaptor.forClass(String.class);
+        final var patternCaptor = ArgumentCaptor.forClass(String.class);
+        final var argumentCaptor = ArgumentCaptor.forClass(Object.class);
         final var throwableCaptor = ArgumentCaptor.forClass(Throwable.class);
 
         when(mockLogger.isErrorEnabled()).thenReturn(true);
@@ -71,8 +75,37 @@ class AuditionLoggerTest extends BaseTest {
         auditionLogger.logStandardProblemDetail(mockLogger, problemDetail, exception);
 
         //then
-        verify(mockLogger, times(1)).error(messageCaptor.capture(), throwableCaptor.capture());
-        assertThat(messageCaptor.getValue()).isEqualTo("ProblemDetail[type='http://type#', title='Forbidden', status=403, detail='forbidden', instance='http://instance#', properties='null']");
+        verify(mockLogger, times(1)).error(patternCaptor.capture(), argumentCaptor.capture(), throwableCaptor.capture());
+        assertThat(MessageFormatter.format(patternCaptor.getValue(), argumentCaptor.getValue()).getMessage()).isEqualTo(
+                "ProblemDetail[type='http://type#', title='Forbidden', status=403, detail='forbidden', instance='http://instance#', properties='null']");
         assertThat(throwableCaptor.getValue().getMessage()).isEqualTo(exception.getMessage());
     }
+
+    @Test
+    void shouldNotComputeLazyArgumentsWhenDisabled() {
+        //given
+        final var computed = new AtomicInteger();
+        when(mockLogger.isDebugEnabled()).thenReturn(false);
+
+        //when
+        auditionLogger.debugLazy(mockLogger, "value {}", computed::incrementAndGet);
+
+        //then
+        assertThat(computed.get()).isZero();
+        verify(mockLogger, times(0)).debug(any(), any(Object[].class));
+    }
+
+    @Test
+    void shouldComputeLazyArgumentsWhenEnabled() {
+        //given
+        final var computed = new AtomicInteger();
+        when(mockLogger.isInfoEnabled()).thenReturn(true);
+
+        //when
+        auditionLogger.infoLazy(mockLogger, "{} of {}", computed::incrementAndGet, computed::incrementAndGet);
+
+        //then
+        assertThat(computed.get()).isEqualTo(2);
+        verify(mockLogger, times(1)).info(eq("{} of {}"), any(Object[].class));
+    }
 }
\ No newline at end of file
@@ -5,15 +5,25 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.client.ClientHttpRequestExecution;
 import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.StreamUtils;
 
 import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -21,12 +31,18 @@ import static org.mockito.Mockito.when;
 
 class RestTemplateRequestResponseLoggingInterceptorTest extends BaseTest {
 
+    private static final int MAX_LOGGED_BODY_BYTES = 8;
+    private static final double ALWAYS = 1.0;
+    private static final double NEVER = 0.0;
+
     private transient RestTemplateRequestResponseLoggingInterceptor interceptor;
     private transient AuditionLogger logger;
     private transient HttpRequest request;
     private transient byte[] body;
     private transient ClientHttpRequestExecution execution;
     private transient ClientHttpResponse response;
+    private transient List<Runnable> queued;
+    private transient Executor logExecutor;
 
     @BeforeEach
     void init() {
@@ -35,16 +51,19 @@ class RestTemplateRequestResponseLoggingInterceptorTest extends BaseTest {
         response = mock(ClientHttpResponse.class);
         body = "".getBytes(UTF_8);
         execution = mock(ClientHttpRequestExecution.class);
+        queued = new ArrayList<>();
+        logExecutor = queued::add;
     }
 
     @Test
     void shouldLogRequest() throws IOException {
         // given
         final var messageCaptor = ArgumentCaptor.forClass(String.class);
-        interceptor = new RestTemplateRequestResponseLoggingInterceptor(true, false, logger);
+        interceptor = interceptor(true, false, ALWAYS, "");
 
         // when
         interceptor.intercept(request, body, execution);
+        drain();
 
         // then
         verify(logger, times(1)).info(any(), messageCaptor.capture());
@@ -57,10 +76,11 @@ class RestTemplateRequestResponseLoggingInterceptorTest extends BaseTest {
         // given
         final var messageCaptor = ArgumentCaptor.forClass(String.class);
         when(execution.execute(any(), any())).thenReturn(response);
-        interceptor = new RestTemplateRequestResponseLoggingInterceptor(false, true, logger);
+        interceptor = interceptor(false, true, ALWAYS, "");
 
         // when
-        interceptor.intercept(request, body, execution);
+        interceptor.intercept(request, body, execution).close();
+        drain();
 
         // then
         verify(logger, times(1)).info(any(), messageCaptor.capture());
@@ -71,10 +91,11 @@ class RestTemplateRequestResponseLoggingInterceptorTest extends BaseTest {
     void shouldLogRequestAndResponse() throws IOException {
         // given
         when(execution.execute(any(), any())).thenReturn(response);
-        interceptor = new RestTemplateRequestResponseLoggingInterceptor(true, true, logger);
+        interceptor = interceptor(true, true, ALWAYS, "");
         final var messageCaptor = ArgumentCaptor.forClass(String.class);
         // when
-        interceptor.intercept(request, body, execution);
+        interceptor.intercept(request, body, execution).close();
+        drain();
 
         // then
         verify(logger, times(2)).info(any(), messageCaptor.capture());
@@ -82,4 +103,79 @@ class RestTemplateRequestResponseLoggingInterceptorTest extends BaseTest {
         assertTrue(messageCaptor.getAllValues().get(1).contains("ClientHttpResponse"));
     }
 
-}
\ No newline at end of file
+    @Test
+    void shouldLogBoundedBodyOnceConsumed() throws IOException {
+        // given
+        final var payload = "[{\"id\":1},{\"id\":2}]";
+        when(execution.execute(any(), any())).thenReturn(new MockClientHttpResponse(payload.getBytes(UTF_8), HttpStatus.OK));
+        interceptor = interceptor(false, true, ALWAYS, "");
+        final var messageCaptor = ArgumentCaptor.forClass(String.class);
+
+        // when
+        final var intercepted = interceptor.intercept(request, body, execution);
+        final var read = StreamUtils.copyToString(intercepted.getBody(), UTF_8);
+        intercepted.close();
+        drain();
+
+        // then
+        assertEquals(payload, read);
+        verify(logger, times(1)).info(any(), messageCaptor.capture());
+        assertTrue(messageCaptor.getValue().contains(payload.substring(0, MAX_LOGGED_BODY_BYTES) + "..."));
+        assertTrue(messageCaptor.getValue().contains(MAX_LOGGED_BODY_BYTES + " of " + payload.length() + " bytes logged"));
+    }
+
+    @Test
+    void shouldBuildMessagesOnlyOnLogExecutor() throws IOException {
+        // given
+        when(execution.execute(any(), any())).thenReturn(response);
+        interceptor = interceptor(true, true, ALWAYS, "");
+
+        // when
+        interceptor.intercept(request, body, execution).close();
+
+        // then
+        assertEquals(2, queued.size());
+        verify(logger, never()).info(any(), any());
+    }
+
+    @Test
+    void shouldSkipUnsampledExchanges() throws IOException {
+        // given
+        when(execution.execute(any(), any())).thenReturn(response);
+        when(request.getURI()).thenReturn(URI.create("https://upstream.test/comments?postId=1"));
+        interceptor = interceptor(true, true, ALWAYS, "comments=0, posts=1");
+
+        // when
+        final var intercepted = interceptor.intercept(request, body, execution);
+        intercepted.close();
+
+        // then
+        assertSame(response, intercepted);
+        assertTrue(queued.isEmpty());
+    }
+
+    @Test
+    void shouldApplyRouteSampleRate() throws IOException {
+        // given
+        when(execution.execute(any(), any())).thenReturn(response);
+        when(request.getURI()).thenReturn(URI.create("https://upstream.test/posts/1"));
+        interceptor = interceptor(true, false, NEVER, "posts=1");
+
+        // when
+        interceptor.intercept(request, body, execution);
+
+        // then
+        assertEquals(1, queued.size());
+    }
+
+    private RestTemplateRequestResponseLoggingInterceptor interceptor(final boolean logRequest, final boolean logResponse,
+                                                                      final double sampleRate, final String routeSampleRates) {
+        return new RestTemplateRequestResponseLoggingInterceptor(logRequest, logResponse, MAX_LOGGED_BODY_BYTES,
+                sampleRate, routeSampleRates, logger, logExecutor);
+    }
+
+    private void drain() {
+        queued.forEach(Runnable::run);
+        queued.clear();
+    }
+}
@@ -0,0 +1,170 @@
+package com.audition.configuration;
+
+import com.audition.BaseTest;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CompressionFilterTest extends BaseTest {
+
+    private static final String LARGE_BODY = "[" + "{\"id\":1,\"title\":\"title\"},".repeat(100) + "{}]";
+    private static final String SMALL_BODY = "{\"id\":1}";
+    private static final String GZIP = "gzip";
+
+    private final transient CompressionFilter filter = new CompressionFilter(new ResponseCompression(true, 1024,
+            new String[]{MediaType.APPLICATION_JSON_VALUE}, new String[]{"/posts/*/comments"}));
+
+    @Test
+    void shouldCompressLargeBodiesForClientsAcceptingGzip() throws Exception {
+        // when
+        final MockHttpServletResponse response = perform(request("/posts", GZIP), chain(LARGE_BODY));
+
+        // then
+        assertEquals(GZIP, response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+        assertEquals(LARGE_BODY, gunzip(response.getContentAsByteArray()));
+    }
+
+    @Test
+    void shouldCompressBodiesWrittenWithDeclaredLength() throws Exception {
+        // given
+        final FilterChain chain = (request, response) -> {
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setContentLength(LARGE_BODY.length());
+            response.getOutputStream().write(LARGE_BODY.getBytes(StandardCharsets.UTF_8));
+        };
+
+        // when
+        final MockHttpServletResponse response = perform(request("/posts", GZIP), chain);
+
+        // then
+        assertEquals(GZIP, response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertNull(response.getHeader(HttpHeaders.CONTENT_LENGTH));
+        assertEquals(LARGE_BODY, gunzip(response.getContentAsByteArray()));
+    }
+
+    @Test
+    void shouldWriteSmallBodiesAsTheyAre() throws Exception {
+        // when
+        final MockHttpServletResponse response = perform(request("/posts/1", GZIP), chain(SMALL_BODY));
+
+        // then
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertNull(response.getHeader(HttpHeaders.VARY));
+        assertEquals(SMALL_BODY, response.getContentAsString());
+    }
+
+    @Test
+    void shouldWriteUncompressedBodyVaryingOnEncodingForOtherClients() throws Exception {
+        // when
+        final MockHttpServletResponse response = perform(new MockHttpServletRequest("GET", "/posts"), chain(LARGE_BODY));
+
+        // then
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+        assertEquals(LARGE_BODY, response.getContentAsString());
+    }
+
+    @Test
+    void shouldNotCompressExcludedRoutesOrEncodedBodies() throws Exception {
+        // given
+        final FilterChain encoded = (request, response) -> {
+            ((HttpServletResponse) response).setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+            chain(LARGE_BODY).doFilter(request, response);
+        };
+
+        // when
+        final MockHttpServletResponse excluded = perform(request("/posts/1/comments", GZIP), chain(LARGE_BODY));
+        final MockHttpServletResponse precompressed = perform(request("/posts", GZIP), encoded);
+
+        // then
+        assertNull(excluded.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(LARGE_BODY, excluded.getContentAsString());
+        assertEquals(LARGE_BODY, precompressed.getContentAsString());
+    }
+
+    @Test
+    void shouldCompressAsyncStreamsAndFinishThemOnAsyncDispatch() throws Exception {
+        // given
+        final MockHttpServletRequest request = request("/posts/export", GZIP);
+        request.setAsyncSupported(true);
+        final AtomicReference<ServletResponse> streamed = new AtomicReference<>();
+        final FilterChain handler = (servletRequest, servletResponse) -> {
+            servletResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            servletRequest.startAsync(servletRequest, servletResponse);
+            streamed.set(servletResponse);
+        };
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // when
+        filter.doFilter(request, response, handler);
+        streamed.get().getOutputStream().write(LARGE_BODY.getBytes(StandardCharsets.UTF_8)); // From the async thread
+        streamed.get().getOutputStream().flush();
+        request.setAsyncStarted(false);
+        request.setDispatcherType(DispatcherType.ASYNC);
+        filter.doFilter(request, streamed.get(), (servletRequest, servletResponse) -> { });
+
+        // then
+        assertEquals(GZIP, response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(LARGE_BODY, gunzip(response.getContentAsByteArray()));
+    }
+
+    @Test
+    void shouldTagAndRevalidateCompressedVariant() throws Exception {
+        // given
+        final EntityTagFilter entityTagFilter = new EntityTagFilter("", 1 << 16);
+        final FilterChain chain = (request, response) -> entityTagFilter.doFilter(request, response, chain(LARGE_BODY));
+        final String etag = perform(request("/posts", GZIP), chain).getHeader(HttpHeaders.ETAG);
+        final MockHttpServletRequest revalidation = request("/posts", GZIP);
+        revalidation.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+
+        // when
+        final MockHttpServletResponse response = perform(revalidation, chain);
+
+        // then
+        assertEquals(EntityTagFilter.entityTag(LARGE_BODY.getBytes(StandardCharsets.UTF_8)), ResponseCompression.identityTag(etag));
+        assertEquals(ResponseCompression.gzipTag(etag), etag);
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+        assertEquals(etag, response.getHeader(HttpHeaders.ETAG));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    private static FilterChain chain(final String body) {
+        return (request, response) -> {
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private static MockHttpServletRequest request(final String path, final String acceptEncoding) {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        return request;
+    }
+
+    private MockHttpServletResponse perform(final MockHttpServletRequest request, final FilterChain chain) throws Exception {
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static String gunzip(final byte[] compressed) throws Exception {
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
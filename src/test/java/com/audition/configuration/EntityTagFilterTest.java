@@ -0,0 +1,128 @@
+package com.audition.configuration;
+
+import com.audition.BaseTest;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EntityTagFilterTest extends BaseTest {
+
+    private static final String BODY = "{\"id\":1,\"title\":\"title\"}";
+    private static final String ROUTES = "/posts/*/comments=max-age=30;/posts/**=max-age=60";
+    private static final FilterChain CHAIN = (request, response) -> response.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+
+    private final transient EntityTagFilter filter = new EntityTagFilter(ROUTES, 1 << 16);
+
+    @Test
+    void shouldTagResponseWithHashOfBody() throws Exception {
+        // when
+        final MockHttpServletResponse response = perform(filter, request("/posts/1"), CHAIN);
+
+        // then
+        assertEquals(EntityTagFilter.entityTag(BODY.getBytes(StandardCharsets.UTF_8)), response.getHeader(HttpHeaders.ETAG));
+        assertEquals(BODY, response.getContentAsString());
+        assertEquals(BODY.length(), response.getContentLength());
+    }
+
+    @Test
+    void shouldKeepBodyHeldBackWhenHandlerFlushesBuffer() throws Exception {
+        // given
+        final FilterChain chain = (request, response) -> {
+            CHAIN.doFilter(request, response);
+            response.flushBuffer();
+        };
+
+        // when
+        final MockHttpServletResponse response = perform(filter, request("/posts/1"), chain);
+
+        // then
+        assertNotNull(response.getHeader(HttpHeaders.ETAG));
+        assertEquals(BODY, response.getContentAsString());
+    }
+
+    @Test
+    void shouldAnswerMatchingIfNoneMatchWithNotModified() throws Exception {
+        // given
+        final String etag = perform(filter, request("/posts/1"), CHAIN).getHeader(HttpHeaders.ETAG);
+        final MockHttpServletRequest revalidation = request("/posts/1");
+        revalidation.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+
+        // when
+        final MockHttpServletResponse response = perform(filter, revalidation, CHAIN);
+
+        // then
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+        assertEquals(etag, response.getHeader(HttpHeaders.ETAG));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void shouldApplyCacheControlOfFirstMatchingRoute() throws Exception {
+        // when
+        final MockHttpServletResponse comments = perform(filter, request("/posts/1/comments"), CHAIN);
+        final MockHttpServletResponse post = perform(filter, request("/posts/1"), CHAIN);
+        final MockHttpServletResponse other = perform(filter, request("/users/1"), CHAIN);
+
+        // then
+        assertEquals("max-age=30", comments.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertEquals("max-age=60", post.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertNull(other.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertNotNull(other.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void shouldPassLargeBodiesThroughUntagged() throws Exception {
+        // given
+        final EntityTagFilter small = new EntityTagFilter(ROUTES, BODY.length() - 1);
+
+        // when
+        final MockHttpServletResponse response = perform(small, request("/posts/1"), CHAIN);
+
+        // then
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+        assertEquals(BODY, response.getContentAsString());
+    }
+
+    @Test
+    void shouldLeaveErrorResponsesUntagged() throws Exception {
+        // given
+        final FilterChain chain = (request, response) -> {
+            ((HttpServletResponse) response).setStatus(HttpServletResponse.SC_NOT_FOUND);
+            CHAIN.doFilter(request, response);
+        };
+
+        // when
+        final MockHttpServletResponse response = perform(filter, request("/posts/1"), chain);
+
+        // then
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+        assertEquals(BODY, response.getContentAsString());
+    }
+
+    @Test
+    void shouldRejectMalformedRoutes() {
+        // when / then
+        assertThrows(IllegalArgumentException.class, () -> new EntityTagFilter("/posts/**", 1024));
+    }
+
+    private static MockHttpServletRequest request(final String path) {
+        return new MockHttpServletRequest("GET", path);
+    }
+
+    private static MockHttpServletResponse perform(final EntityTagFilter filter, final MockHttpServletRequest request,
+                                                   final FilterChain chain) throws Exception {
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
@@ -0,0 +1,112 @@
+package com.audition.configuration;
+
+import com.audition.BaseTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.MDC;
+import org.springframework.boot.task.TaskExecutorBuilder;
+
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExecutionConfigurationTest extends BaseTest {
+
+    private static final String MDC_KEY = "requestId";
+
+    private transient ExecutorService executor;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        MDC.clear();
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldPropagateMdcToUpstreamExecutor() throws Exception {
+        // given
+        executor = new ExecutionConfiguration(false, 2).upstreamExecutor();
+        final var requestId = randomString();
+        MDC.put(MDC_KEY, requestId);
+
+        // when
+        final var propagated = executor.submit(() -> MDC.get(MDC_KEY)).get(1, TimeUnit.SECONDS);
+
+        // then
+        assertEquals(requestId, propagated);
+    }
+
+    @Test
+    void shouldFallBackToPlatformThreadsWhenVirtualThreadsUnavailable() throws Exception {
+        // given
+        executor = new ExecutionConfiguration(true, 1, Optional::empty).upstreamExecutor();
+
+        // when
+        final var threadName = executor.submit(() -> Thread.currentThread().getName()).get(1, TimeUnit.SECONDS);
+
+        // then
+        assertTrue(threadName.startsWith(ExecutionConfiguration.UPSTREAM_THREAD_PREFIX));
+    }
+
+    @Test
+    void shouldShareOneVirtualThreadExecutorAndShutItDown() throws Exception {
+        // given
+        final var created = new AtomicInteger();
+        final var virtualThreads = Executors.newSingleThreadExecutor();
+        final var configuration = new ExecutionConfiguration(true, 1, () -> {
+            created.incrementAndGet();
+            return Optional.of(virtualThreads);
+        });
+        executor = configuration.upstreamExecutor();
+        final var requestId = randomString();
+        MDC.put(MDC_KEY, requestId);
+
+        // when
+        final var propagated = configuration.applicationTaskExecutor(new TaskExecutorBuilder())
+                .submit(() -> MDC.get(MDC_KEY)).get(1, TimeUnit.SECONDS);
+        configuration.destroy();
+
+        // then
+        assertEquals(requestId, propagated);
+        assertEquals(1, created.get());
+        assertTrue(virtualThreads.isShutdown());
+    }
+
+    @Test
+    void shouldDropHttpLogMessagesWhenQueueIsFull() throws Exception {
+        // given
+        final var meterRegistry = new SimpleMeterRegistry();
+        executor = new ExecutionConfiguration(false, 1).httpLogExecutor(1, meterRegistry);
+        final var started = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        started.await(1, TimeUnit.SECONDS);
+
+        // when
+        executor.execute(() -> { });
+        executor.execute(() -> { });
+        release.countDown();
+
+        // then
+        assertEquals(1.0, meterRegistry.get("audition.http.log.dropped").counter().count());
+    }
+
+    private static void awaitQuietly(final CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
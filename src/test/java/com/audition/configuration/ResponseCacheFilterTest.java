@@ -0,0 +1,218 @@
+package com.audition.configuration;
+
+import com.audition.BaseTest;
+import com.audition.integration.ResponseDependencies;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResponseCacheFilterTest extends BaseTest {
+
+    private static final String POST_PATH = "/posts/1";
+    private static final String DEPENDENCY = "http://upstream.test/posts/1";
+    private static final String BODY = "{\"id\":1,\"title\":\"title\"}";
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    private static final String ETAG = "\"1234\"";
+    private static final String GZIP = "gzip";
+
+    private transient ResponseDependencies dependencies;
+    private transient AtomicInteger dispatches;
+
+    @BeforeEach
+    void init() {
+        dependencies = new ResponseDependencies();
+        dispatches = new AtomicInteger();
+    }
+
+    @Test
+    void shouldServeRepeatedRequestFromCachedBytes() throws Exception {
+        // given
+        final ResponseCacheFilter filter = filter(false);
+        final FilterChain chain = trackedChain();
+
+        // when
+        final MockHttpServletResponse first = perform(filter, chain, request());
+        final MockHttpServletResponse second = perform(filter, chain, request());
+
+        // then
+        assertEquals(1, dispatches.get());
+        assertEquals(BODY, first.getContentAsString());
+        assertEquals(BODY, second.getContentAsString());
+        assertEquals(MediaType.APPLICATION_JSON_VALUE, second.getContentType());
+        assertEquals("1", second.getHeader(TOTAL_COUNT_HEADER));
+    }
+
+    @Test
+    void shouldDropCachedResponseWhenDependencyIsInvalidated() throws Exception {
+        // given
+        final ResponseCacheFilter filter = filter(false);
+        final FilterChain chain = trackedChain();
+        perform(filter, chain, request());
+
+        // when
+        dependencies.invalidate(DEPENDENCY);
+        perform(filter, chain, request());
+
+        // then
+        assertEquals(2, dispatches.get());
+    }
+
+    @Test
+    void shouldNotCacheResponseBuiltFromUntrackedData() throws Exception {
+        // given
+        final ResponseCacheFilter filter = filter(false);
+        final FilterChain chain = (request, response) -> {
+            dispatches.incrementAndGet();
+            dependencies.record(DEPENDENCY, true);
+            dependencies.untracked();
+            response.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+        };
+
+        // when
+        perform(filter, chain, request());
+        perform(filter, chain, request());
+
+        // then
+        assertEquals(2, dispatches.get());
+    }
+
+    @Test
+    void shouldKeyVariantsSeparatelyIgnoringParameterOrder() throws Exception {
+        // given
+        final ResponseCacheFilter filter = filter(false);
+        final FilterChain chain = trackedChain();
+        final MockHttpServletRequest projected = request();
+        projected.setParameter("fields", "id");
+        projected.setParameter("exclude", "body");
+        final MockHttpServletRequest reordered = request();
+        reordered.setParameter("exclude", "body");
+        reordered.setParameter("fields", "id");
+
+        // when
+        perform(filter, chain, request());
+        perform(filter, chain, projected);
+        perform(filter, chain, reordered);
+
+        // then
+        assertEquals(2, dispatches.get());
+    }
+
+    @Test
+    void shouldServePrecompressedBodyToClientsAcceptingGzip() throws Exception {
+        // given
+        final ResponseCacheFilter filter = filter(true);
+        final FilterChain chain = trackedChain();
+        perform(filter, chain, request());
+        final MockHttpServletRequest gzipRequest = request();
+        gzipRequest.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+
+        // when
+        final MockHttpServletResponse plain = perform(filter, chain, request());
+        final MockHttpServletResponse gzipped = perform(filter, chain, gzipRequest);
+
+        // then
+        assertEquals(1, dispatches.get());
+        assertNull(plain.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(BODY, plain.getContentAsString());
+        assertEquals(GZIP, gzipped.getHeader(HttpHeaders.CONTENT_ENCODING));
+        try (GZIPInputStream body = new GZIPInputStream(new ByteArrayInputStream(gzipped.getContentAsByteArray()))) {
+            assertEquals(BODY, new String(body.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void shouldRevalidateCachedResponseAgainstStoredTag() throws Exception {
+        // given
+        final ResponseCacheFilter filter = filter(true);
+        final FilterChain chain = (request, response) -> {
+            ((HttpServletResponse) response).setHeader(HttpHeaders.ETAG, ETAG);
+            trackedChain().doFilter(request, response);
+        };
+        perform(filter, chain, request());
+        final MockHttpServletRequest revalidation = request();
+        revalidation.addHeader(HttpHeaders.IF_NONE_MATCH, ETAG);
+        final MockHttpServletRequest gzipRevalidation = request();
+        gzipRevalidation.addHeader(HttpHeaders.IF_NONE_MATCH, ETAG);
+        gzipRevalidation.addHeader(HttpHeaders.ACCEPT_ENCODING, GZIP);
+
+        // when
+        final MockHttpServletResponse notModified = perform(filter, chain, revalidation);
+        final MockHttpServletResponse gzipped = perform(filter, chain, gzipRevalidation);
+
+        // then
+        assertEquals(1, dispatches.get());
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, notModified.getStatus());
+        assertEquals(ETAG, notModified.getHeader(HttpHeaders.ETAG));
+        assertEquals(0, notModified.getContentAsByteArray().length);
+        assertEquals(HttpServletResponse.SC_NOT_MODIFIED, gzipped.getStatus());
+        assertEquals(ResponseCompression.gzipTag(ETAG), gzipped.getHeader(HttpHeaders.ETAG));
+        assertEquals(0, gzipped.getContentAsByteArray().length);
+    }
+
+    @Test
+    void shouldCacheHeadersOfUncompressedBody() throws Exception {
+        // given
+        final ResponseCacheFilter filter = filter(false);
+        final FilterChain chain = (request, response) -> {
+            final HttpServletResponse http = (HttpServletResponse) response;
+            http.setHeader(HttpHeaders.ETAG, ResponseCompression.gzipTag(ETAG));
+            http.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+            http.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            trackedChain().doFilter(request, response);
+        };
+        perform(filter, chain, request());
+
+        // when
+        final MockHttpServletResponse hit = perform(filter, chain, request());
+
+        // then
+        assertEquals(1, dispatches.get());
+        assertEquals(ETAG, hit.getHeader(HttpHeaders.ETAG));
+        assertNull(hit.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertNull(hit.getHeader(HttpHeaders.VARY));
+    }
+
+    private ResponseCacheFilter filter(final boolean compress) {
+        final ResponseCompression compression = new ResponseCompression(compress, 1,
+                new String[]{MediaType.APPLICATION_JSON_VALUE}, new String[0]);
+        return new ResponseCacheFilter(dependencies, new SimpleMeterRegistry(), compression, 1 << 20, 1 << 16, 60_000,
+                new String[]{"/posts/**"}, new String[]{HttpHeaders.ACCEPT});
+    }
+
+    private FilterChain trackedChain() {
+        return (request, response) -> {
+            dispatches.incrementAndGet();
+            dependencies.record(DEPENDENCY, true);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            ((HttpServletResponse) response).setHeader(TOTAL_COUNT_HEADER, "1");
+            response.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private static MockHttpServletRequest request() {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", POST_PATH);
+        request.addHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+        return request;
+    }
+
+    private static MockHttpServletResponse perform(final ResponseCacheFilter filter, final FilterChain chain,
+                                                   final MockHttpServletRequest request) throws Exception {
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
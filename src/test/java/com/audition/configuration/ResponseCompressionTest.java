@@ -0,0 +1,90 @@
+package com.audition.configuration;
+
+import com.audition.BaseTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseCompressionTest extends BaseTest {
+
+    private static final String ETAG = "\"1234\"";
+
+    private final transient ResponseCompression compression = new ResponseCompression(true, 1024,
+            new String[]{"application/json", "application/*+json"}, new String[]{"/posts/*/comments"});
+
+    @Test
+    void shouldNegotiateGzipHonouringQualityValues() {
+        // when / then
+        assertTrue(ResponseCompression.acceptsGzip(request("gzip, deflate")));
+        assertTrue(ResponseCompression.acceptsGzip(request("br;q=1.0, gzip;q=0.8")));
+        assertTrue(ResponseCompression.acceptsGzip(request("*")));
+        assertFalse(ResponseCompression.acceptsGzip(request("gzip;q=0, *")));
+        assertFalse(ResponseCompression.acceptsGzip(request("gzip; q=0.0")));
+        assertFalse(ResponseCompression.acceptsGzip(request("identity")));
+        assertFalse(ResponseCompression.acceptsGzip(new MockHttpServletRequest("GET", "/posts")));
+    }
+
+    @Test
+    void shouldCompressOnlyConfiguredTypesAtThreshold() {
+        // when / then
+        assertTrue(compression.isCompressible("application/json;charset=UTF-8", 1024));
+        assertTrue(compression.isCompressible("application/problem+json", 4096));
+        assertFalse(compression.isCompressible("application/json", 1023));
+        assertFalse(compression.isCompressible("image/png", 4096));
+        assertFalse(compression.isCompressible("not a type", 4096));
+        assertFalse(compression.isCompressible(null, 4096));
+    }
+
+    @Test
+    void shouldNotApplyToExcludedRoutes() {
+        // when / then
+        assertTrue(compression.appliesTo(new MockHttpServletRequest("GET", "/posts/1")));
+        assertFalse(compression.appliesTo(new MockHttpServletRequest("GET", "/posts/1/comments")));
+        assertFalse(new ResponseCompression(false, 0, new String[]{"application/json"}, new String[0])
+                .appliesTo(new MockHttpServletRequest("GET", "/posts/1")));
+    }
+
+    @Test
+    void shouldDeriveVariantTagsFromStrongTagsOnly() {
+        // when
+        final String gzipTag = ResponseCompression.gzipTag(ETAG);
+
+        // then
+        assertEquals("\"1234-gzip\"", gzipTag);
+        assertEquals(gzipTag, ResponseCompression.gzipTag(gzipTag));
+        assertEquals(ETAG, ResponseCompression.identityTag(gzipTag));
+        assertEquals(ETAG, ResponseCompression.identityTag(ETAG));
+        assertEquals("W/\"1234\"", ResponseCompression.gzipTag("W/\"1234\""));
+        assertNull(ResponseCompression.gzipTag(null));
+    }
+
+    @Test
+    void shouldGzipBodies() throws Exception {
+        // given
+        final byte[] body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+
+        // when
+        final byte[] compressed = ResponseCompression.gzip(body);
+
+        // then
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertArrayEquals(body, input.readAllBytes());
+        }
+    }
+
+    private static MockHttpServletRequest request(final String acceptEncoding) {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/posts");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        return request;
+    }
+}
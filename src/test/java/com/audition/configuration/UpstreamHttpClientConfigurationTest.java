@@ -0,0 +1,64 @@
+package com.audition.configuration;
+
+import com.audition.BaseTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UpstreamHttpClientConfigurationTest extends BaseTest {
+
+    private static final int MAX_TOTAL = 20;
+    private static final int MAX_PER_ROUTE = 10;
+
+    private transient UpstreamHttpClientConfiguration configuration;
+    private transient PoolingHttpClientConnectionManager connectionManager;
+
+    @BeforeEach
+    void init() {
+        configuration = new UpstreamHttpClientConfiguration(1000, 1000, 1000, MAX_TOTAL, MAX_PER_ROUTE, 500, 30_000L, 60_000L);
+        connectionManager = configuration.upstreamConnectionManager();
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionManager.close();
+    }
+
+    @Test
+    void shouldCreateBoundedConnectionPool() {
+        assertEquals(MAX_TOTAL, connectionManager.getMaxTotal());
+        assertEquals(MAX_PER_ROUTE, connectionManager.getDefaultMaxPerRoute());
+    }
+
+    @Test
+    void shouldCreatePooledRequestFactory() {
+        // when
+        final var requestFactory = configuration.upstreamRequestFactory(configuration.upstreamHttpClient(connectionManager));
+
+        // then
+        assertTrue(requestFactory instanceof HttpComponentsClientHttpRequestFactory);
+    }
+
+    @Test
+    void shouldRegisterPoolMetrics() {
+        // given
+        final var registry = new SimpleMeterRegistry();
+
+        // when
+        configuration.upstreamConnectionPoolMetrics(connectionManager).bindTo(registry);
+
+        // then
+        final var max = registry.find("httpcomponents.httpclient.pool.total.max").gauge();
+        assertNotNull(max);
+        assertEquals(MAX_TOTAL, max.value());
+        assertNotNull(registry.find("httpcomponents.httpclient.pool.total.connections").tag("state", "leased").gauge());
+        assertNotNull(registry.find("httpcomponents.httpclient.pool.total.pending").gauge());
+    }
+}
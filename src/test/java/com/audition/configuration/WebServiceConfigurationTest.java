@@ -8,6 +8,7 @@ import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 
 import java.text.SimpleDateFormat;
 import java.time.LocalDate;
@@ -17,6 +18,7 @@ import java.util.Date;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 
@@ -30,7 +32,7 @@ class WebServiceConfigurationTest extends BaseTest {
     void init() {
         interceptor = mock(RestTemplateRequestResponseLoggingInterceptor.class);
         errorHandler = mock(RestTemplateResponseErrorHandler.class);
-        configuration = new WebServiceConfiguration(interceptor, errorHandler);
+        configuration = new WebServiceConfiguration(interceptor, errorHandler, new SimpleClientHttpRequestFactory());
     }
 
     @Test
@@ -50,6 +52,7 @@ class WebServiceConfigurationTest extends BaseTest {
         assertFalse(objectMapper.getSerializationConfig().hasSerializationFeatures(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS.getMask()));
         assertFalse(objectMapper.getDeserializationConfig().hasDeserializationFeatures(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES.getMask()));
         assertFalse(objectMapper.getDeserializationConfig().hasDeserializationFeatures(DeserializationFeature.FAIL_ON_NULL_FOR_PRIMITIVES.getMask()));
+        assertNotNull(objectMapper.getSerializationConfig().getFilterProvider());
     }
 
     @Test
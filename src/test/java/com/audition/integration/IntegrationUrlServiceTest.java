@@ -6,6 +6,8 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest
@@ -71,6 +73,15 @@ class IntegrationUrlServiceTest {
         assertThat(actualUrl).isEqualTo(expectedUrl);
     }
 
+    @Test
+    void testGetAllCommentsUrlWithPagination() {
+        final String expectedUrl = baseUrl + COMMENTS_PATH + QUERY_START_PARAM + DEFAULT_PAGE + QUERY_LIMIT_PARAM + DEFAULT_SIZE;
+
+        final String actualUrl = urlService.getAllCommentsUrl(DEFAULT_PAGE, DEFAULT_SIZE); // Use constants
+
+        assertThat(actualUrl).isEqualTo(expectedUrl);
+    }
+
     @Test
     void testGetCommentUrl() {
         final String expectedUrl = baseUrl + COMMENTS_PATH + "/" + DEFAULT_POST_ID; // Use constant
@@ -79,4 +90,22 @@ class IntegrationUrlServiceTest {
 
         assertThat(actualUrl).isEqualTo(expectedUrl);
     }
+
+    @Test
+    void testGetPostsByIdsUrlRepeatsIdParameter() {
+        final String expectedUrl = baseUrl + POSTS_PATH + "?&id=1&id=2&id=3";
+
+        final String actualUrl = urlService.getPostsByIdsUrl(List.of(1, 2, 3));
+
+        assertThat(actualUrl).isEqualTo(expectedUrl);
+    }
+
+    @Test
+    void testGetCommentsByPostIdsUrlRepeatsPostIdParameter() {
+        final String expectedUrl = baseUrl + COMMENTS_PATH + "?&postId=4&postId=5";
+
+        final String actualUrl = urlService.getCommentsByPostIdsUrl(List.of(4, 5));
+
+        assertThat(actualUrl).isEqualTo(expectedUrl);
+    }
 }
@@ -0,0 +1,96 @@
+package com.audition.integration;
+
+import com.audition.BaseTest;
+import com.audition.model.AuditionComment;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonArrayResponseExtractorTest extends BaseTest {
+
+    private static final String ETAG = "\"v1\"";
+
+    private transient JsonArrayResponseExtractor<AuditionComment> extractor;
+
+    @BeforeEach
+    void init() {
+        extractor = new JsonArrayResponseExtractor<>(new ObjectMapper(), AuditionComment.class);
+    }
+
+    @Test
+    void shouldDecodeElementsSkippingNulls() throws IOException {
+        // given
+        final var response = response("[{\"postId\":1,\"id\":1,\"email\":\"a@example.com\"},null,{\"postId\":1,\"id\":2}]",
+                HttpStatus.OK);
+
+        // when
+        final var decoded = extractor.extractData(response);
+
+        // then
+        final List<AuditionComment> comments = decoded.getBody();
+        assertEquals(2, comments.size());
+        assertEquals(1, comments.get(0).getId());
+        assertEquals("a@example.com", comments.get(0).getEmail());
+        assertEquals(2, comments.get(1).getId());
+        assertEquals(ETAG, decoded.getHeaders().getETag());
+    }
+
+    @Test
+    void shouldBindOnlyProjectedFieldsOfMatchingElements() throws IOException {
+        // given
+        final var projected = new JsonArrayResponseExtractor<>(new ObjectMapper(), AuditionComment.class,
+                JsonProjection.of(Set.of("id", "email")).where("name", name -> name != null && name.startsWith("keep")));
+        final var response = response("[{\"id\":1,\"name\":\"keep me\",\"email\":\"a@example.com\",\"body\":\"text\"},"
+                + "{\"id\":2,\"name\":\"drop me\",\"email\":\"b@example.com\",\"body\":{\"nested\":[1,2]}},"
+                + "{\"id\":3,\"email\":\"c@example.com\"},"
+                + "{\"email\":\"d@example.com\",\"body\":[null],\"name\":\"keep too\",\"id\":4}]", HttpStatus.OK);
+
+        // when
+        final List<AuditionComment> comments = projected.extractData(response).getBody();
+
+        // then
+        assertEquals(2, comments.size());
+        assertEquals(1, comments.get(0).getId());
+        assertEquals("a@example.com", comments.get(0).getEmail());
+        assertNull(comments.get(0).getName());
+        assertNull(comments.get(0).getBody());
+        assertEquals(4, comments.get(1).getId());
+        assertEquals("d@example.com", comments.get(1).getEmail());
+    }
+
+    @Test
+    void shouldReturnNoBodyWhenNotModified() throws IOException {
+        // when
+        final var decoded = extractor.extractData(response("", HttpStatus.NOT_MODIFIED));
+
+        // then
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), decoded.getStatusCode().value());
+        assertNull(decoded.getBody());
+    }
+
+    @Test
+    void shouldRejectBodyThatIsNotAnArray() {
+        // given
+        final var response = response("{\"id\":1}", HttpStatus.OK);
+
+        // when & then
+        assertThrows(IOException.class, () -> extractor.extractData(response));
+    }
+
+    private static MockClientHttpResponse response(final String body, final HttpStatus status) {
+        final var response = new MockClientHttpResponse(body.getBytes(UTF_8), status);
+        response.getHeaders().setETag(ETAG);
+        return response;
+    }
+}
@@ -0,0 +1,165 @@
+package com.audition.integration;
+
+import com.audition.BaseTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UpstreamBatchLoaderTest extends BaseTest {
+
+    private static final String BATCH_SIZE_METRIC = "audition.upstream.batch.size";
+    private static final long LONG_WINDOW = TimeUnit.SECONDS.toNanos(5);
+
+    private transient SimpleMeterRegistry meterRegistry;
+    private transient List<Set<Integer>> batches;
+    private transient ExecutorService executor;
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        batches = new CopyOnWriteArrayList<>();
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldMergeConcurrentLoadsIntoOneCall() throws Exception {
+        // given
+        final UpstreamBatchLoader<Integer, String> loader = loader(ids -> ids.stream()
+                .filter(id -> id != 3)
+                .collect(Collectors.toMap(Function.identity(), id -> "value " + id)), 3, LONG_WINDOW);
+        final CountDownLatch start = new CountDownLatch(1);
+
+        // when
+        final List<Future<String>> results = new ArrayList<>();
+        for (final int id : List.of(1, 2, 3)) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return loader.load(id);
+            }));
+        }
+        start.countDown();
+
+        // then
+        assertEquals("value 1", results.get(0).get(2, TimeUnit.SECONDS));
+        assertEquals("value 2", results.get(1).get(2, TimeUnit.SECONDS));
+        assertNull(results.get(2).get(2, TimeUnit.SECONDS));
+        assertEquals(List.of(Set.of(1, 2, 3)), batches);
+        assertEquals(3.0, meterRegistry.get(BATCH_SIZE_METRIC).summary().totalAmount());
+    }
+
+    @Test
+    void shouldShareOneFetchBetweenLoadsOfSameKey() throws Exception {
+        // given
+        final UpstreamBatchLoader<Integer, String> loader = loader(ids -> ids.stream()
+                .collect(Collectors.toMap(Function.identity(), id -> "value " + id)), 2, LONG_WINDOW);
+        final FutureTask<String> opener = new FutureTask<>(() -> loader.load(1));
+        final FutureTask<String> duplicate = new FutureTask<>(() -> loader.load(1));
+
+        // when
+        awaitParked(start(opener));
+        awaitParked(start(duplicate));
+        final String value = loader.load(2);
+
+        // then
+        assertEquals("value 2", value);
+        assertEquals("value 1", opener.get(2, TimeUnit.SECONDS));
+        assertEquals("value 1", duplicate.get(2, TimeUnit.SECONDS));
+        assertEquals(List.of(Set.of(1, 2)), batches);
+        assertEquals(2.0, meterRegistry.get(BATCH_SIZE_METRIC).summary().totalAmount());
+    }
+
+    @Test
+    void shouldFetchLoneLoadAfterWindow() {
+        // given
+        final UpstreamBatchLoader<Integer, String> loader = loader(ids -> Map.of(7, "seven"), 50, TimeUnit.MILLISECONDS.toNanos(1));
+
+        // when
+        final String value = loader.load(7);
+
+        // then
+        assertEquals("seven", value);
+        assertEquals(List.of(Set.of(7)), batches);
+    }
+
+    @Test
+    void shouldFailEveryLoadOfFailedBatch() {
+        // given
+        final IllegalStateException failure = new IllegalStateException("upstream down");
+        final UpstreamBatchLoader<Integer, String> loader = loader(ids -> {
+            throw failure;
+        }, 1, LONG_WINDOW);
+
+        // when
+        final IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> loader.load(1));
+
+        // then
+        assertSame(failure, thrown);
+    }
+
+    @Test
+    void shouldKeepMinimumWindowForLoneLoads() {
+        // given
+        final long maxWindow = TimeUnit.MILLISECONDS.toNanos(4);
+        final UpstreamBatchLoader<Integer, String> loader = new UpstreamBatchLoader<>("test", ids -> Map.of(),
+                50, 1000, maxWindow, meterRegistry);
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            loader.load(i);
+        }
+
+        // then
+        final double window = meterRegistry.get("audition.upstream.batch.window").timeGauge().value(TimeUnit.NANOSECONDS);
+        assertTrue(window < maxWindow);
+        assertEquals(1000.0, window);
+    }
+
+    private static Thread start(final FutureTask<String> task) {
+        final Thread thread = new Thread(task);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private static void awaitParked(final Thread thread) throws InterruptedException {
+        // A loading thread parks only once it has joined its batch: the opener on the window, the others on their result
+        while (thread.getState() != Thread.State.WAITING && thread.getState() != Thread.State.TIMED_WAITING) {
+            Thread.sleep(1);
+        }
+    }
+
+    private UpstreamBatchLoader<Integer, String> loader(final Function<Set<Integer>, Map<Integer, String>> fetch,
+                                                        final int maxBatchSize, final long window) {
+        return new UpstreamBatchLoader<>("test", ids -> {
+            batches.add(Set.copyOf(ids));
+            return fetch.apply(ids);
+        }, maxBatchSize, window, window, meterRegistry);
+    }
+}
@@ -0,0 +1,90 @@
+package com.audition.integration;
+
+import com.audition.BaseTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UpstreamFanOutTest extends BaseTest {
+
+    private static final int MAX_PARALLELISM = 3;
+
+    private transient ExecutorService executor;
+    private transient UpstreamFanOut fanOut;
+
+    @BeforeEach
+    void init() {
+        executor = Executors.newFixedThreadPool(8);
+        fanOut = new UpstreamFanOut(executor, MAX_PARALLELISM);
+    }
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldReturnFoundValuesInKeyOrder() {
+        // given
+        final List<Integer> ids = List.of(5, 2, 7, 2, 4);
+
+        // when
+        final Map<Integer, String> found = fanOut.fetchAll(ids, id -> id % 2 == 0 ? "value " + id : null);
+
+        // then
+        assertEquals(List.of(2, 4), List.copyOf(found.keySet()));
+        assertEquals("value 4", found.get(4));
+    }
+
+    @Test
+    void shouldBoundLookupsInFlight() {
+        // given
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger peak = new AtomicInteger();
+        final AtomicInteger calls = new AtomicInteger();
+
+        // when
+        fanOut.fetchAll(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), id -> {
+            calls.incrementAndGet();
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            inFlight.decrementAndGet();
+            return id;
+        });
+
+        // then
+        assertEquals(10, calls.get());
+        assertTrue(peak.get() <= MAX_PARALLELISM);
+    }
+
+    @Test
+    void shouldRethrowLookupFailure() {
+        // given
+        final IllegalStateException failure = new IllegalStateException("upstream down");
+
+        // when
+        final IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> fanOut.fetchAll(List.of(1, 2, 3, 4), id -> {
+            if (id == 3) {
+                throw failure;
+            }
+            return id;
+        }));
+
+        // then
+        assertEquals(failure, thrown);
+    }
+}
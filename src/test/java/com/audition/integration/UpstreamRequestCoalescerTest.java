@@ -0,0 +1,178 @@
+package com.audition.integration;
+
+import com.audition.BaseTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UpstreamRequestCoalescerTest extends BaseTest {
+
+    private static final String URL = "http://upstream.test/posts/1";
+    private static final String REQUESTS_METRIC = "audition.upstream.requests";
+
+    private transient SimpleMeterRegistry meterRegistry;
+    private transient UpstreamRequestCoalescer coalescer;
+    private transient ExecutorService executor;
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new UpstreamRequestCoalescer(meterRegistry);
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldShareInFlightCallBetweenConcurrentCallers() throws Exception {
+        // given
+        final var started = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        final var calls = new AtomicInteger();
+        final var result = randomString();
+
+        // when
+        final Future<String> leader = executor.submit(() -> coalescer.execute(URL, () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            await(release);
+            return result;
+        }));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        final Future<String> follower = executor.submit(() -> coalescer.execute(URL, () -> {
+            calls.incrementAndGet();
+            return randomString();
+        }));
+        awaitCount("coalesced", 1);
+        release.countDown();
+
+        // then
+        assertSame(result, leader.get(1, TimeUnit.SECONDS));
+        assertSame(result, follower.get(1, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void shouldPropagateFailureToCoalescedCallers() throws Exception {
+        // given
+        final var started = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        final var failure = new IllegalStateException(randomString());
+
+        // when
+        final Future<Object> leader = executor.submit(() -> coalescer.execute(URL, () -> {
+            started.countDown();
+            await(release);
+            throw failure;
+        }));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        final Future<Object> follower = executor.submit(() -> coalescer.execute(URL, Object::new));
+        awaitCount("coalesced", 1);
+        release.countDown();
+
+        // then
+        final var leaderFailure = assertThrows(Exception.class, () -> leader.get(1, TimeUnit.SECONDS));
+        final var followerFailure = assertThrows(Exception.class, () -> follower.get(1, TimeUnit.SECONDS));
+        assertSame(failure, leaderFailure.getCause());
+        assertSame(failure, followerFailure.getCause());
+    }
+
+    @Test
+    void shouldPropagateErrorToCoalescedCallers() throws Exception {
+        // given
+        final var started = new CountDownLatch(1);
+        final var release = new CountDownLatch(1);
+        final var error = new AssertionError(randomString());
+
+        // when
+        final Future<Object> leader = executor.submit(() -> coalescer.execute(URL, () -> {
+            started.countDown();
+            await(release);
+            throw error;
+        }));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        final Future<Object> follower = executor.submit(() -> coalescer.execute(URL, Object::new));
+        awaitCount("coalesced", 1);
+        release.countDown();
+
+        // then
+        final var leaderFailure = assertThrows(Exception.class, () -> leader.get(1, TimeUnit.SECONDS));
+        final var followerFailure = assertThrows(Exception.class, () -> follower.get(1, TimeUnit.SECONDS));
+        assertSame(error, leaderFailure.getCause());
+        assertSame(error, followerFailure.getCause());
+    }
+
+    @Test
+    void shouldExecuteAgainOnceCallCompleted() {
+        // given
+        final var calls = new AtomicInteger();
+
+        // when
+        coalescer.execute(URL, calls::incrementAndGet);
+        coalescer.execute(URL, calls::incrementAndGet);
+
+        // then
+        assertEquals(2, calls.get());
+        assertEquals(2.0, meterRegistry.get(REQUESTS_METRIC).tag("outcome", "executed").counter().count());
+    }
+
+    @Test
+    void shouldShareInFlightReactiveCall() {
+        // given
+        final Sinks.One<String> upstream = Sinks.one();
+        final var subscriptions = new AtomicInteger();
+        final Mono<String> first = coalescer.executeReactive(URL,
+                () -> upstream.asMono().doOnSubscribe(subscription -> subscriptions.incrementAndGet()));
+        final Mono<String> second = coalescer.executeReactive(URL, () -> Mono.just(randomString()));
+        final var result = randomString();
+
+        // when
+        final var firstResult = first.toFuture();
+        final var secondResult = second.toFuture();
+        upstream.tryEmitValue(result);
+
+        // then
+        assertEquals(result, firstResult.join());
+        assertEquals(result, secondResult.join());
+        assertEquals(1, subscriptions.get());
+        StepVerifier.create(coalescer.executeReactive(URL, () -> Mono.just(URL)))
+                .expectNext(URL)
+                .verifyComplete();
+    }
+
+    private void awaitCount(final String outcome, final double expected) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (meterRegistry.get(REQUESTS_METRIC).tag("outcome", outcome).counter().count() < expected
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
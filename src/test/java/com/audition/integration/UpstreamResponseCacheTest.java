@@ -0,0 +1,290 @@
+package com.audition.integration;
+
+import com.audition.BaseTest;
+import com.audition.common.exception.ClientException;
+import com.audition.common.exception.IntegrationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UpstreamResponseCacheTest extends BaseTest {
+
+    private static final String URL = "http://upstream.test/posts/1";
+
+    private transient SimpleMeterRegistry meterRegistry;
+    private transient UpstreamResponseCache cache;
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new UpstreamResponseCache(meterRegistry, Runnable::run, new ResponseDependencies(), 1000, 60_000, 60_000, 60_000, 0, 0, 0);
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromCache() {
+        // given
+        final var loads = new AtomicInteger();
+        final var response = ResponseEntity.ok(randomString());
+
+        // when
+        final var first = cache.get(CacheRegion.POSTS, URL, validator -> {
+            loads.incrementAndGet();
+            return response;
+        });
+        final var second = cache.get(CacheRegion.POSTS, URL, validator -> {
+            loads.incrementAndGet();
+            return ResponseEntity.ok(randomString());
+        });
+
+        // then
+        assertSame(response, first);
+        assertSame(response, second);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void shouldNotCacheFailedOrEmptyResponses() {
+        // given
+        final var loads = new AtomicInteger();
+
+        // when
+        assertThrows(IllegalStateException.class, () -> cache.get(CacheRegion.COMMENTS, URL, validator -> {
+            loads.incrementAndGet();
+            throw new IllegalStateException();
+        }));
+        cache.get(CacheRegion.COMMENTS, URL, validator -> {
+            loads.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+        });
+        cache.get(CacheRegion.COMMENTS, URL, validator -> {
+            loads.incrementAndGet();
+            return ResponseEntity.ok(randomString());
+        });
+
+        // then
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void shouldExpireEntriesAfterRegionTimeToLive() {
+        // given
+        cache = new UpstreamResponseCache(meterRegistry, Runnable::run, new ResponseDependencies(), 1000, 60_000, 0, 0, 0, 0, 0);
+        final var loads = new AtomicInteger();
+
+        // when
+        cache.get(CacheRegion.COMMENTS, URL, validator -> ResponseEntity.ok(loads.incrementAndGet()));
+        cache.get(CacheRegion.COMMENTS, URL, validator -> ResponseEntity.ok(loads.incrementAndGet()));
+
+        // then
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldServeReactiveLookupsFromCache() {
+        // given
+        final var loads = new AtomicInteger();
+        final var body = randomString();
+
+        // when / then
+        StepVerifier.create(cache.getReactive(CacheRegion.POSTS, URL, validator -> Mono.fromSupplier(() -> {
+                    loads.incrementAndGet();
+                    return ResponseEntity.ok(body);
+                })))
+                .expectNextMatches(response -> body.equals(response.getBody()))
+                .verifyComplete();
+        StepVerifier.create(cache.getReactive(CacheRegion.POSTS, URL, validator -> Mono.fromSupplier(() -> {
+                    loads.incrementAndGet();
+                    return ResponseEntity.ok(randomString());
+                })))
+                .expectNextMatches(response -> body.equals(response.getBody()))
+                .verifyComplete();
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void shouldRenewStaleEntryOnNotModified() {
+        // given
+        cache = new UpstreamResponseCache(meterRegistry, Runnable::run, new ResponseDependencies(), 1000, 0, 0, 60_000, 0, 0, 0);
+        final var etag = "\"" + randomString() + "\"";
+        final var response = ResponseEntity.ok().eTag(etag).body(randomString());
+        cache.get(CacheRegion.POSTS, URL, validator -> response);
+        final var validators = new ArrayList<String>();
+
+        // when
+        final var revalidated = cache.get(CacheRegion.POSTS, URL, validator -> {
+            validators.add(validator);
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).<String>build();
+        });
+
+        // then
+        assertEquals(List.of(etag), validators);
+        assertSame(response, revalidated);
+        assertEquals(1.0, meterRegistry.get("audition.upstream.revalidations").tag("outcome", "not-modified").counter().count());
+    }
+
+    @Test
+    void shouldReplaceStaleEntryWhenModified() {
+        // given
+        cache = new UpstreamResponseCache(meterRegistry, Runnable::run, new ResponseDependencies(), 1000, 0, 0, 60_000, 0, 0, 0);
+        cache.get(CacheRegion.POSTS, URL, validator -> ResponseEntity.ok().eTag("\"v1\"").body(randomString()));
+        final var replacement = ResponseEntity.ok().eTag("\"v2\"").body(randomString());
+
+        // when
+        final var revalidated = cache.get(CacheRegion.POSTS, URL, validator -> replacement);
+
+        // then
+        assertSame(replacement, revalidated);
+        assertEquals(1.0, meterRegistry.get("audition.upstream.revalidations").tag("outcome", "modified").counter().count());
+    }
+
+    @Test
+    void shouldNotCountUnconditionalReloadAsRevalidation() {
+        // given
+        cache = new UpstreamResponseCache(meterRegistry, Runnable::run, new ResponseDependencies(), 1000, 0, 0, 60_000, 0, 0, 0);
+        cache.get(CacheRegion.POSTS, URL, validator -> ResponseEntity.ok(randomString()));
+        final var replacement = ResponseEntity.ok(randomString());
+
+        // when
+        final var reloaded = cache.get(CacheRegion.POSTS, URL, validator -> replacement);
+
+        // then
+        assertSame(replacement, reloaded);
+        assertEquals(0.0, meterRegistry.get("audition.upstream.revalidations").tag("outcome", "modified").counter().count());
+    }
+
+    @Test
+    void shouldHonourUpstreamCacheControl() {
+        // given
+        final var loads = new AtomicInteger();
+
+        // when
+        cache.get(CacheRegion.POSTS, URL, validator -> ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(loads.incrementAndGet()));
+        cache.get(CacheRegion.POSTS, URL, validator -> ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(loads.incrementAndGet()));
+
+        // then
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldAddConditionalHeadersOnlyWhenRevalidating() {
+        assertTrue(UpstreamResponseCache.conditionalHeaders(null).isEmpty());
+        assertEquals(List.of("\"v1\""), UpstreamResponseCache.conditionalHeaders("\"v1\"").getIfNoneMatch());
+    }
+
+    @Test
+    void shouldServeStaleWhileRefreshingInBackground() {
+        // given
+        cache = new UpstreamResponseCache(meterRegistry, Runnable::run, new ResponseDependencies(), 1000, 0, 0, 0, 60_000, 0, 0);
+        final var original = ResponseEntity.ok(randomString());
+        final var refreshed = ResponseEntity.ok(randomString());
+        cache.get(CacheRegion.POSTS, URL, validator -> original);
+
+        // when
+        final var stale = cache.get(CacheRegion.POSTS, URL, validator -> refreshed);
+        final var next = cache.get(CacheRegion.POSTS, URL, validator -> ResponseEntity.ok(randomString()));
+
+        // then
+        assertSame(original, stale);
+        assertSame(refreshed, next);
+        assertEquals(2.0, meterRegistry.get("audition.upstream.stale-served").tag("reason", "revalidating").counter().count());
+    }
+
+    @Test
+    void shouldKeepStaleResponseWhenBackgroundRefreshFails() {
+        // given
+        cache = new UpstreamResponseCache(meterRegistry, Runnable::run, new ResponseDependencies(), 1000, 0, 0, 0, 60_000, 0, 0);
+        final var original = ResponseEntity.ok(randomString());
+        cache.get(CacheRegion.POSTS, URL, validator -> original);
+
+        // when
+        cache.get(CacheRegion.POSTS, URL, validator -> {
+            throw new IntegrationException(randomString(), HttpStatus.SERVICE_UNAVAILABLE.value());
+        });
+        final var next = cache.get(CacheRegion.POSTS, URL, validator -> ResponseEntity.ok(randomString()));
+
+        // then
+        assertSame(original, next);
+    }
+
+    @Test
+    void shouldServeStaleResponseWhenUpstreamFails() {
+        // given
+        cache = new UpstreamResponseCache(meterRegistry, Runnable::run, new ResponseDependencies(), 1000, 0, 0, 0, 0, 60_000, 0);
+        final var original = ResponseEntity.ok(randomString());
+        cache.get(CacheRegion.POSTS, URL, validator -> original);
+
+        // when
+        final var served = cache.get(CacheRegion.POSTS, URL, validator -> {
+            throw new IntegrationException(randomString(), HttpStatus.SERVICE_UNAVAILABLE.value());
+        });
+
+        // then
+        assertSame(original, served);
+        assertEquals(1.0, meterRegistry.get("audition.upstream.stale-served").tag("reason", "upstream-error").counter().count());
+    }
+
+    @Test
+    void shouldNotMaskClientErrorsWithStaleResponse() {
+        // given
+        cache = new UpstreamResponseCache(meterRegistry, Runnable::run, new ResponseDependencies(), 1000, 0, 0, 0, 0, 60_000, 0);
+        cache.get(CacheRegion.POSTS, URL, validator -> ResponseEntity.ok(randomString()));
+
+        // when / then
+        assertThrows(ClientException.class, () -> cache.get(CacheRegion.POSTS, URL, validator -> {
+            throw new ClientException(randomString(), HttpStatus.NOT_FOUND.value());
+        }));
+    }
+
+    @Test
+    void shouldRefreshHotEntriesAheadOfExpiry() {
+        // given
+        cache = new UpstreamResponseCache(meterRegistry, Runnable::run, new ResponseDependencies(), 1000, 60_000, 60_000, 0, 0, 0, 1e15);
+        final var original = cache.get(CacheRegion.POSTS, URL, validator -> ResponseEntity.ok(randomString()));
+        final var refreshed = ResponseEntity.ok(randomString());
+
+        // when
+        final var served = cache.get(CacheRegion.POSTS, URL, validator -> refreshed);
+        final var next = cache.get(CacheRegion.POSTS, URL, validator -> ResponseEntity.ok(randomString()));
+
+        // then
+        assertSame(original, served);
+        assertSame(refreshed, next);
+    }
+
+    @Test
+    void shouldTrackServedUrlsAndInvalidateReplacedOnes() {
+        // given
+        final var dependencies = new ResponseDependencies();
+        final var invalidated = new ArrayList<String>();
+        dependencies.onInvalidation(invalidated::add);
+        cache = new UpstreamResponseCache(meterRegistry, Runnable::run, dependencies, 1000, 60_000, 60_000, 0, 0, 0, 1e15);
+
+        // when
+        final var recording = dependencies.begin();
+        cache.get(CacheRegion.POSTS, URL, validator -> ResponseEntity.ok(randomString()));
+        dependencies.end();
+        cache.get(CacheRegion.POSTS, URL, validator -> ResponseEntity.ok(randomString()));
+
+        // then
+        assertTrue(recording.isCacheable());
+        assertEquals(Set.of(URL), recording.keys());
+        assertEquals(List.of(URL), invalidated);
+    }
+}
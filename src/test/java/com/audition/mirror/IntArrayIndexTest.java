@@ -0,0 +1,128 @@
+package com.audition.mirror;
+
+import com.audition.BaseTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntArrayIndexTest extends BaseTest {
+
+    @Test
+    void shouldGroupValuesByKeyInInsertionOrder() {
+        // given
+        final int[] keys = {3, 1, 3, 2, 3, 1};
+        final int[] values = {0, 1, 2, 3, 4, 5};
+
+        // when
+        final IntArrayIndex index = IntArrayIndex.build(keys, values);
+
+        // then
+        assertEquals(3, index.size());
+        assertEquals(6, index.valueCount());
+        assertEquals(List.of(0, 2, 4), read(index, 3, null, null));
+        assertEquals(List.of(1, 5), read(index, 1, null, null));
+        assertEquals(List.of(3), read(index, 2, null, null));
+        assertEquals(3, index.count(3));
+    }
+
+    @Test
+    void shouldReturnMissingForAbsentKeys() {
+        // given
+        final IntArrayIndex index = IntArrayIndex.build(new int[]{1, 2}, new int[]{10, 20});
+
+        // when / then
+        assertEquals(-1, index.first(3, -1));
+        assertEquals(0, index.count(Integer.MIN_VALUE));
+        assertEquals(List.of(), read(index, 42, null, null));
+        assertEquals(20, index.first(2, -1));
+    }
+
+    @Test
+    void shouldPageThroughValuesLikeUpstreamOffsets() {
+        // given
+        final IntArrayIndex index = IntArrayIndex.build(new int[]{7, 7, 7, 7, 7}, new int[]{0, 1, 2, 3, 4});
+
+        // when / then
+        assertEquals(List.of(1, 2), read(index, 7, 1, 2));
+        assertEquals(List.of(3, 4), read(index, 7, 3, 10));
+        assertEquals(List.of(), read(index, 7, 5, 2));
+        assertEquals(List.of(), read(index, 7, 0, 0));
+        assertEquals(List.of(0, 1, 2, 3, 4), read(index, 7, -1, null));
+    }
+
+    @Test
+    void shouldSeekToFirstValueNotBelowBound() {
+        // given
+        final IntArrayIndex index = IntArrayIndex.build(new int[]{7, 8, 7, 7, 8, 7}, new int[]{0, 1, 2, 4, 5, 9});
+
+        // when / then
+        assertEquals(List.of(0, 2), read(index.rangeFrom(7, Integer.MIN_VALUE, 2), index));
+        assertEquals(List.of(4, 9), read(index.rangeFrom(7, 3, 10), index));
+        assertEquals(List.of(4), read(index.rangeFrom(7, 4, 1), index));
+        assertEquals(List.of(), read(index.rangeFrom(7, 10, 5), index));
+        assertEquals(List.of(5), read(index.rangeFrom(8, 2, 5), index));
+        assertEquals(List.of(), read(index.rangeFrom(42, 0, 5), index));
+    }
+
+    @Test
+    void shouldHandleManyCollidingKeys() {
+        // given
+        final int count = 10_000;
+        final int[] keys = new int[count];
+        final int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = i * 1024;
+            values[i] = i;
+        }
+
+        // when
+        final IntArrayIndex index = IntArrayIndex.build(keys, values);
+
+        // then
+        for (int i = 0; i < count; i++) {
+            assertEquals(i, index.first(i * 1024, -1));
+        }
+        assertEquals(-1, index.first(1, -1));
+    }
+
+    @Test
+    void shouldBeSmallerThanBoxedEquivalent() {
+        // given
+        final int count = 1000;
+        final int[] keys = new int[count];
+        final int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = i % 100;
+            values[i] = i;
+        }
+
+        // when
+        final IntArrayIndex index = IntArrayIndex.build(keys, values);
+
+        // then
+        assertTrue(index.footprintBytes() < index.boxedFootprintBytes());
+    }
+
+    @Test
+    void shouldRejectInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> IntArrayIndex.build(new int[]{1}, new int[0]));
+        assertThrows(IllegalArgumentException.class, () -> IntArrayIndex.build(new int[]{Integer.MIN_VALUE}, new int[]{1}));
+    }
+
+    private static List<Integer> read(final IntArrayIndex index, final int key, final Integer offset, final Integer limit) {
+        return read(index.range(key, offset, limit), index);
+    }
+
+    private static List<Integer> read(final long range, final IntArrayIndex index) {
+        final List<Integer> values = new ArrayList<>();
+        for (int position = IntArrayIndex.from(range); position < IntArrayIndex.to(range); position++) {
+            values.add(index.value(position));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,147 @@
+package com.audition.mirror;
+
+import com.audition.BaseTest;
+import com.audition.common.exception.IntegrationException;
+import com.audition.integration.IIntegrationUrlService;
+import com.audition.integration.ResponseDependencies;
+import com.audition.model.AuditionComment;
+import com.audition.model.AuditionPost;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MirrorSynchronizerTest extends BaseTest {
+
+    private static final int PAGE_SIZE = 2;
+    private static final String POSTS_PAGE_0 = "posts?_start=0";
+    private static final String POSTS_PAGE_2 = "posts?_start=2";
+    private static final String COMMENTS_PAGE_0 = "comments?_start=0";
+
+    private final transient ObjectMapper objectMapper = new ObjectMapper();
+    private transient RestTemplate restTemplate;
+    private transient MirrorStore mirrorStore;
+    private transient MirrorSynchronizer synchronizer;
+
+    @BeforeEach
+    void init() {
+        restTemplate = mock(RestTemplate.class);
+        final IIntegrationUrlService urlService = mock(IIntegrationUrlService.class);
+        lenient().when(urlService.getPostsUrl(null, 0, PAGE_SIZE)).thenReturn(POSTS_PAGE_0);
+        lenient().when(urlService.getPostsUrl(null, 2, PAGE_SIZE)).thenReturn(POSTS_PAGE_2);
+        lenient().when(urlService.getAllCommentsUrl(0, PAGE_SIZE)).thenReturn(COMMENTS_PAGE_0);
+        final var meterRegistry = new SimpleMeterRegistry();
+        mirrorStore = new MirrorStore(meterRegistry, new ResponseDependencies(), 2);
+        synchronizer = new MirrorSynchronizer(restTemplate, urlService, mirrorStore, objectMapper, meterRegistry, PAGE_SIZE);
+    }
+
+    @Test
+    void shouldCrawlAllPagesIntoSnapshot() throws Exception {
+        // given
+        stubPosts(POSTS_PAGE_0, "\"p0\"", post(1, 1), null, post(2, 1));
+        stubPosts(POSTS_PAGE_2, "\"p2\"", post(3, 2));
+        stubComments(COMMENTS_PAGE_0, "\"c0\"", comment(1, 1));
+
+        // when
+        synchronizer.synchronize();
+
+        // then
+        final MirrorSnapshot snapshot = mirrorStore.current();
+        assertEquals(1, snapshot.version());
+        assertEquals(3, snapshot.posts().size());
+        assertEquals(2, snapshot.postsByUser(1).size());
+        assertEquals(1, snapshot.commentsByPost(1).size());
+    }
+
+    @Test
+    void shouldKeepSnapshotWhenUpstreamUnchanged() throws Exception {
+        // given
+        stubPosts(POSTS_PAGE_0, "\"p0\"", post(1, 1));
+        stubComments(COMMENTS_PAGE_0, "\"c0\"", comment(1, 1));
+        synchronizer.synchronize();
+        final MirrorSnapshot first = mirrorStore.current();
+        stubNotModified(POSTS_PAGE_0, "\"p0\"");
+        stubNotModified(COMMENTS_PAGE_0, "\"c0\"");
+
+        // when
+        synchronizer.synchronize();
+
+        // then
+        assertSame(first, mirrorStore.current());
+    }
+
+    @Test
+    void shouldKeepSnapshotWhenCrawlFails() throws Exception {
+        // given
+        stubPosts(POSTS_PAGE_0, "\"p0\"", post(1, 1));
+        stubComments(COMMENTS_PAGE_0, "\"c0\"", comment(1, 1));
+        synchronizer.synchronize();
+        final MirrorSnapshot first = mirrorStore.current();
+        when(restTemplate.execute(eq(POSTS_PAGE_0), eq(HttpMethod.GET), any(RequestCallback.class), any(ResponseExtractor.class)))
+                .thenThrow(new IntegrationException(randomString(), HttpStatus.BAD_GATEWAY.value()));
+
+        // when
+        synchronizer.synchronize();
+
+        // then
+        assertSame(first, mirrorStore.current());
+    }
+
+    private void stubPosts(final String url, final String etag, final AuditionPost... posts) throws Exception {
+        stubPage(url, etag, objectMapper.writeValueAsBytes(posts));
+    }
+
+    private void stubComments(final String url, final String etag, final AuditionComment... comments) throws Exception {
+        stubPage(url, etag, objectMapper.writeValueAsBytes(comments));
+    }
+
+    private void stubPage(final String url, final String etag, final byte[] body) {
+        when(restTemplate.execute(eq(url), eq(HttpMethod.GET), any(RequestCallback.class), any(ResponseExtractor.class)))
+                .thenAnswer(respond(etag, body));
+    }
+
+    private void stubNotModified(final String url, final String etag) {
+        when(restTemplate.execute(eq(url), eq(HttpMethod.GET), any(RequestCallback.class), any(ResponseExtractor.class)))
+                .thenAnswer(respond(etag, null));
+    }
+
+    // Runs the request callback and feeds the extractor the page body, or a 304 when the sent validator matches
+    private static Answer<Object> respond(final String etag, final byte[] body) {
+        return invocation -> {
+            final MockClientHttpRequest request = new MockClientHttpRequest();
+            invocation.<RequestCallback>getArgument(2).doWithRequest(request);
+            final MockClientHttpResponse response = body == null && List.of(etag).equals(request.getHeaders().getIfNoneMatch())
+                    ? new MockClientHttpResponse(new byte[0], HttpStatus.NOT_MODIFIED)
+                    : new MockClientHttpResponse(body == null ? new byte[0] : body, HttpStatus.OK);
+            response.getHeaders().set(HttpHeaders.ETAG, etag);
+            return invocation.<ResponseExtractor<?>>getArgument(3).extractData(response);
+        };
+    }
+
+    private static AuditionPost post(final int id, final int userId) {
+        return new AuditionPost(userId, id, "title " + id, "body " + id, List.of());
+    }
+
+    private static AuditionComment comment(final int id, final int postId) {
+        return new AuditionComment(postId, id, "name " + id, "user" + id + "@example.com", "body " + id);
+    }
+}
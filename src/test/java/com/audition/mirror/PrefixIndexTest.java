@@ -0,0 +1,47 @@
+package com.audition.mirror;
+
+import com.audition.BaseTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrefixIndexTest extends BaseTest {
+
+    @Test
+    void shouldCompletePrefixIgnoringCaseInLexicographicOrder() {
+        // given
+        final PrefixIndex index = PrefixIndex.build(new String[]{"qui est esse", "Qui neque", "eum et est", null, "qui est esse"});
+
+        // when / then
+        assertEquals(List.of("qui est esse", "Qui neque"), index.complete("QUI", 10));
+        assertEquals(List.of("qui est esse"), index.complete("qui", 1));
+        assertEquals(List.of("eum et est"), index.complete("e", 10));
+        assertTrue(index.complete("x", 10).isEmpty());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void shouldCompleteAcrossFrontCodedBlocks() {
+        // given
+        final String[] titles = IntStream.range(0, 100).mapToObj(i -> String.format("title %03d", i)).toArray(String[]::new);
+        final PrefixIndex index = PrefixIndex.build(titles);
+
+        // when
+        final List<String> completions = index.complete("title 04", 20);
+
+        // then
+        assertEquals(IntStream.range(40, 50).mapToObj(i -> String.format("title %03d", i)).toList(), completions);
+        assertEquals(List.of("title 099"), index.complete("title 099", 5));
+        assertTrue(index.complete("title 1000", 5).isEmpty());
+    }
+
+    @Test
+    void shouldReturnNothingForEmptyIndexOrLimit() {
+        assertTrue(PrefixIndex.build(new String[0]).complete("a", 10).isEmpty());
+        assertTrue(PrefixIndex.build(new String[]{"a"}).complete("a", 0).isEmpty());
+    }
+}
@@ -0,0 +1,60 @@
+package com.audition.mirror;
+
+import com.audition.BaseTest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrigramIndexTest extends BaseTest {
+
+    private static final String[] TITLES = {
+        "Sunt aut facere repellat",
+        "qui est esse",
+        null,
+        "ea molestias quasi exercitationem",
+        "eum et est occaecati",
+        "",
+    };
+
+    @Test
+    void shouldFindSubstringsIgnoringCase() {
+        // given
+        final TrigramIndex index = TrigramIndex.build(TITLES);
+
+        // when / then
+        assertArrayEquals(new int[]{0}, index.search("SUNT aut"));
+        assertArrayEquals(new int[]{1, 4}, index.search("est "));
+        assertArrayEquals(new int[]{3}, index.search("xercitat"));
+        assertTrue(index.gramCount() > 0);
+    }
+
+    @Test
+    void shouldVerifyCandidatesSharingAllGrams() {
+        // given
+        final TrigramIndex index = TrigramIndex.build(new String[]{"abcd bcde", "abcde"});
+
+        // when / then
+        assertArrayEquals(new int[]{1}, index.search("abcde"));
+    }
+
+    @Test
+    void shouldReturnNothingForUnknownGrams() {
+        // given
+        final TrigramIndex index = TrigramIndex.build(TITLES);
+
+        // when / then
+        assertArrayEquals(new int[0], index.search("zzz"));
+        assertArrayEquals(new int[0], index.search(randomString() + "#"));
+    }
+
+    @Test
+    void shouldScanForFragmentsShorterThanGram() {
+        // given
+        final TrigramIndex index = TrigramIndex.build(TITLES);
+
+        // when / then
+        assertArrayEquals(new int[]{3}, index.search("ea"));
+        assertArrayEquals(new int[]{0, 1, 3, 4, 5}, index.search(""));
+    }
+}
@@ -0,0 +1,61 @@
+package com.audition.query;
+
+import com.audition.BaseTest;
+import com.audition.model.AuditionComment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CommentQueryEngineTest extends BaseTest {
+
+    private transient AuditionComment[] comments;
+    private transient CommentQueryEngine engine;
+
+    @BeforeEach
+    void init() {
+        comments = new AuditionComment[]{
+            new AuditionComment(1, 1, "id labore ex et quam", "Eliseo@gardner.biz", "laudantium enim"),
+            new AuditionComment(1, 2, "quo vero reiciendis", "Jayne_Kuhic@sydney.com", "est natus enim"),
+            new AuditionComment(2, 3, "et omnis dolorem", "Hayden@althea.biz", "quia molestiae"),
+            new AuditionComment(2, 4, "alias odio sit", "Lew@alysha.tv", "non et atque"),
+        };
+        engine = new CommentQueryEngine(comments);
+    }
+
+    @Test
+    void shouldFilterByPostNameEmailAndBody() {
+        // when
+        final QueryPlan.Matches byPostAndName = engine.compile(query(Set.of(2), "ET", null, null, null)).execute(null, null);
+        final QueryPlan.Matches byEmail = engine.compile(query(null, null, "eliseo@GARDNER.biz", null, null)).execute(null, null);
+        final QueryPlan.Matches byBody = engine.compile(query(Set.of(1, 2), null, null, "enim", null)).execute(null, null);
+
+        // then
+        assertEquals(List.of(3), ids(byPostAndName));
+        assertEquals(List.of(1), ids(byEmail));
+        assertEquals(List.of(1, 2), ids(byBody));
+    }
+
+    @Test
+    void shouldSortByEmailDescending() {
+        // when
+        final QueryPlan.Matches matches = engine.compile(query(null, null, null, null, "-email")).execute(0, 3);
+
+        // then
+        assertEquals(List.of(4, 2, 3), ids(matches));
+        assertEquals(4, matches.total());
+    }
+
+    private List<Integer> ids(final QueryPlan.Matches matches) {
+        return Arrays.stream(matches.positions()).mapToObj(position -> comments[position].getId()).toList();
+    }
+
+    private static CommentQuery query(final Set<Integer> postIds, final String name, final String email, final String body,
+                                      final String sort) {
+        return new CommentQuery(postIds, name, email, body, null, null, sort);
+    }
+}
@@ -0,0 +1,90 @@
+package com.audition.query;
+
+import com.audition.BaseTest;
+import com.audition.common.exception.ClientException;
+import com.audition.model.AuditionPost;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PostQueryEngineTest extends BaseTest {
+
+    private transient AuditionPost[] posts;
+    private transient PostQueryEngine engine;
+
+    @BeforeEach
+    void init() {
+        posts = new AuditionPost[]{
+            post(1, 1, "Sunt aut facere", "quia et suscipit"),
+            post(2, 1, "Qui est esse", "est rerum tempore"),
+            post(3, 2, "Ea molestias quasi", "et iusto sed quo"),
+            post(4, 2, "Eum et est occaecati", "ullam et saepe"),
+            post(5, 3, "Nesciunt quas odio", "repudiandae veniam"),
+        };
+        engine = new PostQueryEngine(posts);
+    }
+
+    @Test
+    void shouldMatchAllPostsWithoutFilters() {
+        // when
+        final QueryPlan.Matches matches = engine.compile(query(null, null, null, null, null, null)).execute(null, null);
+
+        // then
+        assertEquals(List.of(1, 2, 3, 4, 5), ids(matches));
+        assertEquals(5, matches.total());
+    }
+
+    @Test
+    void shouldIntersectAllFilters() {
+        // when
+        final QueryPlan.Matches byUsersAndBody = engine.compile(query(Set.of(1, 2), null, "ET", null, null, null)).execute(null, null);
+        final QueryPlan.Matches byTitleAndRange = engine.compile(query(null, "est", null, 3, null, null)).execute(null, null);
+        final QueryPlan.Matches byUnknownTerm = engine.compile(query(null, "missing", null, null, null, null)).execute(null, null);
+
+        // then
+        assertEquals(List.of(1, 3, 4), ids(byUsersAndBody));
+        assertEquals(List.of(4), ids(byTitleAndRange));
+        assertEquals(0, byUnknownTerm.total());
+    }
+
+    @Test
+    void shouldSortAndPageMatches() {
+        // when
+        final QueryPlan.Matches byTitle = engine.compile(query(null, null, null, null, null, "title")).execute(1, 2);
+        final QueryPlan.Matches byIdDescending = engine.compile(query(null, null, null, 2, 4, "-id")).execute(0, 2);
+
+        // then
+        assertEquals(List.of(4, 5), ids(byTitle));
+        assertEquals(5, byTitle.total());
+        assertEquals(List.of(4, 3), ids(byIdDescending));
+        assertEquals(3, byIdDescending.total());
+    }
+
+    @Test
+    void shouldRejectUnknownSortField() {
+        // given
+        final PostQuery query = query(null, null, null, null, null, randomString());
+
+        // when / then
+        assertThrows(ClientException.class, () -> engine.compile(query));
+    }
+
+    private List<Integer> ids(final QueryPlan.Matches matches) {
+        return Arrays.stream(matches.positions()).mapToObj(position -> posts[position].getId()).toList();
+    }
+
+    private static PostQuery query(final Set<Integer> userIds, final String title, final String body,
+                                   final Integer minId, final Integer maxId, final String sort) {
+        return new PostQuery(userIds, title, body, minId, maxId, sort);
+    }
+
+    private static AuditionPost post(final int id, final int userId, final String title, final String body) {
+        return new AuditionPost(userId, id, title, body, List.of());
+    }
+}
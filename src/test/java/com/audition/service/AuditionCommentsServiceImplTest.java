@@ -2,10 +2,18 @@ package com.audition.service;
 
 import com.audition.BaseTest;
 import com.audition.integration.IIntegrationUrlService;
+import com.audition.integration.ResponseDependencies;
+import com.audition.integration.UpstreamBatcher;
+import com.audition.integration.UpstreamFanOut;
+import com.audition.integration.UpstreamRequestCoalescer;
+import com.audition.integration.UpstreamResponseCache;
 import com.audition.model.AuditionComment;
 import com.audition.common.exception.NoDataFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
 
 import java.util.List;
 
@@ -24,7 +32,12 @@ class AuditionCommentsServiceImplTest extends BaseTest {
     @BeforeEach
     void init() {
         urlService = mock(IIntegrationUrlService.class);
-        client = new AuditionCommentsServiceImpl(urlService);
+        client = new AuditionCommentsServiceImpl(new RestTemplate(), urlService,
+                new UpstreamRequestCoalescer(new SimpleMeterRegistry()),
+                new UpstreamResponseCache(new SimpleMeterRegistry(), Runnable::run, new ResponseDependencies(),
+                        1000, 60000, 60000, 60000, 0, 0, 0),
+                new UpstreamFanOut(Runnable::run, 4), new ObjectMapper(),
+                new UpstreamBatcher(false, 50, 50, 2000, new SimpleMeterRegistry()));
     }
 
     @Test
@@ -3,20 +3,34 @@ package com.audition.service;
 import com.audition.BaseTest;
 import com.audition.common.exception.NoDataFoundException;
 import com.audition.integration.IIntegrationUrlService;
+import com.audition.integration.ResponseDependencies;
+import com.audition.integration.UpstreamBatcher;
+import com.audition.integration.UpstreamFanOut;
+import com.audition.integration.UpstreamRequestCoalescer;
+import com.audition.integration.UpstreamResponseCache;
 import com.audition.model.AuditionComment;
 import com.audition.model.AuditionPost;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 class AuditionPostServiceImplTest extends BaseTest {
@@ -33,7 +47,15 @@ class AuditionPostServiceImplTest extends BaseTest {
     void init() {
         urlService = mock(IIntegrationUrlService.class);
         commentsClient = mock(IAuditionCommentsService.class);
-        client = new AuditionPostServiceImpl(commentsClient, urlService);
+        client = client(Runnable::run);
+    }
+
+    private AuditionPostServiceImpl client(final Executor upstreamExecutor) {
+        return new AuditionPostServiceImpl(new RestTemplate(), commentsClient, urlService, upstreamExecutor,
+                new UpstreamRequestCoalescer(new SimpleMeterRegistry()),
+                new UpstreamResponseCache(new SimpleMeterRegistry(), Runnable::run, new ResponseDependencies(),
+                        1000, 60000, 60000, 60000, 0, 0, 0), new ObjectMapper(),
+                new UpstreamFanOut(Runnable::run, 4), new UpstreamBatcher(false, 50, 50, 2000, new SimpleMeterRegistry()));
     }
 
     @Test
@@ -48,6 +70,20 @@ class AuditionPostServiceImplTest extends BaseTest {
         assertEquals(100, list.size());
     }
 
+    @Test
+    void shouldFilterAndProjectPostsWhileDecoding() {
+        final int userId = DEFAULT_USER_ID;
+        final int page = randomInt();
+        final int size = randomInt();
+
+        when(urlService.getPostsUrl(userId, page, size)).thenReturn(BASE_URL);
+
+        final List<AuditionPost> list = client.getPosts(userId, page, size, "DOLOR", Set.of("id", "title"));
+        assertTrue(list.size() > 0 && list.size() < 100);
+        assertTrue(list.stream().allMatch(post -> post.getTitle().contains("dolor") && post.getId() != null));
+        assertTrue(list.stream().allMatch(post -> post.getBody() == null && post.getUserId() == null));
+    }
+
     @Test
     void shouldThrowExceptionWhenRestClientExceptionOccurs() {
         final int userId = DEFAULT_USER_ID;
@@ -103,6 +139,42 @@ class AuditionPostServiceImplTest extends BaseTest {
         assertThrows(HttpClientErrorException.class, () -> client.getPostById(id, false, null, null));
     }
 
+    @Test
+    void shouldPreferPostFailureOverCommentsFailure() {
+        final int id = -1;
+
+        when(urlService.getPostByIdUrl(id)).thenReturn(BASE_URL + id);
+        when(commentsClient.getComments(id, null, null)).thenThrow(new NoDataFoundException("No comments found for post ID: " + id, 404));
+
+        final NoDataFoundException thrown = assertThrows(NoDataFoundException.class, () -> client.getPostById(id, true, null, null));
+        assertEquals("No post found for ID: " + id, thrown.getMessage());
+    }
+
+    @Test
+    void shouldPropagateCommentsFailureWhenPostExists() {
+        final int id = DEFAULT_COMMENT_ID;
+
+        when(urlService.getPostByIdUrl(id)).thenReturn(BASE_URL + id);
+        when(commentsClient.getComments(id, null, null)).thenThrow(new NoDataFoundException("No comments found for post ID: " + id, 404));
+
+        final NoDataFoundException thrown = assertThrows(NoDataFoundException.class, () -> client.getPostById(id, true, null, null));
+        assertEquals("No comments found for post ID: " + id, thrown.getMessage());
+    }
+
+    @Test
+    void shouldCancelCommentsCallWhenPostIsMissing() {
+        final int id = DEFAULT_COMMENT_ID;
+        final List<Runnable> queued = new ArrayList<>();
+        final AuditionPostServiceImpl queuingClient = client(queued::add);
+
+        when(urlService.getPostByIdUrl(id)).thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> assertThrows(HttpClientErrorException.class, () -> queuingClient.getPostById(id, true, null, null)));
+        queued.forEach(Runnable::run);
+        verifyNoInteractions(commentsClient);
+    }
+
     private List<AuditionComment> createSampleComments(final int postId) {
         final List<AuditionComment> comments = new ArrayList<>();
         comments.add(new AuditionComment(1, postId, "John Doe", "john@example.com", "This is a great post!"));
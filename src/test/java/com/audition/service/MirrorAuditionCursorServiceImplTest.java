@@ -0,0 +1,114 @@
+package com.audition.service;
+
+import com.audition.BaseTest;
+import com.audition.common.exception.ClientException;
+import com.audition.dto.CursorPage;
+import com.audition.integration.ResponseDependencies;
+import com.audition.mirror.MirrorCursor;
+import com.audition.mirror.MirrorStore;
+import com.audition.model.AuditionComment;
+import com.audition.model.AuditionPost;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MirrorAuditionCursorServiceImplTest extends BaseTest {
+
+    private transient MirrorStore mirrorStore;
+    private transient MirrorAuditionCursorServiceImpl service;
+
+    @BeforeEach
+    void init() {
+        mirrorStore = new MirrorStore(new SimpleMeterRegistry(), new ResponseDependencies(), 1);
+        service = new MirrorAuditionCursorServiceImpl(mirrorStore);
+    }
+
+    @Test
+    void shouldPageThroughPostsByCursor() {
+        // given
+        mirrorStore.publish(List.of(post(5, 1), post(1, 1), post(3, 2), post(4, 1), post(2, 1)), List.of());
+
+        // when
+        final CursorPage<AuditionPost> first = service.getPostsAfter(1, "", 2);
+        final CursorPage<AuditionPost> last = service.getPostsAfter(1, first.nextCursor(), 2);
+
+        // then
+        assertEquals(List.of(1, 2), ids(first.items(), AuditionPost::getId));
+        assertEquals(new MirrorCursor(1, 2), MirrorCursor.decode(first.nextCursor()));
+        assertEquals(List.of(4, 5), ids(last.items(), AuditionPost::getId));
+        assertNull(last.nextCursor());
+    }
+
+    @Test
+    void shouldKeepPagingTheSnapshotTheCursorWasIssuedOn() {
+        // given
+        mirrorStore.publish(List.of(post(1, 1), post(2, 1), post(3, 1)), List.of());
+        final String cursor = service.getPostsAfter(null, null, 1).nextCursor();
+        mirrorStore.publish(List.of(post(1, 1), post(2, 1), post(3, 1), post(4, 1)), List.of());
+
+        // when
+        final CursorPage<AuditionPost> page = service.getPostsAfter(null, cursor, 10);
+
+        // then
+        assertEquals(List.of(2, 3), ids(page.items(), AuditionPost::getId));
+    }
+
+    @Test
+    void shouldSeekPastLastIdOnCurrentSnapshotOnceCursorSnapshotIsDropped() {
+        // given
+        mirrorStore.publish(List.of(post(1, 1), post(2, 1), post(3, 1)), List.of());
+        final String cursor = service.getPostsAfter(null, null, 1).nextCursor();
+        mirrorStore.publish(List.of(post(2, 1), post(3, 1)), List.of());
+        mirrorStore.publish(List.of(post(3, 1), post(4, 1)), List.of());
+
+        // when
+        final CursorPage<AuditionPost> page = service.getPostsAfter(null, cursor, 10);
+
+        // then
+        assertEquals(List.of(3, 4), ids(page.items(), AuditionPost::getId));
+    }
+
+    @Test
+    void shouldPageThroughCommentsOfPostByCursor() {
+        // given
+        mirrorStore.publish(List.of(post(1, 1)), List.of(comment(7, 1), comment(2, 1), comment(3, 2), comment(5, 1)));
+
+        // when
+        final CursorPage<AuditionComment> first = service.getCommentsAfter(1, "", 2);
+        final CursorPage<AuditionComment> last = service.getCommentsAfter(1, first.nextCursor(), 2);
+
+        // then
+        assertEquals(List.of(2, 5), ids(first.items(), AuditionComment::getId));
+        assertEquals(List.of(7), ids(last.items(), AuditionComment::getId));
+        assertNull(last.nextCursor());
+    }
+
+    @Test
+    void shouldRejectMalformedCursors() {
+        // given
+        mirrorStore.publish(List.of(post(1, 1)), List.of());
+
+        // when / then
+        assertThrows(ClientException.class, () -> service.getPostsAfter(null, "not a cursor", 10));
+        assertThrows(ClientException.class, () -> service.getPostsAfter(null, "AAAA", 10));
+    }
+
+    private static <T> List<Integer> ids(final List<T> items, final Function<T, Integer> id) {
+        return items.stream().map(id).toList();
+    }
+
+    private static AuditionPost post(final int id, final int userId) {
+        return new AuditionPost(userId, id, "title " + id, "body " + id, List.of());
+    }
+
+    private static AuditionComment comment(final int id, final int postId) {
+        return new AuditionComment(postId, id, "name " + id, "user" + id + "@example.com", "body " + id);
+    }
+}
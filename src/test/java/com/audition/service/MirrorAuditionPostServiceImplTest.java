@@ -0,0 +1,125 @@
+package com.audition.service;
+
+import com.audition.BaseTest;
+import com.audition.common.exception.IntegrationException;
+import com.audition.common.exception.NoDataFoundException;
+import com.audition.dto.PagedResult;
+import com.audition.integration.ResponseDependencies;
+import com.audition.mirror.MirrorStore;
+import com.audition.model.AuditionComment;
+import com.audition.model.AuditionPost;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MirrorAuditionPostServiceImplTest extends BaseTest {
+
+    private transient MirrorStore mirrorStore;
+    private transient MirrorAuditionPostServiceImpl service;
+
+    @BeforeEach
+    void init() {
+        mirrorStore = new MirrorStore(new SimpleMeterRegistry(), new ResponseDependencies(), 2);
+        service = new MirrorAuditionPostServiceImpl(mirrorStore);
+    }
+
+    @Test
+    void shouldFailUntilFirstSynchronisation() {
+        assertThrows(IntegrationException.class, () -> service.getPosts(null, 0, 10));
+    }
+
+    @Test
+    void shouldPagePostsLikeUpstream() {
+        // given
+        mirrorStore.publish(List.of(post(3, 1), post(1, 1), post(2, 2)), List.of());
+
+        // when
+        final List<AuditionPost> all = service.getPosts(null, 1, 10);
+        final List<AuditionPost> byUser = service.getPosts(1, 0, 1);
+
+        // then
+        assertEquals(List.of(2, 3), all.stream().map(AuditionPost::getId).toList());
+        assertEquals(List.of(1), byUser.stream().map(AuditionPost::getId).toList());
+        assertTrue(service.getPosts(99, 0, 10).isEmpty());
+    }
+
+    @Test
+    void shouldAttachCommentsToCopyOfPost() {
+        // given
+        mirrorStore.publish(List.of(post(1, 1)), List.of(comment(1, 1), comment(2, 1), comment(3, 2)));
+
+        // when
+        final AuditionPost withComments = service.getPostById(1, true, 0, 10);
+        final AuditionPost withoutComments = service.getPostById(1, false, 0, 10);
+
+        // then
+        assertEquals(2, withComments.getAuditionComments().size());
+        assertTrue(withoutComments.getAuditionComments().isEmpty());
+    }
+
+    @Test
+    void shouldThrowWhenPostMissing() {
+        // given
+        mirrorStore.publish(List.of(post(1, 1)), List.of());
+
+        // when / then
+        assertThrows(NoDataFoundException.class, () -> service.getPostById(2, false, 0, 10));
+    }
+
+    @Test
+    void shouldSearchTitlesAcrossWholeDatasetBeforePaging() {
+        // given
+        mirrorStore.publish(List.of(post(1, 1), post(2, 2), post(10, 1), post(11, 2), post(12, 1)), List.of());
+
+        // when
+        final PagedResult<AuditionPost> all = service.searchByTitle("TITLE 1", null, 1, 2);
+        final PagedResult<AuditionPost> byUser = service.searchByTitle("title 1", 1, 0, 10);
+
+        // then
+        assertEquals(4, all.total());
+        assertEquals(List.of(10, 11), all.items().stream().map(AuditionPost::getId).toList());
+        assertEquals(3, byUser.total());
+        assertEquals(List.of(1, 10, 12), byUser.items().stream().map(AuditionPost::getId).toList());
+        assertEquals(0, service.searchByTitle("missing", null, 0, 10).total());
+    }
+
+    @Test
+    void shouldSuggestTitlesByPrefix() {
+        // given
+        mirrorStore.publish(List.of(post(1, 1), post(2, 2), post(10, 1)), List.of());
+
+        // when
+        final List<String> suggestions = service.suggestTitles("Title 1", 10);
+
+        // then
+        assertEquals(List.of("title 1", "title 10"), suggestions);
+    }
+
+    @Test
+    void shouldGetPostsByIdsInRequestOrder() {
+        // given
+        mirrorStore.publish(List.of(post(1, 1), post(2, 2), post(3, 1)), List.of(comment(1, 3)));
+
+        // when
+        final Map<Integer, AuditionPost> found = service.getPostsByIds(List.of(3, 9, 1));
+
+        // then
+        assertEquals(List.of(3, 1), List.copyOf(found.keySet()));
+        assertTrue(found.get(3).getAuditionComments().isEmpty());
+    }
+
+    private static AuditionPost post(final int id, final int userId) {
+        return new AuditionPost(userId, id, "title " + id, "body " + id, List.of());
+    }
+
+    private static AuditionComment comment(final int id, final int postId) {
+        return new AuditionComment(postId, id, "name " + id, "user" + id + "@example.com", "body " + id);
+    }
+}
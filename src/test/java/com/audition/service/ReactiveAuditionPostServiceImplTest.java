@@ -0,0 +1,130 @@
+package com.audition.service;
+
+import com.audition.BaseTest;
+import com.audition.common.exception.IntegrationException;
+import com.audition.common.exception.NoDataFoundException;
+import com.audition.configuration.WebClientResponseErrorHandler;
+import com.audition.integration.IIntegrationUrlService;
+import com.audition.integration.ResponseDependencies;
+import com.audition.integration.UpstreamRequestCoalescer;
+import com.audition.integration.UpstreamResponseCache;
+import com.audition.model.AuditionComment;
+import com.audition.model.AuditionPost;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReactiveAuditionPostServiceImplTest extends BaseTest {
+
+    private static final String BASE_URL = "http://upstream.test";
+    private static final String POSTS_URL = BASE_URL + "/posts";
+    private static final String POST_JSON = "{\"userId\":1,\"id\":1,\"title\":\"title\",\"body\":\"body\"}";
+
+    private transient IIntegrationUrlService urlService;
+    private transient IReactiveAuditionCommentsService commentsService;
+
+    @BeforeEach
+    void init() {
+        urlService = mock(IIntegrationUrlService.class);
+        commentsService = mock(IReactiveAuditionCommentsService.class);
+    }
+
+    @Test
+    void shouldStreamPosts() {
+        // given
+        final var service = serviceReturning(Map.of(POSTS_URL, ok("[" + POST_JSON + "," + POST_JSON + "]")));
+        when(urlService.getPostsUrl(null, 0, 10)).thenReturn(POSTS_URL);
+
+        // when / then
+        StepVerifier.create(service.getPostsReactive(null, 0, 10))
+                .expectNextCount(2)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldLoadPostWithComments() {
+        // given
+        final var url = POSTS_URL + "/1";
+        final var service = serviceReturning(Map.of(url, ok(POST_JSON)));
+        when(urlService.getPostByIdUrl(1)).thenReturn(url);
+        when(commentsService.getCommentsReactive(1, 0, 10))
+                .thenReturn(Flux.just(new AuditionComment(1, 1, "name", "a@b.c", "body")));
+
+        // when / then
+        StepVerifier.create(service.getPostByIdReactive(1, true, 0, 10))
+                .expectNextMatches(post -> post.getId() == 1 && post.getAuditionComments().size() == 1)
+                .verifyComplete();
+    }
+
+    @Test
+    void shouldMapNotFoundToNoDataFoundException() {
+        // given
+        final var url = POSTS_URL + "/99";
+        final var service = serviceReturning(Map.of(url, ClientResponse.create(HttpStatus.NOT_FOUND).build()));
+        when(urlService.getPostByIdUrl(99)).thenReturn(url);
+
+        // when / then
+        StepVerifier.create(service.getPostByIdReactive(99, false, null, null))
+                .expectErrorMatches(error -> error instanceof NoDataFoundException
+                        && "No post found for ID: 99".equals(error.getMessage()))
+                .verify();
+    }
+
+    @Test
+    void shouldPropagateServerErrors() {
+        // given
+        final var service = serviceReturning(Map.of(POSTS_URL, ClientResponse.create(HttpStatus.BAD_GATEWAY).build()));
+        when(urlService.getPostsUrl(1, null, null)).thenReturn(POSTS_URL);
+
+        // when / then
+        StepVerifier.create(service.getPostsReactive(1, null, null))
+                .expectError(IntegrationException.class)
+                .verify();
+    }
+
+    @Test
+    void shouldBridgeBlockingInterface() {
+        // given
+        final var service = serviceReturning(Map.of(POSTS_URL, ok("[" + POST_JSON + "]")));
+        when(urlService.getPostsUrl(null, null, null)).thenReturn(POSTS_URL);
+
+        // when
+        final List<AuditionPost> posts = service.getPosts(null, null, null);
+
+        // then
+        assertEquals(1, posts.size());
+    }
+
+    private ReactiveAuditionPostServiceImpl serviceReturning(final Map<String, ClientResponse> responses) {
+        final WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> Mono.justOrEmpty(responses.get(request.url().toString())))
+                .filter(new WebClientResponseErrorHandler())
+                .build();
+        return new ReactiveAuditionPostServiceImpl(webClient, commentsService, urlService,
+                new UpstreamRequestCoalescer(new SimpleMeterRegistry()),
+                new UpstreamResponseCache(new SimpleMeterRegistry(), Runnable::run, new ResponseDependencies(),
+                        1000, 60000, 60000, 60000, 0, 0, 0), 4);
+    }
+
+    private static ClientResponse ok(final String body) {
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build();
+    }
+}
@@ -10,10 +10,16 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static com.github.tomakehurst.wiremock.common.ContentTypes.APPLICATION_JSON;
+import static org.hamcrest.Matchers.contains;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -165,4 +171,77 @@ class AuditionCommentsControllerTest extends BaseIntegrationTest {
                 .andExpect(jsonPath(JSON_PATH_STATUS).value(500))
                 .andExpect(jsonPath(JSON_PATH_DETAIL).value(INTERNAL_SERVER_ERROR_MESSAGE));
     }
+
+    @Test
+    void shouldReturnFoundAndMissingCommentsForBatch() throws Exception {
+        final AuditionComment first = createSampleComment(1, FIRST_COMMENT_NAME, FIRST_COMMENT_EMAIL, FIRST_COMMENT_BODY);
+        final AuditionComment second = createSampleComment(2, SECOND_COMMENT_NAME, SECOND_COMMENT_EMAIL, SECOND_COMMENT_BODY);
+        when(auditionCommentsService.getCommentsByIds(Set.of(2, 999, 1))).thenReturn(Map.of(1, first, 2, second));
+
+        mockMvc.perform(post(COMMENTS_URL + "/batch")
+                        .contentType(APPLICATION_JSON)
+                        .content("[2, 999, 1, 2]")
+                        .header(AUTHORIZATION_HEADER, getBasicAuthHeader()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(jsonPath("$.found[*].id").value(contains(2, 1)))
+                .andExpect(jsonPath("$.missing").value(contains(999)));
+    }
+
+    @Test
+    void shouldReturnCommentsForIdsParameter() throws Exception {
+        final AuditionComment comment = createSampleComment(1, SAMPLE_USER_NAME, SAMPLE_USER_EMAIL, SAMPLE_COMMENT_BODY);
+        when(auditionCommentsService.getCommentsByIds(Set.of(1))).thenReturn(Map.of(1, comment));
+
+        mockMvc.perform(get(COMMENTS_URL)
+                        .param("ids", "1")
+                        .header(AUTHORIZATION_HEADER, getBasicAuthHeader()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.found[0].name").value(SAMPLE_USER_NAME))
+                .andExpect(jsonPath("$.missing.length()").value(0));
+    }
+
+    @Test
+    void shouldReturn400WhenBatchIsTooLarge() throws Exception {
+        final String ids = IntStream.rangeClosed(1, AuditionCommentsController.MAX_BATCH_SIZE + 1)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(",", "[", "]"));
+
+        mockMvc.perform(post(COMMENTS_URL + "/batch")
+                        .contentType(APPLICATION_JSON)
+                        .content(ids)
+                        .header(AUTHORIZATION_HEADER, getBasicAuthHeader()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath(JSON_PATH_STATUS).value(400));
+    }
+
+    @Test
+    void shouldLeaveOutExcludedCommentFields() throws Exception {
+        final AuditionComment comment = createSampleComment(1, SAMPLE_USER_NAME, SAMPLE_USER_EMAIL, SAMPLE_COMMENT_BODY);
+        when(auditionCommentsService.getComment(1)).thenReturn(comment);
+
+        mockMvc.perform(get(COMMENTS_URL + COMMENT_ID_PATH, 1)
+                        .param("exclude", "email,body")
+                        .accept(APPLICATION_JSON)
+                        .header(AUTHORIZATION_HEADER, getBasicAuthHeader()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath(JSON_PATH_NAME).value(SAMPLE_USER_NAME))
+                .andExpect(jsonPath(JSON_PATH_EMAIL).doesNotExist())
+                .andExpect(jsonPath(JSON_PATH_BODY).doesNotExist());
+    }
+
+    @Test
+    void shouldProjectBatchedCommentsOntoRequestedFields() throws Exception {
+        final AuditionComment comment = createSampleComment(1, SAMPLE_USER_NAME, SAMPLE_USER_EMAIL, SAMPLE_COMMENT_BODY);
+        when(auditionCommentsService.getCommentsByIds(Set.of(1))).thenReturn(Map.of(1, comment));
+
+        mockMvc.perform(get(COMMENTS_URL)
+                        .param("ids", "1")
+                        .param("fields", "id")
+                        .header(AUTHORIZATION_HEADER, getBasicAuthHeader()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.found[0].id").value(1))
+                .andExpect(jsonPath("$.found[0].name").doesNotExist())
+                .andExpect(jsonPath("$.missing.length()").value(0));
+    }
 }
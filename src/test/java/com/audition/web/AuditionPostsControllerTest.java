@@ -1,6 +1,7 @@
 package com.audition.web;
 
 import com.audition.BaseIntegrationTest;
+import com.audition.model.AuditionPost;
 import com.audition.service.IAuditionPostService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,8 +10,20 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SuppressWarnings("PMD")
@@ -74,6 +87,105 @@ class AuditionPostsControllerTest extends BaseIntegrationTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void shouldSuggestTitlesFromFetchedPostsWithoutSearchService() throws Exception {
+        mockMvc.perform(get(POSTS_URL + "/suggest")
+                        .param("prefix", "sam")
+                        .accept(APPLICATION_JSON)
+                        .header(AUTHORIZATION_HEADER, getBasicAuthHeader()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(POSTS_URL + "/suggest")
+                        .param("prefix", " ")
+                        .accept(APPLICATION_JSON)
+                        .header(AUTHORIZATION_HEADER, getBasicAuthHeader()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldStreamPostsAsNdjson() throws Exception {
+        when(auditionPostService.getPosts(null, 0, 100)).thenReturn(List.of(
+                new AuditionPost(1, 1, SAMPLE_TITLE, "body 1", List.of()),
+                new AuditionPost(1, 2, SAMPLE_TITLE, "body 2", List.of())));
+
+        final MvcResult result = mockMvc.perform(get(POSTS_URL + "/export")
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .header(AUTHORIZATION_HEADER, getBasicAuthHeader()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(matchesPattern("(\\{[^\\n]*\"id\":[12][^\\n]*}\\n){2}")));
+    }
+
+    @Test
+    void shouldStreamPostsAsJsonArray() throws Exception {
+        when(auditionPostService.getPosts(1, 0, 100)).thenReturn(List.of(new AuditionPost(1, 1, SAMPLE_TITLE, "body", List.of())));
+
+        final MvcResult result = mockMvc.perform(get(POSTS_URL + "/export")
+                        .param(USER_ID_PARAM, "1")
+                        .accept(APPLICATION_JSON)
+                        .header(AUTHORIZATION_HEADER, getBasicAuthHeader()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].title").value(SAMPLE_TITLE));
+    }
+
+    @Test
+    void shouldRejectQueriesWithoutQueryService() throws Exception {
+        mockMvc.perform(get(POSTS_URL + "/query")
+                        .param(USER_ID_PARAM, "1")
+                        .param("title", SAMPLE_TITLE)
+                        .accept(APPLICATION_JSON)
+                        .header(AUTHORIZATION_HEADER, getBasicAuthHeader()))
+                .andExpect(status().isNotImplemented());
+    }
+
+    @Test
+    void shouldRequestPagesAtTheirOffset() throws Exception {
+        when(auditionPostService.getPosts(null, 20, 10, null, null)).thenReturn(List.of(new AuditionPost(1, 21, SAMPLE_TITLE, "body", List.of())));
+
+        mockMvc.perform(get(POSTS_URL)
+                        .param(PAGE_PARAM, "2")
+                        .param(SIZE_PARAM, "10")
+                        .accept(APPLICATION_JSON)
+                        .header(AUTHORIZATION_HEADER, getBasicAuthHeader()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(21));
+    }
+
+    @Test
+    void shouldSuggestTitlesDifferingOnlyInCaseOnce() throws Exception {
+        when(auditionPostService.getPosts(null, 0, 100, null, Set.of("title"))).thenReturn(List.of(
+                new AuditionPost(1, 1, "sample B", "body", List.of()),
+                new AuditionPost(1, 2, "Sample b", "body", List.of()),
+                new AuditionPost(1, 3, "Sample a", "body", List.of())));
+
+        mockMvc.perform(get(POSTS_URL + "/suggest")
+                        .param("prefix", "sam")
+                        .accept(APPLICATION_JSON)
+                        .header(AUTHORIZATION_HEADER, getBasicAuthHeader()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0]").value("Sample a"))
+                .andExpect(jsonPath("$[1]").value("Sample b"));
+    }
+
+    @Test
+    void shouldRejectCursorsWithoutCursorService() throws Exception {
+        mockMvc.perform(get(POSTS_URL)
+                        .param(Pagination.CURSOR_PARAMETER, "")
+                        .accept(APPLICATION_JSON)
+                        .header(AUTHORIZATION_HEADER, getBasicAuthHeader()))
+                .andExpect(status().isNotImplemented());
+    }
+
     @Test
     void shouldFailForInvalidParameters() throws Exception {
         mockMvc.perform(get(POSTS_URL)
@@ -108,4 +220,60 @@ class AuditionPostsControllerTest extends BaseIntegrationTest {
                         .header(AUTHORIZATION_HEADER, getBasicAuthHeader()))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    void shouldReturnFoundAndMissingPostsForIdsParameter() throws Exception {
+        final AuditionPost post = new AuditionPost(1, 3, SAMPLE_TITLE, "body", List.of());
+        when(auditionPostService.getPostsByIds(Set.of(3, 4))).thenReturn(Map.of(3, post));
+
+        mockMvc.perform(get(POSTS_URL)
+                        .param("ids", "4,3")
+                        .accept(APPLICATION_JSON)
+                        .header(AUTHORIZATION_HEADER, getBasicAuthHeader()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.found[*].id").value(contains(3)))
+                .andExpect(jsonPath("$.missing").value(contains(4)));
+    }
+
+    @Test
+    void shouldReturn400ForNonPositiveIdInBatch() throws Exception {
+        mockMvc.perform(get(POSTS_URL)
+                        .param("ids", "1,-2")
+                        .accept(APPLICATION_JSON)
+                        .header(AUTHORIZATION_HEADER, getBasicAuthHeader()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldProjectPostsOntoRequestedFields() throws Exception {
+        when(auditionPostService.getPosts(null, 0, 100, null, Set.of("id", "title"))).thenReturn(List.of(
+                new AuditionPost(1, 1, SAMPLE_TITLE, "body", List.of())));
+
+        mockMvc.perform(get(POSTS_URL)
+                        .param("fields", "id, title")
+                        .accept(APPLICATION_JSON)
+                        .header(AUTHORIZATION_HEADER, getBasicAuthHeader()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].title").value(SAMPLE_TITLE))
+                .andExpect(jsonPath("$[0].body").doesNotExist())
+                .andExpect(jsonPath("$[0].userId").doesNotExist());
+    }
+
+    @Test
+    void shouldLeaveOutExcludedFieldsOfExportedPosts() throws Exception {
+        when(auditionPostService.getPosts(null, 0, 100)).thenReturn(List.of(new AuditionPost(1, 1, SAMPLE_TITLE, "body", List.of())));
+
+        final MvcResult result = mockMvc.perform(get(POSTS_URL + "/export")
+                        .param("exclude", "body")
+                        .accept(APPLICATION_JSON)
+                        .header(AUTHORIZATION_HEADER, getBasicAuthHeader()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value(SAMPLE_TITLE))
+                .andExpect(jsonPath("$[0].body").doesNotExist());
+    }
 }
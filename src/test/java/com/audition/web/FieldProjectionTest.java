@@ -0,0 +1,84 @@
+package com.audition.web;
+
+import com.audition.BaseTest;
+import com.audition.model.AuditionComment;
+import com.audition.model.AuditionPost;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FieldProjectionTest extends BaseTest {
+
+    private static final String COMMENTS = "auditionComments";
+
+    private final transient ObjectMapper objectMapper = FieldProjection.configure(new ObjectMapper());
+
+    @Test
+    void shouldWriteEveryFieldWithoutProjection() throws Exception {
+        // when
+        final JsonNode post = objectMapper.readTree(objectMapper.writeValueAsString(post()));
+
+        // then
+        assertTrue(post.has("userId"));
+        assertTrue(post.has("title"));
+        assertTrue(post.has("body"));
+        assertEquals("comment", post.get(COMMENTS).get(0).get("body").asText());
+    }
+
+    @Test
+    void shouldProjectOutermostEntitiesOnly() throws Exception {
+        // when
+        final JsonNode posts = write(FieldProjection.filters(Set.of("id", COMMENTS), null), List.of(post()));
+
+        // then
+        final JsonNode post = posts.get(0);
+        assertEquals(1, post.get("id").asInt());
+        assertFalse(post.has("title"));
+        assertFalse(post.has("body"));
+        assertEquals("name", post.get(COMMENTS).get(0).get("name").asText());
+        assertEquals("comment", post.get(COMMENTS).get(0).get("body").asText());
+    }
+
+    @Test
+    void shouldLeaveOutExcludedFields() throws Exception {
+        // when
+        final JsonNode post = write(FieldProjection.filters(Set.of(), FieldProjection.parse("body, " + COMMENTS)), post());
+
+        // then
+        assertEquals("title", post.get("title").asText());
+        assertFalse(post.has("body"));
+        assertFalse(post.has(COMMENTS));
+    }
+
+    @Test
+    void shouldParseRepeatedCommaSeparatedParameters() {
+        // when
+        final Set<String> fields = FieldProjection.parse("id, title", "body,,");
+
+        // then
+        assertEquals(Set.of("id", "title", "body"), fields);
+        assertTrue(FieldProjection.parse((String[]) null).isEmpty());
+        assertTrue(FieldProjection.parse(" ").isEmpty());
+    }
+
+    private JsonNode write(final FilterProvider filters, final Object value) throws Exception {
+        return objectMapper.readTree(objectMapper.writer(filters).writeValueAsString(value));
+    }
+
+    private static AuditionPost post() {
+        final AuditionComment comment = new AuditionComment();
+        comment.setId(5);
+        comment.setPostId(1);
+        comment.setName("name");
+        comment.setBody("comment");
+        return new AuditionPost(2, 1, "title", "body", List.of(comment));
+    }
+}